@@ -15,12 +15,17 @@
  */
 package com.holonplatform.async.datastore.internal.operation;
 
+import java.util.List;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 
 import com.holonplatform.async.datastore.operation.AsyncBulkDelete;
 import com.holonplatform.async.datastore.operation.AsyncBulkInsert;
 import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.Datastore.OperationType;
 import com.holonplatform.core.internal.datastore.operation.common.AbstractBulkInsertOperation;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.PropertyBox;
 
 /**
  * Abstract {@link AsyncBulkDelete} implementation.
@@ -41,4 +46,22 @@ public abstract class AbstractAsyncBulkInsert extends
 		return this;
 	}
 
+	/**
+	 * Asynchronously execute the operation one chunk of values at a time, or concurrently according to the operation
+	 * parallelism, using given function to insert each chunk.
+	 * <p>
+	 * The chunks are executed using the operation executor, if configured. No executor thread is blocked waiting for
+	 * the chunk executions, so the executor can be shared with other operations.
+	 * </p>
+	 * @param chunkOperation The function to use to insert a chunk of values (not null)
+	 * @return The operation result {@link CompletionStage}
+	 * @since 6.0.1
+	 * @see #executePartitionsAsync(OperationType, java.util.Iterator, Function)
+	 */
+	protected CompletionStage<OperationResult> executeChunksAsync(
+			Function<List<PropertyBox>, OperationResult> chunkOperation) {
+		ObjectUtils.argumentNotNull(chunkOperation, "Chunk operation function must be not null");
+		return executePartitionsAsync(OperationType.INSERT, getConfiguration().getChunks(), chunkOperation);
+	}
+
 }
@@ -32,6 +32,21 @@ public interface Expression {
 	 */
 	void validate() throws InvalidExpressionException;
 
+	/**
+	 * Marker interface for immutable {@link Expression}s, whose resolution does not depend on the
+	 * {@link ResolutionContext}.
+	 * <p>
+	 * The resolution results of immutable expressions can be cached by an {@link ExpressionResolverRegistry}, so the
+	 * expression implementation must provide consistent <code>equals</code> and <code>hashCode</code> methods, and the
+	 * expression state must not change after the expression is created.
+	 * </p>
+	 * @since 6.0.1
+	 * @see ExpressionResolverRegistry#setResolutionCacheSize(int)
+	 */
+	public interface ImmutableExpression extends Expression {
+
+	}
+
 	/**
 	 * A function to translate an {@link Expression} into another {@link Expression} type.
 	 * @param <E> Expression type
@@ -17,6 +17,7 @@ package com.holonplatform.core;
 
 import java.io.Serializable;
 
+import com.holonplatform.core.Expression.ImmutableExpression;
 import com.holonplatform.core.ExpressionResolver.ExpressionResolverHandler;
 import com.holonplatform.core.ExpressionResolver.ExpressionResolverSupport;
 import com.holonplatform.core.internal.DefaultExpressionResolverRegistry;
@@ -45,4 +46,77 @@ public interface ExpressionResolverRegistry extends ExpressionResolverSupport, E
 		return new DefaultExpressionResolverRegistry(cacheEnabled);
 	}
 
+	/**
+	 * Set the maximum size of the resolution results cache, used to cache the resolution results of the
+	 * {@link ImmutableExpression}s.
+	 * <p>
+	 * When the cache is enabled, the resolution results of an {@link ImmutableExpression} are cached by expression and
+	 * resolution type, and the expression is not validated again when the result is obtained from the cache. When the
+	 * cache size limit is reached, the least recently used results are evicted, on a best-effort basis. The cache is
+	 * invalidated each time an {@link ExpressionResolver} is added or removed.
+	 * </p>
+	 * <p>
+	 * The resolution results cache is disabled by default.
+	 * </p>
+	 * @param maximumSize The maximum number of cached resolution results, <code>0</code> to disable the cache
+	 * @since 6.0.1
+	 */
+	void setResolutionCacheSize(int maximumSize);
+
+	/**
+	 * Get the resolution results cache statistics.
+	 * @return The resolution cache statistics
+	 * @since 6.0.1
+	 * @see #setResolutionCacheSize(int)
+	 */
+	ResolutionCacheStatistics getResolutionCacheStatistics();
+
+	/**
+	 * Expression resolution results cache statistics.
+	 * 
+	 * @since 6.0.1
+	 */
+	public interface ResolutionCacheStatistics {
+
+		/**
+		 * Get the number of resolutions which used a cached result.
+		 * @return The cache hit count
+		 */
+		long getHitCount();
+
+		/**
+		 * Get the number of cacheable resolutions for which a cached result was not available.
+		 * @return The cache miss count
+		 */
+		long getMissCount();
+
+		/**
+		 * Get the number of cached results evicted because the cache size limit was reached.
+		 * @return The cache eviction count
+		 */
+		long getEvictionCount();
+
+		/**
+		 * Get the current number of cached results.
+		 * @return The cache size
+		 */
+		int getSize();
+
+		/**
+		 * Get the maximum number of cached results.
+		 * @return The cache maximum size, <code>0</code> if the cache is disabled
+		 */
+		int getMaximumSize();
+
+		/**
+		 * Get the ratio of cacheable resolutions which used a cached result.
+		 * @return The cache hit ratio, <code>1.0</code> if no cacheable resolution was performed
+		 */
+		default double getHitRatio() {
+			final long requests = getHitCount() + getMissCount();
+			return (requests == 0) ? 1.0 : (double) getHitCount() / requests;
+		}
+
+	}
+
 }
@@ -17,17 +17,16 @@ package com.holonplatform.core;
 
 import java.io.Serializable;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.Optional;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import com.holonplatform.core.internal.DefaultFinalPath;
 import com.holonplatform.core.internal.DefaultPath;
+import com.holonplatform.core.internal.PathNames;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 
 /**
@@ -108,9 +107,7 @@ public interface Path<T> extends TypedExpression<T>, DataMappable, Serializable
 	 */
 	default String fullName(Function<Path<?>, String> nameMapper) {
 		ObjectUtils.argumentNotNull(nameMapper, "Path name mapper function must be not null");
-		return getParent().map(pr -> stream().map(nameMapper::apply)
-				.collect(LinkedList<String>::new, LinkedList::addFirst, (a, b) -> a.addAll(0, b)).stream()
-				.collect(Collectors.joining("."))).orElse(getName());
+		return isRootPath() ? getName() : PathNames.compose(this, nameMapper, false);
 	}
 
 	/**
@@ -130,12 +127,10 @@ public interface Path<T> extends TypedExpression<T>, DataMappable, Serializable
 	 */
 	default String relativeName(Function<Path<?>, String> nameMapper) {
 		ObjectUtils.argumentNotNull(nameMapper, "Path name mapper function must be not null");
-		return getParent()
-				.map(pr -> stream().filter(p -> !FinalPath.class.isAssignableFrom(p.getClass()))
-						.map(p -> nameMapper.apply(p))
-						.collect(LinkedList<String>::new, LinkedList::addFirst, (a, b) -> a.addAll(0, b)).stream()
-						.collect(Collectors.joining(".")))
-				.orElse(FinalPath.class.isAssignableFrom(this.getClass()) ? "" : getName());
+		if (isRootPath()) {
+			return (this instanceof FinalPath) ? "" : getName();
+		}
+		return PathNames.compose(this, nameMapper, true);
 	}
 
 	/**
@@ -37,6 +37,14 @@ public interface BeanConfigProperties extends ConfigPropertySet {
 	public static final ConfigProperty<Boolean> BEAN_INTROSPECTOR_CACHE_ENABLED = ConfigProperty
 			.create("introspector-cache-enabled", Boolean.class);
 
+	/**
+	 * The strategy used by default to read and write the bean property values. Defaults to
+	 * {@link BeanPropertyAccessorStrategy.Type#METHOD_HANDLE}.
+	 * @since 6.0.1
+	 */
+	public static final ConfigProperty<BeanPropertyAccessorStrategy.Type> BEAN_PROPERTY_ACCESSOR_STRATEGY = ConfigProperty
+			.create("property-accessor-strategy", BeanPropertyAccessorStrategy.Type.class);
+
 	@Override
 	default String getName() {
 		return NAME;
@@ -51,6 +59,16 @@ public interface BeanConfigProperties extends ConfigPropertySet {
 		return getConfigPropertyValue(BEAN_INTROSPECTOR_CACHE_ENABLED, Boolean.TRUE);
 	}
 
+	/**
+	 * Gets the type of the strategy to use to read and write the bean property values.
+	 * @return The property accessor strategy type
+	 * @see #BEAN_PROPERTY_ACCESSOR_STRATEGY
+	 * @since 6.0.1
+	 */
+	default BeanPropertyAccessorStrategy.Type getBeanPropertyAccessorStrategy() {
+		return getConfigPropertyValue(BEAN_PROPERTY_ACCESSOR_STRATEGY, BeanPropertyAccessorStrategy.Type.METHOD_HANDLE);
+	}
+
 	/**
 	 * Builder to create property set instances bound to a property data source
 	 * @return ConfigPropertySet builder
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.beans;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.holonplatform.core.internal.beans.DefaultBeanPropertyDefinition;
+
+/**
+ * Describes the properties of a bean class, as they would be detected by bean class introspection, providing the
+ * accessors to read and write the property values.
+ * <p>
+ * Descriptors are usually generated at compile time for the bean classes annotated with {@link Introspected}, and
+ * registered using fully qualified name of the descriptor class name to a
+ * <code>com.holonplatform.core.beans.BeanIntrospectionDescriptor</code> file in the <code>META-INF/services</code>
+ * directory. The default {@link BeanIntrospector} uses the registered descriptors instead of inspecting the bean
+ * classes, and the descriptor property accessors instead of the configured {@link BeanPropertyAccessorStrategy}.
+ * </p>
+ *
+ * @since 6.0.1
+ *
+ * @see Introspected
+ */
+public interface BeanIntrospectionDescriptor {
+
+	/**
+	 * Get the described bean class.
+	 * @return The bean class
+	 */
+	Class<?> getBeanClass();
+
+	/**
+	 * Get the bean properties, including the inherited ones.
+	 * @return The bean property definitions
+	 */
+	List<PropertyDefinition> getProperties();
+
+	/**
+	 * Definition of a bean property.
+	 */
+	public interface PropertyDefinition {
+
+		/**
+		 * Get the property name.
+		 * @return The property name
+		 */
+		String getName();
+
+		/**
+		 * Get the property type.
+		 * @return The property type
+		 */
+		Class<?> getType();
+
+		/**
+		 * Get the name of the public method to use to read the property value, if available.
+		 * @return Optional read method name
+		 */
+		Optional<String> getReadMethodName();
+
+		/**
+		 * Get the name of the public method to use to write the property value, if available.
+		 * @return Optional write method name
+		 */
+		Optional<String> getWriteMethodName();
+
+		/**
+		 * Get the declared parameter type of the write method, if available.
+		 * @return Optional write method parameter type
+		 */
+		Optional<Class<?>> getWriteMethodParameterType();
+
+		/**
+		 * Get the function to use to read the property value from a bean instance, if available.
+		 * @return Optional property value reader
+		 */
+		Optional<Function<Object, Object>> getReader();
+
+		/**
+		 * Get the function to use to write the property value into a bean instance, if available.
+		 * @return Optional property value writer
+		 */
+		Optional<BiConsumer<Object, Object>> getWriter();
+
+		/**
+		 * Get a builder to create a {@link PropertyDefinition}.
+		 * @param name The property name (not null)
+		 * @param type The property type (not null)
+		 * @return A new {@link PropertyDefinition} builder
+		 */
+		static Builder builder(String name, Class<?> type) {
+			return new DefaultBeanPropertyDefinition.DefaultBuilder(name, type);
+		}
+
+		/**
+		 * {@link PropertyDefinition} builder.
+		 */
+		public interface Builder {
+
+			/**
+			 * Set the method to use to read the property value.
+			 * @param methodName The read method name (not null)
+			 * @param reader The function which invokes the read method on a bean instance (not null)
+			 * @return this
+			 */
+			Builder readMethod(String methodName, Function<Object, Object> reader);
+
+			/**
+			 * Set the method to use to write the property value.
+			 * @param methodName The write method name (not null)
+			 * @param parameterType The declared write method parameter type (not null)
+			 * @param writer The function which invokes the write method on a bean instance (not null)
+			 * @return this
+			 */
+			Builder writeMethod(String methodName, Class<?> parameterType, BiConsumer<Object, Object> writer);
+
+			/**
+			 * Build the {@link PropertyDefinition}.
+			 * @return A new {@link PropertyDefinition}
+			 */
+			PropertyDefinition build();
+
+		}
+
+	}
+
+}
@@ -15,6 +15,8 @@
  */
 package com.holonplatform.core.beans;
 
+import java.time.Duration;
+
 import com.holonplatform.core.Context;
 import com.holonplatform.core.Path;
 import com.holonplatform.core.Path.FinalPath;
@@ -218,6 +220,36 @@ public interface BeanIntrospector {
 	 */
 	boolean clearCache();
 
+	/**
+	 * Get the introspection cache statistics, i.e. the number of bean property set requests served by the cache and
+	 * the number of bean property sets built by introspection, collected since the introspector creation.
+	 * @return The cache statistics
+	 * @since 6.0.1
+	 */
+	CacheStatistics getCacheStatistics();
+
+	// ------- Property accessors
+
+	/**
+	 * Get the {@link BeanPropertyAccessorStrategy} used by the {@link BeanPropertySet}s provided by this introspector
+	 * to read and write the bean property values.
+	 * @return The property accessor strategy
+	 * @see BeanConfigProperties#BEAN_PROPERTY_ACCESSOR_STRATEGY
+	 * @since 6.0.1
+	 */
+	BeanPropertyAccessorStrategy getPropertyAccessorStrategy();
+
+	/**
+	 * Set the {@link BeanPropertyAccessorStrategy} to use to read and write the bean property values.
+	 * <p>
+	 * The strategy is applied to the {@link BeanPropertySet}s provided by this introspector from now on, so the
+	 * introspection cache, if any, is cleared.
+	 * </p>
+	 * @param propertyAccessorStrategy The property accessor strategy to set (not null)
+	 * @since 6.0.1
+	 */
+	void setPropertyAccessorStrategy(BeanPropertyAccessorStrategy propertyAccessorStrategy);
+
 	// ------- Accessors
 
 	/**
@@ -258,6 +290,44 @@ public interface BeanIntrospector {
 		return DefaultBeanIntrospector.getDefault(null);
 	}
 
+	// ------- Statistics
+
+	/**
+	 * {@link BeanIntrospector} cache statistics.
+	 * 
+	 * @since 6.0.1
+	 */
+	public interface CacheStatistics {
+
+		/**
+		 * Get the number of bean property set requests served by the introspection cache.
+		 * @return The cache hit count
+		 */
+		long getHitCount();
+
+		/**
+		 * Get the number of bean property set requests which required a bean class introspection.
+		 * @return The cache miss count
+		 */
+		long getMissCount();
+
+		/**
+		 * Get the total time spent introspecting bean classes.
+		 * @return The total build time
+		 */
+		Duration getTotalBuildTime();
+
+		/**
+		 * Get the ratio of bean property set requests served by the introspection cache.
+		 * @return The cache hit ratio, <code>1.0</code> if no request was performed
+		 */
+		default double getHitRatio() {
+			final long requests = getHitCount() + getMissCount();
+			return (requests == 0) ? 1.0 : (double) getHitCount() / requests;
+		}
+
+	}
+
 	// ------- Exceptions
 
 	/**
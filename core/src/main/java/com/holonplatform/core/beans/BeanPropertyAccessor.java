@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.beans;
+
+import com.holonplatform.core.property.Property.PropertyReadException;
+import com.holonplatform.core.property.Property.PropertyWriteException;
+
+/**
+ * Accessor to read and write the value of a {@link BeanProperty} on a bean instance.
+ * <p>
+ * A {@link BeanPropertyAccessor} is bound to a {@link BeanProperty} and it is obtained through a
+ * {@link BeanPropertyAccessorStrategy}.
+ * </p>
+ *
+ * @since 6.0.1
+ *
+ * @see BeanPropertyAccessorStrategy
+ */
+public interface BeanPropertyAccessor {
+
+	/**
+	 * Read the property value from given bean instance.
+	 * @param instance Bean instance (not null)
+	 * @return The property value
+	 * @throws PropertyReadException If an error occurred reading the property value
+	 */
+	Object read(Object instance) throws PropertyReadException;
+
+	/**
+	 * Write given property value into given bean instance.
+	 * <p>
+	 * For primitive property types, a <code>null</code> value is written as <code>false</code> or <code>0</code>.
+	 * </p>
+	 * @param instance Bean instance (not null)
+	 * @param value Value to write
+	 * @throws PropertyWriteException If an error occurred writing the property value
+	 */
+	void write(Object instance, Object value) throws PropertyWriteException;
+
+}
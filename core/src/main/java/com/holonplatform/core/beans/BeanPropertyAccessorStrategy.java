@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.beans;
+
+import com.holonplatform.core.internal.beans.MethodHandleBeanPropertyAccessorStrategy;
+import com.holonplatform.core.internal.beans.ReflectionBeanPropertyAccessorStrategy;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * Strategy to obtain the {@link BeanPropertyAccessor} to use to read and write a {@link BeanProperty} value.
+ * <p>
+ * The strategy is invoked at most once for each {@link BeanProperty} of a {@link BeanPropertySet} provided by a
+ * {@link BeanIntrospector}, so an implementation can perform expensive set up operations when the accessor is created.
+ * </p>
+ *
+ * @since 6.0.1
+ *
+ * @see BeanIntrospector#setPropertyAccessorStrategy(BeanPropertyAccessorStrategy)
+ * @see BeanConfigProperties#BEAN_PROPERTY_ACCESSOR_STRATEGY
+ */
+@FunctionalInterface
+public interface BeanPropertyAccessorStrategy {
+
+	/**
+	 * Get the {@link BeanPropertyAccessor} to use for given bean property.
+	 * @param property The bean property (not null)
+	 * @return The property accessor (not null)
+	 */
+	BeanPropertyAccessor getAccessor(BeanProperty<?> property);
+
+	/**
+	 * Get the strategy which uses the Java reflection API to read and write the bean property values.
+	 * @return The reflection {@link BeanPropertyAccessorStrategy}
+	 */
+	static BeanPropertyAccessorStrategy reflection() {
+		return ReflectionBeanPropertyAccessorStrategy.INSTANCE;
+	}
+
+	/**
+	 * Get the strategy which uses accessors generated through <code>java.lang.invoke</code> method handles to read and
+	 * write the bean property values.
+	 * <p>
+	 * When a property accessor cannot be generated, for example because of module access restrictions, the reflection
+	 * API is used as fallback.
+	 * </p>
+	 * @return The method handle {@link BeanPropertyAccessorStrategy}
+	 */
+	static BeanPropertyAccessorStrategy methodHandle() {
+		return MethodHandleBeanPropertyAccessorStrategy.INSTANCE;
+	}
+
+	/**
+	 * Get the built-in strategy which corresponds to given type.
+	 * @param type The strategy type (not null)
+	 * @return The {@link BeanPropertyAccessorStrategy} of given type
+	 */
+	static BeanPropertyAccessorStrategy of(Type type) {
+		ObjectUtils.argumentNotNull(type, "Strategy type must be not null");
+		switch (type) {
+		case REFLECTION:
+			return reflection();
+		case METHOD_HANDLE:
+		default:
+			return methodHandle();
+		}
+	}
+
+	/**
+	 * Built-in strategy types.
+	 */
+	public enum Type {
+
+		/**
+		 * Java reflection API
+		 * @see BeanPropertyAccessorStrategy#reflection()
+		 */
+		REFLECTION,
+
+		/**
+		 * Generated method handle accessors
+		 * @see BeanPropertyAccessorStrategy#methodHandle()
+		 */
+		METHOD_HANDLE;
+
+	}
+
+}
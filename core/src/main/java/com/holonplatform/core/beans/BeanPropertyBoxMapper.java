@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.beans;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.exceptions.TypeMismatchException;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.Property.PropertyAccessException;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.property.PropertyValueConverter;
+
+/**
+ * Maps the property values of bean instances from and to {@link PropertyBox}es bound to a given {@link PropertySet}.
+ * <p>
+ * The mapping plan, i.e. the bean property and the {@link PropertyValueConverter}s to use for each {@link Path}
+ * property of the property set, is resolved once, when the mapper is created, so no property resolution is performed
+ * for each mapped bean or {@link PropertyBox}. A mapper instance is immutable and thread safe, and it is meant to be
+ * reused to map any number of bean instances or {@link PropertyBox}es.
+ * </p>
+ *
+ * @param <T> Bean type
+ *
+ * @since 6.0.1
+ *
+ * @see BeanPropertySet#mapper(PropertySet)
+ */
+public interface BeanPropertyBoxMapper<T> {
+
+	/**
+	 * Get the bean class.
+	 * @return The bean class
+	 */
+	Class<? extends T> getBeanClass();
+
+	/**
+	 * Get the property set of the mapped {@link PropertyBox}es.
+	 * @return The property set
+	 */
+	PropertySet<?> getPropertySet();
+
+	/**
+	 * Read the property values from given bean instance into the given {@link PropertyBox}.
+	 * <p>
+	 * Any {@link PropertyValueConverter} will be applied to read values from bean data model.
+	 * </p>
+	 * @param propertyBox PropertyBox into which to write the property values (not null)
+	 * @param instance Bean instance from which read the property values (not null)
+	 * @return The updated PropertyBox
+	 * @throws PropertyAccessException Error accessing bean properties
+	 * @throws TypeMismatchException If the bean property type and the PropertyBox property type mismatch for a property
+	 */
+	PropertyBox read(PropertyBox propertyBox, T instance);
+
+	/**
+	 * Read the property values from given bean instance into a new {@link PropertyBox} with the mapper property set.
+	 * <p>
+	 * The created PropertyBox allows invalid values, so no property value validation is performed.
+	 * </p>
+	 * @param instance Bean instance from which read the property values (not null)
+	 * @return The PropertyBox containing the property values read from the given bean instance
+	 * @throws PropertyAccessException Error accessing bean properties
+	 */
+	default PropertyBox read(T instance) {
+		return read(PropertyBox.builder(getPropertySet()).invalidAllowed(true).build(), instance);
+	}
+
+	/**
+	 * Read the property values from each bean instance of given stream into a new {@link PropertyBox}.
+	 * @param instances Bean instances to read (not null)
+	 * @return A stream of the PropertyBoxes containing the property values read from each bean instance
+	 * @see #read(Object)
+	 */
+	default Stream<PropertyBox> readAll(Stream<? extends T> instances) {
+		ObjectUtils.argumentNotNull(instances, "Bean instances must be not null");
+		return instances.map(instance -> read(instance));
+	}
+
+	/**
+	 * Read the property values from each bean instance of given collection into a new {@link PropertyBox}.
+	 * @param instances Bean instances to read (not null)
+	 * @return The PropertyBoxes containing the property values read from each bean instance, in the same order
+	 * @see #read(Object)
+	 */
+	default List<PropertyBox> readAll(Collection<? extends T> instances) {
+		ObjectUtils.argumentNotNull(instances, "Bean instances must be not null");
+		return readAll(instances.stream()).collect(Collectors.toList());
+	}
+
+	/**
+	 * Write the property values contained into given {@link PropertyBox} into given bean instance.
+	 * <p>
+	 * Any {@link PropertyValueConverter} will be applied to write values to bean data model.
+	 * </p>
+	 * @param propertyBox PropertyBox from which read the property values (not null)
+	 * @param instance Bean instance to which to write the property values (not null)
+	 * @return The updated bean instance
+	 * @throws PropertyAccessException Error accessing bean properties
+	 * @throws TypeMismatchException If the bean property type and the PropertyBox property type mismatch for a property
+	 */
+	T write(PropertyBox propertyBox, T instance);
+
+	/**
+	 * Write the property values contained into each {@link PropertyBox} of given stream into a new bean instance.
+	 * @param propertyBoxes PropertyBoxes from which read the property values (not null)
+	 * @param instanceProvider Provider of the bean instances to write (not null)
+	 * @return A stream of the written bean instances
+	 * @see #write(PropertyBox, Object)
+	 */
+	default Stream<T> writeAll(Stream<? extends PropertyBox> propertyBoxes, Supplier<? extends T> instanceProvider) {
+		ObjectUtils.argumentNotNull(propertyBoxes, "PropertyBoxes must be not null");
+		ObjectUtils.argumentNotNull(instanceProvider, "Bean instance provider must be not null");
+		return propertyBoxes.map(propertyBox -> write(propertyBox, instanceProvider.get()));
+	}
+
+	/**
+	 * Write the property values contained into each {@link PropertyBox} of given collection into a new bean instance.
+	 * @param propertyBoxes PropertyBoxes from which read the property values (not null)
+	 * @param instanceProvider Provider of the bean instances to write (not null)
+	 * @return The written bean instances, in the same order of the PropertyBoxes
+	 * @see #write(PropertyBox, Object)
+	 */
+	default List<T> writeAll(Collection<? extends PropertyBox> propertyBoxes, Supplier<? extends T> instanceProvider) {
+		ObjectUtils.argumentNotNull(propertyBoxes, "PropertyBoxes must be not null");
+		return writeAll(propertyBoxes.stream(), instanceProvider).collect(Collectors.toList());
+	}
+
+}
@@ -212,6 +212,39 @@ public interface BeanPropertySet<T> extends PropertySet<PathProperty<?>>, BeanPr
 		return write(propertyBox, instance, false);
 	}
 
+	/**
+	 * Get a {@link BeanPropertyBoxMapper} to map the bean instances of this property set from and to
+	 * {@link PropertyBox}es bound to given <code>propertySet</code>.
+	 * <p>
+	 * The matching between the property set properties and the bean properties is performed by property name, as for
+	 * {@link #read(PropertyBox, Object, boolean)} and {@link #write(PropertyBox, Object, boolean)}, only once, when the
+	 * mapper is created.
+	 * </p>
+	 * @param propertySet The property set of the PropertyBoxes to map (not null)
+	 * @param ignoreMissing <code>true</code> to ignore properties of the property set which are not present as bean
+	 *        property. If <code>false</code>, when a property of the property set does not match with any of the bean
+	 *        properties, a {@link PropertyNotFoundException} is thrown.
+	 * @return The {@link BeanPropertyBoxMapper}
+	 * @throws PropertyNotFoundException If <code>ignoreMissing</code> is <code>false</code> and a property of the
+	 *         property set does not match with any of the bean properties
+	 * @since 6.0.1
+	 */
+	BeanPropertyBoxMapper<T> mapper(PropertySet<?> propertySet, boolean ignoreMissing);
+
+	/**
+	 * Get a {@link BeanPropertyBoxMapper} to map the bean instances of this property set from and to
+	 * {@link PropertyBox}es bound to given <code>propertySet</code>.
+	 * @param propertySet The property set of the PropertyBoxes to map (not null)
+	 * @return The {@link BeanPropertyBoxMapper}
+	 * @throws PropertyNotFoundException If a property of the property set does not match with any of the bean
+	 *         properties
+	 * @see #mapper(PropertySet, boolean)
+	 * @since 6.0.1
+	 */
+	default BeanPropertyBoxMapper<T> mapper(PropertySet<?> propertySet) {
+		return mapper(propertySet, false);
+	}
+
 	// ------- Data mappings
 
 	/**
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.beans;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation which can be used on bean classes to request the generation of a {@link BeanIntrospectionDescriptor} at
+ * compile time, using the <code>holon-core-processor</code> annotation processor.
+ * <p>
+ * The generated descriptor is registered as a <code>META-INF/services</code> extension and it is used by the default
+ * {@link BeanIntrospector} to obtain the bean properties and their accessors, without inspecting the bean class at
+ * runtime.
+ * </p>
+ *
+ * @since 6.0.1
+ *
+ * @see BeanIntrospectionDescriptor
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+@Documented
+public @interface Introspected {
+
+}
@@ -16,6 +16,8 @@
 package com.holonplatform.core.datastore;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -40,6 +42,7 @@ import com.holonplatform.core.property.Property;
 import com.holonplatform.core.property.PropertyBox;
 import com.holonplatform.core.property.PropertySet;
 import com.holonplatform.core.query.Query;
+import com.holonplatform.core.query.QueryBatch;
 
 /**
  * Datastore interface represents a generic data store abstraction and provides methods to perform data manipulation
@@ -198,6 +201,20 @@ public interface Datastore
 		return query().target(target);
 	}
 
+	/**
+	 * Create a {@link QueryBatch}, which can be used to collect a set of independent queries and to execute them
+	 * together.
+	 * <p>
+	 * If a {@link QueryBatch} commodity is available, it is used to create the batch, allowing the concrete datastore
+	 * to pipeline or combine the queries. Otherwise, a batch which executes the queries in sequence is returned.
+	 * </p>
+	 * @return A new {@link QueryBatch}
+	 * @since 6.0.1
+	 */
+	default QueryBatch batch() {
+		return hasCommodity(QueryBatch.class) ? create(QueryBatch.class) : QueryBatch.create();
+	}
+
 	// Transactions
 
 	/**
@@ -260,6 +277,17 @@ public interface Datastore
 		 */
 		long getAffectedCount();
 
+		/**
+		 * When the operation was executed in more than one chunk, get the number of elements affected by each chunk
+		 * execution.
+		 * @return The affected elements count of each executed chunk, in execution order. An empty List if the
+		 *         operation was not executed in chunks
+		 * @since 6.0.1
+		 */
+		default List<Long> getChunkAffectedCounts() {
+			return Collections.emptyList();
+		}
+
 		/**
 		 * For {@link OperationType#INSERT} operations, returns the inserted key values, if the concrete
 		 * {@link Datastore} implementation supports this feature. The returned {@link Map} key set is composed by the
@@ -337,6 +365,15 @@ public interface Datastore
 			 */
 			Builder affectedCount(long count);
 
+			/**
+			 * Add the affected elements count of an executed operation chunk. The total affected elements count is not
+			 * changed.
+			 * @param count Chunk affected elements count
+			 * @return this
+			 * @since 6.0.1
+			 */
+			Builder chunkAffectedCount(long count);
+
 			/**
 			 * Add an inserted key
 			 * @param key Key path (not null)
@@ -17,6 +17,7 @@ package com.holonplatform.core.datastore;
 
 import java.util.Optional;
 
+import com.holonplatform.core.ExpressionResolverRegistry;
 import com.holonplatform.core.config.ConfigProperty;
 import com.holonplatform.core.config.ConfigPropertySet;
 import com.holonplatform.core.internal.config.DefaultConfigPropertySet;
@@ -44,6 +45,15 @@ public interface DatastoreConfigProperties extends ConfigPropertySet, DataContex
 	 */
 	static final ConfigProperty<String> DIALECT = ConfigProperty.create("dialect", String.class);
 
+	/**
+	 * The maximum number of cached resolution results of the immutable expressions. The resolution cache is disabled
+	 * by default.
+	 * @since 6.0.1
+	 * @see ExpressionResolverRegistry#setResolutionCacheSize(int)
+	 */
+	static final ConfigProperty<Integer> RESOLUTION_CACHE_SIZE = ConfigProperty.create("resolution-cache-size",
+			Integer.class);
+
 	/**
 	 * Gets whether datastore operations tracing is enabled.
 	 * @return <code>true</code> if datastore operations tracing is enabled, <code>false</code> otherwise
@@ -60,6 +70,15 @@ public interface DatastoreConfigProperties extends ConfigPropertySet, DataContex
 		return getConfigPropertyValue(DIALECT, null);
 	}
 
+	/**
+	 * Get the maximum number of cached resolution results of the immutable expressions.
+	 * @return The resolution cache size, <code>0</code> if the resolution cache is disabled
+	 * @since 6.0.1
+	 */
+	default int getResolutionCacheSize() {
+		return getConfigPropertyValue(RESOLUTION_CACHE_SIZE, 0);
+	}
+
 	/**
 	 * Builder to create property set instances bound to a property data source.
 	 * @param dataContextId Optional data context id to which {@link Datastore} is bound
@@ -40,6 +40,15 @@ public enum DefaultWriteOption implements WriteOption {
 	 * type operation should by performed. This write option disables the default behaviour, forcing to throw an error
 	 * in such kind of situations.
 	 */
-	SAVE_DISABLE_INSERT_FALLBACK;
+	SAVE_DISABLE_INSERT_FALLBACK,
+
+	/**
+	 * When the {@link PropertyBox} which is subject of an <code>UPDATE</code> type operation has change tracking
+	 * enabled, write only the values of the properties returned by {@link PropertyBox#getModifiedProperties()},
+	 * besides the identifier values used to select the data to update. The {@link PropertyBox} changes are not reset
+	 * by the operation. This option has no effect if the {@link PropertyBox} has change tracking disabled.
+	 * @since 6.0.1
+	 */
+	UPDATE_MODIFIED_ONLY;
 
 }
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.datastore.buffer;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.datastore.Datastore;
+import com.holonplatform.core.datastore.bulk.BulkInsert;
+import com.holonplatform.core.datastore.bulk.BulkUpdate;
+import com.holonplatform.core.datastore.transaction.Transactional;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.datastore.buffer.DefaultWriteBehindDatastore;
+import com.holonplatform.core.property.PropertyBox;
+
+/**
+ * A {@link Datastore} decorator which buffers the <code>insert</code>, <code>update</code> and <code>save</code>
+ * operations and writes them later, coalescing the successive operations on the same {@link DataTarget} and
+ * identifier into a single write.
+ * <p>
+ * The buffered operations are identified by the {@link DataTarget} name and by the values of the {@link PropertyBox}
+ * identifier properties: an operation on a {@link PropertyBox} which declares no identifier property or which has a
+ * <code>null</code> identifier value is not buffered and it is executed immediately. When an operation is coalesced,
+ * its values override the buffered ones, so that only the last value of each property is written. An
+ * <code>insert</code> followed by an <code>update</code> or a <code>save</code> is written as an <code>insert</code>,
+ * an <code>update</code> followed by a <code>save</code> is written as a <code>save</code>.
+ * </p>
+ * <p>
+ * The buffer is flushed when the buffered operations reach the maximum buffer size, when the flush interval elapses
+ * (if configured) or when {@link #flush()} is invoked. The buffered inserts are written using a {@link BulkInsert} and
+ * the buffered updates using a {@link BulkUpdate} filtered by identifier, while the buffered saves are written using
+ * the decorated datastore <code>save</code> operation.
+ * </p>
+ * <p>
+ * To ensure that the reads observe the buffered writes, the buffered operations of a target are flushed before any
+ * <code>refresh</code>, <code>delete</code> or bulk operation on the same target, and all the buffered operations are
+ * flushed before a query is created.
+ * </p>
+ * <p>
+ * If the decorated datastore is {@link Transactional}, the operations performed within a transaction started using
+ * this datastore are buffered separately and flushed just before the transaction commit, or discarded if the
+ * transaction is rolled back. The buffered operations which are not bound to a transaction are flushed when the
+ * transaction starts and, for the same target, before any operation performed within the transaction, so that they
+ * are always written before the transactional ones. If the transaction is not committed, the operations flushed
+ * within the transaction are put back in the buffer.
+ * </p>
+ * <p>
+ * Since the buffered operations are written asynchronously, the {@link OperationResult} returned by a buffered
+ * operation provides the operation type only and the write errors are reported by the flush operation. The
+ * operations which failed to be written are put back in the buffer, in their original order and ahead of the
+ * operations buffered in the meantime, and retried by the next flush. If a scheduled flush fails, the error is
+ * reported by the next {@link #flush()} invocation if the retry fails too.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public interface WriteBehindDatastore extends Datastore, AutoCloseable {
+
+	/**
+	 * Default maximum number of buffered operations.
+	 */
+	public static final int DEFAULT_MAXIMUM_BUFFER_SIZE = 1000;
+
+	/**
+	 * Write all the buffered operations which are not bound to a transaction.
+	 * @throws DataAccessException If a buffered operation write failed. The other buffered operations are written
+	 *         anyway and the failed ones are kept in the buffer.
+	 */
+	void flush();
+
+	/**
+	 * Write the buffered operations of given target which are not bound to a transaction.
+	 * @param target The data target (not null)
+	 * @throws DataAccessException If a buffered operation write failed. The other buffered operations are written
+	 *         anyway and the failed ones are kept in the buffer.
+	 */
+	void flush(DataTarget<?> target);
+
+	/**
+	 * Get the current number of buffered operations which are not bound to a transaction.
+	 * @return The buffer depth
+	 */
+	int getBufferDepth();
+
+	/**
+	 * Get the write buffer statistics, collected since the datastore creation.
+	 * @return The write buffer statistics
+	 */
+	WriteBufferStatistics getStatistics();
+
+	/**
+	 * Stop the scheduled flush, if configured, and write all the buffered operations.
+	 * @throws DataAccessException If a buffered operation write failed
+	 */
+	@Override
+	void close();
+
+	/**
+	 * Get a builder to create a {@link WriteBehindDatastore}.
+	 * @param datastore The datastore to decorate (not null)
+	 * @return A new {@link WriteBehindDatastore} builder
+	 */
+	static Builder builder(Datastore datastore) {
+		return new DefaultWriteBehindDatastore.DefaultBuilder(datastore);
+	}
+
+	/**
+	 * {@link WriteBehindDatastore} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Set the maximum number of buffered operations: when the maximum is reached, the buffer is flushed by the
+		 * thread which performs the operation. Defaults to {@link WriteBehindDatastore#DEFAULT_MAXIMUM_BUFFER_SIZE}.
+		 * @param maximumBufferSize The maximum buffer size, must be greater than <code>0</code>
+		 * @return this
+		 */
+		Builder maximumBufferSize(int maximumBufferSize);
+
+		/**
+		 * Set the interval of the scheduled buffer flush. By default, no scheduled flush is performed.
+		 * @param flushInterval The flush interval, <code>null</code> for none
+		 * @return this
+		 */
+		Builder flushInterval(Duration flushInterval);
+
+		/**
+		 * Set the executor to use to schedule the buffer flush. If not provided and a flush interval is configured,
+		 * a single daemon thread executor is created and shut down when the datastore is closed.
+		 * @param scheduler The scheduled executor service
+		 * @return this
+		 */
+		Builder scheduler(ScheduledExecutorService scheduler);
+
+		/**
+		 * Build the {@link WriteBehindDatastore}.
+		 * @return A new {@link WriteBehindDatastore}
+		 */
+		WriteBehindDatastore build();
+
+	}
+
+	/**
+	 * {@link WriteBehindDatastore} write buffer statistics.
+	 */
+	public interface WriteBufferStatistics {
+
+		/**
+		 * Get the number of operations accepted by the buffer, including the coalesced ones.
+		 * @return The buffered operations count
+		 */
+		long getBufferedCount();
+
+		/**
+		 * Get the number of operations which were coalesced with an already buffered operation.
+		 * @return The coalesced operations count
+		 */
+		long getCoalescedCount();
+
+		/**
+		 * Get the number of performed buffer flushes.
+		 * @return The flush count
+		 */
+		long getFlushCount();
+
+		/**
+		 * Get the number of buffered operations written by the buffer flushes.
+		 * @return The written operations count
+		 */
+		long getWrittenCount();
+
+		/**
+		 * Get the number of buffered operations which write failed.
+		 * @return The failed operations count
+		 */
+		long getFailedCount();
+
+		/**
+		 * Get the current number of buffered operations which are not bound to a transaction.
+		 * @return The buffer depth
+		 */
+		int getBufferDepth();
+
+		/**
+		 * Get the duration of the last buffer flush.
+		 * @return The last flush latency, {@link Duration#ZERO} if no flush was performed
+		 */
+		Duration getLastFlushLatency();
+
+		/**
+		 * Get the maximum duration of a buffer flush.
+		 * @return The maximum flush latency, {@link Duration#ZERO} if no flush was performed
+		 */
+		Duration getMaximumFlushLatency();
+
+		/**
+		 * Get the total duration of the buffer flushes.
+		 * @return The total flush latency
+		 */
+		Duration getTotalFlushLatency();
+
+		/**
+		 * Get the average duration of a buffer flush.
+		 * @return The average flush latency, {@link Duration#ZERO} if no flush was performed
+		 */
+		default Duration getAverageFlushLatency() {
+			final long count = getFlushCount();
+			return (count == 0) ? Duration.ZERO : getTotalFlushLatency().dividedBy(count);
+		}
+
+	}
+
+}
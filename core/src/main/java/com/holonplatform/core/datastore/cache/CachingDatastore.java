@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.datastore.cache;
+
+import com.holonplatform.core.datastore.Datastore;
+import com.holonplatform.core.internal.datastore.cache.DefaultCachingDatastore;
+
+/**
+ * A {@link Datastore} decorator which uses a {@link QueryCache} to cache the results of the queries performed through
+ * the {@link #query()} builder.
+ * <p>
+ * The cached results of a target are invalidated when a write operation is performed on the same target through this
+ * datastore, i.e. an <code>insert</code>, <code>update</code>, <code>save</code>, <code>delete</code> or a bulk
+ * operation. Write operations performed using the decorated datastore directly are not detected.
+ * </p>
+ * 
+ * @since 6.0.1
+ * 
+ * @see QueryCache
+ */
+public interface CachingDatastore extends Datastore {
+
+	/**
+	 * Get the query cache used by this datastore.
+	 * @return The query cache
+	 */
+	QueryCache getQueryCache();
+
+	/**
+	 * Create a new {@link CachingDatastore} which decorates given datastore.
+	 * @param datastore The datastore to decorate (not null)
+	 * @param queryCache The query cache to use (not null)
+	 * @return A new {@link CachingDatastore}
+	 */
+	static CachingDatastore create(Datastore datastore, QueryCache queryCache) {
+		return new DefaultCachingDatastore(datastore, queryCache);
+	}
+
+}
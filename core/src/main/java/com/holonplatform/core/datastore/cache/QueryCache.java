@@ -0,0 +1,196 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.datastore.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.internal.datastore.cache.DefaultQueryCache;
+import com.holonplatform.core.query.QueryConfiguration;
+import com.holonplatform.core.query.QueryProjection;
+
+/**
+ * A bounded, in-memory cache of query results, which can be used by a {@link CachingDatastore} to avoid executing
+ * repeatedly the same query.
+ * <p>
+ * The query results are cached only for the {@link DataTarget}s which are declared as cacheable, matched by name. The
+ * cache key is built from the query target, filter, sort, aggregation, limit, offset, distinct flag and parameters and
+ * from the query projection.
+ * </p>
+ * <p>
+ * When the maximum cache size is reached, the least recently used results are evicted. If a time to live is
+ * configured, the cached results expire after the given duration from the query execution.
+ * </p>
+ * 
+ * @since 6.0.1
+ * 
+ * @see CachingDatastore
+ */
+public interface QueryCache {
+
+	/**
+	 * Default maximum number of cached query results.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+	/**
+	 * Get whether the query results for given target are cacheable.
+	 * @param target The data target (not null)
+	 * @return <code>true</code> if the query results for given target are cacheable, <code>false</code> otherwise
+	 */
+	boolean isCacheable(DataTarget<?> target);
+
+	/**
+	 * Get the results of a query, using the cached results if available or the given <code>loader</code> to execute
+	 * the query and obtain the results to cache otherwise.
+	 * <p>
+	 * If the query target is not cacheable, the <code>loader</code> is always used and the results are not cached.
+	 * </p>
+	 * @param <R> Results type
+	 * @param configuration The query configuration (not null)
+	 * @param projection The query projection (not null)
+	 * @param loader The function to use to execute the query and obtain the results (not null)
+	 * @return The query results
+	 */
+	<R> List<R> getResults(QueryConfiguration configuration, QueryProjection<R> projection,
+			Supplier<List<R>> loader);
+
+	/**
+	 * Invalidate the cached query results for given target.
+	 * @param target The data target (not null)
+	 */
+	void invalidate(DataTarget<?> target);
+
+	/**
+	 * Invalidate all the cached query results.
+	 */
+	void invalidateAll();
+
+	/**
+	 * Get the cache statistics, collected since the cache creation.
+	 * @return The cache statistics
+	 */
+	CacheStatistics getStatistics();
+
+	/**
+	 * Get a builder to create a {@link QueryCache}.
+	 * @return A new {@link QueryCache} builder
+	 */
+	static Builder builder() {
+		return new DefaultQueryCache.DefaultBuilder();
+	}
+
+	/**
+	 * {@link QueryCache} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Set the maximum number of cached query results. Defaults to {@link QueryCache#DEFAULT_MAXIMUM_SIZE}.
+		 * @param maximumSize The maximum cache size, must be greater than <code>0</code>
+		 * @return this
+		 */
+		Builder maximumSize(int maximumSize);
+
+		/**
+		 * Set the time to live of the cached query results. By default, the cached results do not expire.
+		 * @param timeToLive The time to live, <code>null</code> for no expiration
+		 * @return this
+		 */
+		Builder timeToLive(Duration timeToLive);
+
+		/**
+		 * Declare the query results of given target as cacheable.
+		 * @param target The data target (not null)
+		 * @return this
+		 */
+		Builder target(DataTarget<?> target);
+
+		/**
+		 * Declare the query results of given targets as cacheable.
+		 * @param targets The data targets (not null)
+		 * @return this
+		 */
+		default Builder targets(DataTarget<?>... targets) {
+			for (DataTarget<?> target : targets) {
+				target(target);
+			}
+			return this;
+		}
+
+		/**
+		 * Declare the query results of any target as cacheable.
+		 * @return this
+		 */
+		Builder allTargets();
+
+		/**
+		 * Build the {@link QueryCache}.
+		 * @return A new {@link QueryCache}
+		 */
+		QueryCache build();
+
+	}
+
+	/**
+	 * {@link QueryCache} statistics.
+	 */
+	public interface CacheStatistics {
+
+		/**
+		 * Get the number of cacheable queries served using the cached results.
+		 * @return The cache hit count
+		 */
+		long getHitCount();
+
+		/**
+		 * Get the number of cacheable queries for which the cached results were not available.
+		 * @return The cache miss count
+		 */
+		long getMissCount();
+
+		/**
+		 * Get the number of cached results evicted because the cache size limit was reached or because they expired.
+		 * @return The cache eviction count
+		 */
+		long getEvictionCount();
+
+		/**
+		 * Get the number of cached results removed by a target invalidation.
+		 * @return The cache invalidation count
+		 */
+		long getInvalidationCount();
+
+		/**
+		 * Get the current number of cached results.
+		 * @return The cache size
+		 */
+		int getSize();
+
+		/**
+		 * Get the ratio of cacheable queries served using the cached results.
+		 * @return The cache hit ratio, <code>1.0</code> if no cacheable query was performed
+		 */
+		default double getHitRatio() {
+			final long requests = getHitCount() + getMissCount();
+			return (requests == 0) ? 1.0 : (double) getHitCount() / requests;
+		}
+
+	}
+
+}
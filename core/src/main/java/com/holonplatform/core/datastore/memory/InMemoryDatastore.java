@@ -0,0 +1,126 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.datastore.memory;
+
+import com.holonplatform.core.ExpressionResolver.ExpressionResolverBuilder;
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.datastore.Datastore;
+import com.holonplatform.core.datastore.DatastoreCommodity;
+import com.holonplatform.core.datastore.DatastoreCommodityContext;
+import com.holonplatform.core.datastore.DatastoreCommodityFactory;
+import com.holonplatform.core.datastore.transaction.Transactional;
+import com.holonplatform.core.internal.datastore.memory.DefaultInMemoryDatastore;
+import com.holonplatform.core.property.PropertyBox;
+
+/**
+ * A thread-safe {@link Datastore} which stores the {@link PropertyBox} values in memory, grouped by
+ * {@link DataTarget} name.
+ * <p>
+ * The rows are identified by the property set identifier properties values. A {@link PropertyBox} which property set
+ * declares no identifier property can be inserted, but it can only be updated or deleted using bulk operations.
+ * </p>
+ * <p>
+ * The query filters, sorts, aggregations and the core query functions are evaluated natively. The datastore is
+ * {@link Transactional} and its transactions provide <em>snapshot isolation</em>: a transaction reads the data as it
+ * was when the transaction started, along with its own changes, and its commit fails if any of the rows it changed was
+ * modified by another transaction in the meantime. The data reads never block.
+ * </p>
+ * <p>
+ * The data is stored using copy-on-write structures, so this datastore is best suited for read-mostly data, such as a
+ * local replica of reference data, or as a lightweight stand-in for another datastore in tests and benchmarks.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public interface InMemoryDatastore extends Datastore, Transactional {
+
+	/**
+	 * Remove all the data of given target.
+	 * @param target The data target (not null)
+	 */
+	void clear(DataTarget<?> target);
+
+	/**
+	 * Remove all the data of all the targets.
+	 */
+	void clear();
+
+	/**
+	 * Create a new {@link InMemoryDatastore} using the default configuration.
+	 * @return A new {@link InMemoryDatastore}
+	 */
+	static InMemoryDatastore create() {
+		return builder().build();
+	}
+
+	/**
+	 * Get a builder to create an {@link InMemoryDatastore}.
+	 * @return A new {@link InMemoryDatastore} builder
+	 */
+	static Builder builder() {
+		return new DefaultInMemoryDatastore.DefaultBuilder();
+	}
+
+	/**
+	 * The {@link DatastoreCommodityContext} of an {@link InMemoryDatastore}.
+	 */
+	public interface InMemoryDatastoreCommodityContext extends DatastoreCommodityContext {
+
+		/**
+		 * Get the datastore.
+		 * @return The datastore
+		 */
+		InMemoryDatastore getDatastore();
+
+	}
+
+	/**
+	 * {@link InMemoryDatastore} builder.
+	 */
+	public interface Builder extends ExpressionResolverBuilder<Builder> {
+
+		/**
+		 * Set the data context id to which the datastore is bound.
+		 * @param dataContextId The data context id
+		 * @return this
+		 */
+		Builder dataContextId(String dataContextId);
+
+		/**
+		 * Set whether to log the executed queries.
+		 * @param traceEnabled <code>true</code> to enable the queries tracing
+		 * @return this
+		 */
+		Builder traceEnabled(boolean traceEnabled);
+
+		/**
+		 * Register a {@link DatastoreCommodityFactory}.
+		 * @param <C> Commodity type
+		 * @param commodityFactory The commodity factory to register (not null)
+		 * @return this
+		 */
+		<C extends DatastoreCommodity> Builder withCommodity(
+				DatastoreCommodityFactory<InMemoryDatastoreCommodityContext, C> commodityFactory);
+
+		/**
+		 * Build the {@link InMemoryDatastore}.
+		 * @return A new {@link InMemoryDatastore}
+		 */
+		InMemoryDatastore build();
+
+	}
+
+}
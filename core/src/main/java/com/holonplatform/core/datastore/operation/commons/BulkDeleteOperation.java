@@ -15,6 +15,9 @@
  */
 package com.holonplatform.core.datastore.operation.commons;
 
+import java.util.Arrays;
+
+import com.holonplatform.core.query.QueryFilter;
 import com.holonplatform.core.query.QueryFilter.QueryFilterSupport;
 
 /**
@@ -28,4 +31,26 @@ import com.holonplatform.core.query.QueryFilter.QueryFilterSupport;
 public interface BulkDeleteOperation<R, O extends BulkDeleteOperation<R, O>>
 		extends ExecutableBulkOperation<R, BulkDeleteOperationConfiguration, O>, QueryFilterSupport<O> {
 
+	/**
+	 * Add a set of operation partition filters. Each partition filter, combined with the operation filter, identifies
+	 * a subset of the data to delete which is processed as an independent operation partition.
+	 * @param partitions The partition filters to add (not null)
+	 * @return this
+	 * @since 6.0.1
+	 * @see #parallelism(int)
+	 */
+	O partitions(Iterable<QueryFilter> partitions);
+
+	/**
+	 * Add a set of operation partition filters. Each partition filter, combined with the operation filter, identifies
+	 * a subset of the data to delete which is processed as an independent operation partition.
+	 * @param partitions The partition filters to add (not null)
+	 * @return this
+	 * @since 6.0.1
+	 * @see #parallelism(int)
+	 */
+	default O partitions(QueryFilter... partitions) {
+		return partitions(Arrays.asList(partitions));
+	}
+
 }
@@ -15,6 +15,7 @@
  */
 package com.holonplatform.core.datastore.operation.commons;
 
+import java.util.List;
 import java.util.Optional;
 
 import com.holonplatform.core.query.QueryFilter;
@@ -24,7 +25,7 @@ import com.holonplatform.core.query.QueryFilter;
  *
  * @since 5.1.0
  */
-public interface BulkDeleteOperationConfiguration extends DatastoreOperationConfiguration {
+public interface BulkDeleteOperationConfiguration extends BulkOperationConfiguration {
 
 	/**
 	 * Get the optional operation restrictions, expressed as a {@link QueryFilter}.
@@ -32,4 +33,12 @@ public interface BulkDeleteOperationConfiguration extends DatastoreOperationConf
 	 */
 	Optional<QueryFilter> getFilter();
 
+	/**
+	 * Get the operation partition filters. Each partition filter, combined with the operation filter, identifies a
+	 * subset of the data to delete which can be processed as an independent operation partition.
+	 * @return The partition filters, an empty List if the operation is not partitioned
+	 * @since 6.0.1
+	 */
+	List<QueryFilter> getPartitions();
+
 }
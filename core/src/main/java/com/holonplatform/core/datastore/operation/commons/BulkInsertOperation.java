@@ -16,7 +16,10 @@
 package com.holonplatform.core.datastore.operation.commons;
 
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Stream;
 
 import com.holonplatform.core.Path;
 import com.holonplatform.core.property.Property;
@@ -70,6 +73,58 @@ public interface BulkInsertOperation<R, O extends BulkInsertOperation<R, O>>
 		return add(Arrays.asList(values));
 	}
 
+	/**
+	 * Add the {@link PropertyBox} values provided by given iterator to insert.
+	 * <p>
+	 * The values are not buffered: they are read lazily at operation execution, one chunk at a time, so the operation
+	 * can be executed only once.
+	 * </p>
+	 * @param values The values iterator (not null)
+	 * @return this
+	 * @since 6.0.1
+	 * @see #chunkSize(int)
+	 */
+	O add(Iterator<PropertyBox> values);
+
+	/**
+	 * Add the {@link PropertyBox} values provided by given spliterator to insert.
+	 * <p>
+	 * The values are not buffered: they are read lazily at operation execution, one chunk at a time, so the operation
+	 * can be executed only once.
+	 * </p>
+	 * @param values The values spliterator (not null)
+	 * @return this
+	 * @since 6.0.1
+	 * @see #chunkSize(int)
+	 */
+	O add(Spliterator<PropertyBox> values);
+
+	/**
+	 * Add the {@link PropertyBox} values provided by given stream to insert.
+	 * <p>
+	 * The values are not buffered: they are read lazily at operation execution, one chunk at a time, so the operation
+	 * can be executed only once. The stream is not closed by the operation.
+	 * </p>
+	 * @param values The values stream (not null)
+	 * @return this
+	 * @since 6.0.1
+	 * @see #chunkSize(int)
+	 */
+	O add(Stream<PropertyBox> values);
+
+	/**
+	 * Set the maximum number of values to insert in a single operation chunk. The values are inserted one chunk at a
+	 * time, and the operation result provides the affected count of each chunk.
+	 * <p>
+	 * By default, the values added using {@link #add(Iterable)} are inserted in a single chunk, while the streamed
+	 * values are inserted in chunks of {@link BulkInsertOperationConfiguration#DEFAULT_STREAMING_CHUNK_SIZE} values.
+	 * </p>
+	 * @param chunkSize The chunk size, <code>0</code> to use the default chunk size
+	 * @return this
+	 * @since 6.0.1
+	 */
+	O chunkSize(int chunkSize);
+
 	/**
 	 * Add a path - value map to insert.
 	 * @param values Value map to add to the bulk insert operation (not null)
@@ -15,6 +15,7 @@
  */
 package com.holonplatform.core.datastore.operation.commons;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,14 +27,55 @@ import com.holonplatform.core.property.PropertySet;
  *
  * @since 5.1.0
  */
-public interface BulkInsertOperationConfiguration extends DatastoreOperationConfiguration {
+public interface BulkInsertOperationConfiguration extends BulkOperationConfiguration {
+
+	/**
+	 * The chunk size used by default for the streamed values, when a chunk size is not configured.
+	 * @since 6.0.1
+	 */
+	static final int DEFAULT_STREAMING_CHUNK_SIZE = 1000;
 
 	/**
 	 * Get the values to insert.
+	 * <p>
+	 * If streamed values are configured, they are read and buffered by this method, so that the returned List always
+	 * contains all the values to insert. Use {@link #getChunks()} to read the streamed values lazily, one chunk at a
+	 * time, instead.
+	 * </p>
 	 * @return The operation values, an empty List if none
 	 */
 	List<PropertyBox> getValues();
 
+	/**
+	 * Get whether streamed values are configured, i.e. values which are lazily provided by a stream or an iterator and
+	 * which were not buffered yet by {@link #getValues()}.
+	 * @return <code>true</code> if streamed values are configured
+	 * @since 6.0.1
+	 */
+	boolean hasStreamedValues();
+
+	/**
+	 * Get the maximum number of values to insert in a single operation chunk.
+	 * @return The chunk size, <code>0</code> if not configured
+	 * @since 6.0.1
+	 */
+	int getChunkSize();
+
+	/**
+	 * Get the values to insert, organized in chunks.
+	 * <p>
+	 * Each chunk contains at most {@link #getChunkSize()} values. If the chunk size is not configured, all the values
+	 * are provided in a single chunk, unless streamed values are configured: in that case the
+	 * {@link #DEFAULT_STREAMING_CHUNK_SIZE} is used.
+	 * </p>
+	 * <p>
+	 * The streamed values are read lazily, one chunk at a time, so the returned iterator can be consumed only once.
+	 * </p>
+	 * @return The values chunks iterator
+	 * @since 6.0.1
+	 */
+	Iterator<List<PropertyBox>> getChunks();
+
 	/**
 	 * Get the operation property set.
 	 * @return Optional operation property set
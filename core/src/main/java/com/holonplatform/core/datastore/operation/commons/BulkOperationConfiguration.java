@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.datastore.operation.commons;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * Bulk operation configuration.
+ * <p>
+ * A bulk operation can be executed in more than one partition (for example, chunks of values to insert or partition
+ * filters). The partitions can be executed concurrently, according to the configured {@link #getParallelism()}.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public interface BulkOperationConfiguration extends DatastoreOperationConfiguration {
+
+	/**
+	 * Get the maximum number of operation partitions to execute concurrently.
+	 * @return The operation parallelism, <code>1</code> if the partitions are executed sequentially
+	 */
+	int getParallelism();
+
+	/**
+	 * Get the {@link Executor} to use to execute the operation partitions concurrently.
+	 * @return Optional operation executor. If not available and the operation parallelism is greater than
+	 *         <code>1</code>, a dedicated thread pool is used for each operation execution
+	 */
+	Optional<Executor> getExecutor();
+
+}
@@ -15,11 +15,14 @@
  */
 package com.holonplatform.core.datastore.operation.commons;
 
+import java.util.Arrays;
+
 import com.holonplatform.core.ConstantConverterExpression;
 import com.holonplatform.core.NullExpression;
 import com.holonplatform.core.Path;
 import com.holonplatform.core.TypedExpression;
 import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.query.QueryFilter;
 import com.holonplatform.core.query.QueryFilter.QueryFilterSupport;
 
 /**
@@ -95,4 +98,26 @@ public interface BulkUpdateOperation<R, O extends BulkUpdateOperation<R, O>>
 		return set(propertyBox, true);
 	}
 
+	/**
+	 * Add a set of operation partition filters. Each partition filter, combined with the operation filter, identifies
+	 * a subset of the data to update which is processed as an independent operation partition.
+	 * @param partitions The partition filters to add (not null)
+	 * @return this
+	 * @since 6.0.1
+	 * @see #parallelism(int)
+	 */
+	O partitions(Iterable<QueryFilter> partitions);
+
+	/**
+	 * Add a set of operation partition filters. Each partition filter, combined with the operation filter, identifies
+	 * a subset of the data to update which is processed as an independent operation partition.
+	 * @param partitions The partition filters to add (not null)
+	 * @return this
+	 * @since 6.0.1
+	 * @see #parallelism(int)
+	 */
+	default O partitions(QueryFilter... partitions) {
+		return partitions(Arrays.asList(partitions));
+	}
+
 }
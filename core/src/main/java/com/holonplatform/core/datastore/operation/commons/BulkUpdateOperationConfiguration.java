@@ -15,6 +15,7 @@
  */
 package com.holonplatform.core.datastore.operation.commons;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -27,7 +28,7 @@ import com.holonplatform.core.query.QueryFilter;
  *
  * @since 5.1.0
  */
-public interface BulkUpdateOperationConfiguration extends DatastoreOperationConfiguration {
+public interface BulkUpdateOperationConfiguration extends BulkOperationConfiguration {
 
 	/**
 	 * Get the optional operation restrictions, expressed as a {@link QueryFilter}.
@@ -35,6 +36,14 @@ public interface BulkUpdateOperationConfiguration extends DatastoreOperationConf
 	 */
 	Optional<QueryFilter> getFilter();
 
+	/**
+	 * Get the operation partition filters. Each partition filter, combined with the operation filter, identifies a
+	 * subset of the data to update which can be processed as an independent operation partition.
+	 * @return The partition filters, an empty List if the operation is not partitioned
+	 * @since 6.0.1
+	 */
+	List<QueryFilter> getPartitions();
+
 	/**
 	 * Get the operation values, expressed as a {@link Path} - {@link TypedExpression} map.
 	 * @return The path-value expression map, empty if none
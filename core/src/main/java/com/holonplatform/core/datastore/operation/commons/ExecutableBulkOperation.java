@@ -15,6 +15,8 @@
  */
 package com.holonplatform.core.datastore.operation.commons;
 
+import java.util.concurrent.Executor;
+
 import com.holonplatform.core.datastore.DatastoreCommodity;
 
 /**
@@ -32,4 +34,29 @@ import com.holonplatform.core.datastore.DatastoreCommodity;
 public interface ExecutableBulkOperation<R, C extends DatastoreOperationConfiguration, O extends ExecutableBulkOperation<R, C, O>>
 		extends DatastoreOperation<O, C>, ExecutableOperation<R>, DatastoreCommodity {
 
+	/**
+	 * Set the maximum number of operation partitions to execute concurrently.
+	 * <p>
+	 * The way the operation is partitioned depends on the operation type: for example, the values of a bulk insert
+	 * operation are partitioned in chunks, while bulk update and delete operations can be partitioned using a set of
+	 * partition filters. Each partition should be executed by the concrete Datastore implementation in its own
+	 * transactional unit, and the partition results are merged in partition order.
+	 * </p>
+	 * @param parallelism The operation parallelism, <code>1</code> (the default) to execute the partitions
+	 *        sequentially
+	 * @return this
+	 * @since 6.0.1
+	 */
+	O parallelism(int parallelism);
+
+	/**
+	 * Set the {@link Executor} to use to execute the operation partitions concurrently, when the operation parallelism
+	 * is greater than <code>1</code>. If not configured, a dedicated thread pool is used for each operation execution.
+	 * @param executor The executor to use
+	 * @return this
+	 * @since 6.0.1
+	 * @see #parallelism(int)
+	 */
+	O executor(Executor executor);
+
 }
@@ -16,16 +16,23 @@
 package com.holonplatform.core.internal;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import jakarta.annotation.Priority;
 
 import com.holonplatform.core.Expression;
+import com.holonplatform.core.Expression.ImmutableExpression;
 import com.holonplatform.core.Expression.InvalidExpressionException;
 import com.holonplatform.core.ExpressionResolver;
 import com.holonplatform.core.ExpressionResolver.ResolutionContext;
@@ -34,6 +41,15 @@ import com.holonplatform.core.internal.utils.ObjectUtils;
 
 /**
  * Default {@link ExpressionResolverRegistry} implementation.
+ * <p>
+ * This registry is thread-safe. The suitable resolvers for each expression type and resolution type pair are cached
+ * by default and the cache lookups are lock-free. The cached resolvers are invalidated each time an
+ * {@link ExpressionResolver} is added to or removed from the registry.
+ * </p>
+ * <p>
+ * The resolution results of the {@link ImmutableExpression}s can be cached too, using an approximate least recently
+ * used eviction policy which does not require locking on cache hits. The resolution results cache is disabled by default, use {@link #setResolutionCacheSize(int)} to enable it.
+ * </p>
  *
  * @since 5.0.0
  */
@@ -47,10 +63,30 @@ public class DefaultExpressionResolverRegistry implements ExpressionResolverRegi
 	 */
 	private static final Logger LOGGER = CoreLogger.create();
 
+	/**
+	 * Whether the expression resolvers cache is enabled
+	 */
+	private final boolean cacheEnabled;
+
 	/**
 	 * Expression resolvers cache
 	 */
-	private final WeakHashMap<Class<?>, WeakHashMap<Class<?>, List<ExpressionResolver>>> cache;
+	private transient volatile ResolversCache cache;
+
+	/**
+	 * Registered resolvers version, incremented at each registry modification
+	 */
+	private final AtomicLong version = new AtomicLong();
+
+	/**
+	 * Resolution results cache maximum size
+	 */
+	private volatile int resolutionCacheSize = 0;
+
+	/**
+	 * Resolution results cache
+	 */
+	private transient volatile ResolutionCache resolutionCache;
 
 	/**
 	 * {@link ExpressionResolver} comparator using {@link Priority} annotation.
@@ -62,7 +98,7 @@ public class DefaultExpressionResolverRegistry implements ExpressionResolverRegi
 	/**
 	 * Registered resolvers.
 	 */
-	private final List<ExpressionResolver> resolvers = new ArrayList<>();
+	private final List<ExpressionResolver> resolvers = new CopyOnWriteArrayList<>();
 
 	/**
 	 * Contructor with cache enabled by default.
@@ -77,7 +113,7 @@ public class DefaultExpressionResolverRegistry implements ExpressionResolverRegi
 	 */
 	public DefaultExpressionResolverRegistry(boolean cacheEnabled) {
 		super();
-		cache = cacheEnabled ? new WeakHashMap<>() : null;
+		this.cacheEnabled = cacheEnabled;
 	}
 
 	/*
@@ -90,6 +126,7 @@ public class DefaultExpressionResolverRegistry implements ExpressionResolverRegi
 			ExpressionResolver<E, R> expressionResolver) {
 		ObjectUtils.argumentNotNull(expressionResolver, "ExpressionResolver to add must be not null");
 		resolvers.add(expressionResolver);
+		version.incrementAndGet();
 		LOGGER.debug(() -> "Added ExpressionResolver [" + expressionResolver + "] to registry [" + this + "]");
 	}
 
@@ -102,7 +139,9 @@ public class DefaultExpressionResolverRegistry implements ExpressionResolverRegi
 	public <E extends Expression, R extends Expression> void removeExpressionResolver(
 			ExpressionResolver<E, R> expressionResolver) {
 		ObjectUtils.argumentNotNull(expressionResolver, "ExpressionResolver to remove must be not null");
-		resolvers.remove(expressionResolver);
+		if (resolvers.remove(expressionResolver)) {
+			version.incrementAndGet();
+		}
 		LOGGER.debug(() -> "Removed ExpressionResolver [" + expressionResolver + "] from registry [" + this + "]");
 	}
 
@@ -122,11 +161,29 @@ public class DefaultExpressionResolverRegistry implements ExpressionResolverRegi
 	 * java.lang.Class, com.holonplatform.core.ExpressionResolver.ResolutionContext)
 	 */
 	@Override
+	@SuppressWarnings("unchecked")
 	public <E extends Expression, R extends Expression> Optional<R> resolve(final E expression,
 			final Class<R> resolutionType, ResolutionContext context) throws InvalidExpressionException {
 		ObjectUtils.argumentNotNull(expression, "Expression to resolve must be not null");
 		ObjectUtils.argumentNotNull(resolutionType, "Resolution type must be not null");
 
+		// check resolution cache
+		final ResolutionCache results = (expression instanceof ImmutableExpression) ? getResolutionCache() : null;
+		if (results != null) {
+			final long currentVersion = version.get();
+			final ResolutionKey key = new ResolutionKey(expression, resolutionType);
+			final Optional<R> cached = (Optional<R>) results.get(key, currentVersion);
+			if (cached != null) {
+				LOGGER.debug(() -> "Expression [" + expression + "] for type [" + resolutionType
+						+ "] resolution obtained from cache");
+				return cached;
+			}
+			final Optional<R> resolved = resolveExpression(
+					getResolversForExpressionType(expression.getClass(), resolutionType), expression, context);
+			results.put(key, resolved, currentVersion);
+			return resolved;
+		}
+
 		LOGGER.debug(() -> "Resolving expression [" + expression + "] for type [" + resolutionType + "] using context ["
 				+ context + "]...");
 
@@ -139,30 +196,99 @@ public class DefaultExpressionResolverRegistry implements ExpressionResolverRegi
 		return resolved;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ExpressionResolverRegistry#setResolutionCacheSize(int)
+	 */
+	@Override
+	public synchronized void setResolutionCacheSize(int maximumSize) {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("Resolution cache size must be greater or equal to 0");
+		}
+		this.resolutionCacheSize = maximumSize;
+		this.resolutionCache = (maximumSize > 0) ? new ResolutionCache(maximumSize) : null;
+		LOGGER.debug(() -> "Registry [" + this + "]: setted resolution cache size [" + maximumSize + "]");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ExpressionResolverRegistry#getResolutionCacheStatistics()
+	 */
+	@Override
+	public ResolutionCacheStatistics getResolutionCacheStatistics() {
+		final ResolutionCache results = getResolutionCache();
+		return (results != null) ? results.getStatistics() : new DefaultResolutionCacheStatistics(0, 0, 0, 0, 0);
+	}
+
+	/**
+	 * Get the resolution results cache, creating it if enabled and not available.
+	 * @return The resolution results cache, <code>null</code> if disabled
+	 */
+	private ResolutionCache getResolutionCache() {
+		ResolutionCache results = resolutionCache;
+		if (results == null && resolutionCacheSize > 0) {
+			synchronized (this) {
+				results = resolutionCache;
+				if (results == null && resolutionCacheSize > 0) {
+					resolutionCache = results = new ResolutionCache(resolutionCacheSize);
+				}
+			}
+		}
+		return results;
+	}
+
 	/**
 	 * Get a priority-ordered list of the suitable {@link ExpressionResolver} for given expression and resolution type.
 	 * @param expressionType Expression type
 	 * @param resolvedType Resolution type
 	 * @return Expression resolvers list, empty if none
 	 */
-	@SuppressWarnings("unchecked")
 	private List<ExpressionResolver> getResolversForExpressionType(Class<?> expressionType, Class<?> resolvedType) {
-
+		if (!cacheEnabled) {
+			return lookupResolvers(expressionType, resolvedType);
+		}
 		// check cache
-		if (cache != null && cache.containsKey(expressionType) && cache.get(expressionType).containsKey(resolvedType)) {
-			return cache.get(expressionType).get(resolvedType);
+		final long currentVersion = version.get();
+		final ConcurrentHashMap<Class<?>, CachedResolvers> cached = getCache().get(expressionType);
+		final CachedResolvers entry = cached.get(resolvedType);
+		if (entry != null && entry.version == currentVersion) {
+			return entry.resolvers;
 		}
+		// lookup and cache resolvers, bound to the registry version at lookup time
+		final List<ExpressionResolver> expressionResolvers = lookupResolvers(expressionType, resolvedType);
+		cached.put(resolvedType, new CachedResolvers(currentVersion, expressionResolvers));
+		return expressionResolvers;
+	}
 
-		List<ExpressionResolver> expressionResolvers = resolvers.stream().filter(
-				r -> r.getExpressionType().isAssignableFrom(expressionType) && r.getResolvedType() == resolvedType)
-				.sorted(PRIORITY_COMPARATOR).collect(Collectors.toList());
-
-		// cache resolvers
-		if (cache != null) {
-			cache.computeIfAbsent(expressionType, k -> new WeakHashMap<>()).put(resolvedType, expressionResolvers);
+	/**
+	 * Get the expression resolvers cache, creating it if not available.
+	 * @return The expression resolvers cache
+	 */
+	private ResolversCache getCache() {
+		ResolversCache resolversCache = cache;
+		if (resolversCache == null) {
+			synchronized (this) {
+				resolversCache = cache;
+				if (resolversCache == null) {
+					cache = resolversCache = new ResolversCache();
+				}
+			}
 		}
+		return resolversCache;
+	}
 
-		return expressionResolvers;
+	/**
+	 * Get a priority-ordered list of the registered {@link ExpressionResolver} suitable for given expression and
+	 * resolution type.
+	 * @param expressionType Expression type
+	 * @param resolvedType Resolution type
+	 * @return Expression resolvers list, empty if none
+	 */
+	@SuppressWarnings("unchecked")
+	private List<ExpressionResolver> lookupResolvers(Class<?> expressionType, Class<?> resolvedType) {
+		return Collections.unmodifiableList(resolvers.stream().filter(
+				r -> r.getExpressionType().isAssignableFrom(expressionType) && r.getResolvedType() == resolvedType)
+				.sorted(PRIORITY_COMPARATOR).collect(Collectors.toList()));
 	}
 
 	/**
@@ -195,4 +321,262 @@ public class DefaultExpressionResolverRegistry implements ExpressionResolverRegi
 		return resolved;
 	}
 
+	/**
+	 * Expression resolvers cache, which binds to each expression type the suitable resolvers by resolution type.
+	 */
+	private static final class ResolversCache extends ClassValue<ConcurrentHashMap<Class<?>, CachedResolvers>> {
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.ClassValue#computeValue(java.lang.Class)
+		 */
+		@Override
+		protected ConcurrentHashMap<Class<?>, CachedResolvers> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>(4);
+		}
+
+	}
+
+	/**
+	 * Cached expression resolvers, bound to the registry version at lookup time.
+	 */
+	private static final class CachedResolvers {
+
+		final long version;
+		final List<ExpressionResolver> resolvers;
+
+		CachedResolvers(long version, List<ExpressionResolver> resolvers) {
+			super();
+			this.version = version;
+			this.resolvers = resolvers;
+		}
+
+	}
+
+	/**
+	 * Resolution results cache key.
+	 */
+	private static final class ResolutionKey {
+
+		private final Expression expression;
+		private final Class<?> resolutionType;
+		private final int hash;
+
+		ResolutionKey(Expression expression, Class<?> resolutionType) {
+			super();
+			this.expression = expression;
+			this.resolutionType = resolutionType;
+			this.hash = 31 * expression.hashCode() + resolutionType.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ResolutionKey)) {
+				return false;
+			}
+			final ResolutionKey other = (ResolutionKey) obj;
+			return resolutionType == other.resolutionType && expression.equals(other.expression);
+		}
+
+	}
+
+	/**
+	 * Cached resolution result, bound to the registry version at resolution time.
+	 */
+	private static final class ResolutionResult {
+
+		final long version;
+		final Optional<?> result;
+
+		/**
+		 * Cache clock value at last access
+		 */
+		volatile long lastAccess;
+
+		ResolutionResult(long version, Optional<?> result, long lastAccess) {
+			super();
+			this.version = version;
+			this.result = result;
+			this.lastAccess = lastAccess;
+		}
+
+	}
+
+	/**
+	 * Resolution results cache, with an approximate least recently used eviction policy.
+	 * <p>
+	 * The cache lookups are lock-free: each cached result records the cache clock value at last access, and the clock
+	 * is advanced only when a result is added to the cache. When the maximum size is exceeded, a single thread evicts
+	 * the least recently accessed results in batch, while the other threads keep using the cache.
+	 * </p>
+	 */
+	private static final class ResolutionCache {
+
+		private final int maximumSize;
+
+		/**
+		 * Cache size to restore when the maximum size is exceeded
+		 */
+		private final int evictionSize;
+
+		private final ConcurrentHashMap<ResolutionKey, ResolutionResult> results = new ConcurrentHashMap<>();
+
+		private final AtomicLong clock = new AtomicLong();
+
+		private final ReentrantLock evictionLock = new ReentrantLock();
+
+		private final LongAdder hitCount = new LongAdder();
+		private final LongAdder missCount = new LongAdder();
+		private final LongAdder evictionCount = new LongAdder();
+
+		ResolutionCache(int maximumSize) {
+			super();
+			this.maximumSize = maximumSize;
+			this.evictionSize = maximumSize - (maximumSize >>> 3);
+		}
+
+		/**
+		 * Get the cached resolution result for given key.
+		 * @param key Resolution key
+		 * @param version Current registry version
+		 * @return The cached resolution result, <code>null</code> if not available or if bound to a previous registry
+		 *         version
+		 */
+		Optional<?> get(ResolutionKey key, long version) {
+			final ResolutionResult cached = results.get(key);
+			if (cached != null && cached.version == version) {
+				final long now = clock.get();
+				if (cached.lastAccess != now) {
+					cached.lastAccess = now;
+				}
+				hitCount.increment();
+				return cached.result;
+			}
+			missCount.increment();
+			return null;
+		}
+
+		/**
+		 * Cache a resolution result.
+		 * @param key Resolution key
+		 * @param result Resolution result
+		 * @param version Registry version at resolution time
+		 */
+		void put(ResolutionKey key, Optional<?> result, long version) {
+			results.merge(key, new ResolutionResult(version, result, clock.incrementAndGet()),
+					(cached, resolved) -> (cached.version <= resolved.version) ? resolved : cached);
+			if (results.size() > maximumSize) {
+				evict();
+			}
+		}
+
+		/**
+		 * Evict the least recently accessed results, if no other thread is already doing it.
+		 * <p>
+		 * The access times are copied before being compared, since they are concurrently updated by the cache readers:
+		 * the eviction is approximate, according to the access times at copy time. The cache is reduced to the
+		 * eviction size, so that the eviction cost is amortized over the next <code>maximumSize / 8</code> results.
+		 * </p>
+		 */
+		private void evict() {
+			if (!evictionLock.tryLock()) {
+				return;
+			}
+			try {
+				final int count = results.size() - evictionSize;
+				if (results.size() > maximumSize && count > 0) {
+					final List<Map.Entry<ResolutionKey, ResolutionResult>> entries = new ArrayList<>(
+							results.entrySet());
+					final long[] accesses = new long[entries.size()];
+					for (int i = 0; i < accesses.length; i++) {
+						accesses[i] = entries.get(i).getValue().lastAccess;
+					}
+					final long[] sorted = accesses.clone();
+					Arrays.sort(sorted);
+					final long threshold = sorted[Math.min(count, sorted.length) - 1];
+					for (int i = 0; i < accesses.length && results.size() > evictionSize; i++) {
+						final Map.Entry<ResolutionKey, ResolutionResult> entry = entries.get(i);
+						if (accesses[i] <= threshold && results.remove(entry.getKey(), entry.getValue())) {
+							evictionCount.increment();
+						}
+					}
+				}
+			} finally {
+				evictionLock.unlock();
+			}
+		}
+
+		/**
+		 * Get the cache statistics.
+		 * @return The cache statistics
+		 */
+		ResolutionCacheStatistics getStatistics() {
+			return new DefaultResolutionCacheStatistics(hitCount.sum(), missCount.sum(), evictionCount.sum(),
+					results.size(), maximumSize);
+		}
+
+	}
+
+	/**
+	 * Default {@link ResolutionCacheStatistics} implementation.
+	 */
+	private static final class DefaultResolutionCacheStatistics implements ResolutionCacheStatistics {
+
+		private final long hitCount;
+		private final long missCount;
+		private final long evictionCount;
+		private final int size;
+		private final int maximumSize;
+
+		DefaultResolutionCacheStatistics(long hitCount, long missCount, long evictionCount, int size,
+				int maximumSize) {
+			super();
+			this.hitCount = hitCount;
+			this.missCount = missCount;
+			this.evictionCount = evictionCount;
+			this.size = size;
+			this.maximumSize = maximumSize;
+		}
+
+		@Override
+		public long getHitCount() {
+			return hitCount;
+		}
+
+		@Override
+		public long getMissCount() {
+			return missCount;
+		}
+
+		@Override
+		public long getEvictionCount() {
+			return evictionCount;
+		}
+
+		@Override
+		public int getSize() {
+			return size;
+		}
+
+		@Override
+		public int getMaximumSize() {
+			return maximumSize;
+		}
+
+		@Override
+		public String toString() {
+			return "ResolutionCacheStatistics [hitCount=" + hitCount + ", missCount=" + missCount
+					+ ", evictionCount=" + evictionCount + ", size=" + size + ", maximumSize=" + maximumSize + "]";
+		}
+
+	}
+
 }
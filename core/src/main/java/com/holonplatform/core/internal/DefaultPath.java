@@ -23,12 +23,15 @@ import com.holonplatform.core.internal.utils.ObjectUtils;
 
 /**
  * Default {@link Path} implementation.
+ * <p>
+ * The path full and relative names are computed once and cached, until the parent path changes.
+ * </p>
  * 
  * @param <T> Path type
  *
  * @since 5.0.0
  */
-public class DefaultPath<T> implements PathBuilder<T> {
+public class DefaultPath<T> implements PathBuilder<T>, PathNames.Provider {
 
 	private static final long serialVersionUID = 7636700561875450996L;
 
@@ -52,6 +55,11 @@ public class DefaultPath<T> implements PathBuilder<T> {
 	 */
 	private String dataPath;
 
+	/**
+	 * Cached path names
+	 */
+	private transient volatile PathNames pathNames;
+
 	/**
 	 * Construct a new DefaultPath
 	 * @param name Path name (not null)
@@ -101,9 +109,43 @@ public class DefaultPath<T> implements PathBuilder<T> {
 	@Override
 	public PathBuilder<T> parent(Path<?> parent) {
 		this.parent = parent;
+		this.pathNames = null;
 		return this;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.PathNames.Provider#getPathNames()
+	 */
+	@Override
+	public PathNames getPathNames() {
+		final PathNames parentNames = (parent != null) ? PathNames.of(parent) : null;
+		PathNames names = pathNames;
+		if (names == null || !names.isChildOf(parentNames)) {
+			names = PathNames.create(this, parentNames);
+			pathNames = names;
+		}
+		return names;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.Path#fullName()
+	 */
+	@Override
+	public String fullName() {
+		return getPathNames().getFullName();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.Path#relativeName()
+	 */
+	@Override
+	public String relativeName() {
+		return getPathNames().getRelativeName();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.DataMappable.Builder#dataPath(java.lang.String)
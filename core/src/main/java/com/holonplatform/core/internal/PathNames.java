@@ -0,0 +1,243 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.Path.FinalPath;
+
+/**
+ * Immutable {@link Path} names holder, which provides the path full name, the path relative name and the path name
+ * segments, from the root path to the path itself.
+ * <p>
+ * All the names are interned using a global interning table, so that the equal names of different path instances
+ * share the same {@link String} instance.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public final class PathNames {
+
+	/**
+	 * Maximum number of interned names: when reached, the names are no longer interned.
+	 */
+	private static final int MAX_INTERNED_NAMES = 1 << 16;
+
+	/**
+	 * Interned names
+	 */
+	private static final ConcurrentHashMap<String, String> INTERNED = new ConcurrentHashMap<>(256);
+
+	/**
+	 * A {@link Path} which caches its names.
+	 */
+	public interface Provider {
+
+		/**
+		 * Get the path names.
+		 * @return The path names (never null)
+		 */
+		PathNames getPathNames();
+
+	}
+
+	private final PathNames parent;
+
+	private final String fullName;
+
+	private final String relativeName;
+
+	private final String[] segments;
+
+	private final List<String> segmentList;
+
+	private final int relativeDepth;
+
+	/**
+	 * Constructor.
+	 * @param parent Parent path names, <code>null</code> for a root path
+	 * @param fullName Path full name
+	 * @param relativeName Path relative name
+	 * @param segments Path name segments
+	 * @param relativeDepth Number of the relative name segments
+	 */
+	private PathNames(PathNames parent, String fullName, String relativeName, String[] segments,
+			int relativeDepth) {
+		super();
+		this.parent = parent;
+		this.fullName = fullName;
+		this.relativeName = relativeName;
+		this.segments = segments;
+		this.relativeDepth = relativeDepth;
+		this.segmentList = Collections.unmodifiableList(Arrays.asList(segments));
+	}
+
+	/**
+	 * Get the path full name, including any parent path, separated by a dot <code>.</code> character.
+	 * @return The path full name
+	 */
+	public String getFullName() {
+		return fullName;
+	}
+
+	/**
+	 * Get the path relative name, which excludes any {@link FinalPath} name.
+	 * @return The path relative name, an empty String for a root {@link FinalPath}
+	 */
+	public String getRelativeName() {
+		return relativeName;
+	}
+
+	/**
+	 * Get the path name segments, from the root path to the path itself.
+	 * @return The path name segments
+	 */
+	public List<String> getSegments() {
+		return segmentList;
+	}
+
+	/**
+	 * Get the number of path name segments.
+	 * @return The path depth, <code>1</code> for a root path
+	 */
+	public int getDepth() {
+		return segments.length;
+	}
+
+	/**
+	 * Checks whether these names were composed using given parent names, comparing them by identity first.
+	 * @param parentNames The parent names, <code>null</code> for a root path
+	 * @return <code>true</code> if these names are consistent with given parent names
+	 */
+	public boolean isChildOf(PathNames parentNames) {
+		if (parent == parentNames) {
+			return true;
+		}
+		if (parent == null || parentNames == null) {
+			return false;
+		}
+		return parent.relativeDepth == parentNames.relativeDepth && parent.fullName.equals(parentNames.fullName)
+				&& parent.relativeName.equals(parentNames.relativeName);
+	}
+
+	/**
+	 * Get the names of given path. If the path is a {@link Provider}, its cached names are returned.
+	 * @param path The path (not null)
+	 * @return The path names
+	 */
+	public static PathNames of(Path<?> path) {
+		if (path instanceof Provider) {
+			return ((Provider) path).getPathNames();
+		}
+		return create(path, path.getParent().map(PathNames::of).orElse(null));
+	}
+
+	/**
+	 * Create the names of given path, using given parent names.
+	 * @param path The path (not null)
+	 * @param parentNames The parent path names, <code>null</code> for a root path
+	 * @return The path names
+	 */
+	public static PathNames create(Path<?> path, PathNames parentNames) {
+		final String name = intern(path.getName());
+		final boolean finalPath = path instanceof FinalPath;
+		if (parentNames == null) {
+			return new PathNames(null, name, finalPath ? "" : name, new String[] { name }, finalPath ? 0 : 1);
+		}
+		final String[] segments = Arrays.copyOf(parentNames.segments, parentNames.segments.length + 1);
+		segments[segments.length - 1] = name;
+		final String fullName = intern(parentNames.fullName + Path.PATH_HIERARCHY_SEPARATOR + name);
+		final String relativeName;
+		if (finalPath) {
+			relativeName = parentNames.relativeName;
+		} else if (parentNames.relativeDepth == 0) {
+			relativeName = name;
+		} else {
+			relativeName = intern(parentNames.relativeName + Path.PATH_HIERARCHY_SEPARATOR + name);
+		}
+		return new PathNames(parentNames, fullName, relativeName, segments,
+				finalPath ? parentNames.relativeDepth : parentNames.relativeDepth + 1);
+	}
+
+	/**
+	 * Compose the name of given path hierarchy, using given function to obtain each path name.
+	 * @param path The path (not null)
+	 * @param nameMapper The path name mapper (not null)
+	 * @param relative Whether to exclude the {@link FinalPath} names
+	 * @return The composed name
+	 */
+	public static String compose(Path<?> path, Function<Path<?>, String> nameMapper, boolean relative) {
+		// collect the hierarchy, from this path to the root path
+		Path<?>[] hierarchy = new Path<?>[4];
+		int count = 0;
+		Path<?> current = path;
+		while (current != null) {
+			if (count == hierarchy.length) {
+				hierarchy = Arrays.copyOf(hierarchy, count * 2);
+			}
+			hierarchy[count++] = current;
+			current = current.getParent().orElse(null);
+		}
+		final StringBuilder sb = new StringBuilder();
+		boolean first = true;
+		for (int i = count - 1; i >= 0; i--) {
+			if (!relative || !(hierarchy[i] instanceof FinalPath)) {
+				if (!first) {
+					sb.append(Path.PATH_HIERARCHY_SEPARATOR);
+				}
+				sb.append(nameMapper.apply(hierarchy[i]));
+				first = false;
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Intern given name, returning the shared instance of any equal name, so that the interned names can be compared
+	 * by identity.
+	 * @param name The name to intern
+	 * @return The interned name, or the name itself if the interning table is full
+	 */
+	public static String intern(String name) {
+		if (name == null) {
+			return null;
+		}
+		final String interned = INTERNED.get(name);
+		if (interned != null) {
+			return interned;
+		}
+		if (INTERNED.size() >= MAX_INTERNED_NAMES) {
+			return name;
+		}
+		final String previous = INTERNED.putIfAbsent(name, name);
+		return (previous != null) ? previous : name;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "PathNames [fullName=" + fullName + ", relativeName=" + relativeName + "]";
+	}
+
+}
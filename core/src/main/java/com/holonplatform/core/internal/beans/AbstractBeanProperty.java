@@ -25,6 +25,8 @@ import java.util.Optional;
 
 import com.holonplatform.core.Path;
 import com.holonplatform.core.beans.BeanProperty;
+import com.holonplatform.core.beans.BeanPropertyAccessor;
+import com.holonplatform.core.beans.BeanPropertyAccessorStrategy;
 import com.holonplatform.core.beans.IgnoreMode;
 import com.holonplatform.core.internal.property.AbstractPathProperty;
 import com.holonplatform.core.internal.utils.ObjectUtils;
@@ -76,6 +78,16 @@ public abstract class AbstractBeanProperty<T> extends AbstractPathProperty<T, Be
 	 */
 	private IgnoreMode ignoreMode;
 
+	/**
+	 * Property accessor, bound to the strategy which provided it
+	 */
+	private transient volatile StrategyAccessor accessor;
+
+	/**
+	 * Property accessor to use regardless of the accessor strategy, if any
+	 */
+	private transient BeanPropertyAccessor fixedAccessor;
+
 	/**
 	 * Constructor.
 	 * @param name Property name (not null)
@@ -135,6 +147,37 @@ public abstract class AbstractBeanProperty<T> extends AbstractPathProperty<T, Be
 		return Optional.ofNullable(field != null ? field.get() : null);
 	}
 
+	/**
+	 * Get the {@link BeanPropertyAccessor} to use to read and write this property value, obtained from given strategy.
+	 * <p>
+	 * The accessor is obtained once and cached, as long as the same strategy is used. If an accessor was set using
+	 * {@link #setAccessor(BeanPropertyAccessor)}, that accessor is returned regardless of the strategy.
+	 * </p>
+	 * @param strategy The accessor strategy (not null)
+	 * @return The property accessor
+	 */
+	public BeanPropertyAccessor getAccessor(BeanPropertyAccessorStrategy strategy) {
+		ObjectUtils.argumentNotNull(strategy, "Accessor strategy must be not null");
+		if (fixedAccessor != null) {
+			return fixedAccessor;
+		}
+		StrategyAccessor current = accessor;
+		if (current == null || current.strategy != strategy) {
+			current = new StrategyAccessor(strategy, strategy.getAccessor(this));
+			accessor = current;
+		}
+		return current.accessor;
+	}
+
+	/**
+	 * Set the {@link BeanPropertyAccessor} to use to read and write this property value, regardless of the accessor
+	 * strategy.
+	 * @param accessor The property accessor to set
+	 */
+	void setAccessor(BeanPropertyAccessor accessor) {
+		this.fixedAccessor = accessor;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.beans.BeanProperty#getSequence()
@@ -174,6 +217,7 @@ public abstract class AbstractBeanProperty<T> extends AbstractPathProperty<T, Be
 	@Override
 	public BeanProperty.Builder<T> readMethod(Method method) {
 		this.readMethod = (method != null) ? new WeakReference<>(method) : null;
+		this.accessor = null;
 		return this;
 	}
 
@@ -184,6 +228,7 @@ public abstract class AbstractBeanProperty<T> extends AbstractPathProperty<T, Be
 	@Override
 	public BeanProperty.Builder<T> writeMethod(Method method) {
 		this.writeMethod = (method != null) ? new WeakReference<>(method) : null;
+		this.accessor = null;
 		return this;
 	}
 
@@ -194,6 +239,7 @@ public abstract class AbstractBeanProperty<T> extends AbstractPathProperty<T, Be
 	@Override
 	public BeanProperty.Builder<T> field(Field field) {
 		this.field = (field != null) ? new WeakReference<>(field) : null;
+		this.accessor = null;
 		return this;
 	}
 
@@ -269,4 +315,20 @@ public abstract class AbstractBeanProperty<T> extends AbstractPathProperty<T, Be
 		return "BeanProperty [getName()=" + getName() + ", getType()=" + getType() + "]";
 	}
 
+	/**
+	 * A {@link BeanPropertyAccessor} bound to the strategy which provided it.
+	 */
+	private static final class StrategyAccessor {
+
+		final BeanPropertyAccessorStrategy strategy;
+		final BeanPropertyAccessor accessor;
+
+		StrategyAccessor(BeanPropertyAccessorStrategy strategy, BeanPropertyAccessor accessor) {
+			super();
+			this.strategy = strategy;
+			this.accessor = accessor;
+		}
+
+	}
+
 }
@@ -20,18 +20,22 @@ import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import jakarta.annotation.Priority;
 
@@ -39,8 +43,11 @@ import com.holonplatform.core.Path;
 import com.holonplatform.core.Path.FinalPath;
 import com.holonplatform.core.Path.FinalPath.FinalPathBuilder;
 import com.holonplatform.core.beans.BeanConfigProperties;
+import com.holonplatform.core.beans.BeanIntrospectionDescriptor;
+import com.holonplatform.core.beans.BeanIntrospectionDescriptor.PropertyDefinition;
 import com.holonplatform.core.beans.BeanIntrospector;
 import com.holonplatform.core.beans.BeanProperty;
+import com.holonplatform.core.beans.BeanPropertyAccessorStrategy;
 import com.holonplatform.core.beans.BeanPropertyPostProcessor;
 import com.holonplatform.core.beans.BeanPropertySet;
 import com.holonplatform.core.beans.BeanPropertySetPostProcessor;
@@ -61,7 +68,17 @@ import com.holonplatform.core.property.PropertyBox;
  * 
  * <p>
  * Cache is supported and active by default. Use {@link BeanConfigProperties#BEAN_INTROSPECTOR_CACHE_ENABLED} to disable
- * cache in the case of memory consumption issues.
+ * cache in the case of memory consumption issues. Cached bean property sets are bound to the bean classes through a
+ * {@link ClassValue}, so cache lookups are lock-free and each bean class is introspected only once.
+ * </p>
+ * <p>
+ * The bean property values are read and written using generated method handle accessors by default. Use
+ * {@link BeanConfigProperties#BEAN_PROPERTY_ACCESSOR_STRATEGY} or
+ * {@link #setPropertyAccessorStrategy(BeanPropertyAccessorStrategy)} to change the accessor strategy.
+ * </p>
+ * <p>
+ * When a {@link BeanIntrospectionDescriptor} is registered for a bean class, the bean properties are obtained from the
+ * descriptor instead of inspecting the bean class, and read and written using the descriptor accessors.
  * </p>
  * 
  * @since 5.0.0
@@ -153,6 +170,27 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 		}
 	}
 
+	/**
+	 * Default property accessor strategy
+	 */
+	private static BeanPropertyAccessorStrategy DEFAULT_ACCESSOR_STRATEGY = BeanPropertyAccessorStrategy.methodHandle();
+
+	static {
+		try {
+			DEFAULT_ACCESSOR_STRATEGY = BeanPropertyAccessorStrategy.of(BeanConfigProperties.builder()
+					.withDefaultPropertySources().build().getBeanPropertyAccessorStrategy());
+			LOGGER.debug(() -> "Default property accessor strategy: " + DEFAULT_ACCESSOR_STRATEGY);
+		} catch (Exception e) {
+			DEFAULT_ACCESSOR_STRATEGY = BeanPropertyAccessorStrategy.methodHandle();
+			LOGGER.warn("Failed to read bean property accessor strategy configuration property", e);
+		}
+	}
+
+	/**
+	 * Property accessor strategy
+	 */
+	private volatile BeanPropertyAccessorStrategy propertyAccessorStrategy = DEFAULT_ACCESSOR_STRATEGY;
+
 	/**
 	 * Property set post processors
 	 */
@@ -163,6 +201,11 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 	 */
 	private final List<BeanPropertyPostProcessor> propertyPostProcessors = new LinkedList<>();
 
+	/**
+	 * Bean introspection descriptors, by bean class
+	 */
+	private final Map<Class<?>, BeanIntrospectionDescriptor> descriptors = new HashMap<>();
+
 	/**
 	 * Constructor
 	 * @param classLoader ClassLoader to use
@@ -174,8 +217,8 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 	}
 
 	/**
-	 * Load {@link BeanPropertySetPostProcessor}s and {@link BeanPropertyPostProcessor}s from
-	 * <code>META-INF/services</code> extensions.
+	 * Load {@link BeanPropertySetPostProcessor}s, {@link BeanPropertyPostProcessor}s and
+	 * {@link BeanIntrospectionDescriptor}s from <code>META-INF/services</code> extensions.
 	 * @param classLoader ClassLoader to use
 	 */
 	private void init(final ClassLoader classLoader) {
@@ -213,6 +256,23 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 		});
 		// sort by priority
 		Collections.sort(this.propertyPostProcessors, PROPERTY_POST_PROCESSOR_PRIORITY_COMPARATOR);
+		// introspection descriptors
+		LOGGER.debug(() -> "Load BeanIntrospectionDescriptors for classloader [" + classLoader
+				+ "] using ServiceLoader with service name: " + BeanIntrospectionDescriptor.class.getName());
+		Iterable<BeanIntrospectionDescriptor> descriptors = AccessController
+				.doPrivileged(new PrivilegedAction<Iterable<BeanIntrospectionDescriptor>>() {
+					@Override
+					public Iterable<BeanIntrospectionDescriptor> run() {
+						return ServiceLoader.load(BeanIntrospectionDescriptor.class, classLoader);
+					}
+				});
+		descriptors.forEach(d -> {
+			if (d.getBeanClass() != null) {
+				this.descriptors.put(d.getBeanClass(), d);
+				LOGGER.debug(() -> "Loaded and registered BeanIntrospectionDescriptor [" + d + "] for bean class ["
+						+ d.getBeanClass() + "] and classloader [" + classLoader + "]");
+			}
+		});
 	}
 
 	/*
@@ -314,12 +374,19 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 	@Override
 	public boolean clearCache() {
 		LOGGER.debug(() -> "Clear cache");
-		synchronized (cache) {
-			cache.clear();
-		}
+		cache = new PropertySetCache();
 		return true;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanIntrospector#getCacheStatistics()
+	 */
+	@Override
+	public CacheStatistics getCacheStatistics() {
+		return new DefaultCacheStatistics(hitCount.sum(), missCount.sum(), Duration.ofNanos(buildTime.sum()));
+	}
+
 	/**
 	 * Get the current cache size
 	 * @return Cache size
@@ -329,10 +396,38 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 	}
 
 	/**
-	 * Cache: bean class <-> BeanPropertyContext
+	 * Cache: bean class -> BeanPropertySet, replaced when the cache is cleared
+	 */
+	private volatile PropertySetCache cache = new PropertySetCache();
+
+	/**
+	 * Cache statistics
 	 */
-	@SuppressWarnings("rawtypes")
-	private final Map<Class<?>, BeanPropertySet> cache = new WeakHashMap<>(16, 0.9f);
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder buildTime = new LongAdder();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanIntrospector#getPropertyAccessorStrategy()
+	 */
+	@Override
+	public BeanPropertyAccessorStrategy getPropertyAccessorStrategy() {
+		return propertyAccessorStrategy;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanIntrospector#setPropertyAccessorStrategy(com.holonplatform.core.beans.
+	 * BeanPropertyAccessorStrategy)
+	 */
+	@Override
+	public void setPropertyAccessorStrategy(BeanPropertyAccessorStrategy propertyAccessorStrategy) {
+		ObjectUtils.argumentNotNull(propertyAccessorStrategy, "BeanPropertyAccessorStrategy must be not null");
+		this.propertyAccessorStrategy = propertyAccessorStrategy;
+		LOGGER.debug(() -> "Property accessor strategy set to [" + propertyAccessorStrategy + "]");
+		clearCache();
+	}
 
 	/*
 	 * (non-Javadoc)
@@ -383,29 +478,56 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.beans.BeanIntrospector#getPropertySet(java.lang.Class)
 	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@SuppressWarnings("unchecked")
 	@Override
 	public <T> BeanPropertySet<T> getPropertySet(Class<? extends T> beanClass) {
 		ObjectUtils.argumentNotNull(beanClass, "Bean class must be not null");
 		LOGGER.debug(() -> "Get BeanPropertySet for bean class [" + beanClass + "]");
-		synchronized (cache) {
-			if (CACHE_ENABLED && cache.containsKey(beanClass)) {
-				return cache.get(beanClass);
+
+		if (!CACHE_ENABLED) {
+			return (BeanPropertySet<T>) introspect(beanClass);
+		}
+
+		final PropertySetCache current = cache;
+		final CachedPropertySet cached = current.get(beanClass);
+		BeanPropertySet<?> beanPropertySet = cached.propertySet;
+		if (beanPropertySet == null) {
+			// introspect the bean class only once
+			synchronized (cached) {
+				beanPropertySet = cached.propertySet;
+				if (beanPropertySet == null) {
+					beanPropertySet = introspect(beanClass);
+					cached.propertySet = beanPropertySet;
+					current.register(beanClass);
+					return (BeanPropertySet<T>) beanPropertySet;
+				}
 			}
+		}
+		hitCount.increment();
+		return (BeanPropertySet<T>) beanPropertySet;
+	}
 
+	/**
+	 * Introspect given bean class and build its {@link BeanPropertySet}, updating the cache statistics.
+	 * @param beanClass Bean class
+	 * @return The bean class property set
+	 * @throws BeanIntrospectionException Error during bean introspection
+	 */
+	private BeanPropertySet<?> introspect(Class<?> beanClass) throws BeanIntrospectionException {
+		missCount.increment();
+		final long start = System.nanoTime();
+		try {
 			// get bean path
-			final FinalPathBuilder<T> rootBeanPath = FinalPath.of(beanClass.getName(), beanClass);
+			final FinalPathBuilder<?> rootBeanPath = FinalPath.of(beanClass.getName(), beanClass);
 
-			final BeanPropertySet beanPropertySet = buildBeanPropertySet(beanClass, rootBeanPath);
+			final BeanPropertySet<?> beanPropertySet = buildBeanPropertySet(beanClass, rootBeanPath);
 
 			// check data path
-			((BeanPropertySet<?>) beanPropertySet).getDataPath().ifPresent(dp -> rootBeanPath.dataPath(dp));
+			beanPropertySet.getDataPath().ifPresent(dp -> rootBeanPath.dataPath(dp));
 
-			if (CACHE_ENABLED) {
-				BeanPropertySet existing = cache.putIfAbsent(beanClass, beanPropertySet);
-				return (existing != null ? existing : beanPropertySet);
-			}
 			return beanPropertySet;
+		} finally {
+			buildTime.add(System.nanoTime() - start);
 		}
 	}
 
@@ -432,13 +554,15 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 		final DefaultBeanPropertySet<T> beanPropertySet = builder.build();
 		// check identifiers
 		properties.stream().filter(p -> p.isIdentifier()).forEach(p -> beanPropertySet.addIdentifier(p));
+		// property accessors
+		beanPropertySet.setAccessorStrategy(getPropertyAccessorStrategy());
 		// return bean property set
 		return beanPropertySet;
 	}
 
 	/**
 	 * Resolve bean properties inspecting given bean class and invoking
-	 * {@link #buildBeanProperty(Class, BeanProperty, PropertyDescriptor)} for each valid detected property.
+	 * {@link #buildBeanProperty(Class, Path, BeanProperty, PropertyDescriptor, PropertyDefinition)} for each valid detected property.
 	 * @param beanClass Bean property to inspect
 	 * @param parentPath Optional parent path
 	 * @param parent Parent bean property if bean class is a nested bean class
@@ -449,13 +573,19 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 			throws BeanIntrospectionException {
 		final List<BeanProperty<?>> properties = new LinkedList<>();
 		if (isIntrospectable(beanClass)) {
+			// check descriptor
+			final Map<String, PropertyDefinition> definitions = new HashMap<>();
+			PropertyDescriptor[] propertyDescriptors = getPropertyDescriptors(beanClass, definitions);
 			// get bean info
 			try {
-				PropertyDescriptor[] propertyDescriptors = Introspector.getBeanInfo(beanClass).getPropertyDescriptors();
+				if (propertyDescriptors == null) {
+					propertyDescriptors = Introspector.getBeanInfo(beanClass).getPropertyDescriptors();
+				}
 				if (propertyDescriptors != null) {
 					for (PropertyDescriptor propertyDescriptor : propertyDescriptors) {
 						if (!EXCLUDE_DEFAULT_BEAN_PROPERTY_NAMES.contains(propertyDescriptor.getName())) {
-							buildBeanProperty(beanClass, parentPath, parent, propertyDescriptor).ifPresent(p -> {
+							buildBeanProperty(beanClass, parentPath, parent, propertyDescriptor,
+									definitions.get(propertyDescriptor.getName())).ifPresent(p -> {
 								if (p.addToPropertySet) {
 									properties.add(p.property);
 									LOGGER.debug(
@@ -475,17 +605,57 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 		return properties;
 	}
 
+	/**
+	 * Get the {@link PropertyDescriptor}s of given bean class using the {@link BeanIntrospectionDescriptor} registered
+	 * for the bean class, if any.
+	 * @param beanClass Bean class
+	 * @param definitions The map to fill with the property definitions of the descriptor, by property name
+	 * @return The bean class property descriptors, or <code>null</code> if no valid descriptor is available for the
+	 *         bean class
+	 */
+	private PropertyDescriptor[] getPropertyDescriptors(Class<?> beanClass, Map<String, PropertyDefinition> definitions) {
+		final BeanIntrospectionDescriptor descriptor = descriptors.get(beanClass);
+		if (descriptor != null) {
+			final List<PropertyDescriptor> propertyDescriptors = new ArrayList<>();
+			try {
+				for (PropertyDefinition definition : descriptor.getProperties()) {
+					final Method readMethod = definition.getReadMethodName().isPresent()
+							? beanClass.getMethod(definition.getReadMethodName().get())
+							: null;
+					final Method writeMethod = definition.getWriteMethodName().isPresent()
+							? beanClass.getMethod(definition.getWriteMethodName().get(),
+									definition.getWriteMethodParameterType().orElse(definition.getType()))
+							: null;
+					propertyDescriptors.add(new PropertyDescriptor(definition.getName(), readMethod, writeMethod));
+					definitions.put(definition.getName(), definition);
+				}
+			} catch (Exception e) {
+				LOGGER.warn("Invalid BeanIntrospectionDescriptor [" + descriptor + "] for bean class [" + beanClass
+						+ "]: the bean class will be introspected", e);
+				definitions.clear();
+				return null;
+			}
+			// same order as the bean introspector
+			propertyDescriptors.sort(Comparator.comparing(PropertyDescriptor::getName));
+			LOGGER.debug(() -> "Bean class [" + beanClass + "] - using BeanIntrospectionDescriptor [" + descriptor + "]");
+			return propertyDescriptors.toArray(new PropertyDescriptor[propertyDescriptors.size()]);
+		}
+		return null;
+	}
+
 	/**
 	 * Build a {@link BeanProperty} instance using given {@link PropertyDescriptor}.
 	 * @param beanClass Bean class
 	 * @param parentPath Optional parent path
 	 * @param parent Parent bean property if bean class is a nested bean class
 	 * @param propertyDescriptor Bean property descriptor
+	 * @param propertyDefinition Bean property definition provided by a {@link BeanIntrospectionDescriptor}, if any
 	 * @return BeanProperty instance
 	 * @throws BeanIntrospectionException Error introspecting bean class
 	 */
 	private Optional<ResolvedBeanProperty<?>> buildBeanProperty(Class<?> beanClass, Path<?> parentPath,
-			BeanProperty<?> parent, PropertyDescriptor propertyDescriptor) throws BeanIntrospectionException {
+			BeanProperty<?> parent, PropertyDescriptor propertyDescriptor, PropertyDefinition propertyDefinition)
+			throws BeanIntrospectionException {
 
 		boolean addToPropertySet = true;
 
@@ -536,6 +706,12 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 			}
 		}
 
+		// descriptor accessor
+		if (propertyDefinition != null && property instanceof AbstractBeanProperty) {
+			((AbstractBeanProperty<?>) property)
+					.setAccessor(new DescriptorBeanPropertyAccessor(property, propertyDefinition));
+		}
+
 		return Optional.of(new ResolvedBeanProperty<>(property, addToPropertySet));
 
 	}
@@ -626,4 +802,82 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 
 	}
 
+	/**
+	 * Bean property set cache, which uses a {@link ClassValue} to bind the bean property sets to the bean classes, so
+	 * cache lookups are lock-free and cached values do not prevent the bean classes unloading.
+	 */
+	private static final class PropertySetCache extends ClassValue<CachedPropertySet> {
+
+		/**
+		 * Cached bean classes, only used to track the cache size
+		 */
+		private final Map<Class<?>, Boolean> classes = new WeakHashMap<>();
+
+		@Override
+		protected CachedPropertySet computeValue(Class<?> type) {
+			return new CachedPropertySet();
+		}
+
+		void register(Class<?> beanClass) {
+			synchronized (classes) {
+				classes.put(beanClass, Boolean.TRUE);
+			}
+		}
+
+		int size() {
+			synchronized (classes) {
+				return classes.size();
+			}
+		}
+
+	}
+
+	/**
+	 * A cached bean property set, built at first access.
+	 */
+	private static final class CachedPropertySet {
+
+		volatile BeanPropertySet<?> propertySet;
+
+	}
+
+	/**
+	 * Default {@link CacheStatistics} implementation.
+	 */
+	private static final class DefaultCacheStatistics implements CacheStatistics {
+
+		private final long hitCount;
+		private final long missCount;
+		private final Duration totalBuildTime;
+
+		DefaultCacheStatistics(long hitCount, long missCount, Duration totalBuildTime) {
+			super();
+			this.hitCount = hitCount;
+			this.missCount = missCount;
+			this.totalBuildTime = totalBuildTime;
+		}
+
+		@Override
+		public long getHitCount() {
+			return hitCount;
+		}
+
+		@Override
+		public long getMissCount() {
+			return missCount;
+		}
+
+		@Override
+		public Duration getTotalBuildTime() {
+			return totalBuildTime;
+		}
+
+		@Override
+		public String toString() {
+			return "CacheStatistics [hitCount=" + hitCount + ", missCount=" + missCount + ", totalBuildTime="
+					+ totalBuildTime + "]";
+		}
+
+	}
+
 }
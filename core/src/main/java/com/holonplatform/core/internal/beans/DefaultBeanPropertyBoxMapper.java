@@ -0,0 +1,260 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.beans;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.beans.BeanProperty;
+import com.holonplatform.core.beans.BeanPropertyAccessor;
+import com.holonplatform.core.beans.BeanPropertyBoxMapper;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.internal.utils.TypeUtils;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.Property.PropertyWriteException;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.property.PropertyValueConverter;
+
+/**
+ * Default {@link BeanPropertyBoxMapper} implementation.
+ * <p>
+ * For each {@link Path} property of the property set which is not read-only, the matching bean property, its
+ * {@link BeanPropertyAccessor} chain and the {@link PropertyValueConverter}s to use are resolved when the mapper is
+ * created, consistently with {@link DefaultBeanPropertySet#read(PropertyBox, Object, boolean)} and
+ * {@link DefaultBeanPropertySet#write(PropertyBox, Object, boolean)}.
+ * </p>
+ *
+ * @param <T> Bean type
+ *
+ * @since 6.0.1
+ */
+public class DefaultBeanPropertyBoxMapper<T> implements BeanPropertyBoxMapper<T> {
+
+	/**
+	 * Bean property set
+	 */
+	private final DefaultBeanPropertySet<T> beanPropertySet;
+
+	/**
+	 * Property set
+	 */
+	private final PropertySet<?> propertySet;
+
+	/**
+	 * Mapped properties, in property set order
+	 */
+	private final MappedProperty[] properties;
+
+	/**
+	 * Constructor.
+	 * @param beanPropertySet Bean property set (not null)
+	 * @param propertySet Property set of the mapped PropertyBoxes (not null)
+	 * @param ignoreMissing <code>true</code> to ignore the property set properties which are not present as bean
+	 *        property
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public DefaultBeanPropertyBoxMapper(DefaultBeanPropertySet<T> beanPropertySet, PropertySet<?> propertySet,
+			boolean ignoreMissing) {
+		super();
+		ObjectUtils.argumentNotNull(beanPropertySet, "Bean property set must be not null");
+		ObjectUtils.argumentNotNull(propertySet, "Property set must be not null");
+		this.beanPropertySet = beanPropertySet;
+		this.propertySet = propertySet;
+
+		final List<MappedProperty> mapped = new ArrayList<>(propertySet.size());
+		for (Property<?> property : propertySet) {
+			if (!property.isReadOnly() && property instanceof Path) {
+				beanPropertySet.getProperty((Path<?>) property, ignoreMissing)
+						.ifPresent(bp -> mapped.add(new MappedProperty(beanPropertySet, (Property) property, bp)));
+			}
+		}
+		this.properties = mapped.toArray(new MappedProperty[mapped.size()]);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanPropertyBoxMapper#getBeanClass()
+	 */
+	@Override
+	public Class<? extends T> getBeanClass() {
+		return beanPropertySet.getBeanClass();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanPropertyBoxMapper#getPropertySet()
+	 */
+	@Override
+	public PropertySet<?> getPropertySet() {
+		return propertySet;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanPropertyBoxMapper#read(com.holonplatform.core.property.PropertyBox,
+	 * java.lang.Object)
+	 */
+	@Override
+	public PropertyBox read(PropertyBox propertyBox, T instance) {
+		ObjectUtils.argumentNotNull(propertyBox, "PropertyBox must be not null");
+		ObjectUtils.argumentNotNull(instance, "Bean instance must be not null");
+		for (MappedProperty property : properties) {
+			propertyBox.setValue(property.property, property.read(instance));
+		}
+		return propertyBox;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanPropertyBoxMapper#write(com.holonplatform.core.property.PropertyBox,
+	 * java.lang.Object)
+	 */
+	@Override
+	public T write(PropertyBox propertyBox, T instance) {
+		ObjectUtils.argumentNotNull(propertyBox, "PropertyBox must be not null");
+		ObjectUtils.argumentNotNull(instance, "Bean instance must be not null");
+		for (MappedProperty property : properties) {
+			property.write(propertyBox.getValue(property.property), instance);
+		}
+		return instance;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultBeanPropertyBoxMapper [beanClass=" + getBeanClass() + ", mapped properties="
+				+ properties.length + "]";
+	}
+
+	/**
+	 * The mapping plan of a property.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static final class MappedProperty {
+
+		/**
+		 * Property set property
+		 */
+		final Property<Object> property;
+
+		/**
+		 * Matching bean property
+		 */
+		final BeanProperty<?> beanProperty;
+
+		/**
+		 * Bean property hierarchy, from the root bean property
+		 */
+		final BeanProperty<?>[] hierarchy;
+
+		/**
+		 * Accessors of the bean property hierarchy
+		 */
+		final BeanPropertyAccessor[] accessors;
+
+		/**
+		 * Bean property converter to use when reading, if any
+		 */
+		final PropertyValueConverter readConverter;
+
+		/**
+		 * Property converter to use when writing, if any
+		 */
+		final PropertyValueConverter writePropertyConverter;
+
+		/**
+		 * Bean property converter to use when writing, if any
+		 */
+		final PropertyValueConverter writeBeanConverter;
+
+		MappedProperty(DefaultBeanPropertySet<?> beanPropertySet, Property<Object> property,
+				BeanProperty<?> beanProperty) {
+			super();
+			this.property = property;
+			this.beanProperty = beanProperty;
+			final List<BeanProperty<?>> chain = DefaultBeanPropertySet.getPropertyHierarchy(beanProperty);
+			this.hierarchy = chain.toArray(new BeanProperty<?>[chain.size()]);
+			this.accessors = new BeanPropertyAccessor[hierarchy.length];
+			for (int i = 0; i < hierarchy.length; i++) {
+				this.accessors[i] = beanPropertySet.getAccessor(hierarchy[i]);
+			}
+			this.readConverter = beanProperty.getConverter().orElse(null);
+			this.writePropertyConverter = TypeUtils.isAssignable(beanProperty.getType(), property.getType()) ? null
+					: property.getConverter().filter(c -> TypeUtils.isAssignable(beanProperty.getType(), c.getModelType()))
+							.orElse(null);
+			this.writeBeanConverter = beanProperty.getConverter()
+					.filter(c -> TypeUtils.isAssignable(property.getType(), c.getModelType())).orElse(null);
+		}
+
+		/**
+		 * Read the property value from given bean instance.
+		 * @param instance Bean instance
+		 * @return The property value
+		 */
+		Object read(Object instance) {
+			Object value = instance;
+			for (BeanPropertyAccessor accessor : accessors) {
+				if (value == null) {
+					break;
+				}
+				value = accessor.read(value);
+			}
+			if (readConverter != null && (value == null || (!TypeUtils.isAssignable(value.getClass(), property.getType())
+					&& TypeUtils.isAssignable(value.getClass(), readConverter.getPropertyType())))) {
+				return readConverter.toModel(value, beanProperty);
+			}
+			return value;
+		}
+
+		/**
+		 * Write the property value into given bean instance, instantiating any <code>null</code> nested bean.
+		 * @param propertyValue The property value
+		 * @param instance Bean instance
+		 */
+		void write(Object propertyValue, Object instance) {
+			Object value = propertyValue;
+			if (writePropertyConverter != null) {
+				value = writePropertyConverter.toModel(value, property);
+			}
+			if (writeBeanConverter != null) {
+				value = writeBeanConverter.fromModel(value, beanProperty);
+			}
+			Object instanceToWrite = instance;
+			final int last = accessors.length - 1;
+			for (int i = 0; i < last; i++) {
+				Object nested = accessors[i].read(instanceToWrite);
+				if (nested == null) {
+					try {
+						nested = hierarchy[i].getType().getDeclaredConstructor().newInstance();
+					} catch (Exception e) {
+						throw new PropertyWriteException(beanProperty,
+								"Failed to istantiate nested class " + hierarchy[i].getType().getName(), e);
+					}
+					accessors[i].write(instanceToWrite, nested);
+				}
+				instanceToWrite = nested;
+			}
+			accessors[last].write(instanceToWrite, value);
+		}
+
+	}
+
+}
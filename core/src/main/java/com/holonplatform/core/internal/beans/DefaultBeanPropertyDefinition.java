@@ -0,0 +1,187 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.beans;
+
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.holonplatform.core.beans.BeanIntrospectionDescriptor.PropertyDefinition;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * Default {@link PropertyDefinition} implementation.
+ *
+ * @since 6.0.1
+ */
+public class DefaultBeanPropertyDefinition implements PropertyDefinition {
+
+	private final String name;
+	private final Class<?> type;
+
+	private String readMethodName;
+	private Function<Object, Object> reader;
+
+	private String writeMethodName;
+	private Class<?> writeMethodParameterType;
+	private BiConsumer<Object, Object> writer;
+
+	/**
+	 * Constructor.
+	 * @param name The property name (not null)
+	 * @param type The property type (not null)
+	 */
+	public DefaultBeanPropertyDefinition(String name, Class<?> type) {
+		super();
+		ObjectUtils.argumentNotNull(name, "Property name must be not null");
+		ObjectUtils.argumentNotNull(type, "Property type must be not null");
+		this.name = name;
+		this.type = type;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanIntrospectionDescriptor.PropertyDefinition#getName()
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanIntrospectionDescriptor.PropertyDefinition#getType()
+	 */
+	@Override
+	public Class<?> getType() {
+		return type;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanIntrospectionDescriptor.PropertyDefinition#getReadMethodName()
+	 */
+	@Override
+	public Optional<String> getReadMethodName() {
+		return Optional.ofNullable(readMethodName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanIntrospectionDescriptor.PropertyDefinition#getWriteMethodName()
+	 */
+	@Override
+	public Optional<String> getWriteMethodName() {
+		return Optional.ofNullable(writeMethodName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanIntrospectionDescriptor.PropertyDefinition#getWriteMethodParameterType()
+	 */
+	@Override
+	public Optional<Class<?>> getWriteMethodParameterType() {
+		return Optional.ofNullable(writeMethodParameterType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanIntrospectionDescriptor.PropertyDefinition#getReader()
+	 */
+	@Override
+	public Optional<Function<Object, Object>> getReader() {
+		return Optional.ofNullable(reader);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanIntrospectionDescriptor.PropertyDefinition#getWriter()
+	 */
+	@Override
+	public Optional<BiConsumer<Object, Object>> getWriter() {
+		return Optional.ofNullable(writer);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "PropertyDefinition [name=" + name + ", type=" + type + ", readMethodName=" + readMethodName
+				+ ", writeMethodName=" + writeMethodName + "]";
+	}
+
+	/**
+	 * Default {@link PropertyDefinition.Builder}.
+	 */
+	public static class DefaultBuilder implements PropertyDefinition.Builder {
+
+		private final DefaultBeanPropertyDefinition instance;
+
+		/**
+		 * Constructor.
+		 * @param name The property name (not null)
+		 * @param type The property type (not null)
+		 */
+		public DefaultBuilder(String name, Class<?> type) {
+			super();
+			this.instance = new DefaultBeanPropertyDefinition(name, type);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.beans.BeanIntrospectionDescriptor.PropertyDefinition.Builder#readMethod(java.lang.
+		 * String, java.util.function.Function)
+		 */
+		@Override
+		public PropertyDefinition.Builder readMethod(String methodName, Function<Object, Object> reader) {
+			ObjectUtils.argumentNotNull(methodName, "Read method name must be not null");
+			ObjectUtils.argumentNotNull(reader, "Reader must be not null");
+			instance.readMethodName = methodName;
+			instance.reader = reader;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.beans.BeanIntrospectionDescriptor.PropertyDefinition.Builder#writeMethod(java.lang.
+		 * String, java.lang.Class, java.util.function.BiConsumer)
+		 */
+		@Override
+		public PropertyDefinition.Builder writeMethod(String methodName, Class<?> parameterType,
+				BiConsumer<Object, Object> writer) {
+			ObjectUtils.argumentNotNull(methodName, "Write method name must be not null");
+			ObjectUtils.argumentNotNull(parameterType, "Write method parameter type must be not null");
+			ObjectUtils.argumentNotNull(writer, "Writer must be not null");
+			instance.writeMethodName = methodName;
+			instance.writeMethodParameterType = parameterType;
+			instance.writer = writer;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.beans.BeanIntrospectionDescriptor.PropertyDefinition.Builder#build()
+		 */
+		@Override
+		public PropertyDefinition build() {
+			return instance;
+		}
+
+	}
+
+}
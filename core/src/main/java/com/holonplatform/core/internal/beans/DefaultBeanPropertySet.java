@@ -16,20 +16,21 @@
 package com.holonplatform.core.internal.beans;
 
 import java.lang.ref.WeakReference;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
-import org.apache.commons.lang3.reflect.FieldUtils;
-
 import com.holonplatform.core.ParameterSet;
 import com.holonplatform.core.Path;
 import com.holonplatform.core.beans.BeanProperty;
+import com.holonplatform.core.beans.BeanPropertyAccessor;
+import com.holonplatform.core.beans.BeanPropertyAccessorStrategy;
+import com.holonplatform.core.beans.BeanPropertyBoxMapper;
 import com.holonplatform.core.beans.BeanPropertySet;
 import com.holonplatform.core.exceptions.TypeMismatchException;
 import com.holonplatform.core.internal.Logger;
@@ -45,6 +46,7 @@ import com.holonplatform.core.property.Property.PropertyNotFoundException;
 import com.holonplatform.core.property.Property.PropertyReadException;
 import com.holonplatform.core.property.Property.PropertyWriteException;
 import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
 import com.holonplatform.core.property.PropertyValueConverter;
 import com.holonplatform.core.property.StringProperty;
 import com.holonplatform.core.property.TemporalProperty;
@@ -70,6 +72,21 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	 */
 	private final transient WeakReference<Class<? extends T>> beanClass;
 
+	/**
+	 * Property name index
+	 */
+	private transient Map<String, PathProperty<?>> nameIndex;
+
+	/**
+	 * Property accessor strategy
+	 */
+	private transient BeanPropertyAccessorStrategy accessorStrategy;
+
+	/**
+	 * Mapper for the PropertyBoxes bound to this property set
+	 */
+	private transient volatile BeanPropertyBoxMapper<T> mapper;
+
 	/**
 	 * Constructor.
 	 * @param <P> Actual property type
@@ -81,6 +98,33 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 		this.beanClass = new WeakReference<>(beanClass);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.property.DefaultPropertySet#buildIndex()
+	 */
+	@Override
+	protected void buildIndex() {
+		super.buildIndex();
+		final Map<String, PathProperty<?>> names = new HashMap<>((int) (size() / 0.75f) + 1);
+		for (PathProperty<?> property : this) {
+			names.putIfAbsent(property.relativeName(), property);
+		}
+		this.nameIndex = names;
+	}
+
+	/**
+	 * Get the property with given relative name, using the property name index if available.
+	 * @param propertyName Property name
+	 * @return Optional property with given relative name
+	 */
+	private Optional<PathProperty<?>> findProperty(String propertyName) {
+		final Map<String, PathProperty<?>> names = nameIndex;
+		if (names != null && isIndexed()) {
+			return Optional.ofNullable(names.get(propertyName));
+		}
+		return stream().filter(p -> propertyName.equals(p.relativeName())).findFirst();
+	}
+
 	/**
 	 * Declare given property as identifier.
 	 * @param property Identifier property (not null)
@@ -89,6 +133,23 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 		super.addIdentifier(property);
 	}
 
+	/**
+	 * Get the strategy to use to obtain the {@link BeanPropertyAccessor}s of the bean properties.
+	 * @return The accessor strategy, the reflection one if not configured
+	 */
+	protected BeanPropertyAccessorStrategy getAccessorStrategy() {
+		return (accessorStrategy != null) ? accessorStrategy : BeanPropertyAccessorStrategy.reflection();
+	}
+
+	/**
+	 * Set the strategy to use to obtain the {@link BeanPropertyAccessor}s of the bean properties.
+	 * @param accessorStrategy The accessor strategy to set
+	 */
+	void setAccessorStrategy(BeanPropertyAccessorStrategy accessorStrategy) {
+		this.accessorStrategy = accessorStrategy;
+		this.mapper = null;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.beans.BeanPropertySet#getBeanClass()
@@ -105,7 +166,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	@Override
 	public boolean contains(String propertyName) {
 		ObjectUtils.argumentNotNull(propertyName, CommonMessages.MSG_PROPERTY_NAME_NOT_NULL);
-		return stream().filter(p -> propertyName.equals(p.relativeName())).findAny().isPresent();
+		return findProperty(propertyName).isPresent();
 	}
 
 	/*
@@ -116,7 +177,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	@Override
 	public <PT> Optional<PathProperty<PT>> getProperty(String propertyName) {
 		ObjectUtils.argumentNotNull(propertyName, CommonMessages.MSG_PROPERTY_NAME_NOT_NULL);
-		return stream().filter(p -> propertyName.equals(p.relativeName())).findFirst().map(p -> (PathProperty<PT>) p);
+		return findProperty(propertyName).map(p -> (PathProperty<PT>) p);
 	}
 
 	/*
@@ -127,8 +188,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	public <PT> Optional<PathProperty<PT>> getProperty(String propertyName, Class<PT> type) {
 		ObjectUtils.argumentNotNull(propertyName, CommonMessages.MSG_PROPERTY_NAME_NOT_NULL);
 		ObjectUtils.argumentNotNull(type, "Property type must be not null");
-		return stream().filter(p -> propertyName.equals(p.relativeName())).findFirst()
-				.map(p -> checkPropertyType(p, type));
+		return findProperty(propertyName).map(p -> checkPropertyType(p, type));
 	}
 
 	/*
@@ -138,8 +198,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	@Override
 	public Optional<StringProperty> getPropertyString(String propertyName) {
 		ObjectUtils.argumentNotNull(propertyName, CommonMessages.MSG_PROPERTY_NAME_NOT_NULL);
-		return stream().filter(p -> propertyName.equals(p.relativeName())).findFirst()
-				.map(p -> checkPathPropertyType(p, StringProperty.class));
+		return findProperty(propertyName).map(p -> checkPathPropertyType(p, StringProperty.class));
 	}
 
 	/*
@@ -149,8 +208,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	@Override
 	public Optional<BooleanProperty> getPropertyBoolean(String propertyName) {
 		ObjectUtils.argumentNotNull(propertyName, CommonMessages.MSG_PROPERTY_NAME_NOT_NULL);
-		return stream().filter(p -> propertyName.equals(p.relativeName())).findFirst()
-				.map(p -> checkPathPropertyType(p, BooleanProperty.class));
+		return findProperty(propertyName).map(p -> checkPathPropertyType(p, BooleanProperty.class));
 	}
 
 	/*
@@ -161,8 +219,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	@Override
 	public <N extends Number> Optional<NumericProperty<N>> getPropertyNumeric(String propertyName) {
 		ObjectUtils.argumentNotNull(propertyName, CommonMessages.MSG_PROPERTY_NAME_NOT_NULL);
-		return stream().filter(p -> propertyName.equals(p.relativeName())).findFirst()
-				.map(p -> checkPathPropertyType(p, NumericProperty.class));
+		return findProperty(propertyName).map(p -> checkPathPropertyType(p, NumericProperty.class));
 	}
 
 	/*
@@ -175,8 +232,8 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	public <N extends Number> Optional<NumericProperty<N>> getPropertyNumeric(String propertyName, Class<N> type) {
 		ObjectUtils.argumentNotNull(propertyName, CommonMessages.MSG_PROPERTY_NAME_NOT_NULL);
 		ObjectUtils.argumentNotNull(type, "Property type must be not null");
-		return stream().filter(p -> propertyName.equals(p.relativeName())).findFirst()
-				.map(p -> checkPropertyType(p, type)).map(p -> checkPathPropertyType(p, NumericProperty.class));
+		return findProperty(propertyName).map(p -> checkPropertyType(p, type))
+				.map(p -> checkPathPropertyType(p, NumericProperty.class));
 	}
 
 	/*
@@ -187,8 +244,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	@Override
 	public <X> Optional<TemporalProperty<X>> getPropertyTemporal(String propertyName) {
 		ObjectUtils.argumentNotNull(propertyName, CommonMessages.MSG_PROPERTY_NAME_NOT_NULL);
-		return stream().filter(p -> propertyName.equals(p.relativeName())).findFirst()
-				.map(p -> checkPathPropertyType(p, TemporalProperty.class));
+		return findProperty(propertyName).map(p -> checkPathPropertyType(p, TemporalProperty.class));
 	}
 
 	/*
@@ -201,8 +257,8 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	public <X> Optional<TemporalProperty<X>> getPropertyTemporal(String propertyName, Class<X> type) {
 		ObjectUtils.argumentNotNull(propertyName, CommonMessages.MSG_PROPERTY_NAME_NOT_NULL);
 		ObjectUtils.argumentNotNull(type, "Property type must be not null");
-		return stream().filter(p -> propertyName.equals(p.relativeName())).findFirst()
-				.map(p -> checkPropertyType(p, type)).map(p -> checkPathPropertyType(p, TemporalProperty.class));
+		return findProperty(propertyName).map(p -> checkPropertyType(p, type))
+				.map(p -> checkPathPropertyType(p, TemporalProperty.class));
 	}
 
 	/*
@@ -416,6 +472,43 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 		return instance;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanPropertySet#read(java.lang.Object)
+	 */
+	@Override
+	public PropertyBox read(T instance) {
+		return getMapper().read(instance);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanPropertySet#mapper(com.holonplatform.core.property.PropertySet, boolean)
+	 */
+	@Override
+	public BeanPropertyBoxMapper<T> mapper(PropertySet<?> propertySet, boolean ignoreMissing) {
+		if (propertySet == this && !ignoreMissing) {
+			return getMapper();
+		}
+		return new DefaultBeanPropertyBoxMapper<>(this, propertySet, ignoreMissing);
+	}
+
+	/**
+	 * Get the {@link BeanPropertyBoxMapper} for the PropertyBoxes bound to this property set, which is built once as
+	 * long as the property set is not modified.
+	 * @return The property set mapper
+	 */
+	private BeanPropertyBoxMapper<T> getMapper() {
+		BeanPropertyBoxMapper<T> current = mapper;
+		if (current == null || !isIndexed()) {
+			current = new DefaultBeanPropertyBoxMapper<>(this, this, false);
+			if (isIndexed()) {
+				mapper = current;
+			}
+		}
+		return current;
+	}
+
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	private <V> V read(BeanProperty<?> property, T instance, Class<V> expectedType) {
 		ObjectUtils.argumentNotNull(property, "Property must be not null");
@@ -441,13 +534,13 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	}
 
 	/**
-	 * Read the <code>property</code> value from given instance (if not null), using BeanProperty
-	 * configuration read method or field, if available.
+	 * Read the <code>property</code> value from given instance (if not null), using the property
+	 * {@link BeanPropertyAccessor}.
 	 * @param property Property to read
 	 * @param instance Instance to read from
 	 * @return Property value
 	 */
-	private static Object readValue(BeanProperty<?> property, Object instance) {
+	private Object readValue(BeanProperty<?> property, Object instance) {
 
 		ObjectUtils.argumentNotNull(property, CommonMessages.MSG_PROPERTY_NOT_NULL);
 
@@ -455,39 +548,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 			return null;
 		}
 
-		final Object value;
-
-		if (property.getReadMethod().isPresent()) {
-			try {
-				value = property.getReadMethod().get().invoke(instance);
-
-				LOGGER.debug(() -> "BeanPropertySet: read property [" + property + "] value [" + value
-						+ "] from instance [" + instance + "] using method [" + property.getReadMethod() + "]");
-
-			} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-				throw new PropertyReadException(property, "Failed to read bean property [" + property
-						+ "] from instance [" + instance + "] using method [" + property.getReadMethod() + "]", e);
-			}
-		} else {
-			Field field = property.getField()
-					.orElseThrow(() -> new PropertyReadException(property,
-							"No read method and no accessible field available to read property [" + property
-									+ "] on bean class [" + instance.getClass().getName() + "]"));
-			try {
-				value = FieldUtils.readField(field, instance, true);
-
-				LOGGER.debug(() -> "BeanPropertySet: read property [" + property + "] value [" + value
-						+ "] from instance [" + instance + "] using field [" + field + "]");
-
-			} catch (IllegalAccessException e) {
-				throw new PropertyReadException(property, "Failed to read bean property [" + property
-						+ "] from instance [" + instance + "] using field [" + field + "]", e);
-			}
-
-		}
-
-		return value;
-
+		return getAccessor(property).read(instance);
 	}
 
 	/**
@@ -532,68 +593,30 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	}
 
 	/**
-	 * Write the <code>property</code> value into given instance using given value, using BeanProperty
-	 * configuration write method or field, if available.
+	 * Write the <code>property</code> value into given instance using given value, using the property
+	 * {@link BeanPropertyAccessor}.
 	 * @param property Property to write
 	 * @param value Value to write
 	 * @param instance Instance to write
 	 * @return Written value
 	 */
-	private static Object writeValue(BeanProperty<?> property, Object value, Object instance) {
+	private Object writeValue(BeanProperty<?> property, Object value, Object instance) {
 		ObjectUtils.argumentNotNull(property, CommonMessages.MSG_PROPERTY_NOT_NULL);
-
-		if (property.getWriteMethod().isPresent()) {
-			try {
-				property.getWriteMethod().get().invoke(instance, new Object[] {
-						getValueToWrite(property.getWriteMethod().get().getParameters()[0].getType(), value) });
-
-				LOGGER.debug(() -> "BeanPropertySet: written property [" + property + "] value [" + value
-						+ "] from instance [" + instance + "] using method [" + property.getWriteMethod() + "]");
-
-			} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-				throw new PropertyWriteException(property,
-						"Cannot write property [" + property + "] value of type ["
-								+ ((value != null) ? value.getClass().getName() : "null") + "] on bean instance ["
-								+ instance + "]",
-						e);
-			}
-		} else {
-			Field field = property.getField()
-					.orElseThrow(() -> new PropertyReadException(property,
-							"No write method and no accessible field available to write property [" + property
-									+ "] on bean class [" + instance.getClass().getName() + "]"));
-			try {
-				FieldUtils.writeField(field, instance, getValueToWrite(field.getType(), value), true);
-
-				LOGGER.debug(() -> "BeanPropertySet: read property [" + property + "] value [" + value
-						+ "] from instance [" + instance + "] using field [" + field + "]");
-
-			} catch (IllegalAccessException e) {
-				throw new PropertyWriteException(property, e);
-			}
-		}
-
+		getAccessor(property).write(instance, value);
 		return value;
 	}
 
 	/**
-	 * Get the value to write on bean property, converting <code>null</code> values to
-	 * <code>false</code> or <code>0</code> for primitive types.
-	 * @param valueType Value type
-	 * @param value Value to write
-	 * @return Actual value
-	 */
-	private static Object getValueToWrite(Class<?> valueType, Object value) {
-		if (value == null) {
-			// check primitive types
-			if (valueType != null && valueType.isPrimitive()) {
-				if (boolean.class == valueType) {
-					return false;
-				}
-				return 0;
-			}
+	 * Get the {@link BeanPropertyAccessor} to use for given property, according to the current accessor strategy.
+	 * @param property The bean property
+	 * @return The property accessor
+	 */
+	BeanPropertyAccessor getAccessor(BeanProperty<?> property) {
+		final BeanPropertyAccessorStrategy strategy = getAccessorStrategy();
+		if (property instanceof AbstractBeanProperty) {
+			return ((AbstractBeanProperty<?>) property).getAccessor(strategy);
 		}
-		return value;
+		return strategy.getAccessor(property);
 	}
 
 	/**
@@ -605,11 +628,10 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	 * @throws PropertyNotFoundException If ignoreMissing is false and a matching bean property was not
 	 *         found
 	 */
-	private Optional<BeanProperty<?>> getProperty(Path<?> propertyPath, boolean ignoreMissing)
+	Optional<BeanProperty<?>> getProperty(Path<?> propertyPath, boolean ignoreMissing)
 			throws PropertyNotFoundException {
 		ObjectUtils.argumentNotNull(propertyPath, "Property path must be not null");
-		Optional<PathProperty<?>> beanProperty = stream()
-				.filter(p -> propertyPath.relativeName().equals(p.relativeName())).findFirst();
+		Optional<PathProperty<?>> beanProperty = findProperty(propertyPath.relativeName());
 		if (!ignoreMissing && !beanProperty.isPresent()) {
 			throw new PropertyNotFoundException((propertyPath instanceof Property) ? (Property<?>) propertyPath : null,
 					"Property with name [" + propertyPath.relativeName() + "] was not found in bean [" + getBeanClass()
@@ -623,7 +645,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	 * @param property Property for which to obtain the hierarchy
 	 * @return Property hierarchy
 	 */
-	private static List<BeanProperty<?>> getPropertyHierarchy(BeanProperty<?> property) {
+	static List<BeanProperty<?>> getPropertyHierarchy(BeanProperty<?> property) {
 		List<BeanProperty<?>> hierarchy = new LinkedList<>();
 		hierarchy.add(property);
 		property.getParentProperty().ifPresent(p -> hierarchy.addAll(0, getPropertyHierarchy(p)));
@@ -729,6 +751,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 		 */
 		@Override
 		public DefaultBeanPropertySet<T> build() {
+			instance.buildIndex();
 			return instance;
 		}
 
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.beans;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.holonplatform.core.beans.BeanIntrospectionDescriptor.PropertyDefinition;
+import com.holonplatform.core.beans.BeanProperty;
+import com.holonplatform.core.beans.BeanPropertyAccessor;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.Property.PropertyReadException;
+import com.holonplatform.core.property.Property.PropertyWriteException;
+
+/**
+ * {@link BeanPropertyAccessor} which uses the reader and writer functions provided by a {@link PropertyDefinition},
+ * using the reflection API through a {@link ReflectionBeanPropertyAccessor} when not available.
+ *
+ * @since 6.0.1
+ */
+public class DescriptorBeanPropertyAccessor implements BeanPropertyAccessor {
+
+	/**
+	 * Bean property
+	 */
+	private final BeanProperty<?> property;
+
+	/**
+	 * Reflection accessor to use as fallback
+	 */
+	private final ReflectionBeanPropertyAccessor fallback;
+
+	/**
+	 * Reader, <code>null</code> if not available
+	 */
+	private final Function<Object, Object> reader;
+
+	/**
+	 * Writer, <code>null</code> if not available
+	 */
+	private final BiConsumer<Object, Object> writer;
+
+	/**
+	 * Type of the value expected by the writer
+	 */
+	private final Class<?> writeType;
+
+	/**
+	 * Constructor.
+	 * @param property Bean property (not null)
+	 * @param definition Property definition (not null)
+	 */
+	public DescriptorBeanPropertyAccessor(BeanProperty<?> property, PropertyDefinition definition) {
+		super();
+		ObjectUtils.argumentNotNull(property, "Bean property must be not null");
+		ObjectUtils.argumentNotNull(definition, "Property definition must be not null");
+		this.property = property;
+		this.fallback = new ReflectionBeanPropertyAccessor(property);
+		this.reader = definition.getReader().orElse(null);
+		this.writer = definition.getWriter().orElse(null);
+		this.writeType = definition.getWriteMethodParameterType().orElse(null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanPropertyAccessor#read(java.lang.Object)
+	 */
+	@Override
+	public Object read(Object instance) throws PropertyReadException {
+		if (reader == null) {
+			return fallback.read(instance);
+		}
+		try {
+			return reader.apply(instance);
+		} catch (Exception e) {
+			throw new PropertyReadException(property,
+					"Failed to read bean property [" + property + "] from instance [" + instance + "]", e);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanPropertyAccessor#write(java.lang.Object, java.lang.Object)
+	 */
+	@Override
+	public void write(Object instance, Object value) throws PropertyWriteException {
+		if (writer == null) {
+			fallback.write(instance, value);
+			return;
+		}
+		try {
+			writer.accept(instance, ReflectionBeanPropertyAccessor.getValueToWrite(writeType, value));
+		} catch (Exception e) {
+			throw new PropertyWriteException(property,
+					"Cannot write property [" + property + "] value of type ["
+							+ ((value != null) ? value.getClass().getName() : "null") + "] on bean instance ["
+							+ instance + "]",
+					e);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DescriptorBeanPropertyAccessor [property=" + property + "]";
+	}
+
+}
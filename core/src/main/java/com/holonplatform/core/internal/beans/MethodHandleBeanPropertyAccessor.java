@@ -0,0 +1,330 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.beans;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.holonplatform.core.beans.BeanProperty;
+import com.holonplatform.core.beans.BeanPropertyAccessor;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.Property.PropertyReadException;
+import com.holonplatform.core.property.Property.PropertyWriteException;
+
+/**
+ * {@link BeanPropertyAccessor} which reads and writes the property value through accessors generated once, when the
+ * accessor is created.
+ * <p>
+ * The bean property read and write methods are bound to functional interface implementations generated by the
+ * {@link LambdaMetafactory}. When that is not possible (for example, because of module access restrictions, or for
+ * setters with a primitive parameter type which require a widening conversion), a {@link MethodHandle} is used
+ * instead, and this is the case of bean property fields too. If no method handle can be obtained, the reflection API is
+ * used through a {@link ReflectionBeanPropertyAccessor}.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public class MethodHandleBeanPropertyAccessor implements BeanPropertyAccessor {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = BeanLogger.create();
+
+	private static final MethodType READER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType WRITER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	/**
+	 * Bean property
+	 */
+	private final BeanProperty<?> property;
+
+	/**
+	 * Reflection accessor to use as fallback
+	 */
+	private final ReflectionBeanPropertyAccessor fallback;
+
+	/**
+	 * Generated reader, <code>null</code> if not available
+	 */
+	private final Function<Object, Object> reader;
+
+	/**
+	 * Generated writer, <code>null</code> if not available
+	 */
+	private final BiConsumer<Object, Object> writer;
+
+	/**
+	 * Type of the value expected by the writer
+	 */
+	private final Class<?> writeType;
+
+	/**
+	 * Constructor.
+	 * @param property Bean property (not null)
+	 */
+	public MethodHandleBeanPropertyAccessor(BeanProperty<?> property) {
+		super();
+		ObjectUtils.argumentNotNull(property, "Bean property must be not null");
+		this.property = property;
+		this.fallback = new ReflectionBeanPropertyAccessor(property);
+		this.reader = generateReader(property);
+		this.writer = generateWriter(property);
+		this.writeType = property.getWriteMethod().<Class<?>>map(m -> m.getParameterTypes()[0])
+				.orElseGet(() -> property.getField().map(f -> f.getType()).orElse(null));
+	}
+
+	/**
+	 * Gets whether a reader was generated for the property, i.e. the reflection API is not used to read the property
+	 * value.
+	 * @return <code>true</code> if a reader was generated
+	 */
+	public boolean isReaderGenerated() {
+		return reader != null;
+	}
+
+	/**
+	 * Gets whether a writer was generated for the property, i.e. the reflection API is not used to write the property
+	 * value.
+	 * @return <code>true</code> if a writer was generated
+	 */
+	public boolean isWriterGenerated() {
+		return writer != null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanPropertyAccessor#read(java.lang.Object)
+	 */
+	@Override
+	public Object read(Object instance) throws PropertyReadException {
+		if (reader == null) {
+			return fallback.read(instance);
+		}
+		try {
+			return reader.apply(instance);
+		} catch (Exception e) {
+			throw new PropertyReadException(property,
+					"Failed to read bean property [" + property + "] from instance [" + instance + "]", unwrap(e));
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanPropertyAccessor#write(java.lang.Object, java.lang.Object)
+	 */
+	@Override
+	public void write(Object instance, Object value) throws PropertyWriteException {
+		if (writer == null) {
+			fallback.write(instance, value);
+			return;
+		}
+		try {
+			writer.accept(instance, ReflectionBeanPropertyAccessor.getValueToWrite(writeType, value));
+		} catch (Exception e) {
+			throw new PropertyWriteException(property,
+					"Cannot write property [" + property + "] value of type ["
+							+ ((value != null) ? value.getClass().getName() : "null") + "] on bean instance ["
+							+ instance + "]",
+					unwrap(e));
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "MethodHandleBeanPropertyAccessor [property=" + property + ", readerGenerated=" + isReaderGenerated()
+				+ ", writerGenerated=" + isWriterGenerated() + "]";
+	}
+
+	/**
+	 * Generate the reader for given property, using the read method if available or the property field otherwise.
+	 * @param property Bean property
+	 * @return The reader, <code>null</code> if it cannot be generated
+	 */
+	private static Function<Object, Object> generateReader(BeanProperty<?> property) {
+		final Method method = property.getReadMethod().orElse(null);
+		if (method != null) {
+			try {
+				return lambdaReader(method);
+			} catch (Throwable e) {
+				LOGGER.debug(() -> "Failed to generate a lambda reader for bean property [" + property
+						+ "] using method [" + method + "] - using a method handle", e);
+			}
+			try {
+				method.trySetAccessible();
+				return new HandleReader(MethodHandles.lookup().unreflect(method).asType(READER_TYPE));
+			} catch (Exception e) {
+				LOGGER.debug(() -> "Failed to obtain a method handle to read bean property [" + property
+						+ "] using method [" + method + "] - using reflection", e);
+			}
+			return null;
+		}
+		final Field field = property.getField().orElse(null);
+		if (field != null) {
+			try {
+				field.trySetAccessible();
+				return new HandleReader(MethodHandles.lookup().unreflectGetter(field).asType(READER_TYPE));
+			} catch (Exception e) {
+				LOGGER.debug(() -> "Failed to obtain a method handle to read bean property [" + property
+						+ "] using field [" + field + "] - using reflection", e);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Generate the writer for given property, using the write method if available or the property field otherwise.
+	 * @param property Bean property
+	 * @return The writer, <code>null</code> if it cannot be generated
+	 */
+	private static BiConsumer<Object, Object> generateWriter(BeanProperty<?> property) {
+		final Method method = property.getWriteMethod().orElse(null);
+		if (method != null) {
+			// primitive parameters are handled by method handle conversions, which support widening
+			if (!method.getParameterTypes()[0].isPrimitive()) {
+				try {
+					return lambdaWriter(method);
+				} catch (Throwable e) {
+					LOGGER.debug(() -> "Failed to generate a lambda writer for bean property [" + property
+							+ "] using method [" + method + "] - using a method handle", e);
+				}
+			}
+			try {
+				method.trySetAccessible();
+				return new HandleWriter(MethodHandles.lookup().unreflect(method).asType(WRITER_TYPE));
+			} catch (Exception e) {
+				LOGGER.debug(() -> "Failed to obtain a method handle to write bean property [" + property
+						+ "] using method [" + method + "] - using reflection", e);
+			}
+			return null;
+		}
+		final Field field = property.getField().orElse(null);
+		if (field != null) {
+			try {
+				field.trySetAccessible();
+				return new HandleWriter(MethodHandles.lookup().unreflectSetter(field).asType(WRITER_TYPE));
+			} catch (Exception e) {
+				LOGGER.debug(() -> "Failed to obtain a method handle to write bean property [" + property
+						+ "] using field [" + field + "] - using reflection", e);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Generate a {@link Function} which invokes given getter method.
+	 * @param method Getter method
+	 * @return The generated reader
+	 * @throws Throwable If the reader cannot be generated
+	 */
+	@SuppressWarnings("unchecked")
+	private static Function<Object, Object> lambdaReader(Method method) throws Throwable {
+		final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(),
+				MethodHandles.lookup());
+		final CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+				READER_TYPE, lookup.unreflect(method), MethodType.methodType(Object.class, method.getDeclaringClass()));
+		return (Function<Object, Object>) site.getTarget().invokeExact();
+	}
+
+	/**
+	 * Generate a {@link BiConsumer} which invokes given setter method.
+	 * @param method Setter method
+	 * @return The generated writer
+	 * @throws Throwable If the writer cannot be generated
+	 */
+	@SuppressWarnings("unchecked")
+	private static BiConsumer<Object, Object> lambdaWriter(Method method) throws Throwable {
+		final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(),
+				MethodHandles.lookup());
+		final CallSite site = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+				WRITER_TYPE, lookup.unreflect(method),
+				MethodType.methodType(void.class, method.getDeclaringClass(), method.getParameterTypes()[0]));
+		return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+	}
+
+	/**
+	 * Unwrap the actual cause of an exception thrown by a method handle invocation.
+	 * @param e The exception
+	 * @return The actual cause
+	 */
+	private static Throwable unwrap(Exception e) {
+		return (e instanceof UndeclaredThrowableException && e.getCause() != null) ? e.getCause() : e;
+	}
+
+	/**
+	 * Reader which invokes a {@link MethodHandle}.
+	 */
+	private static final class HandleReader implements Function<Object, Object> {
+
+		private final MethodHandle handle;
+
+		HandleReader(MethodHandle handle) {
+			super();
+			this.handle = handle;
+		}
+
+		@Override
+		public Object apply(Object instance) {
+			try {
+				return handle.invokeExact(instance);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new UndeclaredThrowableException(e);
+			}
+		}
+
+	}
+
+	/**
+	 * Writer which invokes a {@link MethodHandle}.
+	 */
+	private static final class HandleWriter implements BiConsumer<Object, Object> {
+
+		private final MethodHandle handle;
+
+		HandleWriter(MethodHandle handle) {
+			super();
+			this.handle = handle;
+		}
+
+		@Override
+		public void accept(Object instance, Object value) {
+			try {
+				handle.invokeExact(instance, value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new UndeclaredThrowableException(e);
+			}
+		}
+
+	}
+
+}
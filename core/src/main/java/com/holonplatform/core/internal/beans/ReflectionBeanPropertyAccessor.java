@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.beans;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+
+import org.apache.commons.lang3.reflect.FieldUtils;
+
+import com.holonplatform.core.beans.BeanProperty;
+import com.holonplatform.core.beans.BeanPropertyAccessor;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.Property.PropertyReadException;
+import com.holonplatform.core.property.Property.PropertyWriteException;
+
+/**
+ * {@link BeanPropertyAccessor} which uses the Java reflection API to read and write the property value, through the
+ * bean property read and write methods or, if not available, through the bean property field.
+ *
+ * @since 6.0.1
+ */
+public class ReflectionBeanPropertyAccessor implements BeanPropertyAccessor {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = BeanLogger.create();
+
+	/**
+	 * Bean property
+	 */
+	private final BeanProperty<?> property;
+
+	/**
+	 * Constructor.
+	 * @param property Bean property (not null)
+	 */
+	public ReflectionBeanPropertyAccessor(BeanProperty<?> property) {
+		super();
+		ObjectUtils.argumentNotNull(property, "Bean property must be not null");
+		this.property = property;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanPropertyAccessor#read(java.lang.Object)
+	 */
+	@Override
+	public Object read(Object instance) throws PropertyReadException {
+		final Object value;
+
+		if (property.getReadMethod().isPresent()) {
+			try {
+				value = property.getReadMethod().get().invoke(instance);
+
+				LOGGER.debug(() -> "BeanPropertySet: read property [" + property + "] value [" + value
+						+ "] from instance [" + instance + "] using method [" + property.getReadMethod() + "]");
+
+			} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+				throw new PropertyReadException(property, "Failed to read bean property [" + property
+						+ "] from instance [" + instance + "] using method [" + property.getReadMethod() + "]", e);
+			}
+		} else {
+			Field field = property.getField()
+					.orElseThrow(() -> new PropertyReadException(property,
+							"No read method and no accessible field available to read property [" + property
+									+ "] on bean class [" + instance.getClass().getName() + "]"));
+			try {
+				value = FieldUtils.readField(field, instance, true);
+
+				LOGGER.debug(() -> "BeanPropertySet: read property [" + property + "] value [" + value
+						+ "] from instance [" + instance + "] using field [" + field + "]");
+
+			} catch (IllegalAccessException e) {
+				throw new PropertyReadException(property, "Failed to read bean property [" + property
+						+ "] from instance [" + instance + "] using field [" + field + "]", e);
+			}
+
+		}
+
+		return value;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanPropertyAccessor#write(java.lang.Object, java.lang.Object)
+	 */
+	@Override
+	public void write(Object instance, Object value) throws PropertyWriteException {
+		if (property.getWriteMethod().isPresent()) {
+			try {
+				property.getWriteMethod().get().invoke(instance, new Object[] {
+						getValueToWrite(property.getWriteMethod().get().getParameters()[0].getType(), value) });
+
+				LOGGER.debug(() -> "BeanPropertySet: written property [" + property + "] value [" + value
+						+ "] from instance [" + instance + "] using method [" + property.getWriteMethod() + "]");
+
+			} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+				throw new PropertyWriteException(property,
+						"Cannot write property [" + property + "] value of type ["
+								+ ((value != null) ? value.getClass().getName() : "null") + "] on bean instance ["
+								+ instance + "]",
+						e);
+			}
+		} else {
+			Field field = property.getField()
+					.orElseThrow(() -> new PropertyReadException(property,
+							"No write method and no accessible field available to write property [" + property
+									+ "] on bean class [" + instance.getClass().getName() + "]"));
+			try {
+				FieldUtils.writeField(field, instance, getValueToWrite(field.getType(), value), true);
+
+				LOGGER.debug(() -> "BeanPropertySet: read property [" + property + "] value [" + value
+						+ "] from instance [" + instance + "] using field [" + field + "]");
+
+			} catch (IllegalAccessException e) {
+				throw new PropertyWriteException(property, e);
+			}
+		}
+	}
+
+	/**
+	 * Get the value to write on bean property, converting <code>null</code> values to <code>false</code> or
+	 * <code>0</code> for primitive types.
+	 * @param valueType Value type
+	 * @param value Value to write
+	 * @return Actual value
+	 */
+	static Object getValueToWrite(Class<?> valueType, Object value) {
+		if (value == null) {
+			// check primitive types
+			if (valueType != null && valueType.isPrimitive()) {
+				if (boolean.class == valueType) {
+					return false;
+				}
+				// types which an Integer value cannot be widened to
+				if (char.class == valueType) {
+					return Character.valueOf((char) 0);
+				}
+				if (byte.class == valueType) {
+					return Byte.valueOf((byte) 0);
+				}
+				if (short.class == valueType) {
+					return Short.valueOf((short) 0);
+				}
+				return 0;
+			}
+		}
+		return value;
+	}
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.beans;
+
+import com.holonplatform.core.beans.BeanProperty;
+import com.holonplatform.core.beans.BeanPropertyAccessor;
+import com.holonplatform.core.beans.BeanPropertyAccessorStrategy;
+
+/**
+ * {@link BeanPropertyAccessorStrategy} which provides {@link ReflectionBeanPropertyAccessor}s.
+ *
+ * @since 6.0.1
+ */
+public final class ReflectionBeanPropertyAccessorStrategy implements BeanPropertyAccessorStrategy {
+
+	/**
+	 * Singleton instance
+	 */
+	public static final ReflectionBeanPropertyAccessorStrategy INSTANCE = new ReflectionBeanPropertyAccessorStrategy();
+
+	private ReflectionBeanPropertyAccessorStrategy() {
+		super();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanPropertyAccessorStrategy#getAccessor(com.holonplatform.core.beans.
+	 * BeanProperty)
+	 */
+	@Override
+	public BeanPropertyAccessor getAccessor(BeanProperty<?> property) {
+		return new ReflectionBeanPropertyAccessor(property);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ReflectionBeanPropertyAccessorStrategy";
+	}
+
+}
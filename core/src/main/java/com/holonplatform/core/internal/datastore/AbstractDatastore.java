@@ -288,6 +288,20 @@ public abstract class AbstractDatastore<X extends DatastoreCommodityContext>
 		LOGGER.debug(() -> "Datastore [" + this + "]: setted trace enabled [" + trace + "]");
 	}
 
+	/**
+	 * Set the maximum number of cached resolution results of the immutable
+	 * expressions.
+	 * 
+	 * @param maximumSize The resolution cache size, <code>0</code> to disable the
+	 *                    resolution cache
+	 * @see ExpressionResolverRegistry#setResolutionCacheSize(int)
+	 * @since 6.0.1
+	 */
+	public void setResolutionCacheSize(int maximumSize) {
+		getExpressionResolverRegistry().setResolutionCacheSize(maximumSize);
+		LOGGER.debug(() -> "Datastore [" + this + "]: setted resolution cache size [" + maximumSize + "]");
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -15,8 +15,10 @@
  */
 package com.holonplatform.core.internal.datastore;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
@@ -37,6 +39,7 @@ public class DefaultOperationResult implements OperationResult {
 
 	private OperationType operationType;
 	private long affectedCount = 0;
+	private List<Long> chunkAffectedCounts;
 	private transient Map<Path<?>, Object> insertedKeys;
 
 	/*
@@ -57,6 +60,16 @@ public class DefaultOperationResult implements OperationResult {
 		return affectedCount;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore.OperationResult#getChunkAffectedCounts()
+	 */
+	@Override
+	public List<Long> getChunkAffectedCounts() {
+		return (chunkAffectedCounts != null) ? Collections.unmodifiableList(chunkAffectedCounts)
+				: Collections.emptyList();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.datastore.Datastore.OperationResult#getInsertedKeys()
@@ -101,6 +114,17 @@ public class DefaultOperationResult implements OperationResult {
 		this.affectedCount = affectedCount;
 	}
 
+	/**
+	 * Add the affected elements count of an executed operation chunk
+	 * @param count the chunk affected elements count
+	 */
+	public void addChunkAffectedCount(long count) {
+		if (chunkAffectedCounts == null) {
+			chunkAffectedCounts = new ArrayList<>();
+		}
+		chunkAffectedCounts.add(count);
+	}
+
 	/**
 	 * Set the inserted keys map
 	 * @param insertedKeys the inserted keys map to set
@@ -129,6 +153,7 @@ public class DefaultOperationResult implements OperationResult {
 	@Override
 	public String toString() {
 		return "DefaultOperationResult [operationType=" + operationType + ", affectedCount=" + affectedCount
+				+ ((chunkAffectedCounts != null) ? ", chunkAffectedCounts=" + chunkAffectedCounts : "")
 				+ ", insertedKeys=" + insertedKeys + "]";
 	}
 
@@ -161,6 +186,16 @@ public class DefaultOperationResult implements OperationResult {
 			return this;
 		}
 
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.Datastore.OperationResult.Builder#chunkAffectedCount(long)
+		 */
+		@Override
+		public Builder chunkAffectedCount(long count) {
+			instance.addChunkAffectedCount(count);
+			return this;
+		}
+
 		/*
 		 * (non-Javadoc)
 		 * @see
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.buffer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.datastore.DatastoreOperations.WriteOption;
+import com.holonplatform.core.datastore.DefaultWriteOption;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.query.QueryFilter;
+
+/**
+ * A write operation buffered by a {@link DefaultWriteBehindDatastore}, which holds a snapshot of the
+ * {@link PropertyBox} values and which can be coalesced with the successive operations on the same key.
+ * 
+ * @since 6.0.1
+ */
+public class BufferedWrite {
+
+	/**
+	 * Buffered write operation kinds.
+	 */
+	public enum Kind {
+
+		/**
+		 * Insert operation
+		 */
+		INSERT,
+
+		/**
+		 * Update operation
+		 */
+		UPDATE,
+
+		/**
+		 * Save operation
+		 */
+		SAVE;
+
+		/**
+		 * Get the kind of the operation which results from coalescing this kind with the given next operation kind.
+		 * @param next The next operation kind
+		 * @return The coalesced kind, <code>null</code> if the operations cannot be coalesced
+		 */
+		Kind coalesce(Kind next) {
+			if (next == INSERT) {
+				return null;
+			}
+			return (this == UPDATE) ? next : this;
+		}
+
+	}
+
+	private final DataTarget<?> target;
+
+	private final WriteOption[] options;
+
+	private final Key key;
+
+	private final Map<Property<?>, Object> values;
+
+	private final Set<Property<?>> identifiers;
+
+	private Kind kind;
+
+	/**
+	 * Constructor.
+	 * @param kind The operation kind
+	 * @param target The operation target
+	 * @param options The operation write options
+	 * @param key The operation key
+	 * @param propertyBox The operation values
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private BufferedWrite(Kind kind, DataTarget<?> target, WriteOption[] options, Key key, PropertyBox propertyBox) {
+		super();
+		this.kind = kind;
+		this.target = target;
+		this.options = options;
+		this.key = key;
+		this.values = new LinkedHashMap<>(propertyBox.size());
+		this.identifiers = new LinkedHashSet<>();
+		for (Property identifier : propertyBox.getIdentifiers()) {
+			identifiers.add(identifier);
+		}
+		if (kind == Kind.UPDATE && isModifiedOnly(propertyBox, options)) {
+			// snapshot only the identifiers and the modified values
+			final Set<Property> modified = propertyBox.getModifiedProperties();
+			for (Property property : propertyBox) {
+				if (identifiers.contains(property) || modified.contains(property)) {
+					values.put(property, propertyBox.getValue(property));
+				}
+			}
+		} else {
+			for (Property property : propertyBox) {
+				values.put(property, propertyBox.getValue(property));
+			}
+		}
+	}
+
+	/**
+	 * Checks whether only the modified values of given {@link PropertyBox} have to be written.
+	 * @param propertyBox The operation values
+	 * @param options The operation write options
+	 * @return <code>true</code> if the {@link PropertyBox} has change tracking enabled and the
+	 *         {@link DefaultWriteOption#UPDATE_MODIFIED_ONLY} option is provided
+	 */
+	private static boolean isModifiedOnly(PropertyBox propertyBox, WriteOption[] options) {
+		if (propertyBox.isChangeTrackingEnabled()) {
+			for (WriteOption option : options) {
+				if (option == DefaultWriteOption.UPDATE_MODIFIED_ONLY) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Create a new buffered write, if the {@link PropertyBox} can be identified.
+	 * @param kind The operation kind
+	 * @param target The operation target
+	 * @param propertyBox The operation values
+	 * @param options The operation write options
+	 * @return The buffered write, empty if the {@link PropertyBox} declares no {@link Path} type identifier property
+	 *         or if an identifier value is <code>null</code>
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public static Optional<BufferedWrite> create(Kind kind, DataTarget<?> target, PropertyBox propertyBox,
+			WriteOption[] options) {
+		final Map<String, Object> identifiers = new TreeMap<>();
+		for (Property property : propertyBox.getIdentifiers()) {
+			if (property instanceof Path) {
+				final Object value = propertyBox.getValue(property);
+				if (value == null) {
+					return Optional.empty();
+				}
+				identifiers.put(((Path<?>) property).relativeName(), value);
+			}
+		}
+		if (identifiers.isEmpty()) {
+			return Optional.empty();
+		}
+		return Optional.of(new BufferedWrite(kind, target, (options != null) ? options : new WriteOption[0],
+				new Key(target.getName(), identifiers), propertyBox));
+	}
+
+	/**
+	 * Get the operation kind.
+	 * @return The operation kind
+	 */
+	public Kind getKind() {
+		return kind;
+	}
+
+	/**
+	 * Get the operation target.
+	 * @return The operation target
+	 */
+	public DataTarget<?> getTarget() {
+		return target;
+	}
+
+	/**
+	 * Get the operation write options.
+	 * @return The write options
+	 */
+	public WriteOption[] getOptions() {
+		return options;
+	}
+
+	/**
+	 * Get the operation key, made up of the target name and the identifier values.
+	 * @return The operation key
+	 */
+	public Key getKey() {
+		return key;
+	}
+
+	/**
+	 * Get the properties of the buffered values, in the order they were first written.
+	 * @return The buffered properties
+	 */
+	public List<Property<?>> getProperties() {
+		return new ArrayList<>(values.keySet());
+	}
+
+	/**
+	 * Coalesce given operation into this one, if the operations kinds and write options allow it. The values of the
+	 * given operation override the ones of this operation.
+	 * @param next The operation to coalesce, which must have the same key
+	 * @return <code>true</code> if the operation was coalesced, <code>false</code> otherwise
+	 */
+	boolean coalesce(BufferedWrite next) {
+		final Kind coalesced = kind.coalesce(next.kind);
+		if (coalesced == null || !Arrays.equals(options, next.options)) {
+			return false;
+		}
+		kind = coalesced;
+		values.putAll(next.values);
+		identifiers.addAll(next.identifiers);
+		return true;
+	}
+
+	/**
+	 * Build the {@link PropertySet} of the buffered values.
+	 * @return The property set
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public PropertySet<?> getPropertySet() {
+		final PropertySet.Builder builder = PropertySet.builder();
+		values.keySet().forEach(builder::add);
+		identifiers.forEach(builder::withIdentifier);
+		return builder.build();
+	}
+
+	/**
+	 * Build a {@link PropertyBox} with the buffered values.
+	 * @param propertySet The property set to use, which must contain the buffered properties
+	 * @return A new {@link PropertyBox}
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public PropertyBox toPropertyBox(PropertySet<?> propertySet) {
+		final PropertyBox.Builder builder = PropertyBox.builder(propertySet).invalidAllowed(true);
+		for (Entry<Property<?>, Object> value : values.entrySet()) {
+			if (value.getValue() != null) {
+				builder.setIgnoreReadOnly((Property) value.getKey(), value.getValue());
+			}
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Build the filter which selects the buffered data by identifier.
+	 * @return The identifier filter
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public QueryFilter getIdentifierFilter() {
+		final List<QueryFilter> filters = new ArrayList<>(identifiers.size());
+		for (Property property : identifiers) {
+			if (property instanceof Path) {
+				filters.add(QueryFilter.eq((Path) property, values.get(property)));
+			}
+		}
+		return QueryFilter.allOf(filters).orElseThrow(() -> new IllegalStateException("Missing identifiers"));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "BufferedWrite [kind=" + kind + ", key=" + key + "]";
+	}
+
+	/**
+	 * Buffered write key, made up of the target name and the identifier values, bound to the identifier paths
+	 * names.
+	 */
+	public static final class Key {
+
+		private final String target;
+
+		private final Map<String, Object> identifiers;
+
+		/**
+		 * Constructor.
+		 * @param target The target name
+		 * @param identifiers The identifier values
+		 */
+		Key(String target, Map<String, Object> identifiers) {
+			super();
+			this.target = target;
+			this.identifiers = identifiers;
+		}
+
+		/**
+		 * Get the target name.
+		 * @return The target name
+		 */
+		public String getTarget() {
+			return target;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * target.hashCode() + identifiers.hashCode();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			return target.equals(other.target) && identifiers.equals(other.identifiers);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return target + identifiers;
+		}
+
+	}
+
+}
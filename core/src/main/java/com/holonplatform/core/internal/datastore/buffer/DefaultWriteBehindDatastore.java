@@ -0,0 +1,887 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.buffer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import com.holonplatform.core.Expression;
+import com.holonplatform.core.ExpressionResolver;
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.datastore.Datastore;
+import com.holonplatform.core.datastore.DatastoreCommodity;
+import com.holonplatform.core.datastore.buffer.WriteBehindDatastore;
+import com.holonplatform.core.datastore.bulk.BulkDelete;
+import com.holonplatform.core.datastore.bulk.BulkInsert;
+import com.holonplatform.core.datastore.bulk.BulkUpdate;
+import com.holonplatform.core.datastore.transaction.Transaction;
+import com.holonplatform.core.datastore.transaction.TransactionConfiguration;
+import com.holonplatform.core.datastore.transaction.Transactional;
+import com.holonplatform.core.datastore.transaction.TransactionalOperation;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.datastore.DatastoreLogger;
+import com.holonplatform.core.internal.datastore.buffer.BufferedWrite.Key;
+import com.holonplatform.core.internal.datastore.buffer.BufferedWrite.Kind;
+import com.holonplatform.core.internal.datastore.buffer.WriteBuffer.Offer;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.query.Query;
+
+/**
+ * Default {@link WriteBehindDatastore} implementation.
+ * 
+ * @since 6.0.1
+ */
+public class DefaultWriteBehindDatastore implements WriteBehindDatastore {
+
+	private static final long serialVersionUID = 2858870541962934213L;
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = DatastoreLogger.create();
+
+	/**
+	 * Decorated datastore
+	 */
+	private final Datastore datastore;
+
+	/**
+	 * Maximum number of buffered operations
+	 */
+	private final int maximumBufferSize;
+
+	/**
+	 * The buffer of the operations which are not bound to a transaction
+	 */
+	private final transient WriteBuffer buffer = new WriteBuffer();
+
+	/**
+	 * The transaction bound to the current thread, if any
+	 */
+	private final transient ThreadLocal<BufferedTransaction> currentTransaction = new ThreadLocal<>();
+
+	/**
+	 * The scheduler created by this datastore, if any
+	 */
+	private final transient ScheduledExecutorService ownedScheduler;
+
+	/**
+	 * The scheduled flush, if any
+	 */
+	private final transient ScheduledFuture<?> scheduledFlush;
+
+	private final transient LongAdder bufferedCount = new LongAdder();
+	private final transient LongAdder coalescedCount = new LongAdder();
+	private final transient LongAdder flushCount = new LongAdder();
+	private final transient LongAdder writtenCount = new LongAdder();
+	private final transient LongAdder failedCount = new LongAdder();
+	private final transient LongAdder totalFlushNanos = new LongAdder();
+	private final transient LongAccumulator maximumFlushNanos = new LongAccumulator(Math::max, 0L);
+	private transient volatile long lastFlushNanos;
+
+	/**
+	 * The failure of the last scheduled flush, if not yet surfaced by a flush
+	 */
+	private transient volatile DataAccessException scheduledFailure;
+
+	/**
+	 * Constructor.
+	 * @param datastore The datastore to decorate (not null)
+	 * @param maximumBufferSize The maximum number of buffered operations
+	 * @param flushInterval The scheduled flush interval, <code>null</code> for none
+	 * @param scheduler The executor to use to schedule the flush, <code>null</code> to create a new one if required
+	 */
+	public DefaultWriteBehindDatastore(Datastore datastore, int maximumBufferSize, Duration flushInterval,
+			ScheduledExecutorService scheduler) {
+		super();
+		ObjectUtils.argumentNotNull(datastore, "Datastore must be not null");
+		this.datastore = datastore;
+		this.maximumBufferSize = maximumBufferSize;
+		if (flushInterval != null && !flushInterval.isZero() && !flushInterval.isNegative()) {
+			this.ownedScheduler = (scheduler != null) ? null : Executors.newSingleThreadScheduledExecutor(r -> {
+				final Thread thread = new Thread(r, "write-behind-flush");
+				thread.setDaemon(true);
+				return thread;
+			});
+			final long interval = flushInterval.toNanos();
+			this.scheduledFlush = ((scheduler != null) ? scheduler : ownedScheduler)
+					.scheduleWithFixedDelay(this::scheduledFlush, interval, interval, TimeUnit.NANOSECONDS);
+		} else {
+			this.ownedScheduler = null;
+			this.scheduledFlush = null;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.buffer.WriteBehindDatastore#flush()
+	 */
+	@Override
+	public void flush() {
+		flushShared(key -> true);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.buffer.WriteBehindDatastore#flush(com.holonplatform.core.datastore.
+	 * DataTarget)
+	 */
+	@Override
+	public void flush(DataTarget<?> target) {
+		flushShared(targetSelector(target));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.buffer.WriteBehindDatastore#getBufferDepth()
+	 */
+	@Override
+	public int getBufferDepth() {
+		return buffer.size();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.buffer.WriteBehindDatastore#getStatistics()
+	 */
+	@Override
+	public WriteBufferStatistics getStatistics() {
+		return new DefaultWriteBufferStatistics(bufferedCount.sum(), coalescedCount.sum(), flushCount.sum(),
+				writtenCount.sum(), failedCount.sum(), buffer.size(), lastFlushNanos, maximumFlushNanos.get(),
+				totalFlushNanos.sum());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.buffer.WriteBehindDatastore#close()
+	 */
+	@Override
+	public void close() {
+		if (scheduledFlush != null) {
+			scheduledFlush.cancel(false);
+		}
+		if (ownedScheduler != null) {
+			ownedScheduler.shutdown();
+		}
+		flush();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.DataContextBound#getDataContextId()
+	 */
+	@Override
+	public Optional<String> getDataContextId() {
+		return datastore.getDataContextId();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ExpressionResolver.ExpressionResolverSupport#addExpressionResolver(com.holonplatform.
+	 * core.ExpressionResolver)
+	 */
+	@Override
+	public <E extends Expression, R extends Expression> void addExpressionResolver(
+			ExpressionResolver<E, R> expressionResolver) {
+		datastore.addExpressionResolver(expressionResolver);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.ExpressionResolver.ExpressionResolverSupport#removeExpressionResolver(com.holonplatform.
+	 * core.ExpressionResolver)
+	 */
+	@Override
+	public <E extends Expression, R extends Expression> void removeExpressionResolver(
+			ExpressionResolver<E, R> expressionResolver) {
+		datastore.removeExpressionResolver(expressionResolver);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.DatastoreCommodityHandler#getAvailableCommodities()
+	 */
+	@Override
+	public Collection<Class<? extends DatastoreCommodity>> getAvailableCommodities() {
+		return datastore.getAvailableCommodities();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.DatastoreCommodityHandler#create(java.lang.Class)
+	 */
+	@Override
+	public <C extends DatastoreCommodity> C create(Class<C> commodityType) {
+		flushPending(key -> true);
+		return datastore.create(commodityType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#refresh(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.property.PropertyBox)
+	 */
+	@Override
+	public PropertyBox refresh(DataTarget<?> target, PropertyBox propertyBox) {
+		flushPending(targetSelector(target));
+		return datastore.refresh(target, propertyBox);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#insert(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.property.PropertyBox, com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public OperationResult insert(DataTarget<?> target, PropertyBox propertyBox, WriteOption... options) {
+		return write(Kind.INSERT, target, propertyBox, options);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#update(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.property.PropertyBox, com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public OperationResult update(DataTarget<?> target, PropertyBox propertyBox, WriteOption... options) {
+		return write(Kind.UPDATE, target, propertyBox, options);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#save(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.property.PropertyBox, com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public OperationResult save(DataTarget<?> target, PropertyBox propertyBox, WriteOption... options) {
+		return write(Kind.SAVE, target, propertyBox, options);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#delete(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.property.PropertyBox, com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public OperationResult delete(DataTarget<?> target, PropertyBox propertyBox, WriteOption... options) {
+		flushPending(targetSelector(target));
+		return datastore.delete(target, propertyBox, options);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#bulkInsert(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.property.PropertySet, com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public BulkInsert bulkInsert(DataTarget<?> target, PropertySet<?> propertySet, WriteOption... options) {
+		flushPending(targetSelector(target));
+		return datastore.bulkInsert(target, propertySet, options);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#bulkUpdate(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public BulkUpdate bulkUpdate(DataTarget<?> target, WriteOption... options) {
+		flushPending(targetSelector(target));
+		return datastore.bulkUpdate(target, options);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#bulkDelete(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public BulkDelete bulkDelete(DataTarget<?> target, WriteOption... options) {
+		flushPending(targetSelector(target));
+		return datastore.bulkDelete(target, options);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#query()
+	 */
+	@Override
+	public Query query() {
+		flushPending(key -> true);
+		return datastore.query();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#isTransactional()
+	 */
+	@Override
+	public Optional<Transactional> isTransactional() {
+		return datastore.isTransactional().map(BufferedTransactional::new);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "WriteBehindDatastore [datastore=" + datastore + ", maximumBufferSize=" + maximumBufferSize + "]";
+	}
+
+	/**
+	 * Get the buffer to use for the current thread: the buffer of the active transaction, if any, or the shared
+	 * buffer otherwise.
+	 * @return The current buffer
+	 */
+	private WriteBuffer currentBuffer() {
+		final BufferedTransaction transaction = currentTransaction.get();
+		return (transaction != null && !transaction.isCompleted()) ? transaction.buffer : buffer;
+	}
+
+	/**
+	 * Write the buffered operations which key matches given selector before an operation which requires them to be
+	 * written: when a transaction is active, the shared buffer operations are written before the transaction ones.
+	 * @param selector The operations key selector
+	 */
+	private void flushPending(Predicate<Key> selector) {
+		final WriteBuffer current = currentBuffer();
+		if (current != buffer) {
+			flushSharedInTransaction(selector);
+		}
+		flush(current, selector, null);
+	}
+
+	/**
+	 * Write the shared buffer operations which key matches given selector within the active transaction. The
+	 * written operations are tracked by the transaction and restored in the shared buffer if the transaction is not
+	 * committed.
+	 * @param selector The operations key selector
+	 */
+	private void flushSharedInTransaction(Predicate<Key> selector) {
+		flush(buffer, selector, currentTransaction.get().sharedWrites);
+	}
+
+	/**
+	 * Write the shared buffer operations which key matches given selector, as requested by the datastore client.
+	 * A failure of a previous scheduled flush is surfaced as a suppressed exception if the operations which failed
+	 * to be written still cannot be written.
+	 * @param selector The operations key selector
+	 */
+	private void flushShared(Predicate<Key> selector) {
+		final DataAccessException previous = scheduledFailure;
+		scheduledFailure = null;
+		try {
+			flush(buffer, selector, null);
+		} catch (DataAccessException e) {
+			if (previous != null && previous != e) {
+				e.addSuppressed(previous);
+			}
+			throw e;
+		}
+	}
+
+	private static Predicate<Key> targetSelector(DataTarget<?> target) {
+		ObjectUtils.argumentNotNull(target, "DataTarget must be not null");
+		final String name = target.getName();
+		return key -> key.getTarget().equals(name);
+	}
+
+	/**
+	 * Buffer a write operation, or execute it immediately if the {@link PropertyBox} cannot be identified.
+	 * @param kind The operation kind
+	 * @param target The operation target
+	 * @param propertyBox The operation value
+	 * @param options The write options
+	 * @return The operation result
+	 */
+	private OperationResult write(Kind kind, DataTarget<?> target, PropertyBox propertyBox, WriteOption[] options) {
+		ObjectUtils.argumentNotNull(target, "DataTarget must be not null");
+		ObjectUtils.argumentNotNull(propertyBox, "PropertyBox must be not null");
+		final WriteBuffer current = currentBuffer();
+		if (current != buffer) {
+			// shared operations on the same target first
+			flushSharedInTransaction(targetSelector(target));
+		}
+		final BufferedWrite write = BufferedWrite.create(kind, target, propertyBox, options).orElse(null);
+		if (write == null) {
+			flush(current, targetSelector(target), null);
+			switch (kind) {
+			case INSERT:
+				return datastore.insert(target, propertyBox, options);
+			case UPDATE:
+				return datastore.update(target, propertyBox, options);
+			case SAVE:
+			default:
+				return datastore.save(target, propertyBox, options);
+			}
+		}
+		Offer offer;
+		while ((offer = current.offer(write)) == Offer.REJECTED) {
+			// write the buffered operation with the same key first
+			final Key key = write.getKey();
+			flush(current, k -> k.equals(key), null);
+		}
+		bufferedCount.increment();
+		if (offer == Offer.COALESCED) {
+			coalescedCount.increment();
+		}
+		if (current.size() >= maximumBufferSize) {
+			flush(current, key -> true, null);
+		}
+		final OperationResult.Builder result = OperationResult.builder();
+		if (kind == Kind.INSERT) {
+			result.type(OperationType.INSERT);
+		} else if (kind == Kind.UPDATE) {
+			result.type(OperationType.UPDATE);
+		}
+		return result.build();
+	}
+
+	/**
+	 * Write the buffered operations which key matches given selector.
+	 * <p>
+	 * The operations which fail to be written are restored in the buffer, ahead of the operations buffered in the
+	 * meantime, so that they are written again by the next flush.
+	 * </p>
+	 * @param writeBuffer The buffer to flush
+	 * @param selector The operations key selector
+	 * @param written The list to which to add the written operations, <code>null</code> if not required
+	 * @throws DataAccessException If an operation write failed
+	 */
+	private void flush(WriteBuffer writeBuffer, Predicate<Key> selector, List<BufferedWrite> written) {
+		synchronized (writeBuffer.getFlushLock()) {
+			final List<BufferedWrite> writes = writeBuffer.drain(selector);
+			if (writes.isEmpty()) {
+				return;
+			}
+			final List<BufferedWrite> failed = new ArrayList<>();
+			final long start = System.nanoTime();
+			final DataAccessException error;
+			try {
+				error = write(writes, failed);
+			} catch (RuntimeException e) {
+				writeBuffer.restore(writes);
+				throw e;
+			} finally {
+				final long elapsed = System.nanoTime() - start;
+				flushCount.increment();
+				totalFlushNanos.add(elapsed);
+				maximumFlushNanos.accumulate(elapsed);
+				lastFlushNanos = elapsed;
+			}
+			if (written != null) {
+				writes.stream().filter(write -> !failed.contains(write)).forEach(written::add);
+			}
+			if (error != null) {
+				writeBuffer.restore(failed);
+				throw error;
+			}
+		}
+	}
+
+	/**
+	 * Write given operations, grouping the inserts with the same target, write options and properties into a single
+	 * {@link BulkInsert}.
+	 * @param writes The operations to write
+	 * @param failed The list to which to add the operations which failed to be written, in the given order
+	 * @return The write error, if any, <code>null</code> otherwise
+	 */
+	private DataAccessException write(List<BufferedWrite> writes, List<BufferedWrite> failed) {
+		final Map<List<Object>, List<BufferedWrite>> inserts = new LinkedHashMap<>();
+		final List<BufferedWrite> others = new ArrayList<>();
+		for (BufferedWrite write : writes) {
+			if (write.getKind() == Kind.INSERT) {
+				inserts.computeIfAbsent(Arrays.asList(write.getTarget().getName(),
+						Arrays.asList(write.getOptions()), write.getProperties()), k -> new ArrayList<>()).add(write);
+			} else {
+				others.add(write);
+			}
+		}
+
+		final List<RuntimeException> errors = new ArrayList<>();
+		for (List<BufferedWrite> group : inserts.values()) {
+			final BufferedWrite first = group.get(0);
+			final PropertySet<?> propertySet = first.getPropertySet();
+			execute(group, errors, failed, () -> {
+				final BulkInsert operation = datastore.bulkInsert(first.getTarget(), propertySet, first.getOptions());
+				for (BufferedWrite write : group) {
+					operation.add(write.toPropertyBox(propertySet));
+				}
+				operation.execute();
+			});
+		}
+		for (BufferedWrite write : others) {
+			execute(Collections.singletonList(write), errors, failed, () -> {
+				final PropertyBox value = write.toPropertyBox(write.getPropertySet());
+				if (write.getKind() == Kind.UPDATE) {
+					datastore.bulkUpdate(write.getTarget(), write.getOptions()).set(value, true)
+							.filter(write.getIdentifierFilter()).execute();
+				} else {
+					datastore.save(write.getTarget(), value, write.getOptions());
+				}
+			});
+		}
+
+		if (errors.isEmpty()) {
+			return null;
+		}
+		// keep the buffer order of the failed operations
+		final List<BufferedWrite> failures = new ArrayList<>(failed);
+		failed.clear();
+		writes.stream().filter(failures::contains).forEach(failed::add);
+		final DataAccessException error = new DataAccessException(
+				"Failed to write " + errors.size() + " buffered operation group(s)", errors.get(0));
+		for (int i = 1; i < errors.size(); i++) {
+			error.addSuppressed(errors.get(i));
+		}
+		return error;
+	}
+
+	private void execute(List<BufferedWrite> writes, List<RuntimeException> errors, List<BufferedWrite> failed,
+			Runnable operation) {
+		try {
+			operation.run();
+			writtenCount.add(writes.size());
+		} catch (RuntimeException e) {
+			failedCount.add(writes.size());
+			failed.addAll(writes);
+			errors.add(e);
+		}
+	}
+
+	private void scheduledFlush() {
+		try {
+			flush(buffer, key -> true, null);
+		} catch (DataAccessException e) {
+			// the failed operations were restored in the buffer: surfaced by the next flush if still failing
+			scheduledFailure = e;
+			LOGGER.warn("Scheduled write buffer flush failed", e);
+		} catch (Exception e) {
+			LOGGER.warn("Scheduled write buffer flush failed", e);
+		}
+	}
+
+	/**
+	 * {@link Transactional} which binds a separate write buffer to the transactions, to be flushed before the
+	 * transaction commit.
+	 * <p>
+	 * The shared buffer is flushed before a transaction is started, and the shared buffer operations on a target are
+	 * written within the transaction before any transactional operation on the same target, so that the transaction
+	 * reads its own writes and is never overwritten by older shared operations. The shared operations written within
+	 * a transaction which is not committed are restored in the shared buffer.
+	 * </p>
+	 */
+	private final class BufferedTransactional implements Transactional {
+
+		private final Transactional transactional;
+
+		BufferedTransactional(Transactional transactional) {
+			super();
+			this.transactional = transactional;
+		}
+
+		@Override
+		public <R> R withTransaction(TransactionalOperation<R> operation,
+				TransactionConfiguration transactionConfiguration) {
+			ObjectUtils.argumentNotNull(operation, "Operation must be not null");
+			ObjectUtils.argumentNotNull(transactionConfiguration, "Transaction configuration must be not null");
+			final BufferedTransaction outer = currentTransaction.get();
+			if (outer != null && !outer.isCompleted()) {
+				// joined transaction: share the outer transaction buffers
+				final TransactionalOperation<R> joined = transaction -> operation
+						.execute(new BufferedTransaction(transaction, outer.buffer, outer.sharedWrites));
+				return transactional.withTransaction(joined, transactionConfiguration);
+			}
+			// write the shared operations before the transaction begins
+			flushShared(key -> true);
+			final List<BufferedWrite> sharedWrites = new ArrayList<>();
+			// whether the transaction is to be committed by the underlying transactional when the operation completes
+			final boolean[] autoCommit = new boolean[] { false };
+			boolean completed = false;
+			try {
+				final R result = transactional.withTransaction(transaction -> {
+					final BufferedTransaction bufferedTransaction = new BufferedTransaction(transaction,
+							new WriteBuffer(), sharedWrites);
+					currentTransaction.set(bufferedTransaction);
+					try {
+						final R operationResult = operation.execute(bufferedTransaction);
+						if (!transaction.isCompleted() && !transaction.isRollbackOnly()) {
+							flush(bufferedTransaction.buffer, key -> true, null);
+							autoCommit[0] = transactionConfiguration.isAutoCommit();
+						}
+						return operationResult;
+					} finally {
+						if (outer != null) {
+							currentTransaction.set(outer);
+						} else {
+							currentTransaction.remove();
+						}
+					}
+				}, transactionConfiguration);
+				completed = true;
+				return result;
+			} finally {
+				if (completed && autoCommit[0]) {
+					sharedWrites.clear();
+				} else {
+					// not committed: the shared operations written within the transaction must be written again
+					buffer.restore(sharedWrites);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * {@link Transaction} decorator which flushes the transaction write buffer before commit and discards it on
+	 * rollback.
+	 */
+	private final class BufferedTransaction implements Transaction {
+
+		private final Transaction transaction;
+
+		final WriteBuffer buffer;
+
+		final List<BufferedWrite> sharedWrites;
+
+		BufferedTransaction(Transaction transaction, WriteBuffer buffer, List<BufferedWrite> sharedWrites) {
+			super();
+			this.transaction = transaction;
+			this.buffer = buffer;
+			this.sharedWrites = sharedWrites;
+		}
+
+		@Override
+		public boolean commit() {
+			if (!transaction.isRollbackOnly()) {
+				flush(buffer, key -> true, null);
+			}
+			final boolean committed = transaction.commit();
+			if (committed) {
+				sharedWrites.clear();
+			}
+			return committed;
+		}
+
+		@Override
+		public void rollback() {
+			buffer.clear();
+			try {
+				transaction.rollback();
+			} finally {
+				DefaultWriteBehindDatastore.this.buffer.restore(sharedWrites);
+				sharedWrites.clear();
+			}
+		}
+
+		@Override
+		public void setRollbackOnly() {
+			transaction.setRollbackOnly();
+		}
+
+		@Override
+		public boolean isRollbackOnly() {
+			return transaction.isRollbackOnly();
+		}
+
+		@Override
+		public boolean isActive() {
+			return transaction.isActive();
+		}
+
+		@Override
+		public boolean isCompleted() {
+			return transaction.isCompleted();
+		}
+
+		@Override
+		public boolean isNew() {
+			return transaction.isNew();
+		}
+
+	}
+
+	/**
+	 * Default {@link WriteBufferStatistics} implementation.
+	 */
+	private static final class DefaultWriteBufferStatistics implements WriteBufferStatistics {
+
+		private final long bufferedCount;
+		private final long coalescedCount;
+		private final long flushCount;
+		private final long writtenCount;
+		private final long failedCount;
+		private final int bufferDepth;
+		private final long lastFlushNanos;
+		private final long maximumFlushNanos;
+		private final long totalFlushNanos;
+
+		DefaultWriteBufferStatistics(long bufferedCount, long coalescedCount, long flushCount, long writtenCount,
+				long failedCount, int bufferDepth, long lastFlushNanos, long maximumFlushNanos, long totalFlushNanos) {
+			super();
+			this.bufferedCount = bufferedCount;
+			this.coalescedCount = coalescedCount;
+			this.flushCount = flushCount;
+			this.writtenCount = writtenCount;
+			this.failedCount = failedCount;
+			this.bufferDepth = bufferDepth;
+			this.lastFlushNanos = lastFlushNanos;
+			this.maximumFlushNanos = maximumFlushNanos;
+			this.totalFlushNanos = totalFlushNanos;
+		}
+
+		@Override
+		public long getBufferedCount() {
+			return bufferedCount;
+		}
+
+		@Override
+		public long getCoalescedCount() {
+			return coalescedCount;
+		}
+
+		@Override
+		public long getFlushCount() {
+			return flushCount;
+		}
+
+		@Override
+		public long getWrittenCount() {
+			return writtenCount;
+		}
+
+		@Override
+		public long getFailedCount() {
+			return failedCount;
+		}
+
+		@Override
+		public int getBufferDepth() {
+			return bufferDepth;
+		}
+
+		@Override
+		public Duration getLastFlushLatency() {
+			return Duration.ofNanos(lastFlushNanos);
+		}
+
+		@Override
+		public Duration getMaximumFlushLatency() {
+			return Duration.ofNanos(maximumFlushNanos);
+		}
+
+		@Override
+		public Duration getTotalFlushLatency() {
+			return Duration.ofNanos(totalFlushNanos);
+		}
+
+		@Override
+		public String toString() {
+			return "WriteBufferStatistics [bufferedCount=" + bufferedCount + ", coalescedCount=" + coalescedCount
+					+ ", flushCount=" + flushCount + ", writtenCount=" + writtenCount + ", failedCount=" + failedCount
+					+ ", bufferDepth=" + bufferDepth + ", lastFlushLatency=" + getLastFlushLatency()
+					+ ", maximumFlushLatency=" + getMaximumFlushLatency() + "]";
+		}
+
+	}
+
+	// Builder
+
+	/**
+	 * Default {@link WriteBehindDatastore.Builder} implementation.
+	 */
+	public static class DefaultBuilder implements WriteBehindDatastore.Builder {
+
+		private final Datastore datastore;
+		private int maximumBufferSize = DEFAULT_MAXIMUM_BUFFER_SIZE;
+		private Duration flushInterval;
+		private ScheduledExecutorService scheduler;
+
+		/**
+		 * Constructor.
+		 * @param datastore The datastore to decorate (not null)
+		 */
+		public DefaultBuilder(Datastore datastore) {
+			super();
+			ObjectUtils.argumentNotNull(datastore, "Datastore must be not null");
+			this.datastore = datastore;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.buffer.WriteBehindDatastore.Builder#maximumBufferSize(int)
+		 */
+		@Override
+		public WriteBehindDatastore.Builder maximumBufferSize(int maximumBufferSize) {
+			if (maximumBufferSize < 1) {
+				throw new IllegalArgumentException("Write buffer maximum size must be greater than 0");
+			}
+			this.maximumBufferSize = maximumBufferSize;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.buffer.WriteBehindDatastore.Builder#flushInterval(java.time.Duration)
+		 */
+		@Override
+		public WriteBehindDatastore.Builder flushInterval(Duration flushInterval) {
+			this.flushInterval = flushInterval;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.buffer.WriteBehindDatastore.Builder#scheduler(java.util.concurrent.
+		 * ScheduledExecutorService)
+		 */
+		@Override
+		public WriteBehindDatastore.Builder scheduler(ScheduledExecutorService scheduler) {
+			this.scheduler = scheduler;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.buffer.WriteBehindDatastore.Builder#build()
+		 */
+		@Override
+		public WriteBehindDatastore build() {
+			return new DefaultWriteBehindDatastore(datastore, maximumBufferSize, flushInterval, scheduler);
+		}
+
+	}
+
+}
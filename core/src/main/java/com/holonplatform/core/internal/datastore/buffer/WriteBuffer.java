@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.buffer;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import com.holonplatform.core.internal.datastore.buffer.BufferedWrite.Key;
+
+/**
+ * A buffer of {@link BufferedWrite}s, which coalesces the operations with the same key. The buffered operations are
+ * kept in the order they were first buffered.
+ * <p>
+ * The buffer methods are thread-safe. The buffer provides a flush lock, which is used to serialize the flushes of the
+ * buffer, so that the coalesced operations on the same key are always written in order.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public class WriteBuffer {
+
+	/**
+	 * The result of an operation offered to the buffer.
+	 */
+	public enum Offer {
+
+		/**
+		 * The operation was buffered.
+		 */
+		BUFFERED,
+
+		/**
+		 * The operation was coalesced with an already buffered operation.
+		 */
+		COALESCED,
+
+		/**
+		 * The operation cannot be coalesced with the already buffered operation with the same key, which has to be
+		 * written first.
+		 */
+		REJECTED
+
+	}
+
+	private final Object flushLock = new Object();
+
+	private final Map<Key, BufferedWrite> writes = new LinkedHashMap<>();
+
+	/**
+	 * Offer an operation to the buffer.
+	 * @param write The operation to buffer
+	 * @return The offer result
+	 */
+	public synchronized Offer offer(BufferedWrite write) {
+		final BufferedWrite buffered = writes.get(write.getKey());
+		if (buffered == null) {
+			writes.put(write.getKey(), write);
+			return Offer.BUFFERED;
+		}
+		return buffered.coalesce(write) ? Offer.COALESCED : Offer.REJECTED;
+	}
+
+	/**
+	 * Remove and return the buffered operations which key matches given predicate.
+	 * @param selector The key predicate
+	 * @return The removed operations, in buffer order
+	 */
+	public synchronized List<BufferedWrite> drain(Predicate<Key> selector) {
+		final List<BufferedWrite> drained = new ArrayList<>();
+		final Iterator<BufferedWrite> iterator = writes.values().iterator();
+		while (iterator.hasNext()) {
+			final BufferedWrite write = iterator.next();
+			if (selector.test(write.getKey())) {
+				drained.add(write);
+				iterator.remove();
+			}
+		}
+		return drained;
+	}
+
+	/**
+	 * Put back given operations, previously drained from the buffer, ahead of the currently buffered operations and
+	 * in the given order.
+	 * <p>
+	 * If an operation with the same key was buffered in the meantime, the newer operation is coalesced into the
+	 * restored one when possible, otherwise the newer operation wins and the restored one is discarded.
+	 * </p>
+	 * @param restored The operations to restore
+	 */
+	public synchronized void restore(List<BufferedWrite> restored) {
+		if (restored.isEmpty()) {
+			return;
+		}
+		final Map<Key, BufferedWrite> merged = new LinkedHashMap<>();
+		for (BufferedWrite write : restored) {
+			final BufferedWrite newer = writes.get(write.getKey());
+			if (newer == null || write.coalesce(newer)) {
+				merged.put(write.getKey(), write);
+			}
+		}
+		writes.forEach(merged::putIfAbsent);
+		writes.clear();
+		writes.putAll(merged);
+	}
+
+	/**
+	 * Remove all the buffered operations.
+	 */
+	public synchronized void clear() {
+		writes.clear();
+	}
+
+	/**
+	 * Get the number of buffered operations.
+	 * @return The buffer size
+	 */
+	public synchronized int size() {
+		return writes.size();
+	}
+
+	/**
+	 * Get the lock to use to serialize the buffer flushes.
+	 * @return The flush lock
+	 */
+	public Object getFlushLock() {
+		return flushLock;
+	}
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.cache;
+
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import com.holonplatform.core.Expression;
+import com.holonplatform.core.ExpressionResolver;
+import com.holonplatform.core.config.ConfigProperty;
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.DatastoreOperations.WriteOption;
+import com.holonplatform.core.datastore.cache.QueryCache;
+import com.holonplatform.core.datastore.operation.commons.BulkOperationConfiguration;
+import com.holonplatform.core.datastore.operation.commons.ExecutableBulkOperation;
+
+/**
+ * Base class for the bulk operation decorators which invalidate the {@link QueryCache} results of the operation target
+ * when the operation is executed.
+ * 
+ * @param <C> Operation configuration type
+ * @param <O> Actual operation type
+ *
+ * @since 6.0.1
+ */
+public abstract class AbstractCachingBulkOperation<C extends BulkOperationConfiguration, O extends ExecutableBulkOperation<OperationResult, C, O>>
+		implements ExecutableBulkOperation<OperationResult, C, O> {
+
+	private static final long serialVersionUID = 3069731433597967692L;
+
+	/**
+	 * Decorated operation
+	 */
+	protected final O operation;
+
+	private final QueryCache queryCache;
+
+	/**
+	 * Constructor.
+	 * @param operation The operation to decorate
+	 * @param queryCache The query cache
+	 */
+	public AbstractCachingBulkOperation(O operation, QueryCache queryCache) {
+		super();
+		this.operation = operation;
+		this.queryCache = queryCache;
+	}
+
+	/**
+	 * Get the actual operation.
+	 * @return the actual operation
+	 */
+	protected abstract O getActualOperation();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.ExecutableOperation#execute()
+	 */
+	@Override
+	public OperationResult execute() {
+		try {
+			return operation.execute();
+		} finally {
+			final DataTarget<?> target = operation.getConfiguration().getTarget();
+			if (target != null) {
+				queryCache.invalidate(target);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.DatastoreOperation#getConfiguration()
+	 */
+	@Override
+	public C getConfiguration() {
+		return operation.getConfiguration();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.ExecutableBulkOperation#parallelism(int)
+	 */
+	@Override
+	public O parallelism(int parallelism) {
+		operation.parallelism(parallelism);
+		return getActualOperation();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.ExecutableBulkOperation#executor(java.util.concurrent.
+	 * Executor)
+	 */
+	@Override
+	public O executor(Executor executor) {
+		operation.executor(executor);
+		return getActualOperation();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.DatastoreOperationConfiguration.Builder#target(com.
+	 * holonplatform.core.datastore.DataTarget)
+	 */
+	@Override
+	public O target(DataTarget<?> target) {
+		operation.target(target);
+		return getActualOperation();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.DatastoreOperationConfiguration.Builder#parameter(java.lang.
+	 * String, java.lang.Object)
+	 */
+	@Override
+	public O parameter(String name, Object value) {
+		operation.parameter(name, value);
+		return getActualOperation();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.DatastoreOperationConfiguration.Builder#parameter(com.
+	 * holonplatform.core.config.ConfigProperty, java.lang.Object)
+	 */
+	@Override
+	public <T> O parameter(ConfigProperty<T> property, T value) {
+		operation.parameter(property, value);
+		return getActualOperation();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.DatastoreOperationConfiguration.Builder#withWriteOption(com.
+	 * holonplatform.core.datastore.DatastoreOperations.WriteOption)
+	 */
+	@Override
+	public O withWriteOption(WriteOption writeOption) {
+		operation.withWriteOption(writeOption);
+		return getActualOperation();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.datastore.operation.commons.DatastoreOperationConfiguration.Builder#withWriteOptions(com.
+	 * holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public O withWriteOptions(WriteOption... writeOptions) {
+		operation.withWriteOptions(writeOptions);
+		return getActualOperation();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.datastore.operation.commons.DatastoreOperationConfiguration.Builder#withWriteOptions(java.
+	 * util.Set)
+	 */
+	@Override
+	public O withWriteOptions(Set<WriteOption> writeOptions) {
+		operation.withWriteOptions(writeOptions);
+		return getActualOperation();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.datastore.operation.commons.DatastoreOperationConfiguration.Builder#withExpressionResolvers(
+	 * java.lang.Iterable)
+	 */
+	@SuppressWarnings("rawtypes")
+	@Override
+	public O withExpressionResolvers(Iterable<? extends ExpressionResolver> expressionResolvers) {
+		operation.withExpressionResolvers(expressionResolvers);
+		return getActualOperation();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ExpressionResolver.ExpressionResolverBuilder#withExpressionResolver(com.holonplatform.
+	 * core.ExpressionResolver)
+	 */
+	@Override
+	public <E extends Expression, R extends Expression> O withExpressionResolver(
+			ExpressionResolver<E, R> expressionResolver) {
+		operation.withExpressionResolver(expressionResolver);
+		return getActualOperation();
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.cache;
+
+import com.holonplatform.core.datastore.bulk.BulkDelete;
+import com.holonplatform.core.datastore.cache.QueryCache;
+import com.holonplatform.core.datastore.operation.commons.BulkDeleteOperationConfiguration;
+import com.holonplatform.core.query.QueryFilter;
+
+/**
+ * A {@link BulkDelete} decorator which invalidates the {@link QueryCache} results of the operation target when the
+ * operation is executed.
+ *
+ * @since 6.0.1
+ */
+public class CachingBulkDelete extends AbstractCachingBulkOperation<BulkDeleteOperationConfiguration, BulkDelete>
+		implements BulkDelete {
+
+	private static final long serialVersionUID = 8818289783184986177L;
+
+	/**
+	 * Constructor.
+	 * @param operation The operation to decorate
+	 * @param queryCache The query cache
+	 */
+	public CachingBulkDelete(BulkDelete operation, QueryCache queryCache) {
+		super(operation, queryCache);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.datastore.cache.AbstractCachingBulkOperation#getActualOperation()
+	 */
+	@Override
+	protected BulkDelete getActualOperation() {
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryFilter.QueryFilterSupport#filter(com.holonplatform.core.query.QueryFilter)
+	 */
+	@Override
+	public BulkDelete filter(QueryFilter filter) {
+		operation.filter(filter);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkDeleteOperation#partitions(java.lang.Iterable)
+	 */
+	@Override
+	public BulkDelete partitions(Iterable<QueryFilter> partitions) {
+		operation.partitions(partitions);
+		return this;
+	}
+
+}
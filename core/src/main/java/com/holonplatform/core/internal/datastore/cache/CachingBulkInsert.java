@@ -0,0 +1,156 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.datastore.bulk.BulkInsert;
+import com.holonplatform.core.datastore.cache.QueryCache;
+import com.holonplatform.core.datastore.operation.commons.BulkInsertOperationConfiguration;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+
+/**
+ * A {@link BulkInsert} decorator which invalidates the {@link QueryCache} results of the operation target when the
+ * operation is executed.
+ *
+ * @since 6.0.1
+ */
+public class CachingBulkInsert extends AbstractCachingBulkOperation<BulkInsertOperationConfiguration, BulkInsert>
+		implements BulkInsert {
+
+	private static final long serialVersionUID = -2183337626352651035L;
+
+	/**
+	 * Constructor.
+	 * @param operation The operation to decorate
+	 * @param queryCache The query cache
+	 */
+	public CachingBulkInsert(BulkInsert operation, QueryCache queryCache) {
+		super(operation, queryCache);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.datastore.cache.AbstractCachingBulkOperation#getActualOperation()
+	 */
+	@Override
+	protected BulkInsert getActualOperation() {
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperation#propertySet(java.lang.Iterable)
+	 */
+	@SuppressWarnings("rawtypes")
+	@Override
+	public <P extends Property> BulkInsert propertySet(Iterable<P> properties) {
+		operation.propertySet(properties);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperation#add(java.lang.Iterable)
+	 */
+	@Override
+	public BulkInsert add(Iterable<PropertyBox> values) {
+		operation.add(values);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperation#add(java.util.Iterator)
+	 */
+	@Override
+	public BulkInsert add(Iterator<PropertyBox> values) {
+		operation.add(values);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperation#add(java.util.Spliterator)
+	 */
+	@Override
+	public BulkInsert add(Spliterator<PropertyBox> values) {
+		operation.add(values);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperation#add(java.util.stream.Stream)
+	 */
+	@Override
+	public BulkInsert add(Stream<PropertyBox> values) {
+		operation.add(values);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperation#add(java.util.Map)
+	 */
+	@SuppressWarnings("deprecation")
+	@Override
+	public BulkInsert add(Map<Path<?>, Object> values) {
+		operation.add(values);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperation#chunkSize(int)
+	 */
+	@Override
+	public BulkInsert chunkSize(int chunkSize) {
+		operation.chunkSize(chunkSize);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperation#operationPaths(com.holonplatform.core.
+	 * Path[])
+	 */
+	@SuppressWarnings("deprecation")
+	@Override
+	public BulkInsert operationPaths(Path<?>[] paths) {
+		operation.operationPaths(paths);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperation#operationPaths(com.holonplatform.core.
+	 * property.PropertySet)
+	 */
+	@SuppressWarnings("deprecation")
+	@Override
+	public BulkInsert operationPaths(PropertySet<?> propertySet) {
+		operation.operationPaths(propertySet);
+		return this;
+	}
+
+}
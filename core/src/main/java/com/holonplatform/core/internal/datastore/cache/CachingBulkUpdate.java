@@ -0,0 +1,97 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.cache;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.datastore.bulk.BulkUpdate;
+import com.holonplatform.core.datastore.cache.QueryCache;
+import com.holonplatform.core.datastore.operation.commons.BulkUpdateOperationConfiguration;
+import com.holonplatform.core.query.QueryFilter;
+
+/**
+ * A {@link BulkUpdate} decorator which invalidates the {@link QueryCache} results of the operation target when the
+ * operation is executed.
+ *
+ * @since 6.0.1
+ */
+public class CachingBulkUpdate extends AbstractCachingBulkOperation<BulkUpdateOperationConfiguration, BulkUpdate>
+		implements BulkUpdate {
+
+	private static final long serialVersionUID = -2310371820313599365L;
+
+	/**
+	 * Constructor.
+	 * @param operation The operation to decorate
+	 * @param queryCache The query cache
+	 */
+	public CachingBulkUpdate(BulkUpdate operation, QueryCache queryCache) {
+		super(operation, queryCache);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.datastore.cache.AbstractCachingBulkOperation#getActualOperation()
+	 */
+	@Override
+	protected BulkUpdate getActualOperation() {
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryFilter.QueryFilterSupport#filter(com.holonplatform.core.query.QueryFilter)
+	 */
+	@Override
+	public BulkUpdate filter(QueryFilter filter) {
+		operation.filter(filter);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkUpdateOperation#partitions(java.lang.Iterable)
+	 */
+	@Override
+	public BulkUpdate partitions(Iterable<QueryFilter> partitions) {
+		operation.partitions(partitions);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkUpdateOperation#set(com.holonplatform.core.Path,
+	 * com.holonplatform.core.TypedExpression)
+	 */
+	@Override
+	public <T> BulkUpdate set(Path<T> path, TypedExpression<? super T> expression) {
+		operation.set(path, expression);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkUpdateOperation#set(com.holonplatform.core.property.
+	 * PropertyBox, boolean)
+	 */
+	@Override
+	public BulkUpdate set(PropertyBox propertyBox, boolean includeNullValues) {
+		operation.set(propertyBox, includeNullValues);
+		return this;
+	}
+
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.cache;
+
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.Expression;
+import com.holonplatform.core.ExpressionResolver;
+import com.holonplatform.core.config.ConfigProperty;
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.datastore.cache.QueryCache;
+import com.holonplatform.core.query.Query;
+import com.holonplatform.core.query.QueryAggregation;
+import com.holonplatform.core.query.QueryConfiguration;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QueryKeyset;
+import com.holonplatform.core.query.QueryProjection;
+import com.holonplatform.core.query.QueryResults.QueryResultsPages;
+import com.holonplatform.core.query.QuerySort;
+
+/**
+ * A {@link Query} decorator which uses a {@link QueryCache} to obtain the query results.
+ *
+ * @since 6.0.1
+ */
+public class CachingQuery implements Query {
+
+	private static final long serialVersionUID = 2869410853324578562L;
+
+	private final Query query;
+
+	private final QueryCache queryCache;
+
+	/**
+	 * Constructor.
+	 * @param query The query to decorate
+	 * @param queryCache The query cache
+	 */
+	public CachingQuery(Query query, QueryCache queryCache) {
+		super();
+		this.query = query;
+		this.queryCache = queryCache;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryResults#stream(com.holonplatform.core.query.QueryProjection)
+	 */
+	@Override
+	public <R> Stream<R> stream(QueryProjection<R> projection) {
+		final QueryConfiguration configuration = query.getQueryConfiguration();
+		final DataTarget<?> target = configuration.getTarget().orElse(null);
+		if (target == null || !queryCache.isCacheable(target)) {
+			return query.stream(projection);
+		}
+		return queryCache.getResults(configuration, projection, () -> {
+			try (Stream<R> results = query.stream(projection)) {
+				return results.collect(Collectors.toList());
+			}
+		}).stream();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryResults#pages(com.holonplatform.core.query.QueryProjection, int)
+	 */
+	@Override
+	public <R> QueryResultsPages<R> pages(QueryProjection<R> projection, int pageSize) {
+		return query.pages(projection, pageSize);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryBuilder#getQueryConfiguration()
+	 */
+	@Override
+	public QueryConfiguration getQueryConfiguration() {
+		return query.getQueryConfiguration();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryBuilder#limit(int)
+	 */
+	@Override
+	public Query limit(int limit) {
+		query.limit(limit);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryBuilder#offset(int)
+	 */
+	@Override
+	public Query offset(int offset) {
+		query.offset(offset);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryBuilder#restrict(int, int)
+	 */
+	@Override
+	public Query restrict(int limit, int offset) {
+		query.restrict(limit, offset);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryBuilder#parameter(java.lang.String, java.lang.Object)
+	 */
+	@Override
+	public Query parameter(String name, Object value) {
+		query.parameter(name, value);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryBuilder#parameter(com.holonplatform.core.config.ConfigProperty,
+	 * java.lang.Object)
+	 */
+	@Override
+	public <T> Query parameter(ConfigProperty<T> property, T value) {
+		query.parameter(property, value);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryBuilder#distinct()
+	 */
+	@Override
+	public Query distinct() {
+		query.distinct();
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryBuilder#keyset(com.holonplatform.core.query.QueryKeyset)
+	 */
+	@Override
+	public Query keyset(QueryKeyset keyset) {
+		query.keyset(keyset);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryFilter.QueryFilterSupport#filter(com.holonplatform.core.query.QueryFilter)
+	 */
+	@Override
+	public Query filter(QueryFilter filter) {
+		query.filter(filter);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QuerySort.QuerySortSupport#sort(com.holonplatform.core.query.QuerySort)
+	 */
+	@Override
+	public Query sort(QuerySort sort) {
+		query.sort(sort);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.DataTarget.DataTargetSupport#target(com.holonplatform.core.datastore.
+	 * DataTarget)
+	 */
+	@Override
+	public Query target(DataTarget<?> target) {
+		query.target(target);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryAggregation.QueryAggregationSupport#aggregate(com.holonplatform.core.query.
+	 * QueryAggregation)
+	 */
+	@Override
+	public Query aggregate(QueryAggregation aggregation) {
+		query.aggregate(aggregation);
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ExpressionResolver.ExpressionResolverBuilder#withExpressionResolver(com.holonplatform.
+	 * core.ExpressionResolver)
+	 */
+	@Override
+	public <E extends Expression, R extends Expression> Query withExpressionResolver(
+			ExpressionResolver<E, R> expressionResolver) {
+		query.withExpressionResolver(expressionResolver);
+		return this;
+	}
+
+}
@@ -0,0 +1,441 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.cache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.holonplatform.core.Expression;
+import com.holonplatform.core.ExpressionResolver;
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.datastore.Datastore;
+import com.holonplatform.core.datastore.DatastoreCommodity;
+import com.holonplatform.core.datastore.bulk.BulkDelete;
+import com.holonplatform.core.datastore.bulk.BulkInsert;
+import com.holonplatform.core.datastore.bulk.BulkUpdate;
+import com.holonplatform.core.datastore.cache.CachingDatastore;
+import com.holonplatform.core.datastore.cache.QueryCache;
+import com.holonplatform.core.datastore.transaction.Transaction;
+import com.holonplatform.core.datastore.transaction.TransactionConfiguration;
+import com.holonplatform.core.datastore.transaction.Transactional;
+import com.holonplatform.core.datastore.transaction.TransactionalOperation;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.query.Query;
+import com.holonplatform.core.query.QueryConfiguration;
+import com.holonplatform.core.query.QueryProjection;
+
+/**
+ * Default {@link CachingDatastore} implementation.
+ * <p>
+ * The queries executed within a transaction bypass the query cache, and the targets written within a transaction are
+ * invalidated again when the transaction is committed or rolled back.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public class DefaultCachingDatastore implements CachingDatastore {
+
+	private static final long serialVersionUID = -4551384036813745311L;
+
+	/**
+	 * Decorated datastore
+	 */
+	private final Datastore datastore;
+
+	/**
+	 * Query cache
+	 */
+	private final QueryCache queryCache;
+
+	/**
+	 * Transaction aware query cache used by the datastore operations
+	 */
+	private final QueryCache transactionalQueryCache;
+
+	/**
+	 * The transaction bound to the current thread, if any
+	 */
+	private final transient ThreadLocal<CachingTransaction> currentTransaction = new ThreadLocal<>();
+
+	/**
+	 * Constructor.
+	 * @param datastore The datastore to decorate (not null)
+	 * @param queryCache The query cache to use (not null)
+	 */
+	public DefaultCachingDatastore(Datastore datastore, QueryCache queryCache) {
+		super();
+		ObjectUtils.argumentNotNull(datastore, "Datastore must be not null");
+		ObjectUtils.argumentNotNull(queryCache, "QueryCache must be not null");
+		this.datastore = datastore;
+		this.queryCache = queryCache;
+		this.transactionalQueryCache = new TransactionalQueryCache();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.cache.CachingDatastore#getQueryCache()
+	 */
+	@Override
+	public QueryCache getQueryCache() {
+		return queryCache;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.DataContextBound#getDataContextId()
+	 */
+	@Override
+	public Optional<String> getDataContextId() {
+		return datastore.getDataContextId();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ExpressionResolver.ExpressionResolverSupport#addExpressionResolver(com.holonplatform.
+	 * core.ExpressionResolver)
+	 */
+	@Override
+	public <E extends Expression, R extends Expression> void addExpressionResolver(
+			ExpressionResolver<E, R> expressionResolver) {
+		datastore.addExpressionResolver(expressionResolver);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.ExpressionResolver.ExpressionResolverSupport#removeExpressionResolver(com.holonplatform.
+	 * core.ExpressionResolver)
+	 */
+	@Override
+	public <E extends Expression, R extends Expression> void removeExpressionResolver(
+			ExpressionResolver<E, R> expressionResolver) {
+		datastore.removeExpressionResolver(expressionResolver);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.DatastoreCommodityHandler#getAvailableCommodities()
+	 */
+	@Override
+	public Collection<Class<? extends DatastoreCommodity>> getAvailableCommodities() {
+		return datastore.getAvailableCommodities();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.DatastoreCommodityHandler#create(java.lang.Class)
+	 */
+	@Override
+	public <C extends DatastoreCommodity> C create(Class<C> commodityType) {
+		final C commodity = datastore.create(commodityType);
+		if (commodity instanceof Query && Query.class == commodityType) {
+			return commodityType.cast(new CachingQuery((Query) commodity, transactionalQueryCache));
+		}
+		if (commodity instanceof BulkInsert && BulkInsert.class == commodityType) {
+			return commodityType.cast(new CachingBulkInsert((BulkInsert) commodity, transactionalQueryCache));
+		}
+		if (commodity instanceof BulkUpdate && BulkUpdate.class == commodityType) {
+			return commodityType.cast(new CachingBulkUpdate((BulkUpdate) commodity, transactionalQueryCache));
+		}
+		if (commodity instanceof BulkDelete && BulkDelete.class == commodityType) {
+			return commodityType.cast(new CachingBulkDelete((BulkDelete) commodity, transactionalQueryCache));
+		}
+		return commodity;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#refresh(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.property.PropertyBox)
+	 */
+	@Override
+	public PropertyBox refresh(DataTarget<?> target, PropertyBox propertyBox) {
+		return datastore.refresh(target, propertyBox);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#insert(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.property.PropertyBox, com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public OperationResult insert(DataTarget<?> target, PropertyBox propertyBox, WriteOption... options) {
+		try {
+			return datastore.insert(target, propertyBox, options);
+		} finally {
+			transactionalQueryCache.invalidate(target);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#update(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.property.PropertyBox, com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public OperationResult update(DataTarget<?> target, PropertyBox propertyBox, WriteOption... options) {
+		try {
+			return datastore.update(target, propertyBox, options);
+		} finally {
+			transactionalQueryCache.invalidate(target);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#save(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.property.PropertyBox, com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public OperationResult save(DataTarget<?> target, PropertyBox propertyBox, WriteOption... options) {
+		try {
+			return datastore.save(target, propertyBox, options);
+		} finally {
+			transactionalQueryCache.invalidate(target);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#delete(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.property.PropertyBox, com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public OperationResult delete(DataTarget<?> target, PropertyBox propertyBox, WriteOption... options) {
+		try {
+			return datastore.delete(target, propertyBox, options);
+		} finally {
+			transactionalQueryCache.invalidate(target);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#bulkInsert(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.property.PropertySet, com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public BulkInsert bulkInsert(DataTarget<?> target, PropertySet<?> propertySet, WriteOption... options) {
+		return new CachingBulkInsert(datastore.bulkInsert(target, propertySet, options), transactionalQueryCache);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#bulkUpdate(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public BulkUpdate bulkUpdate(DataTarget<?> target, WriteOption... options) {
+		return new CachingBulkUpdate(datastore.bulkUpdate(target, options), transactionalQueryCache);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#bulkDelete(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public BulkDelete bulkDelete(DataTarget<?> target, WriteOption... options) {
+		return new CachingBulkDelete(datastore.bulkDelete(target, options), transactionalQueryCache);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#query()
+	 */
+	@Override
+	public Query query() {
+		return new CachingQuery(datastore.query(), transactionalQueryCache);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#isTransactional()
+	 */
+	@Override
+	public Optional<Transactional> isTransactional() {
+		return datastore.isTransactional().map(CachingTransactional::new);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "CachingDatastore [datastore=" + datastore + "]";
+	}
+
+	/**
+	 * {@link QueryCache} decorator which bypasses the cache for the queries executed within a transaction and tracks
+	 * the targets invalidated within a transaction.
+	 */
+	private final class TransactionalQueryCache implements QueryCache {
+
+		@Override
+		public boolean isCacheable(DataTarget<?> target) {
+			return currentTransaction.get() == null && queryCache.isCacheable(target);
+		}
+
+		@Override
+		public <R> List<R> getResults(QueryConfiguration configuration, QueryProjection<R> projection,
+				Supplier<List<R>> loader) {
+			if (currentTransaction.get() != null) {
+				ObjectUtils.argumentNotNull(loader, "Query results loader must be not null");
+				return loader.get();
+			}
+			return queryCache.getResults(configuration, projection, loader);
+		}
+
+		@Override
+		public void invalidate(DataTarget<?> target) {
+			queryCache.invalidate(target);
+			final CachingTransaction transaction = currentTransaction.get();
+			if (transaction != null) {
+				transaction.targets.putIfAbsent(target.getName(), target);
+			}
+		}
+
+		@Override
+		public void invalidateAll() {
+			queryCache.invalidateAll();
+		}
+
+		@Override
+		public CacheStatistics getStatistics() {
+			return queryCache.getStatistics();
+		}
+
+	}
+
+	/**
+	 * {@link Transactional} which binds the written targets tracking to the transactions, invalidating the written
+	 * targets when the transaction is finalized.
+	 */
+	private final class CachingTransactional implements Transactional {
+
+		private final Transactional transactional;
+
+		CachingTransactional(Transactional transactional) {
+			super();
+			this.transactional = transactional;
+		}
+
+		@Override
+		public <R> R withTransaction(TransactionalOperation<R> operation,
+				TransactionConfiguration transactionConfiguration) {
+			ObjectUtils.argumentNotNull(operation, "Operation must be not null");
+			final CachingTransaction outer = currentTransaction.get();
+			if (outer != null) {
+				// joined transaction: share the outer transaction written targets
+				final TransactionalOperation<R> joined = transaction -> operation
+						.execute(new CachingTransaction(transaction, outer.targets));
+				return transactional.withTransaction(joined, transactionConfiguration);
+			}
+			final Map<String, DataTarget<?>> targets = new LinkedHashMap<>();
+			try {
+				return transactional.withTransaction(transaction -> {
+					final CachingTransaction cachingTransaction = new CachingTransaction(transaction, targets);
+					currentTransaction.set(cachingTransaction);
+					try {
+						return operation.execute(cachingTransaction);
+					} finally {
+						currentTransaction.remove();
+					}
+				}, transactionConfiguration);
+			} finally {
+				// the transaction is finalized (auto commit or rollback included)
+				invalidate(targets);
+			}
+		}
+
+	}
+
+	/**
+	 * {@link Transaction} decorator which invalidates the written targets on commit and rollback.
+	 */
+	private final class CachingTransaction implements Transaction {
+
+		private final Transaction transaction;
+
+		final Map<String, DataTarget<?>> targets;
+
+		CachingTransaction(Transaction transaction, Map<String, DataTarget<?>> targets) {
+			super();
+			this.transaction = transaction;
+			this.targets = targets;
+		}
+
+		@Override
+		public boolean commit() {
+			try {
+				return transaction.commit();
+			} finally {
+				invalidate(targets);
+			}
+		}
+
+		@Override
+		public void rollback() {
+			try {
+				transaction.rollback();
+			} finally {
+				invalidate(targets);
+			}
+		}
+
+		@Override
+		public void setRollbackOnly() {
+			transaction.setRollbackOnly();
+		}
+
+		@Override
+		public boolean isRollbackOnly() {
+			return transaction.isRollbackOnly();
+		}
+
+		@Override
+		public boolean isActive() {
+			return transaction.isActive();
+		}
+
+		@Override
+		public boolean isCompleted() {
+			return transaction.isCompleted();
+		}
+
+		@Override
+		public boolean isNew() {
+			return transaction.isNew();
+		}
+
+	}
+
+	/**
+	 * Invalidate the cached query results of given targets.
+	 * @param targets The targets to invalidate
+	 */
+	private void invalidate(Map<String, DataTarget<?>> targets) {
+		targets.values().forEach(queryCache::invalidate);
+	}
+
+}
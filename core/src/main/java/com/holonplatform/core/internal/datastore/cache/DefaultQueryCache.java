@@ -0,0 +1,464 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.datastore.cache.QueryCache;
+import com.holonplatform.core.datastore.relational.RelationalTarget;
+import com.holonplatform.core.internal.query.QueryCanonicalizer;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.query.PropertySetProjection;
+import com.holonplatform.core.query.QueryAggregation;
+import com.holonplatform.core.query.QueryConfiguration;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QueryProjection;
+import com.holonplatform.core.query.QuerySort;
+
+/**
+ * Default {@link QueryCache} implementation.
+ * <p>
+ * The cached results are stored in a {@link LinkedHashMap} with access order, so that the least recently used results
+ * are evicted when the maximum size is reached. Each cached result is bound to the names of all the targets it
+ * depends on, i.e. the query target and, for a {@link RelationalTarget}, any joined target, and it is invalidated when
+ * any of them is invalidated. A version is kept for each target, so that the results of a query executed concurrently
+ * with a target invalidation are not cached.
+ * </p>
+ * <p>
+ * {@link PropertyBox} results are copied before caching and before returning them, so cached values cannot be changed
+ * by the cache clients.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public class DefaultQueryCache implements QueryCache {
+
+	private final int maximumSize;
+
+	private final long timeToLive;
+
+	private final boolean allTargets;
+
+	private final Set<String> targets;
+
+	private final Map<QueryCacheKey, CacheEntry> entries;
+
+	private final Map<String, Long> versions = new HashMap<>();
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+	private final LongAdder invalidationCount = new LongAdder();
+
+	/**
+	 * Constructor.
+	 * @param maximumSize Maximum number of cached query results
+	 * @param timeToLive Optional cached results time to live
+	 * @param allTargets Whether the query results of any target are cacheable
+	 * @param targets The names of the cacheable targets
+	 */
+	public DefaultQueryCache(int maximumSize, Duration timeToLive, boolean allTargets, Set<String> targets) {
+		super();
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("Query cache maximum size must be greater than 0");
+		}
+		this.maximumSize = maximumSize;
+		this.timeToLive = (timeToLive != null && !timeToLive.isNegative()) ? timeToLive.toNanos() : 0L;
+		this.allTargets = allTargets;
+		this.targets = (targets != null) ? Collections.unmodifiableSet(new HashSet<>(targets))
+				: Collections.emptySet();
+		this.entries = new LinkedHashMap<QueryCacheKey, CacheEntry>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<QueryCacheKey, CacheEntry> eldest) {
+				if (size() > DefaultQueryCache.this.maximumSize) {
+					evictionCount.increment();
+					return true;
+				}
+				return false;
+			}
+
+		};
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.cache.QueryCache#isCacheable(com.holonplatform.core.datastore.DataTarget)
+	 */
+	@Override
+	public boolean isCacheable(DataTarget<?> target) {
+		ObjectUtils.argumentNotNull(target, "DataTarget must be not null");
+		return allTargets || targets.contains(target.getName());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.cache.QueryCache#getResults(com.holonplatform.core.query.QueryConfiguration,
+	 * com.holonplatform.core.query.QueryProjection, java.util.function.Supplier)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <R> List<R> getResults(QueryConfiguration configuration, QueryProjection<R> projection,
+			Supplier<List<R>> loader) {
+		ObjectUtils.argumentNotNull(configuration, "QueryConfiguration must be not null");
+		ObjectUtils.argumentNotNull(projection, "QueryProjection must be not null");
+		ObjectUtils.argumentNotNull(loader, "Query results loader must be not null");
+		final DataTarget<?> target = configuration.getTarget().orElse(null);
+		if (target == null || !isCacheable(target)) {
+			return loader.get();
+		}
+		final QueryCacheKey key = new QueryCacheKey(target, configuration, projection);
+		final long version;
+		CacheEntry entry;
+		synchronized (entries) {
+			entry = entries.get(key);
+			if (entry != null && entry.isExpired(System.nanoTime())) {
+				entries.remove(key);
+				evictionCount.increment();
+				entry = null;
+			}
+			version = getVersion(key);
+		}
+		if (entry != null) {
+			hitCount.increment();
+			return copy((List<R>) entry.results);
+		}
+		missCount.increment();
+		final List<R> results = loader.get();
+		if (results != null) {
+			final CacheEntry loaded = new CacheEntry(copy(results),
+					(timeToLive > 0) ? System.nanoTime() + timeToLive : 0L);
+			synchronized (entries) {
+				if (getVersion(key) == version) {
+					entries.put(key, loaded);
+				}
+			}
+		}
+		return results;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.cache.QueryCache#invalidate(com.holonplatform.core.datastore.DataTarget)
+	 */
+	@Override
+	public void invalidate(DataTarget<?> target) {
+		ObjectUtils.argumentNotNull(target, "DataTarget must be not null");
+		// a non cacheable target may be joined by a cached query
+		final String name = target.getName();
+		synchronized (entries) {
+			versions.merge(name, 1L, Long::sum);
+			final Iterator<QueryCacheKey> keys = entries.keySet().iterator();
+			while (keys.hasNext()) {
+				if (keys.next().targets.contains(name)) {
+					keys.remove();
+					invalidationCount.increment();
+				}
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.cache.QueryCache#invalidateAll()
+	 */
+	@Override
+	public void invalidateAll() {
+		synchronized (entries) {
+			entries.keySet().forEach(key -> key.targets.forEach(name -> versions.merge(name, 1L, Long::sum)));
+			invalidationCount.add(entries.size());
+			entries.clear();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.cache.QueryCache#getStatistics()
+	 */
+	@Override
+	public CacheStatistics getStatistics() {
+		final int size;
+		synchronized (entries) {
+			size = entries.size();
+		}
+		return new DefaultCacheStatistics(hitCount.sum(), missCount.sum(), evictionCount.sum(),
+				invalidationCount.sum(), size);
+	}
+
+	/**
+	 * Get the version of given key, i.e. the sum of the versions of all the targets it depends on. Since the target
+	 * versions only increase, the key version changes whenever any of its targets is invalidated.
+	 * <p>
+	 * Must be invoked holding the entries lock.
+	 * </p>
+	 * @param key The cache key
+	 * @return The key version
+	 */
+	private long getVersion(QueryCacheKey key) {
+		long version = 0L;
+		for (String name : key.targets) {
+			version += versions.getOrDefault(name, 0L);
+		}
+		return version;
+	}
+
+	/**
+	 * Copy given results list, cloning any {@link PropertyBox} result.
+	 * @param <R> Results type
+	 * @param results Results to copy
+	 * @return The results copy
+	 */
+	@SuppressWarnings("unchecked")
+	private static <R> List<R> copy(List<R> results) {
+		final List<R> copy = new ArrayList<>(results.size());
+		for (R result : results) {
+			copy.add((result instanceof PropertyBox) ? (R) ((PropertyBox) result).cloneBox() : result);
+		}
+		return copy;
+	}
+
+	/**
+	 * Cached query results.
+	 */
+	private static final class CacheEntry {
+
+		final List<?> results;
+
+		final long expiresAt;
+
+		CacheEntry(List<?> results, long expiresAt) {
+			super();
+			this.results = results;
+			this.expiresAt = expiresAt;
+		}
+
+		boolean isExpired(long now) {
+			return expiresAt != 0L && now - expiresAt >= 0;
+		}
+
+	}
+
+	/**
+	 * Query results cache key, using the canonical form of the query filter and sort clauses.
+	 */
+	private static final class QueryCacheKey {
+
+		final String target;
+		final Set<String> targets;
+		private final RelationalTarget<?> relationalTarget;
+		private final QueryFilter filter;
+		private final QuerySort sort;
+		private final QueryAggregation aggregation;
+		private final Integer limit;
+		private final Integer offset;
+		private final boolean distinct;
+		private final Map<String, Object> parameters;
+		private final Object projection;
+		private final int hash;
+
+		QueryCacheKey(DataTarget<?> target, QueryConfiguration configuration, QueryProjection<?> projection) {
+			super();
+			this.target = target.getName();
+			this.relationalTarget = (target instanceof RelationalTarget) ? (RelationalTarget<?>) target : null;
+			if (this.relationalTarget != null && !this.relationalTarget.getJoins().isEmpty()) {
+				final Set<String> names = new HashSet<>();
+				names.add(this.target);
+				this.relationalTarget.getJoins().forEach(join -> names.add(join.getName()));
+				this.targets = names;
+			} else {
+				this.targets = Collections.singleton(this.target);
+			}
+			this.filter = QueryCanonicalizer.canonical(configuration.getFilter().orElse(null));
+			this.sort = QueryCanonicalizer.canonical(configuration.getSort().orElse(null));
+			this.aggregation = configuration.getAggregation().orElse(null);
+			this.limit = configuration.getLimit().orElse(null);
+			this.offset = configuration.getOffset().orElse(null);
+			this.distinct = configuration.isDistinct();
+			final Map<String, Object> parameters = new HashMap<>();
+			configuration.forEachParameter(parameters::put);
+			this.parameters = parameters;
+			if (projection instanceof PropertySetProjection) {
+				final List<Object> properties = new ArrayList<>();
+				((PropertySetProjection) projection).getPropertySet().forEach(properties::add);
+				this.projection = properties;
+			} else {
+				this.projection = projection;
+			}
+			this.hash = Objects.hash(this.target, this.relationalTarget, this.filter, this.sort, this.aggregation,
+					this.limit, this.offset, this.distinct, this.parameters, this.projection);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof QueryCacheKey)) {
+				return false;
+			}
+			final QueryCacheKey other = (QueryCacheKey) obj;
+			return hash == other.hash && distinct == other.distinct && target.equals(other.target)
+					&& Objects.equals(relationalTarget, other.relationalTarget) && Objects.equals(filter, other.filter)
+					&& Objects.equals(sort, other.sort) && Objects.equals(aggregation, other.aggregation)
+					&& Objects.equals(limit, other.limit) && Objects.equals(offset, other.offset)
+					&& parameters.equals(other.parameters) && Objects.equals(projection, other.projection);
+		}
+
+	}
+
+	/**
+	 * Default {@link CacheStatistics} implementation.
+	 */
+	private static final class DefaultCacheStatistics implements CacheStatistics {
+
+		private final long hitCount;
+		private final long missCount;
+		private final long evictionCount;
+		private final long invalidationCount;
+		private final int size;
+
+		DefaultCacheStatistics(long hitCount, long missCount, long evictionCount, long invalidationCount, int size) {
+			super();
+			this.hitCount = hitCount;
+			this.missCount = missCount;
+			this.evictionCount = evictionCount;
+			this.invalidationCount = invalidationCount;
+			this.size = size;
+		}
+
+		@Override
+		public long getHitCount() {
+			return hitCount;
+		}
+
+		@Override
+		public long getMissCount() {
+			return missCount;
+		}
+
+		@Override
+		public long getEvictionCount() {
+			return evictionCount;
+		}
+
+		@Override
+		public long getInvalidationCount() {
+			return invalidationCount;
+		}
+
+		@Override
+		public int getSize() {
+			return size;
+		}
+
+		@Override
+		public String toString() {
+			return "QueryCacheStatistics [hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount="
+					+ evictionCount + ", invalidationCount=" + invalidationCount + ", size=" + size + "]";
+		}
+
+	}
+
+	// Builder
+
+	/**
+	 * Default {@link QueryCache.Builder} implementation.
+	 */
+	public static class DefaultBuilder implements QueryCache.Builder {
+
+		private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+		private Duration timeToLive;
+		private boolean allTargets = false;
+		private final Set<String> targets = new HashSet<>();
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.cache.QueryCache.Builder#maximumSize(int)
+		 */
+		@Override
+		public QueryCache.Builder maximumSize(int maximumSize) {
+			if (maximumSize < 1) {
+				throw new IllegalArgumentException("Query cache maximum size must be greater than 0");
+			}
+			this.maximumSize = maximumSize;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.cache.QueryCache.Builder#timeToLive(java.time.Duration)
+		 */
+		@Override
+		public QueryCache.Builder timeToLive(Duration timeToLive) {
+			this.timeToLive = timeToLive;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see
+		 * com.holonplatform.core.datastore.cache.QueryCache.Builder#target(com.holonplatform.core.datastore.DataTarget)
+		 */
+		@Override
+		public QueryCache.Builder target(DataTarget<?> target) {
+			ObjectUtils.argumentNotNull(target, "DataTarget must be not null");
+			this.targets.add(target.getName());
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.cache.QueryCache.Builder#allTargets()
+		 */
+		@Override
+		public QueryCache.Builder allTargets() {
+			this.allTargets = true;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.cache.QueryCache.Builder#build()
+		 */
+		@Override
+		public QueryCache build() {
+			return new DefaultQueryCache(maximumSize, timeToLive, allTargets, targets);
+		}
+
+	}
+
+}
@@ -0,0 +1,410 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import com.holonplatform.core.Expression;
+import com.holonplatform.core.ExpressionResolver;
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.datastore.DefaultWriteOption;
+import com.holonplatform.core.datastore.DatastoreCommodity;
+import com.holonplatform.core.datastore.DatastoreCommodityFactory;
+import com.holonplatform.core.datastore.bulk.BulkDelete;
+import com.holonplatform.core.datastore.bulk.BulkInsert;
+import com.holonplatform.core.datastore.bulk.BulkUpdate;
+import com.holonplatform.core.datastore.memory.InMemoryDatastore;
+import com.holonplatform.core.datastore.memory.InMemoryDatastore.InMemoryDatastoreCommodityContext;
+import com.holonplatform.core.datastore.transaction.TransactionConfiguration;
+import com.holonplatform.core.datastore.transaction.TransactionalOperation;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.datastore.AbstractDatastore;
+import com.holonplatform.core.internal.query.DefaultQueryDefinition;
+import com.holonplatform.core.internal.query.QueryAdapterQuery;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.query.Query;
+
+/**
+ * Default {@link InMemoryDatastore} implementation.
+ * <p>
+ * The write operations which are not executed within a transaction are serialized and committed atomically, each one
+ * as a whole. The transactions are bound to the thread which started them: a transactional operation executed within
+ * another transaction joins it.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public class DefaultInMemoryDatastore extends AbstractDatastore<InMemoryDatastoreCommodityContext>
+		implements InMemoryDatastore, InMemoryDatastoreCommodityContext {
+
+	private static final long serialVersionUID = 2975403839617214553L;
+
+	/**
+	 * The data store
+	 */
+	private final transient InMemoryStore store = new InMemoryStore();
+
+	/**
+	 * The current thread transaction
+	 */
+	private final transient ThreadLocal<InMemoryTransaction> currentTransaction = new ThreadLocal<>();
+
+	/**
+	 * Constructor.
+	 */
+	public DefaultInMemoryDatastore() {
+		super(null, null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.memory.InMemoryDatastore.InMemoryDatastoreCommodityContext#getDatastore()
+	 */
+	@Override
+	public InMemoryDatastore getDatastore() {
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.datastore.AbstractDatastore#getCommodityContext()
+	 */
+	@Override
+	protected InMemoryDatastoreCommodityContext getCommodityContext() throws CommodityConfigurationException {
+		return this;
+	}
+
+	/**
+	 * Get the view to use for the read operations: the current transaction view, if a transaction is active, or the
+	 * current data snapshot otherwise.
+	 * @return The data view
+	 */
+	InMemoryView view() {
+		final InMemoryTransaction transaction = currentTransaction.get();
+		return (transaction != null) ? transaction.getView() : store.view();
+	}
+
+	/**
+	 * Execute a write operation, within the current transaction if a transaction is active, or committing the changes
+	 * as soon as the operation is completed otherwise.
+	 * @param <R> Result type
+	 * @param operation The write operation
+	 * @return The operation result
+	 */
+	<R> R write(Function<InMemoryView, R> operation) {
+		final InMemoryTransaction transaction = currentTransaction.get();
+		return (transaction != null) ? transaction.write(operation) : store.write(operation);
+	}
+
+	/**
+	 * Get the key to use to insert given value, generating a new one if the value provides no identifier.
+	 * @param value The value to insert
+	 * @return The row key
+	 */
+	Object getKey(PropertyBox value) {
+		return InMemoryRows.getKey(value).map(key -> (Object) key).orElseGet(() -> store.generateKey());
+	}
+
+	/**
+	 * Merge the values of given {@link PropertyBox} into given row. If the {@link DefaultWriteOption#UPDATE_MODIFIED_ONLY}
+	 * option is provided and the {@link PropertyBox} has change tracking enabled, only the modified values are merged.
+	 * @param row The row to merge
+	 * @param propertyBox The values to merge
+	 * @param options The write options
+	 * @return The merged row
+	 */
+	private static Map<String, Object> merge(Map<String, Object> row, PropertyBox propertyBox,
+			WriteOption[] options) {
+		if (propertyBox.isChangeTrackingEnabled() && options != null) {
+			for (WriteOption option : options) {
+				if (option == DefaultWriteOption.UPDATE_MODIFIED_ONLY) {
+					return InMemoryRows.merge(row, propertyBox, propertyBox.getModifiedProperties());
+				}
+			}
+		}
+		return InMemoryRows.merge(row, propertyBox);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#refresh(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.property.PropertyBox)
+	 */
+	@Override
+	public PropertyBox refresh(DataTarget<?> target, PropertyBox propertyBox) {
+		ObjectUtils.argumentNotNull(target, "Data target must be not null");
+		ObjectUtils.argumentNotNull(propertyBox, "PropertyBox must be not null");
+		final InMemoryRowKey key = InMemoryRows.requireKey(propertyBox);
+		final Map<String, Object> row = view().getRow(target.getName(), key);
+		if (row == null) {
+			throw new DataAccessException("No data found for key " + key + " in target [" + target.getName() + "]");
+		}
+		return InMemoryRows.toPropertyBox(propertyBox, row);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#insert(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.property.PropertyBox, com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public OperationResult insert(DataTarget<?> target, PropertyBox propertyBox, WriteOption... options) {
+		ObjectUtils.argumentNotNull(target, "Data target must be not null");
+		ObjectUtils.argumentNotNull(propertyBox, "PropertyBox must be not null");
+		final Object key = getKey(propertyBox);
+		return write(view -> {
+			view.insert(target.getName(), key, InMemoryRows.toRow(propertyBox));
+			return OperationResult.builder().type(OperationType.INSERT).affectedCount(1).build();
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#update(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.property.PropertyBox, com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public OperationResult update(DataTarget<?> target, PropertyBox propertyBox, WriteOption... options) {
+		ObjectUtils.argumentNotNull(target, "Data target must be not null");
+		ObjectUtils.argumentNotNull(propertyBox, "PropertyBox must be not null");
+		final InMemoryRowKey key = InMemoryRows.requireKey(propertyBox);
+		return write(view -> {
+			final Map<String, Object> row = view.getRow(target.getName(), key);
+			if (row != null) {
+				view.put(target.getName(), key, merge(row, propertyBox, options));
+			}
+			return OperationResult.builder().type(OperationType.UPDATE).affectedCount((row != null) ? 1 : 0)
+					.build();
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#save(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.property.PropertyBox, com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public OperationResult save(DataTarget<?> target, PropertyBox propertyBox, WriteOption... options) {
+		ObjectUtils.argumentNotNull(target, "Data target must be not null");
+		ObjectUtils.argumentNotNull(propertyBox, "PropertyBox must be not null");
+		final Object key = getKey(propertyBox);
+		return write(view -> {
+			final Map<String, Object> row = view.getRow(target.getName(), key);
+			if (row != null) {
+				view.put(target.getName(), key, merge(row, propertyBox, options));
+				return OperationResult.builder().type(OperationType.UPDATE).affectedCount(1).build();
+			}
+			view.put(target.getName(), key, InMemoryRows.toRow(propertyBox));
+			return OperationResult.builder().type(OperationType.INSERT).affectedCount(1).build();
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#delete(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.property.PropertyBox, com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public OperationResult delete(DataTarget<?> target, PropertyBox propertyBox, WriteOption... options) {
+		ObjectUtils.argumentNotNull(target, "Data target must be not null");
+		ObjectUtils.argumentNotNull(propertyBox, "PropertyBox must be not null");
+		final InMemoryRowKey key = InMemoryRows.requireKey(propertyBox);
+		return write(view -> OperationResult.builder().type(OperationType.DELETE)
+				.affectedCount(view.delete(target.getName(), key) ? 1 : 0).build());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#bulkInsert(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.property.PropertySet, com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public BulkInsert bulkInsert(DataTarget<?> target, PropertySet<?> propertySet, WriteOption... options) {
+		return new InMemoryBulkInsert(this).target(target).propertySet(propertySet).withWriteOptions(options);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#bulkUpdate(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public BulkUpdate bulkUpdate(DataTarget<?> target, WriteOption... options) {
+		return new InMemoryBulkUpdate(this).target(target).withWriteOptions(options);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#bulkDelete(com.holonplatform.core.datastore.DataTarget,
+	 * com.holonplatform.core.datastore.DatastoreOperations.WriteOption[])
+	 */
+	@Override
+	public BulkDelete bulkDelete(DataTarget<?> target, WriteOption... options) {
+		return new InMemoryBulkDelete(this).target(target).withWriteOptions(options);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore#query()
+	 */
+	@Override
+	public Query query() {
+		return new QueryAdapterQuery<>(new InMemoryQueryAdapter(this::view, this, isTraceEnabled()),
+				new DefaultQueryDefinition());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.transaction.Transactional#withTransaction(com.holonplatform.core.datastore.
+	 * transaction.TransactionalOperation, com.holonplatform.core.datastore.transaction.TransactionConfiguration)
+	 */
+	@Override
+	public <R> R withTransaction(TransactionalOperation<R> operation,
+			TransactionConfiguration transactionConfiguration) {
+		ObjectUtils.argumentNotNull(operation, "Transactional operation must be not null");
+		ObjectUtils.argumentNotNull(transactionConfiguration, "Transaction configuration must be not null");
+
+		final InMemoryTransaction current = currentTransaction.get();
+		if (current != null) {
+			// join the current transaction
+			try {
+				return operation.execute(new InMemoryTransaction.NestedTransaction(current));
+			} catch (RuntimeException e) {
+				if (transactionConfiguration.isRollbackOnError()) {
+					current.setRollbackOnly();
+				}
+				throw e;
+			}
+		}
+
+		final InMemoryTransaction transaction = new InMemoryTransaction(store, transactionConfiguration);
+		currentTransaction.set(transaction);
+		try {
+			final R result = operation.execute(transaction);
+			if (transactionConfiguration.isAutoCommit() && !transaction.isCompleted()) {
+				transaction.commit();
+			}
+			return result;
+		} catch (RuntimeException e) {
+			if (transactionConfiguration.isRollbackOnError() && !transaction.isCompleted()) {
+				transaction.rollback();
+			}
+			throw e;
+		} finally {
+			currentTransaction.remove();
+			// discard the changes which were not committed
+			if (!transaction.isCompleted()) {
+				transaction.rollback();
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.memory.InMemoryDatastore#clear(com.holonplatform.core.datastore.DataTarget)
+	 */
+	@Override
+	public void clear(DataTarget<?> target) {
+		ObjectUtils.argumentNotNull(target, "Data target must be not null");
+		store.clear(target.getName());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.memory.InMemoryDatastore#clear()
+	 */
+	@Override
+	public void clear() {
+		store.clear();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.datastore.AbstractDatastore#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultInMemoryDatastore [dataContextId=" + getDataContextId().orElse(null) + "]";
+	}
+
+	// ------- Builder
+
+	/**
+	 * Default {@link InMemoryDatastore.Builder}.
+	 */
+	public static class DefaultBuilder implements InMemoryDatastore.Builder {
+
+		private final DefaultInMemoryDatastore datastore = new DefaultInMemoryDatastore();
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.memory.InMemoryDatastore.Builder#dataContextId(java.lang.String)
+		 */
+		@Override
+		public InMemoryDatastore.Builder dataContextId(String dataContextId) {
+			datastore.setDataContextId(dataContextId);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.memory.InMemoryDatastore.Builder#traceEnabled(boolean)
+		 */
+		@Override
+		public InMemoryDatastore.Builder traceEnabled(boolean traceEnabled) {
+			datastore.setTraceEnabled(traceEnabled);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.ExpressionResolver.ExpressionResolverBuilder#withExpressionResolver(com.
+		 * holonplatform.core.ExpressionResolver)
+		 */
+		@Override
+		public <E extends Expression, R extends Expression> InMemoryDatastore.Builder withExpressionResolver(
+				ExpressionResolver<E, R> expressionResolver) {
+			datastore.addExpressionResolver(expressionResolver);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.memory.InMemoryDatastore.Builder#withCommodity(com.holonplatform.core.
+		 * datastore.DatastoreCommodityFactory)
+		 */
+		@Override
+		public <C extends DatastoreCommodity> InMemoryDatastore.Builder withCommodity(
+				DatastoreCommodityFactory<InMemoryDatastoreCommodityContext, C> commodityFactory) {
+			datastore.registerCommodity(commodityFactory);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.memory.InMemoryDatastore.Builder#build()
+		 */
+		@Override
+		public InMemoryDatastore build() {
+			return datastore;
+		}
+
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.Datastore.OperationType;
+import com.holonplatform.core.internal.datastore.bulk.AbstractBulkDelete;
+import com.holonplatform.core.internal.datastore.memory.InMemoryEvaluator.RowPredicate;
+import com.holonplatform.core.query.QueryFilter;
+
+/**
+ * In-memory {@link AbstractBulkDelete} implementation.
+ * 
+ * @since 6.0.1
+ */
+public class InMemoryBulkDelete extends AbstractBulkDelete {
+
+	private static final long serialVersionUID = -6146853440209581312L;
+
+	private final transient DefaultInMemoryDatastore datastore;
+
+	/**
+	 * Constructor.
+	 * @param datastore The datastore
+	 */
+	public InMemoryBulkDelete(DefaultInMemoryDatastore datastore) {
+		super();
+		this.datastore = datastore;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.ExecutableOperation#execute()
+	 */
+	@Override
+	public OperationResult execute() {
+		getConfiguration().validate();
+		final String target = getConfiguration().getTarget().getName();
+		final InMemoryResolutionContext context = new InMemoryResolutionContext(datastore, getConfiguration());
+		return datastore.write(view -> executePartitions(filter -> delete(view, target, context, filter)));
+	}
+
+	private static OperationResult delete(InMemoryView view, String target, InMemoryResolutionContext context,
+			Optional<QueryFilter> filter) {
+		final RowPredicate<Map<String, Object>> predicate = filter
+				.map(f -> InMemoryEvaluator.predicate(context.resolveFilter(f))).orElse(null);
+		long count = 0;
+		for (Entry<Object, Map<String, Object>> entry : view.getRows(target).entrySet()) {
+			if ((predicate == null || predicate.test(entry.getValue(), null)) && view.delete(target, entry.getKey())) {
+				count++;
+			}
+		}
+		return OperationResult.builder().type(OperationType.DELETE).affectedCount(count).build();
+	}
+
+}
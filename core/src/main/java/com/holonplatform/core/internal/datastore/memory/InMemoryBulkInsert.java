@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.List;
+
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.Datastore.OperationType;
+import com.holonplatform.core.internal.datastore.bulk.AbstractBulkInsert;
+import com.holonplatform.core.property.PropertyBox;
+
+/**
+ * In-memory {@link AbstractBulkInsert} implementation.
+ * <p>
+ * All the chunks are written in the same view, so the operation is atomic.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public class InMemoryBulkInsert extends AbstractBulkInsert {
+
+	private static final long serialVersionUID = -2373880744536520426L;
+
+	private final transient DefaultInMemoryDatastore datastore;
+
+	/**
+	 * Constructor.
+	 * @param datastore The datastore
+	 */
+	public InMemoryBulkInsert(DefaultInMemoryDatastore datastore) {
+		super();
+		this.datastore = datastore;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.ExecutableOperation#execute()
+	 */
+	@Override
+	public OperationResult execute() {
+		getConfiguration().validate();
+		final String target = getConfiguration().getTarget().getName();
+		return datastore.write(view -> executeChunks(chunk -> insert(view, target, chunk)));
+	}
+
+	private OperationResult insert(InMemoryView view, String target, List<PropertyBox> chunk) {
+		for (PropertyBox value : chunk) {
+			view.insert(target, datastore.getKey(value), InMemoryRows.toRow(value));
+		}
+		return OperationResult.builder().type(OperationType.INSERT).affectedCount(chunk.size()).build();
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.Datastore.OperationType;
+import com.holonplatform.core.internal.datastore.bulk.AbstractBulkUpdate;
+import com.holonplatform.core.internal.datastore.memory.InMemoryEvaluator.RowFunction;
+import com.holonplatform.core.internal.datastore.memory.InMemoryEvaluator.RowPredicate;
+import com.holonplatform.core.query.QueryFilter;
+
+/**
+ * In-memory {@link AbstractBulkUpdate} implementation.
+ * <p>
+ * The values expressions are evaluated against the current values of each updated row. If an identifier value is
+ * updated, the row is moved to the new key.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public class InMemoryBulkUpdate extends AbstractBulkUpdate {
+
+	private static final long serialVersionUID = 6911960622213398052L;
+
+	private final transient DefaultInMemoryDatastore datastore;
+
+	/**
+	 * Constructor.
+	 * @param datastore The datastore
+	 */
+	public InMemoryBulkUpdate(DefaultInMemoryDatastore datastore) {
+		super();
+		this.datastore = datastore;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.ExecutableOperation#execute()
+	 */
+	@Override
+	public OperationResult execute() {
+		getConfiguration().validate();
+		final String target = getConfiguration().getTarget().getName();
+		final List<String> names = new ArrayList<>();
+		final List<RowFunction<Map<String, Object>>> values = new ArrayList<>();
+		for (Entry<Path<?>, TypedExpression<?>> value : getConfiguration().getValues().entrySet()) {
+			names.add(value.getKey().relativeName());
+			values.add(InMemoryEvaluator.function(value.getValue()));
+		}
+		final InMemoryResolutionContext context = new InMemoryResolutionContext(datastore, getConfiguration());
+		return datastore
+				.write(view -> executePartitions(filter -> update(view, target, context, filter, names, values)));
+	}
+
+	private static OperationResult update(InMemoryView view, String target, InMemoryResolutionContext context,
+			Optional<QueryFilter> filter, List<String> names, List<RowFunction<Map<String, Object>>> values) {
+		final RowPredicate<Map<String, Object>> predicate = filter
+				.map(f -> InMemoryEvaluator.predicate(context.resolveFilter(f))).orElse(null);
+		long count = 0;
+		for (Entry<Object, Map<String, Object>> entry : view.getRows(target).entrySet()) {
+			final Map<String, Object> row = entry.getValue();
+			if (predicate == null || predicate.test(row, null)) {
+				final Map<String, Object> updated = new LinkedHashMap<>(row);
+				for (int i = 0; i < names.size(); i++) {
+					updated.put(names.get(i), values.get(i).apply(row, null));
+				}
+				final Object key = entry.getKey();
+				final Object updatedKey = (key instanceof InMemoryRowKey) ? ((InMemoryRowKey) key).rekey(updated)
+						: key;
+				if (updatedKey.equals(key)) {
+					view.put(target, key, Collections.unmodifiableMap(updated));
+				} else {
+					view.delete(target, key);
+					view.insert(target, updatedKey, Collections.unmodifiableMap(updated));
+				}
+				count++;
+			}
+		}
+		return OperationResult.builder().type(OperationType.UPDATE).affectedCount(count).build();
+	}
+
+}
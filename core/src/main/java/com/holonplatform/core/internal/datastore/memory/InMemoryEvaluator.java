@@ -0,0 +1,722 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import com.holonplatform.core.CollectionConstantExpression;
+import com.holonplatform.core.ConstantConverterExpression;
+import com.holonplatform.core.Expression;
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.NullExpression;
+import com.holonplatform.core.Path;
+import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.internal.query.QueryFilterVisitor;
+import com.holonplatform.core.internal.query.QueryFilterVisitor.VisitableQueryFilter;
+import com.holonplatform.core.internal.query.filter.AndFilter;
+import com.holonplatform.core.internal.query.filter.BetweenFilter;
+import com.holonplatform.core.internal.query.filter.EqualFilter;
+import com.holonplatform.core.internal.query.filter.GreaterFilter;
+import com.holonplatform.core.internal.query.filter.InFilter;
+import com.holonplatform.core.internal.query.filter.LessFilter;
+import com.holonplatform.core.internal.query.filter.NotEqualFilter;
+import com.holonplatform.core.internal.query.filter.NotFilter;
+import com.holonplatform.core.internal.query.filter.NotInFilter;
+import com.holonplatform.core.internal.query.filter.NotNullFilter;
+import com.holonplatform.core.internal.query.filter.NullFilter;
+import com.holonplatform.core.internal.query.filter.OperationQueryFilter;
+import com.holonplatform.core.internal.query.filter.OrFilter;
+import com.holonplatform.core.internal.query.filter.StringMatchFilter;
+import com.holonplatform.core.internal.utils.CalendarUtils;
+import com.holonplatform.core.internal.utils.ConversionUtils;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QueryFunction;
+import com.holonplatform.core.query.QueryFunction.Avg;
+import com.holonplatform.core.query.QueryFunction.Count;
+import com.holonplatform.core.query.QueryFunction.Max;
+import com.holonplatform.core.query.QueryFunction.Min;
+import com.holonplatform.core.query.QueryFunction.Sum;
+import com.holonplatform.core.query.QuerySort;
+import com.holonplatform.core.query.QuerySort.CompositeQuerySort;
+import com.holonplatform.core.query.QuerySort.PathQuerySort;
+import com.holonplatform.core.query.QuerySort.SortDirection;
+import com.holonplatform.core.query.StringFunction.Lower;
+import com.holonplatform.core.query.StringFunction.Upper;
+import com.holonplatform.core.query.TemporalFunction.CurrentDate;
+import com.holonplatform.core.query.TemporalFunction.CurrentLocalDate;
+import com.holonplatform.core.query.TemporalFunction.CurrentLocalDateTime;
+import com.holonplatform.core.query.TemporalFunction.CurrentTimestamp;
+import com.holonplatform.core.query.TemporalFunction.Day;
+import com.holonplatform.core.query.TemporalFunction.Hour;
+import com.holonplatform.core.query.TemporalFunction.Month;
+import com.holonplatform.core.query.TemporalFunction.Year;
+
+/**
+ * Compiles query expressions, filters and sorts into functions which are evaluated against the in-memory rows, i.e.
+ * maps of path names and values, or against any other row type through a {@link PathResolver}.
+ * <p>
+ * The paths are resolved once, at compile time, so that the compiled functions can be evaluated for each row
+ * without any further expression inspection. Aggregation functions are evaluated against the rows group the row
+ * belongs to, or against the row itself if no group is available.
+ * </p>
+ * <p>
+ * The value comparisons follow the SQL semantics: any comparison involving a <code>null</code> value is not
+ * satisfied, except for the {@link NullFilter} and {@link NotNullFilter} filters.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public final class InMemoryEvaluator {
+
+	/**
+	 * Natural values order, <code>null</code> values first.
+	 */
+	public static final Comparator<Object> VALUE_ORDER = (v1, v2) -> {
+		if (v1 == v2) {
+			return 0;
+		}
+		if (v1 == null) {
+			return -1;
+		}
+		if (v2 == null) {
+			return 1;
+		}
+		return compare(v1, v2);
+	};
+
+	private InMemoryEvaluator() {
+	}
+
+	/**
+	 * A function compiled from an expression, which obtains the expression value from a row.
+	 * @param <R> Row type
+	 */
+	@FunctionalInterface
+	public interface RowFunction<R> {
+
+		/**
+		 * Evaluate the function.
+		 * @param row The row
+		 * @param group The rows group the row belongs to, <code>null</code> if not available
+		 * @return The value
+		 */
+		Object apply(R row, List<R> group);
+
+	}
+
+	/**
+	 * A predicate compiled from a {@link QueryFilter}.
+	 * <p>
+	 * The predicate is evaluated according to the SQL three-valued logic: a comparison with a <code>null</code> value
+	 * evaluates to <code>UNKNOWN</code>, which is not satisfied, and so is its negation.
+	 * </p>
+	 * @param <R> Row type
+	 */
+	@FunctionalInterface
+	public interface RowPredicate<R> {
+
+		/**
+		 * Evaluate the predicate.
+		 * @param row The row
+		 * @param group The rows group the row belongs to, <code>null</code> if not available
+		 * @return {@link Boolean#TRUE} or {@link Boolean#FALSE} if the row satisfies or not the predicate,
+		 *         <code>null</code> if the result is <code>UNKNOWN</code>
+		 */
+		Boolean evaluate(R row, List<R> group);
+
+		/**
+		 * Test the predicate.
+		 * @param row The row
+		 * @param group The rows group the row belongs to, <code>null</code> if not available
+		 * @return <code>true</code> if the row satisfies the predicate, <code>false</code> if it does not or if the
+		 *         result is <code>UNKNOWN</code>
+		 */
+		default boolean test(R row, List<R> group) {
+			return Boolean.TRUE.equals(evaluate(row, group));
+		}
+
+	}
+
+	/**
+	 * Resolves a {@link Path} into the {@link RowFunction} which obtains the path value from a row.
+	 * @param <R> Row type
+	 */
+	@FunctionalInterface
+	public interface PathResolver<R> {
+
+		/**
+		 * Resolve given path.
+		 * @param path The path to resolve
+		 * @return The function which obtains the path value from a row
+		 */
+		RowFunction<R> resolve(Path<?> path);
+
+	}
+
+	/**
+	 * The {@link PathResolver} of the in-memory rows, i.e. maps of path relative names and values.
+	 */
+	public static final PathResolver<Map<String, Object>> ROWS = path -> {
+		final String name = path.relativeName();
+		return (row, group) -> row.get(name);
+	};
+
+	/**
+	 * Compile given expression into a {@link RowFunction} for the in-memory rows.
+	 * @param expression The expression to compile (not null)
+	 * @return The compiled function
+	 * @throws InvalidExpressionException If the expression is not supported
+	 */
+	public static RowFunction<Map<String, Object>> function(Expression expression) {
+		return function(expression, ROWS);
+	}
+
+	/**
+	 * Compile given expression into a {@link RowFunction}, using given {@link PathResolver} to obtain the path values.
+	 * @param <R> Row type
+	 * @param expression The expression to compile (not null)
+	 * @param resolver The path resolver (not null)
+	 * @return The compiled function
+	 * @throws InvalidExpressionException If the expression is not supported
+	 */
+	public static <R> RowFunction<R> function(Expression expression, PathResolver<R> resolver) {
+		if (expression instanceof NullExpression) {
+			return (row, group) -> null;
+		}
+		if (expression instanceof ConstantConverterExpression) {
+			final Object value = ((ConstantConverterExpression<?, ?>) expression).getValue();
+			return (row, group) -> value;
+		}
+		if (expression instanceof QueryFunction) {
+			return queryFunction((QueryFunction<?, ?>) expression, resolver);
+		}
+		if (expression instanceof Path) {
+			return resolver.resolve((Path<?>) expression);
+		}
+		throw new InvalidExpressionException("Expression not supported by the in-memory datastore: " + expression);
+	}
+
+	/**
+	 * Compile given filter into a {@link RowPredicate} for the in-memory rows.
+	 * @param filter The filter to compile (not null)
+	 * @return The compiled predicate
+	 * @throws InvalidExpressionException If the filter is not supported
+	 */
+	public static RowPredicate<Map<String, Object>> predicate(QueryFilter filter) {
+		return predicate(filter, ROWS);
+	}
+
+	/**
+	 * Compile given filter into a {@link RowPredicate}, using given {@link PathResolver} to obtain the path values.
+	 * @param <R> Row type
+	 * @param filter The filter to compile (not null)
+	 * @param resolver The path resolver (not null)
+	 * @return The compiled predicate
+	 * @throws InvalidExpressionException If the filter is not supported
+	 */
+	public static <R> RowPredicate<R> predicate(QueryFilter filter, PathResolver<R> resolver) {
+		if (filter instanceof VisitableQueryFilter) {
+			return ((VisitableQueryFilter) filter).accept(new PredicateCompiler<>(resolver), null);
+		}
+		throw new InvalidExpressionException("Filter not supported by the in-memory datastore: " + filter);
+	}
+
+	/**
+	 * Compile given sort into an in-memory rows {@link Comparator}. <code>null</code> values are sorted first.
+	 * @param sort The sort to compile (not null)
+	 * @return The compiled comparator
+	 * @throws InvalidExpressionException If the sort is not supported
+	 */
+	public static Comparator<Map<String, Object>> comparator(QuerySort sort) {
+		return comparator(sort, ROWS);
+	}
+
+	/**
+	 * Compile given sort into a rows {@link Comparator}, using given {@link PathResolver} to obtain the path values.
+	 * <code>null</code> values are sorted first.
+	 * @param <R> Row type
+	 * @param sort The sort to compile (not null)
+	 * @param resolver The path resolver (not null)
+	 * @return The compiled comparator
+	 * @throws InvalidExpressionException If the sort is not supported
+	 */
+	public static <R> Comparator<R> comparator(QuerySort sort, PathResolver<R> resolver) {
+		if (sort instanceof PathQuerySort) {
+			final PathQuerySort<?> pathSort = (PathQuerySort<?>) sort;
+			final RowFunction<R> value = resolver.resolve(pathSort.getPath());
+			final Comparator<R> comparator = (r1, r2) -> VALUE_ORDER.compare(value.apply(r1, null),
+					value.apply(r2, null));
+			return (pathSort.getDirection() == SortDirection.DESCENDING) ? comparator.reversed() : comparator;
+		}
+		if (sort instanceof CompositeQuerySort) {
+			Comparator<R> comparator = null;
+			for (QuerySort s : ((CompositeQuerySort) sort).getComposition()) {
+				comparator = (comparator == null) ? comparator(s, resolver)
+						: comparator.thenComparing(comparator(s, resolver));
+			}
+			if (comparator != null) {
+				return comparator;
+			}
+		}
+		throw new InvalidExpressionException("Sort not supported by the in-memory datastore: " + sort);
+	}
+
+	/**
+	 * Checks whether given expression is an aggregation function.
+	 * @param expression The expression to check
+	 * @return <code>true</code> if the expression is an aggregation function
+	 */
+	public static boolean isAggregation(Object expression) {
+		return expression instanceof Count || expression instanceof Sum || expression instanceof Avg
+				|| expression instanceof Min || expression instanceof Max;
+	}
+
+	/**
+	 * Checks whether two values are equal. Numeric values are compared by value, regardless of their type.
+	 * @param v1 The first value
+	 * @param v2 The second value
+	 * @return <code>true</code> if the values are equal
+	 */
+	public static boolean valuesEqual(Object v1, Object v2) {
+		if (v1 == null || v2 == null) {
+			return false;
+		}
+		if (v1 instanceof Number && v2 instanceof Number && v1.getClass() != v2.getClass()) {
+			return compareNumbers((Number) v1, (Number) v2) == 0;
+		}
+		return v1.equals(v2);
+	}
+
+	/**
+	 * Compare two not <code>null</code> values. Numeric values are compared by value, regardless of their type.
+	 * @param v1 The first value
+	 * @param v2 The second value
+	 * @return The comparison result
+	 * @throws InvalidExpressionException If the values are not comparable
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static int compare(Object v1, Object v2) {
+		if (v1 instanceof Number && v2 instanceof Number) {
+			return compareNumbers((Number) v1, (Number) v2);
+		}
+		if (v1 instanceof Comparable && v1.getClass().isInstance(v2)) {
+			return ((Comparable) v1).compareTo(v2);
+		}
+		if (v2 instanceof Comparable && v2.getClass().isInstance(v1)) {
+			return -((Comparable) v2).compareTo(v1);
+		}
+		throw new InvalidExpressionException("Values [" + v1 + "] and [" + v2 + "] are not comparable");
+	}
+
+	private static int compareNumbers(Number n1, Number n2) {
+		if (isIntegral(n1) && isIntegral(n2)) {
+			return Long.compare(n1.longValue(), n2.longValue());
+		}
+		if (n1 instanceof BigDecimal || n2 instanceof BigDecimal || n1 instanceof BigInteger
+				|| n2 instanceof BigInteger) {
+			return toBigDecimal(n1).compareTo(toBigDecimal(n2));
+		}
+		return Double.compare(n1.doubleValue(), n2.doubleValue());
+	}
+
+	private static boolean isIntegral(Number number) {
+		return number instanceof Long || number instanceof Integer || number instanceof Short
+				|| number instanceof Byte;
+	}
+
+	private static BigDecimal toBigDecimal(Number number) {
+		if (number instanceof BigDecimal) {
+			return (BigDecimal) number;
+		}
+		if (number instanceof BigInteger) {
+			return new BigDecimal((BigInteger) number);
+		}
+		return isIntegral(number) ? BigDecimal.valueOf(number.longValue()) : BigDecimal.valueOf(number.doubleValue());
+	}
+
+	// ------- functions
+
+	private static <R> RowFunction<R> queryFunction(QueryFunction<?, ?> function, PathResolver<R> resolver) {
+		if (function instanceof CurrentDate) {
+			return (row, group) -> CalendarUtils.floorTime(new Date());
+		}
+		if (function instanceof CurrentTimestamp) {
+			return (row, group) -> new Date();
+		}
+		if (function instanceof CurrentLocalDate) {
+			return (row, group) -> LocalDate.now();
+		}
+		if (function instanceof CurrentLocalDateTime) {
+			return (row, group) -> LocalDateTime.now();
+		}
+		final List<? extends TypedExpression<?>> arguments = function.getExpressionArguments();
+		if (arguments == null || arguments.isEmpty()) {
+			throw new InvalidExpressionException("Missing function argument: " + function);
+		}
+		final RowFunction<R> argument = function(arguments.get(0), resolver);
+		if (function instanceof Count) {
+			return (row, group) -> {
+				long count = 0;
+				for (R r : rows(row, group)) {
+					if (argument.apply(r, null) != null) {
+						count++;
+					}
+				}
+				return count;
+			};
+		}
+		if (function instanceof Sum) {
+			final Class<?> type = function.getType();
+			return (row, group) -> sum(values(argument, row, group), type);
+		}
+		if (function instanceof Avg) {
+			return (row, group) -> {
+				final List<Object> values = values(argument, row, group);
+				if (values.isEmpty()) {
+					return null;
+				}
+				double sum = 0;
+				for (Object value : values) {
+					sum += ((Number) value).doubleValue();
+				}
+				return sum / values.size();
+			};
+		}
+		if (function instanceof Min || function instanceof Max) {
+			final Comparator<Object> order = (function instanceof Min) ? VALUE_ORDER : VALUE_ORDER.reversed();
+			return (row, group) -> {
+				Object result = null;
+				for (Object value : values(argument, row, group)) {
+					if (result == null || order.compare(value, result) < 0) {
+						result = value;
+					}
+				}
+				return result;
+			};
+		}
+		if (function instanceof Lower) {
+			return (row, group) -> {
+				final Object value = argument.apply(row, group);
+				return (value == null) ? null : value.toString().toLowerCase();
+			};
+		}
+		if (function instanceof Upper) {
+			return (row, group) -> {
+				final Object value = argument.apply(row, group);
+				return (value == null) ? null : value.toString().toUpperCase();
+			};
+		}
+		if (function instanceof Year) {
+			return temporalField(argument, ChronoField.YEAR);
+		}
+		if (function instanceof Month) {
+			return temporalField(argument, ChronoField.MONTH_OF_YEAR);
+		}
+		if (function instanceof Day) {
+			return temporalField(argument, ChronoField.DAY_OF_MONTH);
+		}
+		if (function instanceof Hour) {
+			return temporalField(argument, ChronoField.HOUR_OF_DAY);
+		}
+		throw new InvalidExpressionException("Function not supported by the in-memory datastore: " + function);
+	}
+
+	private static <R> List<R> rows(R row, List<R> group) {
+		return (group != null) ? group : Collections.singletonList(row);
+	}
+
+	private static <R> List<Object> values(RowFunction<R> argument, R row, List<R> group) {
+		final List<R> rows = rows(row, group);
+		final List<Object> values = new ArrayList<>(rows.size());
+		for (R r : rows) {
+			final Object value = argument.apply(r, null);
+			if (value != null) {
+				values.add(value);
+			}
+		}
+		return values;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Object sum(List<Object> values, Class<?> type) {
+		if (values.isEmpty()) {
+			return null;
+		}
+		boolean integral = true;
+		boolean decimal = false;
+		for (Object value : values) {
+			integral = integral && isIntegral((Number) value);
+			decimal = decimal || value instanceof BigDecimal || value instanceof BigInteger;
+		}
+		final Number sum;
+		if (integral) {
+			long total = 0;
+			for (Object value : values) {
+				total += ((Number) value).longValue();
+			}
+			sum = total;
+		} else if (decimal) {
+			BigDecimal total = BigDecimal.ZERO;
+			for (Object value : values) {
+				total = total.add(toBigDecimal((Number) value));
+			}
+			sum = total;
+		} else {
+			double total = 0;
+			for (Object value : values) {
+				total += ((Number) value).doubleValue();
+			}
+			sum = total;
+		}
+		if (type != null && Number.class.isAssignableFrom(type) && type != Number.class) {
+			return ConversionUtils.convertNumberToTargetClass(sum, (Class) type);
+		}
+		return sum;
+	}
+
+	private static <R> RowFunction<R> temporalField(RowFunction<R> argument, ChronoField field) {
+		return (row, group) -> {
+			final Object value = argument.apply(row, group);
+			if (value == null) {
+				return null;
+			}
+			final TemporalAccessor temporal;
+			if (value instanceof Date) {
+				temporal = ConversionUtils.toLocalDateTime((Date) value);
+			} else if (value instanceof Calendar) {
+				temporal = ConversionUtils.toLocalDateTime((Calendar) value);
+			} else if (value instanceof LocalDate) {
+				temporal = ((LocalDate) value).atStartOfDay();
+			} else if (value instanceof TemporalAccessor) {
+				temporal = (TemporalAccessor) value;
+			} else {
+				throw new InvalidExpressionException("Value [" + value + "] is not a temporal value");
+			}
+			return temporal.get(field);
+		};
+	}
+
+	// ------- filters
+
+	private static <R> RowPredicate<R> compare(OperationQueryFilter<?> filter, PathResolver<R> resolver,
+			ComparisonPredicate predicate) {
+		final RowFunction<R> left = function(filter.getLeftOperand(), resolver);
+		final RowFunction<R> right = function(filter.getRightOperand().orElseThrow(
+				() -> new InvalidExpressionException("Missing right operand: " + filter)), resolver);
+		return (row, group) -> {
+			final Object l = left.apply(row, group);
+			if (l == null) {
+				return null;
+			}
+			final Object r = right.apply(row, group);
+			return (r == null) ? null : predicate.test(l, r);
+		};
+	}
+
+	private static <R> RowPredicate<R> in(OperationQueryFilter<?> filter, PathResolver<R> resolver, boolean negate) {
+		final RowFunction<R> left = function(filter.getLeftOperand(), resolver);
+		final Collection<?> values = filter.getRightOperand()
+				.filter(right -> right instanceof CollectionConstantExpression)
+				.map(right -> ((CollectionConstantExpression<?>) right).getValue())
+				.orElseThrow(() -> new InvalidExpressionException("Missing values collection: " + filter));
+		final boolean nullValues = values.contains(null);
+		return (row, group) -> {
+			final Object value = left.apply(row, group);
+			if (value == null) {
+				return null;
+			}
+			for (Object v : values) {
+				if (v != null && valuesEqual(value, v)) {
+					return !negate;
+				}
+			}
+			return nullValues ? null : negate;
+		};
+	}
+
+	@FunctionalInterface
+	private interface ComparisonPredicate {
+
+		boolean test(Object left, Object right);
+
+	}
+
+	/**
+	 * {@link QueryFilterVisitor} which compiles a filter into a {@link RowPredicate}.
+	 */
+	private static final class PredicateCompiler<R> implements QueryFilterVisitor<RowPredicate<R>, Void> {
+
+		private final PathResolver<R> resolver;
+
+		PredicateCompiler(PathResolver<R> resolver) {
+			super();
+			this.resolver = resolver;
+		}
+
+		@Override
+		public RowPredicate<R> visit(NullFilter filter, Void context) {
+			final RowFunction<R> value = function(filter.getLeftOperand(), resolver);
+			return (row, group) -> value.apply(row, group) == null;
+		}
+
+		@Override
+		public RowPredicate<R> visit(NotNullFilter filter, Void context) {
+			final RowFunction<R> value = function(filter.getLeftOperand(), resolver);
+			return (row, group) -> value.apply(row, group) != null;
+		}
+
+		@Override
+		public <T> RowPredicate<R> visit(EqualFilter<T> filter, Void context) {
+			return compare(filter, resolver, InMemoryEvaluator::valuesEqual);
+		}
+
+		@Override
+		public <T> RowPredicate<R> visit(NotEqualFilter<T> filter, Void context) {
+			return compare(filter, resolver, (l, r) -> !valuesEqual(l, r));
+		}
+
+		@Override
+		public <T> RowPredicate<R> visit(GreaterFilter<T> filter, Void context) {
+			return filter.isIncludeEquals() ? compare(filter, resolver, (l, r) -> InMemoryEvaluator.compare(l, r) >= 0)
+					: compare(filter, resolver, (l, r) -> InMemoryEvaluator.compare(l, r) > 0);
+		}
+
+		@Override
+		public <T> RowPredicate<R> visit(LessFilter<T> filter, Void context) {
+			return filter.isIncludeEquals() ? compare(filter, resolver, (l, r) -> InMemoryEvaluator.compare(l, r) <= 0)
+					: compare(filter, resolver, (l, r) -> InMemoryEvaluator.compare(l, r) < 0);
+		}
+
+		@Override
+		public <T> RowPredicate<R> visit(InFilter<T> filter, Void context) {
+			return in(filter, resolver, false);
+		}
+
+		@Override
+		public <T> RowPredicate<R> visit(NotInFilter<T> filter, Void context) {
+			return in(filter, resolver, true);
+		}
+
+		@Override
+		public <T> RowPredicate<R> visit(BetweenFilter<T> filter, Void context) {
+			final RowFunction<R> value = function(filter.getLeftOperand(), resolver);
+			final Object from = filter.getFromValue();
+			final Object to = filter.getToValue();
+			return (row, group) -> {
+				final Object v = value.apply(row, group);
+				if (v == null) {
+					return null;
+				}
+				return InMemoryEvaluator.compare(v, from) >= 0 && InMemoryEvaluator.compare(v, to) <= 0;
+			};
+		}
+
+		@Override
+		public RowPredicate<R> visit(StringMatchFilter filter, Void context) {
+			final RowFunction<R> value = function(filter.getLeftOperand(), resolver);
+			final boolean ignoreCase = filter.isIgnoreCase();
+			final String match = ignoreCase ? filter.getValue().toLowerCase() : filter.getValue();
+			return (row, group) -> {
+				final Object v = value.apply(row, group);
+				if (v == null) {
+					return null;
+				}
+				final String str = ignoreCase ? v.toString().toLowerCase() : v.toString();
+				switch (filter.getMatchMode()) {
+				case STARTS_WITH:
+					return str.startsWith(match);
+				case ENDS_WITH:
+					return str.endsWith(match);
+				case CONTAINS:
+				default:
+					return str.contains(match);
+				}
+			};
+		}
+
+		@Override
+		public RowPredicate<R> visit(AndFilter filter, Void context) {
+			final List<RowPredicate<R>> predicates = predicates(filter.getComposition());
+			return (row, group) -> {
+				Boolean result = Boolean.TRUE;
+				for (RowPredicate<R> predicate : predicates) {
+					final Boolean value = predicate.evaluate(row, group);
+					if (Boolean.FALSE.equals(value)) {
+						return Boolean.FALSE;
+					}
+					if (value == null) {
+						result = null;
+					}
+				}
+				return result;
+			};
+		}
+
+		@Override
+		public RowPredicate<R> visit(OrFilter filter, Void context) {
+			final List<RowPredicate<R>> predicates = predicates(filter.getComposition());
+			return (row, group) -> {
+				Boolean result = Boolean.FALSE;
+				for (RowPredicate<R> predicate : predicates) {
+					final Boolean value = predicate.evaluate(row, group);
+					if (Boolean.TRUE.equals(value)) {
+						return Boolean.TRUE;
+					}
+					if (value == null) {
+						result = null;
+					}
+				}
+				return result;
+			};
+		}
+
+		@Override
+		public RowPredicate<R> visit(NotFilter filter, Void context) {
+			final List<RowPredicate<R>> predicates = predicates(filter.getComposition());
+			if (predicates.size() != 1) {
+				throw new InvalidExpressionException("Invalid NOT filter composition: " + filter);
+			}
+			final RowPredicate<R> predicate = predicates.get(0);
+			return (row, group) -> {
+				final Boolean value = predicate.evaluate(row, group);
+				return (value == null) ? null : !value;
+			};
+		}
+
+		private List<RowPredicate<R>> predicates(List<QueryFilter> filters) {
+			final List<RowPredicate<R>> predicates = new ArrayList<>(filters.size());
+			for (QueryFilter filter : filters) {
+				predicates.add(predicate(filter, resolver));
+			}
+			return predicates;
+		}
+
+	}
+
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.ExpressionResolver.ExpressionResolverHandler;
+import com.holonplatform.core.Path;
+import com.holonplatform.core.beans.BeanPropertySet;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.datastore.memory.InMemoryEvaluator.RowFunction;
+import com.holonplatform.core.internal.datastore.memory.InMemoryEvaluator.RowPredicate;
+import com.holonplatform.core.internal.query.QueryLogger;
+import com.holonplatform.core.internal.utils.ConversionUtils;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.query.AggregateProjection;
+import com.holonplatform.core.query.AggregateValues;
+import com.holonplatform.core.query.BeanProjection;
+import com.holonplatform.core.query.CountAllProjection;
+import com.holonplatform.core.query.DoubleProjection;
+import com.holonplatform.core.query.LongProjection;
+import com.holonplatform.core.query.PropertySetProjection;
+import com.holonplatform.core.query.QueryAdapter;
+import com.holonplatform.core.query.QueryAggregation;
+import com.holonplatform.core.query.QueryConfiguration;
+import com.holonplatform.core.query.QueryFunction;
+import com.holonplatform.core.query.QueryOperation;
+import com.holonplatform.core.query.QueryProjection;
+import com.holonplatform.core.query.SelectAllProjection;
+
+/**
+ * {@link QueryAdapter} which executes the queries against the in-memory rows.
+ * <p>
+ * The query filter, aggregation, sort and projection are resolved using the datastore and the query
+ * {@link com.holonplatform.core.ExpressionResolver}s, compiled once for each query execution and then evaluated
+ * against the rows of the {@link InMemoryView} provided by the view supplier, i.e. the current transaction view or the
+ * current store snapshot.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public class InMemoryQueryAdapter implements QueryAdapter<QueryConfiguration> {
+
+	private static final Logger LOGGER = QueryLogger.create();
+
+	private final Supplier<InMemoryView> viewSupplier;
+
+	private final ExpressionResolverHandler resolvers;
+
+	private final boolean trace;
+
+	/**
+	 * Constructor.
+	 * @param viewSupplier The supplier of the view to query
+	 * @param resolvers The datastore expression resolvers
+	 * @param trace Whether to log the executed queries
+	 */
+	public InMemoryQueryAdapter(Supplier<InMemoryView> viewSupplier, ExpressionResolverHandler resolvers,
+			boolean trace) {
+		super();
+		this.viewSupplier = viewSupplier;
+		this.resolvers = resolvers;
+		this.trace = trace;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryAdapter#stream(com.holonplatform.core.query.QueryOperation)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <R> Stream<R> stream(QueryOperation<QueryConfiguration, R> queryOperation) throws DataAccessException {
+		final QueryConfiguration configuration = queryOperation.getConfiguration();
+		final String target = configuration.getTarget().map(t -> t.getName())
+				.orElseThrow(() -> new DataAccessException("Missing query target"));
+
+		if (trace) {
+			LOGGER.info("(TRACE) In-memory query on target [" + target + "]: " + queryOperation);
+		}
+
+		final List<Group> groups;
+		final Function<Group, R> projector;
+		try {
+			final InMemoryResolutionContext context = new InMemoryResolutionContext(resolvers, configuration);
+			final QueryProjection<R> projection = context.resolveProjection(queryOperation.getProjection());
+			groups = select(configuration, context, projection, viewSupplier.get().getRows(target).values());
+			if (projection instanceof CountAllProjection) {
+				return Stream.of((R) Long.valueOf(groups.size()));
+			}
+			projector = projector(projection);
+		} catch (InvalidExpressionException e) {
+			throw new DataAccessException("Failed to execute the in-memory query", e);
+		}
+
+		final long offset = configuration.getOffset().filter(o -> o > 0).orElse(0);
+		final int limit = configuration.getLimit().filter(l -> l > 0).orElse(-1);
+
+		if (configuration.isDistinct()) {
+			Stream<R> results = groups.stream().map(projector).distinct().skip(offset);
+			return (limit > -1) ? results.limit(limit) : results;
+		}
+		final int from = (int) Math.min(offset, groups.size());
+		final int to = (limit > -1) ? (int) Math.min((long) from + limit, groups.size()) : groups.size();
+		return groups.subList(from, to).stream().map(projector);
+	}
+
+	/**
+	 * Select the rows which satisfy the query filter and arrange them in the result groups, aggregating the rows when
+	 * required and applying the query sort.
+	 * @param configuration The query configuration
+	 * @param context The context to use to resolve the query expressions
+	 * @param projection The query projection
+	 * @param rows The target rows
+	 * @return The sorted result groups
+	 */
+	private static List<Group> select(QueryConfiguration configuration, InMemoryResolutionContext context,
+			QueryProjection<?> projection, Iterable<Map<String, Object>> rows) {
+		final RowPredicate<Map<String, Object>> filter = configuration.getFilter()
+				.map(f -> InMemoryEvaluator.predicate(context.resolveFilter(f))).orElse(null);
+		final List<Map<String, Object>> selected = new ArrayList<>();
+		for (Map<String, Object> row : rows) {
+			if (filter == null || filter.test(row, null)) {
+				selected.add(row);
+			}
+		}
+
+		final List<Group> groups = new ArrayList<>();
+		final QueryAggregation aggregation = configuration.getAggregation().orElse(null);
+		if (aggregation != null) {
+			final Path<?>[] paths = aggregation.getAggregationPaths();
+			final List<RowFunction<Map<String, Object>>> keys = new ArrayList<>(paths.length);
+			for (Path<?> path : paths) {
+				keys.add(InMemoryEvaluator.function(path));
+			}
+			final Map<List<Object>, List<Map<String, Object>>> aggregated = new LinkedHashMap<>();
+			for (Map<String, Object> row : selected) {
+				final List<Object> key = new ArrayList<>(keys.size());
+				for (RowFunction<Map<String, Object>> k : keys) {
+					key.add(k.apply(row, null));
+				}
+				aggregated.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+			}
+			final RowPredicate<Map<String, Object>> having = aggregation.getAggregationFilter()
+					.map(f -> InMemoryEvaluator.predicate(context.resolveFilter(f))).orElse(null);
+			for (List<Map<String, Object>> group : aggregated.values()) {
+				if (having == null || having.test(group.get(0), group)) {
+					groups.add(new Group(group.get(0), group));
+				}
+			}
+		} else if (isAggregation(projection)) {
+			groups.add(new Group(selected.isEmpty() ? Collections.emptyMap() : selected.get(0), selected));
+		} else {
+			for (Map<String, Object> row : selected) {
+				groups.add(new Group(row, null));
+			}
+		}
+
+		configuration.getSort().map(s -> InMemoryEvaluator.comparator(context.resolveSort(s)))
+				.ifPresent(comparator -> groups.sort((g1, g2) -> comparator.compare(g1.row, g2.row)));
+		return groups;
+	}
+
+	/**
+	 * Checks whether given projection includes an aggregation function.
+	 * @param projection The projection
+	 * @return <code>true</code> if the projection includes an aggregation function
+	 */
+	private static boolean isAggregation(QueryProjection<?> projection) {
+		if (projection instanceof PropertySetProjection) {
+			for (Property<?> property : ((PropertySetProjection) projection).getPropertySet()) {
+				if (InMemoryEvaluator.isAggregation(property)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		if (projection instanceof AggregateProjection) {
+			return ((AggregateProjection) projection).getExpressions().stream()
+					.anyMatch(e -> InMemoryEvaluator.isAggregation(e));
+		}
+		if (projection instanceof LongProjection) {
+			return InMemoryEvaluator.isAggregation(((LongProjection) projection).getExpression());
+		}
+		if (projection instanceof DoubleProjection) {
+			return InMemoryEvaluator.isAggregation(((DoubleProjection) projection).getExpression());
+		}
+		return InMemoryEvaluator.isAggregation(projection);
+	}
+
+	/**
+	 * Build the function which converts a result group into a projection result.
+	 * @param <R> Projection type
+	 * @param projection The projection
+	 * @return The projection function
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <R> Function<Group, R> projector(QueryProjection<R> projection) {
+		if (projection instanceof PropertySetProjection) {
+			final PropertySet<?> propertySet = ((PropertySetProjection) projection).getPropertySet();
+			final List<Property> properties = new ArrayList<>();
+			final List<RowFunction<Map<String, Object>>> functions = new ArrayList<>();
+			for (Property property : propertySet) {
+				if (property instanceof Path || property instanceof QueryFunction) {
+					properties.add(property);
+					functions.add(InMemoryEvaluator.function(property));
+				}
+			}
+			return group -> {
+				final PropertyBox.Builder builder = PropertyBox.builder(propertySet).invalidAllowed(true);
+				for (int i = 0; i < properties.size(); i++) {
+					final Object value = functions.get(i).apply(group.row, group.rows);
+					if (value != null) {
+						builder.setIgnoreReadOnly(properties.get(i), value);
+					}
+				}
+				return (R) builder.build();
+			};
+		}
+		if (projection instanceof SelectAllProjection) {
+			return group -> (R) new LinkedHashMap<>(group.row);
+		}
+		if (projection instanceof BeanProjection) {
+			return beanProjector((BeanProjection<R>) projection);
+		}
+		if (projection instanceof AggregateProjection) {
+			final AggregateProjection aggregateProjection = (AggregateProjection) projection;
+			final RowFunction[] functions = new RowFunction[aggregateProjection.size()];
+			for (int i = 0; i < functions.length; i++) {
+				functions[i] = InMemoryEvaluator.function(aggregateProjection.getExpressions().get(i));
+			}
+			return group -> {
+				final AggregateValues.Builder builder = AggregateValues.builder(aggregateProjection);
+				for (int i = 0; i < functions.length; i++) {
+					builder.set(i, (Number) functions[i].apply(group.row, group.rows));
+				}
+				return (R) builder.build();
+			};
+		}
+		final RowFunction<Map<String, Object>> function = InMemoryEvaluator
+				.function((projection instanceof LongProjection) ? ((LongProjection) projection).getExpression()
+						: (projection instanceof DoubleProjection) ? ((DoubleProjection) projection).getExpression()
+								: projection);
+		final Class<?> type = projection.getType();
+		return group -> {
+			final Object value = function.apply(group.row, group.rows);
+			if (value instanceof Number && type != null && Number.class.isAssignableFrom(type)
+					&& type != Number.class && !type.isInstance(value)) {
+				return (R) ConversionUtils.convertNumberToTargetClass((Number) value, (Class) type);
+			}
+			return (R) value;
+		};
+	}
+
+	private static <R> Function<Group, R> beanProjector(BeanProjection<R> projection) {
+		final Class<? extends R> beanClass = projection.getBeanClass();
+		final BeanPropertySet<R> beanPropertySet = BeanPropertySet.create(beanClass);
+		final List<String> names = new ArrayList<>();
+		if (projection.getSelection().isPresent()) {
+			for (Path<?> path : projection.getSelection().get()) {
+				names.add(path.relativeName());
+			}
+		} else {
+			beanPropertySet.forEach(property -> names.add(property.relativeName()));
+		}
+		return group -> {
+			final R instance;
+			try {
+				instance = beanClass.getDeclaredConstructor().newInstance();
+			} catch (ReflectiveOperationException e) {
+				throw new DataAccessException("Failed to instantiate bean class [" + beanClass.getName() + "]", e);
+			}
+			for (String name : names) {
+				final Object value = group.row.get(name);
+				if (value != null) {
+					beanPropertySet.write(name, value, instance);
+				}
+			}
+			return instance;
+		};
+	}
+
+	/**
+	 * A query result group: a single row or a rows aggregation.
+	 */
+	private static final class Group {
+
+		final Map<String, Object> row;
+		final List<Map<String, Object>> rows;
+
+		Group(Map<String, Object> row, List<Map<String, Object>> rows) {
+			super();
+			this.row = row;
+			this.rows = rows;
+		}
+
+	}
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import com.holonplatform.core.Expression;
+import com.holonplatform.core.ExpressionResolver;
+import com.holonplatform.core.ExpressionResolver.ExpressionResolverHandler;
+import com.holonplatform.core.ExpressionResolver.ExpressionResolverProvider;
+import com.holonplatform.core.ExpressionResolver.ResolutionContext;
+import com.holonplatform.core.ExpressionResolverRegistry;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.query.filter.AndFilter;
+import com.holonplatform.core.internal.query.filter.NotFilter;
+import com.holonplatform.core.internal.query.filter.OrFilter;
+import com.holonplatform.core.internal.query.sort.MultiSort;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QueryFilter.CompositeQueryFilter;
+import com.holonplatform.core.query.QueryProjection;
+import com.holonplatform.core.query.QuerySort;
+import com.holonplatform.core.query.QuerySort.CompositeQuerySort;
+
+/**
+ * {@link ResolutionContext} used to resolve the filters, sorts and projections of an in-memory datastore operation
+ * before they are compiled by the {@link InMemoryEvaluator}.
+ * <p>
+ * The expressions are resolved using the {@link ExpressionResolver}s registered in the datastore together with the
+ * ones registered in the operation, if any.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public class InMemoryResolutionContext implements ResolutionContext {
+
+	private final ExpressionResolverHandler resolvers;
+
+	/**
+	 * Constructor.
+	 * @param datastore The datastore expression resolvers (not null)
+	 * @param operation The operation expression resolvers, may be null
+	 */
+	@SuppressWarnings("rawtypes")
+	public InMemoryResolutionContext(ExpressionResolverHandler datastore, ExpressionResolverProvider operation) {
+		super();
+		ObjectUtils.argumentNotNull(datastore, "Datastore expression resolvers must be not null");
+		final List<ExpressionResolver> operationResolvers = new ArrayList<>();
+		if (operation != null) {
+			operation.getExpressionResolvers().forEach(operationResolvers::add);
+		}
+		if (operationResolvers.isEmpty()) {
+			this.resolvers = datastore;
+		} else {
+			final ExpressionResolverRegistry registry = ExpressionResolverRegistry.create(false);
+			registry.addExpressionResolvers(datastore.getExpressionResolvers());
+			registry.addExpressionResolvers(operationResolvers);
+			this.resolvers = registry;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ExpressionResolver.ExpressionResolverProvider#getExpressionResolvers()
+	 */
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Iterable<ExpressionResolver> getExpressionResolvers() {
+		return resolvers.getExpressionResolvers();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.ExpressionResolver.ExpressionResolverHandler#resolve(com.holonplatform.core.Expression,
+	 * java.lang.Class, com.holonplatform.core.ExpressionResolver.ResolutionContext)
+	 */
+	@Override
+	public <E extends Expression, R extends Expression> Optional<R> resolve(E expression, Class<R> resolutionType,
+			ResolutionContext context) {
+		return resolvers.resolve(expression, resolutionType, context);
+	}
+
+	/**
+	 * Resolve given filter and, if it is a composite filter, its composition.
+	 * @param filter The filter to resolve (not null)
+	 * @return The resolved filter, or the filter itself if it was not resolved
+	 */
+	public QueryFilter resolveFilter(QueryFilter filter) {
+		final QueryFilter resolved = resolve(filter, QueryFilter.class, this).orElse(filter);
+		if (resolved instanceof CompositeQueryFilter) {
+			final List<QueryFilter> composition = ((CompositeQueryFilter) resolved).getComposition();
+			if (composition != null) {
+				final List<QueryFilter> filters = new ArrayList<>(composition.size());
+				boolean changed = false;
+				for (QueryFilter f : composition) {
+					final QueryFilter r = resolveFilter(f);
+					changed = changed || r != f;
+					filters.add(r);
+				}
+				if (changed) {
+					if (resolved instanceof AndFilter) {
+						return new AndFilter(filters);
+					}
+					if (resolved instanceof OrFilter) {
+						return new OrFilter(filters);
+					}
+					if (resolved instanceof NotFilter && filters.size() == 1) {
+						return new NotFilter(filters.get(0));
+					}
+				}
+			}
+		}
+		return resolved;
+	}
+
+	/**
+	 * Resolve given sort and, if it is a composite sort, its composition.
+	 * @param sort The sort to resolve (not null)
+	 * @return The resolved sort, or the sort itself if it was not resolved
+	 */
+	public QuerySort resolveSort(QuerySort sort) {
+		final QuerySort resolved = resolve(sort, QuerySort.class, this).orElse(sort);
+		if (resolved instanceof CompositeQuerySort) {
+			final List<QuerySort> composition = ((CompositeQuerySort) resolved).getComposition();
+			final List<QuerySort> sorts = new ArrayList<>(composition.size());
+			boolean changed = false;
+			for (QuerySort s : composition) {
+				final QuerySort r = resolveSort(s);
+				changed = changed || r != s;
+				sorts.add(r);
+			}
+			if (changed) {
+				return new MultiSort(sorts);
+			}
+		}
+		return resolved;
+	}
+
+	/**
+	 * Resolve given projection.
+	 * @param <R> Projection type
+	 * @param projection The projection to resolve (not null)
+	 * @return The resolved projection, or the projection itself if it was not resolved
+	 * @throws DataAccessException If the projection was resolved into a projection of a different type
+	 */
+	@SuppressWarnings("unchecked")
+	public <R> QueryProjection<R> resolveProjection(QueryProjection<R> projection) {
+		final QueryProjection<?> resolved = resolve(projection, QueryProjection.class, this).orElse(projection);
+		if (resolved != projection && projection.getType() != null && resolved.getType() != null
+				&& !projection.getType().isAssignableFrom(resolved.getType())) {
+			throw new DataAccessException("Projection [" + projection + "] was resolved into projection [" + resolved
+					+ "] of incompatible type [" + resolved.getType() + "]");
+		}
+		return (QueryProjection<R>) resolved;
+	}
+
+}
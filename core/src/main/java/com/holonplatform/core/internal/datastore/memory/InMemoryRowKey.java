@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * The key of an in-memory row, made up of the identifier path names and values.
+ * <p>
+ * The rows which are stored without identifier values are bound to a generated key, which is not an
+ * {@link InMemoryRowKey}.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public final class InMemoryRowKey {
+
+	private final String[] names;
+
+	private final Object[] values;
+
+	private final int hash;
+
+	/**
+	 * Constructor.
+	 * @param names The identifier path names, in natural order
+	 * @param values The identifier values, in names order
+	 */
+	InMemoryRowKey(String[] names, Object[] values) {
+		super();
+		this.names = names;
+		this.values = values;
+		this.hash = 31 * Arrays.hashCode(names) + Arrays.hashCode(values);
+	}
+
+	/**
+	 * Get the identifier path names.
+	 * @return The identifier path names
+	 */
+	public String[] getNames() {
+		return names.clone();
+	}
+
+	/**
+	 * Create a key with the same identifier names of this key, obtaining the values from given row.
+	 * @param row The row
+	 * @return The row key
+	 */
+	InMemoryRowKey rekey(Map<String, Object> row) {
+		final Object[] rowValues = new Object[names.length];
+		for (int i = 0; i < names.length; i++) {
+			rowValues[i] = row.get(names[i]);
+		}
+		return new InMemoryRowKey(names, rowValues);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		final InMemoryRowKey other = (InMemoryRowKey) obj;
+		return hash == other.hash && Arrays.equals(names, other.names) && Arrays.equals(values, other.values);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < names.length; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(names[i]).append("=").append(values[i]);
+		}
+		return sb.append("]").toString();
+	}
+
+}
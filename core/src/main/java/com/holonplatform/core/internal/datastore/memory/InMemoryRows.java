@@ -0,0 +1,149 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+
+/**
+ * Conversion utilities between {@link PropertyBox}es and in-memory rows.
+ * <p>
+ * An in-memory row is an immutable map of the {@link Path} type properties relative names and values.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public final class InMemoryRows {
+
+	private InMemoryRows() {
+	}
+
+	/**
+	 * Create a row from given {@link PropertyBox}, using all the {@link Path} type properties of the box property set,
+	 * including the ones which value is <code>null</code>.
+	 * @param propertyBox The property box (not null)
+	 * @return The row
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public static Map<String, Object> toRow(PropertyBox propertyBox) {
+		final Map<String, Object> row = new LinkedHashMap<>();
+		for (Property property : propertyBox) {
+			if (property instanceof Path) {
+				row.put(((Path<?>) property).relativeName(), propertyBox.getValue(property));
+			}
+		}
+		return Collections.unmodifiableMap(row);
+	}
+
+	/**
+	 * Create a row from given row, overriding its values with the ones of the given {@link PropertyBox}.
+	 * @param row The row to merge
+	 * @param propertyBox The property box which provides the values to override (not null)
+	 * @return The merged row
+	 */
+	public static Map<String, Object> merge(Map<String, Object> row, PropertyBox propertyBox) {
+		final Map<String, Object> merged = new LinkedHashMap<>(row);
+		merged.putAll(toRow(propertyBox));
+		return Collections.unmodifiableMap(merged);
+	}
+
+	/**
+	 * Create a row from given row, overriding its values with the values of given properties only.
+	 * @param row The row to merge
+	 * @param propertyBox The property box which provides the values to override (not null)
+	 * @param properties The properties which values to override (not null)
+	 * @return The merged row
+	 */
+	@SuppressWarnings("rawtypes")
+	public static Map<String, Object> merge(Map<String, Object> row, PropertyBox propertyBox,
+			Iterable<Property> properties) {
+		final Map<String, Object> merged = new LinkedHashMap<>(row);
+		for (Property<?> property : properties) {
+			if (property instanceof Path) {
+				merged.put(((Path<?>) property).relativeName(), propertyBox.getValue(property));
+			}
+		}
+		return Collections.unmodifiableMap(merged);
+	}
+
+	/**
+	 * Create a {@link PropertyBox} using given property set and the values of given row. The values of the properties
+	 * which are not available in the row are left <code>null</code>.
+	 * @param propertySet The property set (not null)
+	 * @param row The row (not null)
+	 * @return A new {@link PropertyBox}
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public static PropertyBox toPropertyBox(PropertySet<?> propertySet, Map<String, Object> row) {
+		final PropertyBox.Builder builder = PropertyBox.builder(propertySet).invalidAllowed(true);
+		for (Property property : propertySet) {
+			if (property instanceof Path) {
+				final Object value = row.get(((Path<?>) property).relativeName());
+				if (value != null) {
+					builder.setIgnoreReadOnly(property, value);
+				}
+			}
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Get the row key of given {@link PropertyBox}, using the property set identifier properties.
+	 * @param propertyBox The property box (not null)
+	 * @return The row key, empty if the property set declares no {@link Path} type identifier properties
+	 * @throws DataAccessException If an identifier property value is <code>null</code>
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public static Optional<InMemoryRowKey> getKey(PropertyBox propertyBox) {
+		final Map<String, Object> identifiers = new TreeMap<>();
+		for (Property property : propertyBox.getIdentifiers()) {
+			if (property instanceof Path) {
+				final Object value = propertyBox.getValue(property);
+				if (value == null) {
+					throw new DataAccessException("The value of the identifier property [" + property
+							+ "] is null: the PropertyBox cannot be identified");
+				}
+				identifiers.put(((Path<?>) property).relativeName(), value);
+			}
+		}
+		if (identifiers.isEmpty()) {
+			return Optional.empty();
+		}
+		return Optional.of(new InMemoryRowKey(identifiers.keySet().toArray(new String[0]),
+				identifiers.values().toArray()));
+	}
+
+	/**
+	 * Get the row key of given {@link PropertyBox}, requiring the property set to declare the identifier properties.
+	 * @param propertyBox The property box (not null)
+	 * @return The row key
+	 * @throws DataAccessException If no identifier property is available or an identifier value is <code>null</code>
+	 */
+	public static InMemoryRowKey requireKey(PropertyBox propertyBox) {
+		return getKey(propertyBox).orElseThrow(() -> new DataAccessException(
+				"The PropertyBox property set declares no identifier property: the PropertyBox cannot be identified"));
+	}
+
+}
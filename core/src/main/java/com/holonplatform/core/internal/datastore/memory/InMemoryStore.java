@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.holonplatform.core.datastore.transaction.TransactionStatus.TransactionException;
+
+/**
+ * The in-memory tables store.
+ * <p>
+ * The tables are immutable {@link InMemoryTable}s, replaced by each commit with new tables which share the unmodified
+ * rows with the previous ones, so that the readers always access a consistent snapshot without any locking and a
+ * commit costs <code>O(log n)</code> for each modified row. The commits are serialized.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public class InMemoryStore {
+
+	private final Object commitLock = new Object();
+
+	private final AtomicLong keySequence = new AtomicLong();
+
+	private volatile Map<String, InMemoryTable> tables = Collections.emptyMap();
+
+	/**
+	 * Get a read-only view of the current tables snapshot.
+	 * @return A new view with no pending changes
+	 */
+	public InMemoryView view() {
+		return new InMemoryView(tables);
+	}
+
+	/**
+	 * Generate a key for a row which provides no identifier value.
+	 * @return A new unique row key
+	 */
+	public Object generateKey() {
+		return Long.valueOf(keySequence.incrementAndGet());
+	}
+
+	/**
+	 * Execute a write operation and commit its changes atomically. The write operations are serialized.
+	 * @param <R> Result type
+	 * @param operation The operation to execute, which writes the changes in the provided view
+	 * @return The operation result
+	 */
+	public <R> R write(Function<InMemoryView, R> operation) {
+		synchronized (commitLock) {
+			final InMemoryView view = view();
+			final R result = operation.apply(view);
+			if (view.hasChanges()) {
+				tables = apply(tables, view.getChanges());
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Commit the pending changes of given view, using a <em>first committer wins</em> policy: if any row changed by the
+	 * view was changed by another commit after the view snapshot was taken, the commit fails.
+	 * @param view The view to commit
+	 * @throws TransactionException If a write conflict is detected
+	 */
+	public void commit(InMemoryView view) {
+		synchronized (commitLock) {
+			if (!view.hasChanges()) {
+				return;
+			}
+			final Map<String, InMemoryTable> current = tables;
+			for (Entry<String, Map<Object, Map<String, Object>>> table : view.getChanges().entrySet()) {
+				final InMemoryTable base = view.getSnapshot().getOrDefault(table.getKey(), InMemoryTable.EMPTY);
+				final InMemoryTable actual = current.getOrDefault(table.getKey(), InMemoryTable.EMPTY);
+				if (base == actual) {
+					continue;
+				}
+				for (Object key : table.getValue().keySet()) {
+					if (base.get(key) != actual.get(key)) {
+						throw new TransactionException("Write conflict on target [" + table.getKey() + "] for key "
+								+ key + ": the row was concurrently modified by another transaction");
+					}
+				}
+			}
+			tables = apply(current, view.getChanges());
+		}
+	}
+
+	/**
+	 * Remove all the rows of given target.
+	 * @param target The target name
+	 */
+	public void clear(String target) {
+		synchronized (commitLock) {
+			final Map<String, InMemoryTable> modified = new HashMap<>(tables);
+			modified.remove(target);
+			tables = Collections.unmodifiableMap(modified);
+		}
+	}
+
+	/**
+	 * Remove all the rows of all the targets.
+	 */
+	public void clear() {
+		synchronized (commitLock) {
+			tables = Collections.emptyMap();
+		}
+	}
+
+	private static Map<String, InMemoryTable> apply(Map<String, InMemoryTable> tables,
+			Map<String, Map<Object, Map<String, Object>>> changes) {
+		final Map<String, InMemoryTable> modified = new HashMap<>(tables);
+		for (Entry<String, Map<Object, Map<String, Object>>> rows : changes.entrySet()) {
+			final InMemoryTable table = tables.getOrDefault(rows.getKey(), InMemoryTable.EMPTY);
+			modified.put(rows.getKey(), InMemoryView.apply(table, rows.getValue()));
+		}
+		return Collections.unmodifiableMap(modified);
+	}
+
+}
@@ -0,0 +1,398 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable in-memory table, i.e. a read-only map of rows by key which iterates the rows in insertion order.
+ * <p>
+ * The table is a persistent data structure: {@link #with(Object, Map)} and {@link #without(Object)} return a new table
+ * which shares with the original one all the rows which were not modified, so that a write costs
+ * <code>O(log n)</code> instead of a copy of the whole table. The rows are stored in insertion order in a 32-way trie
+ * indexed by insertion slot, and the slot of each row key is obtained from a hash array mapped trie. The slots of the
+ * deleted rows are reclaimed when they exceed the live rows.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+final class InMemoryTable extends AbstractMap<Object, Map<String, Object>> {
+
+	private static final int BITS = 5;
+	private static final int WIDTH = 1 << BITS;
+	private static final int MASK = WIDTH - 1;
+
+	/**
+	 * The empty table
+	 */
+	static final InMemoryTable EMPTY = new InMemoryTable(null, null, 0, 0, 0);
+
+	/**
+	 * Row key to slot index
+	 */
+	private final IndexNode index;
+
+	/**
+	 * Slots trie root: each slot holds a row entry, or <code>null</code> for a deleted row
+	 */
+	private final Object[] slots;
+
+	/**
+	 * Slots trie depth, as the bit shift of the root level
+	 */
+	private final int shift;
+
+	/**
+	 * Number of allocated slots
+	 */
+	private final int slotCount;
+
+	/**
+	 * Number of rows
+	 */
+	private final int size;
+
+	private InMemoryTable(IndexNode index, Object[] slots, int shift, int slotCount, int size) {
+		super();
+		this.index = index;
+		this.slots = slots;
+		this.shift = shift;
+		this.slotCount = slotCount;
+		this.size = size;
+	}
+
+	/**
+	 * Get a table with given row, replacing the row with the same key, if any, in its position.
+	 * @param key The row key
+	 * @param row The row
+	 * @return The new table
+	 */
+	InMemoryTable with(Object key, Map<String, Object> row) {
+		final Entry<Object, Map<String, Object>> entry = new SimpleImmutableEntry<>(key, row);
+		final int hash = hash(key);
+		final int slot = (index != null) ? index.find(hash, key, 0) : -1;
+		if (slot > -1) {
+			return new InMemoryTable(index, set(slots, shift, slot, entry), shift, slotCount, size);
+		}
+		Object[] root = slots;
+		int rootShift = shift;
+		if (root == null) {
+			root = new Object[WIDTH];
+		} else if ((slotCount >>> BITS) >= (1 << rootShift)) {
+			// root overflow: add a level
+			final Object[] newRoot = new Object[WIDTH];
+			newRoot[0] = root;
+			root = newRoot;
+			rootShift += BITS;
+		}
+		final IndexNode newIndex = (index != null) ? index.put(hash, key, slotCount, 0)
+				: IndexNode.EMPTY.put(hash, key, slotCount, 0);
+		return new InMemoryTable(newIndex, set(root, rootShift, slotCount, entry), rootShift, slotCount + 1,
+				size + 1);
+	}
+
+	/**
+	 * Get a table without the row with given key.
+	 * @param key The row key
+	 * @return The new table, or this table if no row with given key is available
+	 */
+	InMemoryTable without(Object key) {
+		final int hash = hash(key);
+		final int slot = (index != null) ? index.find(hash, key, 0) : -1;
+		if (slot < 0) {
+			return this;
+		}
+		if (size == 1) {
+			return EMPTY;
+		}
+		final InMemoryTable table = new InMemoryTable(index.remove(hash, key, 0), set(slots, shift, slot, null), shift,
+				slotCount, size - 1);
+		// reclaim the deleted slots
+		return (table.slotCount > WIDTH && table.size < (table.slotCount >>> 1)) ? table.compact() : table;
+	}
+
+	/**
+	 * Rebuild this table with no deleted slots.
+	 * @return The compacted table
+	 */
+	private InMemoryTable compact() {
+		InMemoryTable table = EMPTY;
+		for (Entry<Object, Map<String, Object>> entry : entrySet()) {
+			table = table.with(entry.getKey(), entry.getValue());
+		}
+		return table;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractMap#get(java.lang.Object)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public Map<String, Object> get(Object key) {
+		final int slot = (index != null && key != null) ? index.find(hash(key), key, 0) : -1;
+		return (slot > -1) ? ((Entry<Object, Map<String, Object>>) leaf(slot)[slot & MASK]).getValue() : null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractMap#containsKey(java.lang.Object)
+	 */
+	@Override
+	public boolean containsKey(Object key) {
+		return index != null && key != null && index.find(hash(key), key, 0) > -1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractMap#size()
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractMap#entrySet()
+	 */
+	@Override
+	public Set<Entry<Object, Map<String, Object>>> entrySet() {
+		return new AbstractSet<Entry<Object, Map<String, Object>>>() {
+
+			@Override
+			public Iterator<Entry<Object, Map<String, Object>>> iterator() {
+				return new SlotIterator();
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+		};
+	}
+
+	/**
+	 * Get the slots trie leaf array which contains given slot.
+	 * @param slot The slot index
+	 * @return The leaf array
+	 */
+	private Object[] leaf(int slot) {
+		Object[] node = slots;
+		for (int level = shift; level > 0; level -= BITS) {
+			node = (Object[]) node[(slot >>> level) & MASK];
+		}
+		return node;
+	}
+
+	/**
+	 * Set the value of a slot, copying the path from given node to the slot leaf.
+	 * @param node The trie node, <code>null</code> if not yet allocated
+	 * @param level The node level bit shift
+	 * @param slot The slot index
+	 * @param value The slot value
+	 * @return The copied node
+	 */
+	private static Object[] set(Object[] node, int level, int slot, Object value) {
+		final Object[] copy = (node != null) ? node.clone() : new Object[WIDTH];
+		if (level == 0) {
+			copy[slot & MASK] = value;
+		} else {
+			final int i = (slot >>> level) & MASK;
+			copy[i] = set((Object[]) copy[i], level - BITS, slot, value);
+		}
+		return copy;
+	}
+
+	private static int hash(Object key) {
+		final int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Iterates the rows in slot order, skipping the deleted slots.
+	 */
+	private final class SlotIterator implements Iterator<Entry<Object, Map<String, Object>>> {
+
+		private int slot = 0;
+		private Object[] leaf;
+		private Entry<Object, Map<String, Object>> next;
+
+		SlotIterator() {
+			super();
+			advance();
+		}
+
+		@SuppressWarnings("unchecked")
+		private void advance() {
+			next = null;
+			while (next == null && slot < slotCount) {
+				if (leaf == null || (slot & MASK) == 0) {
+					leaf = leaf(slot);
+				}
+				next = (Entry<Object, Map<String, Object>>) leaf[slot & MASK];
+				slot++;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Entry<Object, Map<String, Object>> next() {
+			if (next == null) {
+				throw new NoSuchElementException();
+			}
+			final Entry<Object, Map<String, Object>> entry = next;
+			advance();
+			return entry;
+		}
+
+	}
+
+	/**
+	 * A leaf of the keys index: a row key and its slot, chained with the keys with the same hash.
+	 */
+	private static final class IndexLeaf {
+
+		final int hash;
+		final Object key;
+		final int slot;
+		final IndexLeaf next;
+
+		IndexLeaf(int hash, Object key, int slot, IndexLeaf next) {
+			super();
+			this.hash = hash;
+			this.key = key;
+			this.slot = slot;
+			this.next = next;
+		}
+
+		IndexLeaf without(Object k) {
+			if (key.equals(k)) {
+				return next;
+			}
+			final IndexLeaf n = (next != null) ? next.without(k) : null;
+			return (n == next) ? this : new IndexLeaf(hash, key, slot, n);
+		}
+
+	}
+
+	/**
+	 * A node of the keys index hash array mapped trie: the bitmap marks the populated positions, whose entries are
+	 * either {@link IndexNode}s or {@link IndexLeaf} chains.
+	 */
+	private static final class IndexNode {
+
+		static final IndexNode EMPTY = new IndexNode(0, new Object[0]);
+
+		final int bitmap;
+		final Object[] entries;
+
+		IndexNode(int bitmap, Object[] entries) {
+			super();
+			this.bitmap = bitmap;
+			this.entries = entries;
+		}
+
+		int find(int hash, Object key, int level) {
+			final int bit = 1 << ((hash >>> level) & MASK);
+			if ((bitmap & bit) == 0) {
+				return -1;
+			}
+			final Object entry = entries[Integer.bitCount(bitmap & (bit - 1))];
+			if (entry instanceof IndexNode) {
+				return ((IndexNode) entry).find(hash, key, level + BITS);
+			}
+			for (IndexLeaf leaf = (IndexLeaf) entry; leaf != null; leaf = leaf.next) {
+				if (leaf.hash == hash && leaf.key.equals(key)) {
+					return leaf.slot;
+				}
+			}
+			return -1;
+		}
+
+		IndexNode put(int hash, Object key, int slot, int level) {
+			final int bit = 1 << ((hash >>> level) & MASK);
+			final int i = Integer.bitCount(bitmap & (bit - 1));
+			if ((bitmap & bit) == 0) {
+				final Object[] copy = new Object[entries.length + 1];
+				System.arraycopy(entries, 0, copy, 0, i);
+				copy[i] = new IndexLeaf(hash, key, slot, null);
+				System.arraycopy(entries, i, copy, i + 1, entries.length - i);
+				return new IndexNode(bitmap | bit, copy);
+			}
+			final Object entry = entries[i];
+			final Object replacement;
+			if (entry instanceof IndexNode) {
+				replacement = ((IndexNode) entry).put(hash, key, slot, level + BITS);
+			} else {
+				final IndexLeaf leaf = (IndexLeaf) entry;
+				if (leaf.hash == hash) {
+					replacement = new IndexLeaf(hash, key, slot, leaf.without(key));
+				} else {
+					// split the position into a sub node
+					IndexNode node = EMPTY;
+					for (IndexLeaf l = leaf; l != null; l = l.next) {
+						node = node.put(l.hash, l.key, l.slot, level + BITS);
+					}
+					replacement = node.put(hash, key, slot, level + BITS);
+				}
+			}
+			final Object[] copy = entries.clone();
+			copy[i] = replacement;
+			return new IndexNode(bitmap, copy);
+		}
+
+		IndexNode remove(int hash, Object key, int level) {
+			final int bit = 1 << ((hash >>> level) & MASK);
+			if ((bitmap & bit) == 0) {
+				return this;
+			}
+			final int i = Integer.bitCount(bitmap & (bit - 1));
+			final Object entry = entries[i];
+			final Object replacement;
+			if (entry instanceof IndexNode) {
+				final IndexNode node = ((IndexNode) entry).remove(hash, key, level + BITS);
+				replacement = (node.bitmap != 0) ? node : null;
+			} else {
+				replacement = (((IndexLeaf) entry).hash == hash) ? ((IndexLeaf) entry).without(key) : entry;
+			}
+			if (replacement == entry) {
+				return this;
+			}
+			if (replacement == null) {
+				final Object[] copy = new Object[entries.length - 1];
+				System.arraycopy(entries, 0, copy, 0, i);
+				System.arraycopy(entries, i + 1, copy, i, entries.length - i - 1);
+				return new IndexNode(bitmap & ~bit, copy);
+			}
+			final Object[] copy = entries.clone();
+			copy[i] = replacement;
+			return new IndexNode(bitmap, copy);
+		}
+
+	}
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.function.Function;
+
+import com.holonplatform.core.datastore.transaction.Transaction;
+import com.holonplatform.core.datastore.transaction.TransactionConfiguration;
+import com.holonplatform.core.internal.datastore.transaction.AbstractDelegatedTransaction;
+import com.holonplatform.core.internal.datastore.transaction.AbstractTransaction;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * In-memory {@link Transaction}, which provides <em>snapshot isolation</em>.
+ * <p>
+ * The transaction reads the tables snapshot taken when the transaction was started, overlaid with its own pending
+ * changes. The changes are applied to the store only when the transaction is committed, and the commit fails with a
+ * {@link TransactionException} if any of the changed rows was modified by another transaction in the meantime.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public class InMemoryTransaction extends AbstractTransaction implements Transaction {
+
+	private final InMemoryStore store;
+
+	private final TransactionConfiguration configuration;
+
+	private final InMemoryView view;
+
+	/**
+	 * Constructor.
+	 * @param store The store (not null)
+	 * @param configuration The transaction configuration (not null)
+	 */
+	public InMemoryTransaction(InMemoryStore store, TransactionConfiguration configuration) {
+		super(true);
+		ObjectUtils.argumentNotNull(store, "Store must be not null");
+		ObjectUtils.argumentNotNull(configuration, "Transaction configuration must be not null");
+		this.store = store;
+		this.configuration = configuration;
+		this.view = store.view();
+	}
+
+	/**
+	 * Get the transaction configuration.
+	 * @return The transaction configuration
+	 */
+	public TransactionConfiguration getConfiguration() {
+		return configuration;
+	}
+
+	/**
+	 * Get the transaction view, which includes the transaction pending changes.
+	 * @return The transaction view
+	 * @throws IllegalTransactionStatusException If the transaction is already completed
+	 */
+	public InMemoryView getView() {
+		if (isCompleted()) {
+			throw new IllegalTransactionStatusException("The transaction is already completed");
+		}
+		return view;
+	}
+
+	/**
+	 * Execute a write operation within this transaction.
+	 * @param <R> Result type
+	 * @param operation The operation to execute, which writes the changes in the transaction view
+	 * @return The operation result
+	 * @throws IllegalTransactionStatusException If the transaction is already completed
+	 */
+	public <R> R write(Function<InMemoryView, R> operation) {
+		return operation.apply(getView());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.transaction.TransactionStatus#isActive()
+	 */
+	@Override
+	public boolean isActive() {
+		return !isCompleted();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.transaction.Transaction#commit()
+	 */
+	@Override
+	public synchronized boolean commit() throws TransactionException {
+		if (isCompleted()) {
+			throw new IllegalTransactionStatusException("The transaction is already completed");
+		}
+		if (isRollbackOnly()) {
+			rollback();
+			return false;
+		}
+		try {
+			store.commit(view);
+		} finally {
+			setCompleted();
+		}
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.transaction.Transaction#rollback()
+	 */
+	@Override
+	public synchronized void rollback() throws TransactionException {
+		if (isCompleted()) {
+			throw new IllegalTransactionStatusException("The transaction is already completed");
+		}
+		setCompleted();
+	}
+
+	/**
+	 * A {@link Transaction} which joins an existing {@link InMemoryTransaction}: the commit is delegated to the outer
+	 * transaction, while a rollback marks the outer transaction as rollback-only.
+	 */
+	public static class NestedTransaction extends AbstractDelegatedTransaction<InMemoryTransaction>
+			implements Transaction {
+
+		/**
+		 * Constructor.
+		 * @param delegate The outer transaction (not null)
+		 */
+		public NestedTransaction(InMemoryTransaction delegate) {
+			super(delegate);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.transaction.Transaction#commit()
+		 */
+		@Override
+		public boolean commit() throws TransactionException {
+			return false;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.transaction.Transaction#rollback()
+		 */
+		@Override
+		public void rollback() throws TransactionException {
+			getDelegate().setRollbackOnly();
+		}
+
+	}
+
+}
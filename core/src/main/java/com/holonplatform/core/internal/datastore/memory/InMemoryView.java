@@ -0,0 +1,165 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.holonplatform.core.exceptions.DataAccessException;
+
+/**
+ * A view of the in-memory tables as they were at a given snapshot, overlaid with a set of pending changes.
+ * <p>
+ * The pending changes are only visible through this view, until they are committed using
+ * {@link InMemoryStore#commit(InMemoryView)}. The view methods are synchronized, so that a view can be shared by the
+ * partitions of a parallel bulk operation.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public class InMemoryView {
+
+	private final Map<String, InMemoryTable> snapshot;
+
+	/**
+	 * Pending changes by target name: a <code>null</code> row value marks a deleted row
+	 */
+	private final Map<String, Map<Object, Map<String, Object>>> changes = new HashMap<>(4);
+
+	/**
+	 * The tables modified by the pending changes, by target name
+	 */
+	private final Map<String, InMemoryTable> modified = new HashMap<>(4);
+
+	/**
+	 * Constructor.
+	 * @param snapshot The tables snapshot
+	 */
+	InMemoryView(Map<String, InMemoryTable> snapshot) {
+		super();
+		this.snapshot = snapshot;
+	}
+
+	/**
+	 * Get the tables snapshot this view refers to.
+	 * @return The tables snapshot
+	 */
+	Map<String, InMemoryTable> getSnapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * Get the pending changes.
+	 * @return The pending changes by target name, <code>null</code> row values mark deleted rows
+	 */
+	Map<String, Map<Object, Map<String, Object>>> getChanges() {
+		return changes;
+	}
+
+	/**
+	 * Get whether this view has pending changes.
+	 * @return <code>true</code> if there are pending changes
+	 */
+	public synchronized boolean hasChanges() {
+		return !changes.isEmpty();
+	}
+
+	/**
+	 * Get the rows of given target, in insertion order.
+	 * @param target The target name
+	 * @return The target rows by key (read-only)
+	 */
+	public synchronized Map<Object, Map<String, Object>> getRows(String target) {
+		return table(target);
+	}
+
+	/**
+	 * Get a row of given target.
+	 * @param target The target name
+	 * @param key The row key
+	 * @return The row, <code>null</code> if not found
+	 */
+	public synchronized Map<String, Object> getRow(String target, Object key) {
+		return table(target).get(key);
+	}
+
+	/**
+	 * Insert a row.
+	 * @param target The target name
+	 * @param key The row key
+	 * @param row The row
+	 * @throws DataAccessException If a row with the same key already exists
+	 */
+	public synchronized void insert(String target, Object key, Map<String, Object> row) {
+		if (getRow(target, key) != null) {
+			throw new DataAccessException("Duplicate key " + key + " for target [" + target + "]");
+		}
+		put(target, key, row);
+	}
+
+	/**
+	 * Insert or replace a row.
+	 * @param target The target name
+	 * @param key The row key
+	 * @param row The row
+	 */
+	public synchronized void put(String target, Object key, Map<String, Object> row) {
+		changes.computeIfAbsent(target, t -> new LinkedHashMap<>()).put(key, row);
+		modified.put(target, table(target).with(key, row));
+	}
+
+	/**
+	 * Delete a row.
+	 * @param target The target name
+	 * @param key The row key
+	 * @return <code>true</code> if the row was found and deleted
+	 */
+	public synchronized boolean delete(String target, Object key) {
+		if (getRow(target, key) == null) {
+			return false;
+		}
+		changes.computeIfAbsent(target, t -> new LinkedHashMap<>()).put(key, null);
+		modified.put(target, table(target).without(key));
+		return true;
+	}
+
+	/**
+	 * Get the table of given target, including the pending changes.
+	 * @param target The target name
+	 * @return The target table
+	 */
+	private InMemoryTable table(String target) {
+		final InMemoryTable table = modified.get(target);
+		return (table != null) ? table : snapshot.getOrDefault(target, InMemoryTable.EMPTY);
+	}
+
+	/**
+	 * Apply given changes to a table.
+	 * @param table The table
+	 * @param changes The changes to apply, <code>null</code> row values mark deleted rows
+	 * @return The modified table
+	 */
+	static InMemoryTable apply(InMemoryTable table, Map<Object, Map<String, Object>> changes) {
+		InMemoryTable modified = table;
+		for (Map.Entry<Object, Map<String, Object>> change : changes.entrySet()) {
+			modified = (change.getValue() == null) ? modified.without(change.getKey())
+					: modified.with(change.getKey(), change.getValue());
+		}
+		return modified;
+	}
+
+}
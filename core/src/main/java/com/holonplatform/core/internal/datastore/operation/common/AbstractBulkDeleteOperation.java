@@ -15,8 +15,14 @@
  */
 package com.holonplatform.core.internal.datastore.operation.common;
 
+import java.util.Optional;
+import java.util.function.Function;
+
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.Datastore.OperationType;
 import com.holonplatform.core.datastore.operation.commons.BulkDeleteOperation;
 import com.holonplatform.core.datastore.operation.commons.BulkDeleteOperationConfiguration;
+import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.query.QueryFilter;
 
 /**
@@ -28,7 +34,7 @@ import com.holonplatform.core.query.QueryFilter;
  * @since 5.1.0
  */
 public abstract class AbstractBulkDeleteOperation<R, O extends BulkDeleteOperation<R, O>>
-		extends AbstractDatastoreOperation<O, BulkDeleteOperationConfiguration, BulkDeleteDefinition>
+		extends AbstractBulkOperation<R, O, BulkDeleteOperationConfiguration, BulkDeleteDefinition>
 		implements BulkDeleteOperation<R, O> {
 
 	private static final long serialVersionUID = -2715411015026648240L;
@@ -56,4 +62,35 @@ public abstract class AbstractBulkDeleteOperation<R, O extends BulkDeleteOperati
 		return getActualOperation();
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkDeleteOperation#partitions(java.lang.Iterable)
+	 */
+	@Override
+	public O partitions(Iterable<QueryFilter> partitions) {
+		ObjectUtils.argumentNotNull(partitions, "Partition filters must be not null");
+		for (QueryFilter partition : partitions) {
+			getDefinition().addPartition(partition);
+		}
+		return getActualOperation();
+	}
+
+	/**
+	 * Execute the operation one partition at a time, or concurrently according to the operation parallelism, using
+	 * given function to execute each partition, and aggregate the partition results.
+	 * <p>
+	 * The function is invoked with the filter of each partition, obtained combining the operation filter with the
+	 * partition filter. If no partition filter is configured, the function is invoked once with the operation filter.
+	 * </p>
+	 * @param partitionOperation The function to use to execute a partition (not null)
+	 * @return The aggregated operation result
+	 * @since 6.0.1
+	 * @see #executePartitions(OperationType, java.util.Iterator, Function)
+	 */
+	protected OperationResult executePartitions(Function<Optional<QueryFilter>, OperationResult> partitionOperation) {
+		return executePartitions(OperationType.DELETE,
+				getPartitionFilters(getConfiguration().getFilter(), getConfiguration().getPartitions()).iterator(),
+				partitionOperation);
+	}
+
 }
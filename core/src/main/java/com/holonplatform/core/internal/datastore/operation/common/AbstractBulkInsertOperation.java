@@ -16,10 +16,18 @@
 package com.holonplatform.core.internal.datastore.operation.common;
 
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import com.holonplatform.core.Path;
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.Datastore.OperationType;
 import com.holonplatform.core.datastore.operation.commons.BulkInsertOperation;
 import com.holonplatform.core.datastore.operation.commons.BulkInsertOperationConfiguration;
 import com.holonplatform.core.internal.utils.ObjectUtils;
@@ -37,7 +45,7 @@ import com.holonplatform.core.property.PropertySet;
  * @since 5.1.0
  */
 public abstract class AbstractBulkInsertOperation<R, O extends BulkInsertOperation<R, O>>
-		extends AbstractDatastoreOperation<O, BulkInsertOperationConfiguration, BulkInsertDefinition>
+		extends AbstractBulkOperation<R, O, BulkInsertOperationConfiguration, BulkInsertDefinition>
 		implements BulkInsertOperation<R, O> {
 
 	private static final long serialVersionUID = 7915272708400742596L;
@@ -79,6 +87,65 @@ public abstract class AbstractBulkInsertOperation<R, O extends BulkInsertOperati
 		return getActualOperation();
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperation#add(java.util.Iterator)
+	 */
+	@Override
+	public O add(Iterator<PropertyBox> values) {
+		ObjectUtils.argumentNotNull(values, "Values to add must be not null");
+		getDefinition().addValues(values);
+		return getActualOperation();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperation#add(java.util.Spliterator)
+	 */
+	@Override
+	public O add(Spliterator<PropertyBox> values) {
+		ObjectUtils.argumentNotNull(values, "Values to add must be not null");
+		getDefinition().addValues(Spliterators.iterator(values));
+		return getActualOperation();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperation#add(java.util.stream.Stream)
+	 */
+	@Override
+	public O add(Stream<PropertyBox> values) {
+		ObjectUtils.argumentNotNull(values, "Values to add must be not null");
+		getDefinition().addValues(values.iterator());
+		return getActualOperation();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperation#chunkSize(int)
+	 */
+	@Override
+	public O chunkSize(int chunkSize) {
+		getDefinition().setChunkSize(chunkSize);
+		return getActualOperation();
+	}
+
+	/**
+	 * Execute the operation one chunk of values at a time, or concurrently according to the operation parallelism,
+	 * using given function to insert each chunk, and aggregate the chunk results.
+	 * <p>
+	 * The aggregated result affected count is the sum of the chunk affected counts, which are available through
+	 * {@link OperationResult#getChunkAffectedCounts()}. The inserted keys of the chunk results, if any, are merged.
+	 * </p>
+	 * @param chunkOperation The function to use to insert a chunk of values (not null)
+	 * @return The aggregated operation result
+	 * @since 6.0.1
+	 * @see #executePartitions(OperationType, Iterator, Function)
+	 */
+	protected OperationResult executeChunks(Function<List<PropertyBox>, OperationResult> chunkOperation) {
+		return executePartitions(OperationType.INSERT, getConfiguration().getChunks(), chunkOperation);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.datastore.bulk.BulkInsertOperation#add(java.util.Map)
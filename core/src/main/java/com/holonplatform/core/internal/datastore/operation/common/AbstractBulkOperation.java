@@ -0,0 +1,433 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.operation.common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.Datastore.OperationType;
+import com.holonplatform.core.datastore.operation.commons.BulkOperationConfiguration;
+import com.holonplatform.core.datastore.operation.commons.ExecutableBulkOperation;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.query.QueryFilter;
+
+/**
+ * Abstract bulk operation implementation, which provides support for the partitioned operations execution.
+ * 
+ * @param <R> Operation result type
+ * @param <O> Actual operation type
+ * @param <C> Operation configuration type
+ * @param <D> Operation definition type
+ *
+ * @since 6.0.1
+ */
+public abstract class AbstractBulkOperation<R, O extends ExecutableBulkOperation<R, C, O>, C extends BulkOperationConfiguration, D extends BulkOperationDefinition>
+		extends AbstractDatastoreOperation<O, C, D> implements ExecutableBulkOperation<R, C, O> {
+
+	private static final long serialVersionUID = -1489468722950346744L;
+
+	/**
+	 * Constructor.
+	 * @param definition Operation definition (not null)
+	 */
+	public AbstractBulkOperation(D definition) {
+		super(definition);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.ExecutableBulkOperation#parallelism(int)
+	 */
+	@Override
+	public O parallelism(int parallelism) {
+		getDefinition().setParallelism(parallelism);
+		return getActualOperation();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.datastore.operation.commons.ExecutableBulkOperation#executor(java.util.concurrent.Executor)
+	 */
+	@Override
+	public O executor(Executor executor) {
+		getDefinition().setExecutor(executor);
+		return getActualOperation();
+	}
+
+	/**
+	 * Execute the operation partitions using given function, and aggregate the partition results.
+	 * <p>
+	 * When the operation parallelism is greater than <code>1</code>, at most <em>parallelism</em> partitions are
+	 * executed concurrently, using the configured {@link Executor} or a dedicated thread pool if not available. The
+	 * partitions are obtained from the iterator by the calling thread, only when an execution slot is available. If a
+	 * partition execution fails, no more partitions are executed and, when all the running partitions are completed, a
+	 * {@link DataAccessException} is thrown, with the first failure as cause and the others as suppressed exceptions.
+	 * </p>
+	 * <p>
+	 * The aggregated result affected count is the sum of the partition affected counts, which are available in
+	 * partition order through {@link OperationResult#getChunkAffectedCounts()}. The inserted keys of the partition
+	 * results, if any, are merged.
+	 * </p>
+	 * @param <P> Partition type
+	 * @param operationType Operation type
+	 * @param partitions Operation partitions (not null)
+	 * @param partitionOperation The function to use to execute a partition (not null)
+	 * @return The aggregated operation result
+	 * @throws DataAccessException If a partition execution failed
+	 */
+	protected <P> OperationResult executePartitions(OperationType operationType, Iterator<P> partitions,
+			Function<P, OperationResult> partitionOperation) {
+		ObjectUtils.argumentNotNull(partitions, "Partitions must be not null");
+		ObjectUtils.argumentNotNull(partitionOperation, "Partition operation function must be not null");
+		final List<OperationResult> results = new ArrayList<>();
+		final int parallelism = getDefinition().getParallelism();
+		if (parallelism < 2) {
+			while (partitions.hasNext()) {
+				results.add(partitionOperation.apply(partitions.next()));
+			}
+		} else {
+			final Executor configured = getDefinition().getExecutor().orElse(null);
+			final ExecutorService pool = (configured == null) ? createThreadPool(parallelism) : null;
+			try {
+				results.addAll(executeConcurrently((configured != null) ? configured : pool, parallelism,
+						partitions, partitionOperation));
+			} finally {
+				if (pool != null) {
+					pool.shutdown();
+				}
+			}
+		}
+		return aggregate(operationType, results);
+	}
+
+	/**
+	 * Asynchronously execute the operation partitions using given function, and aggregate the partition results.
+	 * <p>
+	 * At most <em>parallelism</em> partitions are executed concurrently, using the configured {@link Executor} or, if
+	 * not available, a dedicated thread pool when the parallelism is greater than <code>1</code> and the common
+	 * fork-join pool otherwise. No thread is blocked waiting for the partition executions: the completion of each
+	 * partition schedules the next ones, which are obtained from the iterator only when an execution slot is
+	 * available. So the configured executor can be safely shared with other operations, or have fewer threads than
+	 * the operation parallelism.
+	 * </p>
+	 * <p>
+	 * The partitions failures and the result aggregation are handled as described in
+	 * {@link #executePartitions(OperationType, Iterator, Function)}.
+	 * </p>
+	 * @param <P> Partition type
+	 * @param operationType Operation type
+	 * @param partitions Operation partitions (not null)
+	 * @param partitionOperation The function to use to execute a partition (not null)
+	 * @return The aggregated operation result {@link CompletableFuture}
+	 */
+	protected <P> CompletableFuture<OperationResult> executePartitionsAsync(OperationType operationType,
+			Iterator<P> partitions, Function<P, OperationResult> partitionOperation) {
+		ObjectUtils.argumentNotNull(partitions, "Partitions must be not null");
+		ObjectUtils.argumentNotNull(partitionOperation, "Partition operation function must be not null");
+		final int parallelism = Math.max(1, getDefinition().getParallelism());
+		final Executor configured = getDefinition().getExecutor().orElse(null);
+		final ExecutorService pool = (configured == null && parallelism > 1) ? createThreadPool(parallelism) : null;
+		final Executor executor = (configured != null) ? configured
+				: ((pool != null) ? pool : ForkJoinPool.commonPool());
+		final CompletableFuture<List<OperationResult>> execution = new AsyncPartitionsExecution<>(executor,
+				parallelism, partitions, partitionOperation).start();
+		if (pool != null) {
+			execution.whenComplete((r, e) -> pool.shutdown());
+		}
+		return execution.thenApply(results -> aggregate(operationType, results));
+	}
+
+	/**
+	 * Get the operation filters to use for each operation partition, when the operation is partitioned using a set of
+	 * partition filters.
+	 * @param filter The optional operation filter
+	 * @param partitions The partition filters
+	 * @return The operation filter of each partition, obtained combining the operation filter with the partition filter
+	 *         using the <code>AND</code> operator. If no partition filter is available, a single partition with the
+	 *         operation filter is returned
+	 */
+	protected static List<Optional<QueryFilter>> getPartitionFilters(Optional<QueryFilter> filter,
+			List<QueryFilter> partitions) {
+		if (partitions == null || partitions.isEmpty()) {
+			return Collections.singletonList(filter);
+		}
+		return partitions.stream().map(p -> Optional.of(filter.map(f -> f.and(p)).orElse(p)))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Execute the partitions concurrently.
+	 * @param executor Executor
+	 * @param parallelism Maximum number of concurrent partition executions
+	 * @param partitions Partitions
+	 * @param partitionOperation Partition operation
+	 * @return The partition results, in partition order
+	 */
+	private static <P> List<OperationResult> executeConcurrently(Executor executor, int parallelism,
+			Iterator<P> partitions, Function<P, OperationResult> partitionOperation) {
+		final Semaphore permits = new Semaphore(parallelism);
+		final AtomicBoolean failed = new AtomicBoolean(false);
+		final List<CompletableFuture<OperationResult>> executions = new ArrayList<>();
+		while (!failed.get() && partitions.hasNext()) {
+			final P partition = partitions.next();
+			try {
+				permits.acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				failed.set(true);
+				executions.add(failedExecution(e));
+				break;
+			}
+			if (failed.get()) {
+				permits.release();
+				break;
+			}
+			final CompletableFuture<OperationResult> execution = new CompletableFuture<>();
+			try {
+				executor.execute(() -> {
+					try {
+						execution.complete(partitionOperation.apply(partition));
+					} catch (Throwable t) {
+						failed.set(true);
+						execution.completeExceptionally(t);
+					} finally {
+						permits.release();
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				permits.release();
+				failed.set(true);
+				execution.completeExceptionally(e);
+			}
+			executions.add(execution);
+		}
+		// wait for completion
+		final List<OperationResult> results = new ArrayList<>(executions.size());
+		final List<Throwable> failures = new ArrayList<>();
+		for (CompletableFuture<OperationResult> execution : executions) {
+			try {
+				results.add(execution.join());
+			} catch (CompletionException e) {
+				failures.add((e.getCause() != null) ? e.getCause() : e);
+			}
+		}
+		if (!failures.isEmpty()) {
+			throw partitionsFailure(failures, executions.size());
+		}
+		return results;
+	}
+
+	/**
+	 * Build the exception to use to notify the failure of one or more partition executions.
+	 * @param failures Partition failures
+	 * @param executed Number of executed partitions
+	 * @return The exception, with the first failure as cause and the others as suppressed exceptions
+	 */
+	private static DataAccessException partitionsFailure(List<Throwable> failures, int executed) {
+		final DataAccessException exception = new DataAccessException("Bulk operation failed: [" + failures.size()
+				+ "] of [" + executed + "] executed partitions failed", failures.get(0));
+		failures.stream().skip(1).forEach(f -> exception.addSuppressed(f));
+		return exception;
+	}
+
+	/**
+	 * Create a failed partition execution.
+	 * @param failure Failure
+	 * @return The failed execution
+	 */
+	private static CompletableFuture<OperationResult> failedExecution(Throwable failure) {
+		final CompletableFuture<OperationResult> execution = new CompletableFuture<>();
+		execution.completeExceptionally(failure);
+		return execution;
+	}
+
+	/**
+	 * Aggregate the partition results.
+	 * @param operationType Operation type
+	 * @param results Partition results
+	 * @return The aggregated result
+	 */
+	private static OperationResult aggregate(OperationType operationType, List<OperationResult> results) {
+		final OperationResult.Builder result = OperationResult.builder().type(operationType);
+		long affectedCount = 0;
+		for (OperationResult partitionResult : results) {
+			if (partitionResult != null) {
+				affectedCount += partitionResult.getAffectedCount();
+				result.chunkAffectedCount(partitionResult.getAffectedCount());
+				partitionResult.getInsertedKeys().forEach((k, v) -> result.withInsertedKey(k, v));
+			}
+		}
+		return result.affectedCount(affectedCount).build();
+	}
+
+	/**
+	 * Asynchronous execution of a sequence of partitions, which never blocks a thread waiting for other partitions.
+	 * @param <P> Partition type
+	 */
+	private static final class AsyncPartitionsExecution<P> {
+
+		private final Executor executor;
+		private final int parallelism;
+		private final Iterator<P> partitions;
+		private final Function<P, OperationResult> partitionOperation;
+
+		private final List<CompletableFuture<OperationResult>> executions = new ArrayList<>();
+		private final CompletableFuture<List<OperationResult>> completion = new CompletableFuture<>();
+
+		private int running = 0;
+		private boolean failed = false;
+		private boolean scheduling = false;
+
+		AsyncPartitionsExecution(Executor executor, int parallelism, Iterator<P> partitions,
+				Function<P, OperationResult> partitionOperation) {
+			super();
+			this.executor = executor;
+			this.parallelism = parallelism;
+			this.partitions = partitions;
+			this.partitionOperation = partitionOperation;
+		}
+
+		/**
+		 * Start the execution.
+		 * @return The partition results, in partition order
+		 */
+		CompletableFuture<List<OperationResult>> start() {
+			schedule();
+			return completion;
+		}
+
+		/**
+		 * Schedule the next partitions, as long as an execution slot is available, and complete the execution when
+		 * no more partitions are available or a partition failed and no partition is running.
+		 */
+		private synchronized void schedule() {
+			// a partition executed by the scheduling thread itself is picked up by the running loop
+			if (scheduling || completion.isDone()) {
+				return;
+			}
+			scheduling = true;
+			try {
+				while (!failed && running < parallelism) {
+					final P partition;
+					try {
+						if (!partitions.hasNext()) {
+							break;
+						}
+						partition = partitions.next();
+					} catch (RuntimeException e) {
+						failed = true;
+						executions.add(failedExecution(e));
+						break;
+					}
+					final CompletableFuture<OperationResult> execution = new CompletableFuture<>();
+					executions.add(execution);
+					running++;
+					try {
+						executor.execute(() -> execute(partition, execution));
+					} catch (RejectedExecutionException e) {
+						running--;
+						failed = true;
+						execution.completeExceptionally(e);
+					}
+				}
+				if (running == 0) {
+					complete();
+				}
+			} finally {
+				scheduling = false;
+			}
+		}
+
+		/**
+		 * Execute a partition and schedule the next ones.
+		 * @param partition Partition
+		 * @param execution Partition execution
+		 */
+		private void execute(P partition, CompletableFuture<OperationResult> execution) {
+			boolean succeeded = false;
+			try {
+				execution.complete(partitionOperation.apply(partition));
+				succeeded = true;
+			} catch (Throwable t) {
+				execution.completeExceptionally(t);
+			}
+			synchronized (this) {
+				running--;
+				if (!succeeded) {
+					failed = true;
+				}
+			}
+			schedule();
+		}
+
+		/**
+		 * Complete the execution with the partition results, or with the partition failures.
+		 */
+		private void complete() {
+			final List<OperationResult> results = new ArrayList<>(executions.size());
+			final List<Throwable> failures = new ArrayList<>();
+			for (CompletableFuture<OperationResult> execution : executions) {
+				try {
+					results.add(execution.join());
+				} catch (CompletionException e) {
+					failures.add((e.getCause() != null) ? e.getCause() : e);
+				}
+			}
+			if (failures.isEmpty()) {
+				completion.complete(results);
+			} else if (parallelism < 2) {
+				// consistent with the sequential synchronous execution
+				completion.completeExceptionally(failures.get(0));
+			} else {
+				completion.completeExceptionally(partitionsFailure(failures, executions.size()));
+			}
+		}
+
+	}
+
+	/**
+	 * Create a thread pool to execute the operation partitions.
+	 * @param parallelism Pool size
+	 * @return A new thread pool
+	 */
+	private static ExecutorService createThreadPool(int parallelism) {
+		final AtomicInteger count = new AtomicInteger();
+		return Executors.newFixedThreadPool(parallelism, r -> {
+			final Thread thread = new Thread(r, "bulk-operation-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.operation.common;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * Abstract {@link BulkOperationDefinition} implementation.
+ *
+ * @since 6.0.1
+ */
+public abstract class AbstractBulkOperationDefinition extends AbstractDatastoreOperationDefinition
+		implements BulkOperationDefinition {
+
+	/*
+	 * Operation parallelism
+	 */
+	private int parallelism = 1;
+
+	/*
+	 * Operation executor
+	 */
+	private transient Executor executor;
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkOperationConfiguration#getParallelism()
+	 */
+	@Override
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkOperationConfiguration#getExecutor()
+	 */
+	@Override
+	public Optional<Executor> getExecutor() {
+		return Optional.ofNullable(executor);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.datastore.operation.common.BulkOperationDefinition#setParallelism(int)
+	 */
+	@Override
+	public void setParallelism(int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Operation parallelism must be greater than 0");
+		}
+		this.parallelism = parallelism;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.internal.datastore.operation.common.BulkOperationDefinition#setExecutor(java.util.concurrent
+	 * .Executor)
+	 */
+	@Override
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+}
@@ -15,10 +15,16 @@
  */
 package com.holonplatform.core.internal.datastore.operation.common;
 
+import java.util.Optional;
+import java.util.function.Function;
+
 import com.holonplatform.core.Path;
 import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.Datastore.OperationType;
 import com.holonplatform.core.datastore.operation.commons.BulkUpdateOperation;
 import com.holonplatform.core.datastore.operation.commons.BulkUpdateOperationConfiguration;
+import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.property.PropertyBox;
 import com.holonplatform.core.query.QueryFilter;
 
@@ -31,7 +37,7 @@ import com.holonplatform.core.query.QueryFilter;
  * @since 5.1.0
  */
 public abstract class AbstractBulkUpdateOperation<R, O extends BulkUpdateOperation<R, O>>
-		extends AbstractDatastoreOperation<O, BulkUpdateOperationConfiguration, BulkUpdateDefinition>
+		extends AbstractBulkOperation<R, O, BulkUpdateOperationConfiguration, BulkUpdateDefinition>
 		implements BulkUpdateOperation<R, O> {
 
 	private static final long serialVersionUID = 9003730522004258398L;
@@ -59,6 +65,37 @@ public abstract class AbstractBulkUpdateOperation<R, O extends BulkUpdateOperati
 		return getActualOperation();
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkUpdateOperation#partitions(java.lang.Iterable)
+	 */
+	@Override
+	public O partitions(Iterable<QueryFilter> partitions) {
+		ObjectUtils.argumentNotNull(partitions, "Partition filters must be not null");
+		for (QueryFilter partition : partitions) {
+			getDefinition().addPartition(partition);
+		}
+		return getActualOperation();
+	}
+
+	/**
+	 * Execute the operation one partition at a time, or concurrently according to the operation parallelism, using
+	 * given function to execute each partition, and aggregate the partition results.
+	 * <p>
+	 * The function is invoked with the filter of each partition, obtained combining the operation filter with the
+	 * partition filter. If no partition filter is configured, the function is invoked once with the operation filter.
+	 * </p>
+	 * @param partitionOperation The function to use to execute a partition (not null)
+	 * @return The aggregated operation result
+	 * @since 6.0.1
+	 * @see #executePartitions(OperationType, java.util.Iterator, Function)
+	 */
+	protected OperationResult executePartitions(Function<Optional<QueryFilter>, OperationResult> partitionOperation) {
+		return executePartitions(OperationType.UPDATE,
+				getPartitionFilters(getConfiguration().getFilter(), getConfiguration().getPartitions()).iterator(),
+				partitionOperation);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.datastore.bulk.BulkUpdateOperation#set(com.holonplatform.core.Path,
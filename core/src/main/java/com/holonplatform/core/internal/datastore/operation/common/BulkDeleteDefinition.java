@@ -23,7 +23,7 @@ import com.holonplatform.core.query.QueryFilter;
  *
  * @since 5.1.0
  */
-public interface BulkDeleteDefinition extends DatastoreOperationDefinition, BulkDeleteOperationConfiguration {
+public interface BulkDeleteDefinition extends BulkOperationDefinition, BulkDeleteOperationConfiguration {
 
 	/**
 	 * Add an operation restriction filter.
@@ -31,4 +31,11 @@ public interface BulkDeleteDefinition extends DatastoreOperationDefinition, Bulk
 	 */
 	void addFilter(QueryFilter filter);
 
+	/**
+	 * Add an operation partition filter.
+	 * @param partition The partition filter to add (not null)
+	 * @since 6.0.1
+	 */
+	void addPartition(QueryFilter partition);
+
 }
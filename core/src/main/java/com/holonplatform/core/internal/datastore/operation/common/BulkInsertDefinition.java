@@ -15,6 +15,8 @@
  */
 package com.holonplatform.core.internal.datastore.operation.common;
 
+import java.util.Iterator;
+
 import com.holonplatform.core.datastore.operation.commons.BulkInsertOperationConfiguration;
 import com.holonplatform.core.property.PropertyBox;
 import com.holonplatform.core.property.PropertySet;
@@ -24,7 +26,7 @@ import com.holonplatform.core.property.PropertySet;
  *
  * @since 5.1.0
  */
-public interface BulkInsertDefinition extends DatastoreOperationDefinition, BulkInsertOperationConfiguration {
+public interface BulkInsertDefinition extends BulkOperationDefinition, BulkInsertOperationConfiguration {
 
 	/**
 	 * Add a value to insert.
@@ -32,6 +34,20 @@ public interface BulkInsertDefinition extends DatastoreOperationDefinition, Bulk
 	 */
 	void addValue(PropertyBox value);
 
+	/**
+	 * Add the values provided by given iterator, which is read lazily when the operation chunks are obtained.
+	 * @param values The values iterator (not null)
+	 * @since 6.0.1
+	 */
+	void addValues(Iterator<PropertyBox> values);
+
+	/**
+	 * Set the maximum number of values to insert in a single operation chunk.
+	 * @param chunkSize The chunk size, <code>0</code> for no limit
+	 * @since 6.0.1
+	 */
+	void setChunkSize(int chunkSize);
+
 	/**
 	 * Set the {@link PropertySet} to be used for the operation values to include.
 	 * @param propertySet The property set to set (not null)
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.operation.common;
+
+import java.util.concurrent.Executor;
+
+import com.holonplatform.core.datastore.operation.commons.BulkOperationConfiguration;
+
+/**
+ * Bulk operation definition.
+ *
+ * @since 6.0.1
+ */
+public interface BulkOperationDefinition extends DatastoreOperationDefinition, BulkOperationConfiguration {
+
+	/**
+	 * Set the maximum number of operation partitions to execute concurrently.
+	 * @param parallelism The operation parallelism, must be greater than <code>0</code>
+	 */
+	void setParallelism(int parallelism);
+
+	/**
+	 * Set the {@link Executor} to use to execute the operation partitions concurrently.
+	 * @param executor The executor to set
+	 */
+	void setExecutor(Executor executor);
+
+}
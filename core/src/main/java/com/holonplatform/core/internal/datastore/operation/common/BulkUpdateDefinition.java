@@ -26,7 +26,7 @@ import com.holonplatform.core.query.QueryFilter;
  *
  * @since 5.1.0
  */
-public interface BulkUpdateDefinition extends DatastoreOperationDefinition, BulkUpdateOperationConfiguration {
+public interface BulkUpdateDefinition extends BulkOperationDefinition, BulkUpdateOperationConfiguration {
 
 	/**
 	 * Add an operation restriction filter.
@@ -34,6 +34,13 @@ public interface BulkUpdateDefinition extends DatastoreOperationDefinition, Bulk
 	 */
 	void addFilter(QueryFilter filter);
 
+	/**
+	 * Add an operation partition filter.
+	 * @param partition The partition filter to add (not null)
+	 * @since 6.0.1
+	 */
+	void addPartition(QueryFilter partition);
+
 	/**
 	 * Add an operation value.
 	 * @param path Path (not null)
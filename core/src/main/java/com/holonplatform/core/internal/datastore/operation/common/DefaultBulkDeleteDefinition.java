@@ -15,6 +15,9 @@
  */
 package com.holonplatform.core.internal.datastore.operation.common;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import com.holonplatform.core.internal.utils.ObjectUtils;
@@ -25,13 +28,18 @@ import com.holonplatform.core.query.QueryFilter;
  *
  * @since 5.1.0
  */
-public class DefaultBulkDeleteDefinition extends AbstractDatastoreOperationDefinition implements BulkDeleteDefinition {
+public class DefaultBulkDeleteDefinition extends AbstractBulkOperationDefinition implements BulkDeleteDefinition {
 
 	/*
 	 * Filter
 	 */
 	private QueryFilter filter;
 
+	/*
+	 * Partition filters
+	 */
+	private final List<QueryFilter> partitions = new ArrayList<>();
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.internal.datastore.bulk.BulkDeleteDefinition#addFilter(com.holonplatform.core.query.
@@ -47,6 +55,27 @@ public class DefaultBulkDeleteDefinition extends AbstractDatastoreOperationDefin
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkDeleteOperationConfiguration#getPartitions()
+	 */
+	@Override
+	public List<QueryFilter> getPartitions() {
+		return Collections.unmodifiableList(partitions);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.internal.datastore.operation.common.BulkDeleteDefinition#addPartition(com.holonplatform.core.
+	 * query.QueryFilter)
+	 */
+	@Override
+	public void addPartition(QueryFilter partition) {
+		ObjectUtils.argumentNotNull(partition, "Partition filter must be not null");
+		partitions.add(partition);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.datastore.bulk.BulkDeleteConfiguration#getFilter()
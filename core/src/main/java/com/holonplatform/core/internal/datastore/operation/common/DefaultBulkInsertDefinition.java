@@ -15,9 +15,12 @@
  */
 package com.holonplatform.core.internal.datastore.operation.common;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import com.holonplatform.core.internal.utils.ObjectUtils;
@@ -29,13 +32,23 @@ import com.holonplatform.core.property.PropertySet;
  *
  * @since 5.1.0
  */
-public class DefaultBulkInsertDefinition extends AbstractDatastoreOperationDefinition implements BulkInsertDefinition {
+public class DefaultBulkInsertDefinition extends AbstractBulkOperationDefinition implements BulkInsertDefinition {
 
 	/*
 	 * Operation values
 	 */
 	private final List<PropertyBox> values = new LinkedList<>();
 
+	/*
+	 * Streamed operation values
+	 */
+	private final List<Iterator<PropertyBox>> streamedValues = new LinkedList<>();
+
+	/*
+	 * Operation chunk size
+	 */
+	private int chunkSize = 0;
+
 	/*
 	 * Operation property set
 	 */
@@ -47,9 +60,53 @@ public class DefaultBulkInsertDefinition extends AbstractDatastoreOperationDefin
 	 */
 	@Override
 	public List<PropertyBox> getValues() {
+		// read and buffer any streamed value, for the implementations which do not execute the operation in chunks
+		if (!streamedValues.isEmpty()) {
+			for (Iterator<PropertyBox> source : streamedValues) {
+				while (source.hasNext()) {
+					final PropertyBox value = source.next();
+					if (value != null) {
+						values.add(value);
+					}
+				}
+			}
+			streamedValues.clear();
+		}
 		return Collections.unmodifiableList(values);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperationConfiguration#hasStreamedValues()
+	 */
+	@Override
+	public boolean hasStreamedValues() {
+		return !streamedValues.isEmpty();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperationConfiguration#getChunkSize()
+	 */
+	@Override
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperationConfiguration#getChunks()
+	 */
+	@Override
+	public Iterator<List<PropertyBox>> getChunks() {
+		final List<Iterator<PropertyBox>> sources = new ArrayList<>(streamedValues.size() + 1);
+		sources.add(values.iterator());
+		sources.addAll(streamedValues);
+		final int size = (chunkSize > 0) ? chunkSize
+				: (hasStreamedValues() ? DEFAULT_STREAMING_CHUNK_SIZE : Math.max(values.size(), 1));
+		return new ChunkIterator(sources.iterator(), size);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperationConfiguration#getPropertySet()
@@ -71,6 +128,29 @@ public class DefaultBulkInsertDefinition extends AbstractDatastoreOperationDefin
 		values.add(value);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.internal.datastore.operation.common.BulkInsertDefinition#addValues(java.util.Iterator)
+	 */
+	@Override
+	public void addValues(Iterator<PropertyBox> values) {
+		ObjectUtils.argumentNotNull(values, "Values must be not null");
+		streamedValues.add(values);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.datastore.operation.common.BulkInsertDefinition#setChunkSize(int)
+	 */
+	@Override
+	public void setChunkSize(int chunkSize) {
+		if (chunkSize < 0) {
+			throw new IllegalArgumentException("Chunk size must be greater or equal to 0");
+		}
+		this.chunkSize = chunkSize;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see
@@ -89,8 +169,63 @@ public class DefaultBulkInsertDefinition extends AbstractDatastoreOperationDefin
 	@Override
 	public void validate() throws InvalidExpressionException {
 		super.validate();
-		if (getValues().isEmpty()) {
+		if (values.isEmpty() && !hasStreamedValues()) {
 			throw new InvalidExpressionException("No values to insert");
 		}
 	}
+
+	/**
+	 * Iterator which reads the values of a sequence of value sources in chunks, skipping any <code>null</code> value.
+	 */
+	private static final class ChunkIterator implements Iterator<List<PropertyBox>> {
+
+		private final Iterator<Iterator<PropertyBox>> sources;
+		private final int chunkSize;
+
+		private Iterator<PropertyBox> current;
+		private List<PropertyBox> next;
+
+		ChunkIterator(Iterator<Iterator<PropertyBox>> sources, int chunkSize) {
+			super();
+			this.sources = sources;
+			this.chunkSize = chunkSize;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (next == null) {
+				next = readChunk();
+			}
+			return !next.isEmpty();
+		}
+
+		@Override
+		public List<PropertyBox> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			final List<PropertyBox> chunk = next;
+			next = null;
+			return chunk;
+		}
+
+		private List<PropertyBox> readChunk() {
+			final List<PropertyBox> chunk = new ArrayList<>(Math.min(chunkSize, 1024));
+			while (chunk.size() < chunkSize) {
+				while (current == null || !current.hasNext()) {
+					if (!sources.hasNext()) {
+						return chunk;
+					}
+					current = sources.next();
+				}
+				final PropertyBox value = current.next();
+				if (value != null) {
+					chunk.add(value);
+				}
+			}
+			return chunk;
+		}
+
+	}
+
 }
@@ -15,8 +15,10 @@
  */
 package com.holonplatform.core.internal.datastore.operation.common;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -31,13 +33,18 @@ import com.holonplatform.core.query.QueryFilter;
  *
  * @since 5.1.0
  */
-public class DefaultBulkUpdateDefinition extends AbstractDatastoreOperationDefinition implements BulkUpdateDefinition {
+public class DefaultBulkUpdateDefinition extends AbstractBulkOperationDefinition implements BulkUpdateDefinition {
 
 	/*
 	 * Filter
 	 */
 	private QueryFilter filter;
 
+	/*
+	 * Partition filters
+	 */
+	private final List<QueryFilter> partitions = new ArrayList<>();
+
 	/*
 	 * Operation values
 	 */
@@ -76,6 +83,27 @@ public class DefaultBulkUpdateDefinition extends AbstractDatastoreOperationDefin
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkUpdateOperationConfiguration#getPartitions()
+	 */
+	@Override
+	public List<QueryFilter> getPartitions() {
+		return Collections.unmodifiableList(partitions);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.internal.datastore.operation.common.BulkUpdateDefinition#addPartition(com.holonplatform.core.
+	 * query.QueryFilter)
+	 */
+	@Override
+	public void addPartition(QueryFilter partition) {
+		ObjectUtils.argumentNotNull(partition, "Partition filter must be not null");
+		partitions.add(partition);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.internal.datastore.bulk.BulkUpdateDefinition#addValue(com.holonplatform.core.Path,
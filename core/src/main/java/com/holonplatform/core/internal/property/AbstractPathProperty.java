@@ -20,12 +20,16 @@ import java.util.function.Consumer;
 
 import com.holonplatform.core.DataMappable;
 import com.holonplatform.core.Path;
+import com.holonplatform.core.internal.PathNames;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.property.PathProperty;
 import com.holonplatform.core.property.PathProperty.Builder;
 
 /**
  * Abstract {@link PathProperty} implementation and builder.
+ * <p>
+ * The property path full and relative names are computed once and cached, until the parent path changes.
+ * </p>
  * 
  * @param <T> Property value type
  * @param <P> Property type
@@ -36,7 +40,7 @@ import com.holonplatform.core.property.PathProperty.Builder;
  * @see DefaultPathProperty
  */
 public abstract class AbstractPathProperty<T, P extends PathProperty<T>, B extends Builder<T, P, B>>
-		extends AbstractProperty<T, P, B> implements Builder<T, P, B>, PathProperty<T> {
+		extends AbstractProperty<T, P, B> implements Builder<T, P, B>, PathProperty<T>, PathNames.Provider {
 
 	private static final long serialVersionUID = 2939113810465856718L;
 
@@ -50,6 +54,11 @@ public abstract class AbstractPathProperty<T, P extends PathProperty<T>, B exten
 	 */
 	private Path<?> parent;
 
+	/**
+	 * Cached path names
+	 */
+	private transient volatile PathNames pathNames;
+
 	/**
 	 * Constructor with default PropertyConfiguration.
 	 * @param name Property name, must be not <code>null</code>
@@ -109,9 +118,43 @@ public abstract class AbstractPathProperty<T, P extends PathProperty<T>, B exten
 			throw new UnsupportedOperationException("Cannot declare a parent path for a final path: " + this);
 		}
 		this.parent = parent;
+		this.pathNames = null;
 		return (B) this;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.PathNames.Provider#getPathNames()
+	 */
+	@Override
+	public PathNames getPathNames() {
+		final PathNames parentNames = (parent != null) ? PathNames.of(parent) : null;
+		PathNames names = pathNames;
+		if (names == null || !names.isChildOf(parentNames)) {
+			names = PathNames.create(this, parentNames);
+			pathNames = names;
+		}
+		return names;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.Path#fullName()
+	 */
+	@Override
+	public String fullName() {
+		return getPathNames().getFullName();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.Path#relativeName()
+	 */
+	@Override
+	public String relativeName() {
+		return getPathNames().getRelativeName();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.Expression#validate()
@@ -402,8 +402,12 @@ public abstract class AbstractProperty<T, P extends Property<T>, B extends Prope
 	 */
 	@Override
 	public int hashCode() {
-		return getHashCodeProvider().flatMap(provider -> provider.hashCode(getActualProperty()))
-				.orElse(super.hashCode());
+		if (hashCodeProvider == null) {
+			// fast path: identity hash code
+			return super.hashCode();
+		}
+		final Optional<Integer> hashCode = hashCodeProvider.hashCode(getActualProperty());
+		return hashCode.isPresent() ? hashCode.get() : super.hashCode();
 	}
 
 	/*
@@ -412,7 +416,11 @@ public abstract class AbstractProperty<T, P extends Property<T>, B extends Prope
 	 */
 	@Override
 	public boolean equals(Object obj) {
-		return getEqualsHandler().map(handler -> handler.equals(getActualProperty(), obj)).orElse(super.equals(obj));
+		if (equalsHandler == null) {
+			// fast path: identity equality
+			return this == obj;
+		}
+		return equalsHandler.equals(getActualProperty(), obj);
 	}
 
 	/**
@@ -15,9 +15,13 @@
  */
 package com.holonplatform.core.internal.property;
 
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -79,6 +83,11 @@ public abstract class AbstractPropertyBox implements PropertyBox {
 	 */
 	private EqualsHandler<PropertyBox> equalsHandler;
 
+	/**
+	 * Modified property slots, <code>null</code> if change tracking is not enabled
+	 */
+	private BitSet modifiedSlots;
+
 	/**
 	 * Constructor
 	 * @param propertySet PropertySet instance to use
@@ -145,6 +154,15 @@ public abstract class AbstractPropertyBox implements PropertyBox {
 		return getAndCheckPropertySet().contains(property);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertySet#indexOf(com.holonplatform.core.property.Property)
+	 */
+	@Override
+	public int indexOf(Property property) {
+		return getAndCheckPropertySet().indexOf(property);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see java.lang.Iterable#iterator()
@@ -442,7 +460,82 @@ public abstract class AbstractPropertyBox implements PropertyBox {
 		}
 
 		// set the value
-		setPropertyValue(property, checkupPropertyValue(property, value));
+		final T checked = checkupPropertyValue(property, value);
+		if (modifiedSlots != null) {
+			trackChange(property, checked);
+		}
+		setPropertyValue(property, checked);
+	}
+
+	/**
+	 * Mark given property as modified if given value is not equal to the current property value.
+	 * @param <T> Property and value type
+	 * @param property The property
+	 * @param value The value to set
+	 */
+	private <T> void trackChange(Property<T> property, T value) {
+		if (!Objects.equals(getPropertyValue(property), value)) {
+			final int slot = getPropertySet().indexOf(property);
+			if (slot >= 0) {
+				modifiedSlots.set(slot);
+			}
+		}
+	}
+
+	/**
+	 * Set whether to track the property value changes. Enabling change tracking clears any previously tracked change.
+	 * @param changeTrackingEnabled <code>true</code> to enable change tracking
+	 */
+	protected void setChangeTrackingEnabled(boolean changeTrackingEnabled) {
+		this.modifiedSlots = changeTrackingEnabled ? new BitSet() : null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBox#isChangeTrackingEnabled()
+	 */
+	@Override
+	public boolean isChangeTrackingEnabled() {
+		return modifiedSlots != null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBox#getModifiedProperties()
+	 */
+	@Override
+	public Set<Property> getModifiedProperties() {
+		if (modifiedSlots == null || modifiedSlots.isEmpty()) {
+			return Collections.emptySet();
+		}
+		final Set<Property> modified = new LinkedHashSet<>(modifiedSlots.cardinality());
+		int slot = 0;
+		for (Property property : getPropertySet()) {
+			if (modifiedSlots.get(slot++)) {
+				modified.add(property);
+			}
+		}
+		return Collections.unmodifiableSet(modified);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBox#isModified()
+	 */
+	@Override
+	public boolean isModified() {
+		return modifiedSlots != null && !modifiedSlots.isEmpty();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBox#resetChanges()
+	 */
+	@Override
+	public void resetChanges() {
+		if (modifiedSlots != null) {
+			modifiedSlots.clear();
+		}
 	}
 
 	/**
@@ -488,8 +581,11 @@ public abstract class AbstractPropertyBox implements PropertyBox {
 	 */
 	@Override
 	public int hashCode() {
-		return getHashCodeProvider().orElse(DefaultPropertyBoxEqualsHashCodeHandler.INSTANCE).hashCode(this)
-				.orElse(super.hashCode());
+		if (hashCodeProvider == null) {
+			// fast path: no custom provider
+			return DefaultPropertyBoxEqualsHashCodeHandler.identifierValuesHashCode(this, super.hashCode());
+		}
+		return hashCodeProvider.hashCode(this).orElse(super.hashCode());
 	}
 
 	/**
@@ -503,7 +599,15 @@ public abstract class AbstractPropertyBox implements PropertyBox {
 	 */
 	@Override
 	public boolean equals(Object obj) {
-		return getEqualsHandler().orElse(DefaultPropertyBoxEqualsHashCodeHandler.INSTANCE).equals(this, obj);
+		if (equalsHandler == null) {
+			// fast path: no custom handler
+			if (this == obj) {
+				return true;
+			}
+			return (obj instanceof PropertyBox)
+					&& DefaultPropertyBoxEqualsHashCodeHandler.identifierValuesEquals(this, (PropertyBox) obj);
+		}
+		return equalsHandler.equals(this, obj);
 	}
 
 	// ------- Abstract methods
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.property;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.internal.property.DefaultPropertyBox.DefaultPropertyValue;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.ImmutablePropertyBox;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.Property.PropertyAccessException;
+import com.holonplatform.core.property.Property.PropertyNotFoundException;
+import com.holonplatform.core.property.Property.PropertyReadOnlyException;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.property.VirtualProperty;
+
+/**
+ * Default {@link ImmutablePropertyBox} implementation, which stores the property values in a
+ * {@link PersistentSlotVector}, using the property set slot indexes.
+ * 
+ * @since 6.0.1
+ */
+@SuppressWarnings("rawtypes")
+public class DefaultImmutablePropertyBox extends AbstractPropertyBox implements ImmutablePropertyBox {
+
+	private final DefaultPropertySet<?> slots;
+
+	private final PersistentSlotVector values;
+
+	private final boolean invalidAllowed;
+
+	/**
+	 * Cached hash code, <code>0</code> if not computed yet
+	 */
+	private int hash;
+
+	/**
+	 * Constructor.
+	 * @param slots The property set
+	 * @param values The property values, one for each property set slot
+	 * @param invalidAllowed Whether to accept invalid values
+	 */
+	private DefaultImmutablePropertyBox(DefaultPropertySet<?> slots, PersistentSlotVector values,
+			boolean invalidAllowed) {
+		super(slots);
+		this.slots = slots;
+		this.values = values;
+		this.invalidAllowed = invalidAllowed;
+	}
+
+	/**
+	 * Create an empty {@link ImmutablePropertyBox} using given property set.
+	 * @param <P> Property type
+	 * @param propertySet The property set (not null)
+	 * @param invalidAllowed Whether to accept invalid values
+	 * @return A new {@link ImmutablePropertyBox}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <P extends Property> ImmutablePropertyBox create(Iterable<P> propertySet, boolean invalidAllowed) {
+		ObjectUtils.argumentNotNull(propertySet, "PropertySet must be not null");
+		final DefaultPropertySet<?> slots = IndexedPropertyBox.asIndexedPropertySet(
+				(propertySet instanceof PropertySet) ? (PropertySet<?>) propertySet : PropertySet.of(propertySet));
+		return new DefaultImmutablePropertyBox(slots, PersistentSlotVector.of(new Object[slots.size()]),
+				invalidAllowed);
+	}
+
+	/**
+	 * Create an {@link ImmutablePropertyBox} with the property set and the values of given {@link PropertyBox}.
+	 * @param propertyBox The source {@link PropertyBox} (not null)
+	 * @return An {@link ImmutablePropertyBox} with the same property set and values, or the given instance if it is
+	 *         already an {@link ImmutablePropertyBox}
+	 */
+	@SuppressWarnings("unchecked")
+	public static ImmutablePropertyBox of(PropertyBox propertyBox) {
+		ObjectUtils.argumentNotNull(propertyBox, "PropertyBox must be not null");
+		if (propertyBox instanceof ImmutablePropertyBox) {
+			return (ImmutablePropertyBox) propertyBox;
+		}
+		final DefaultPropertySet<?> slots = IndexedPropertyBox.asIndexedPropertySet(propertyBox);
+		final Object[] values = new Object[slots.size()];
+		for (int i = 0; i < values.length; i++) {
+			final Property property = slots.get(i);
+			if (!(property instanceof VirtualProperty)) {
+				values[i] = propertyBox.getValue(property);
+			}
+		}
+		return new DefaultImmutablePropertyBox(slots, PersistentSlotVector.of(values),
+				propertyBox.isInvalidAllowed());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.ImmutablePropertyBox#withValue(com.holonplatform.core.property.Property,
+	 * java.lang.Object)
+	 */
+	@Override
+	public <T> ImmutablePropertyBox withValue(Property<T> property, T value) {
+		ObjectUtils.argumentNotNull(property, "Property must be not null");
+		final int slot = getSlot(property);
+		if (slot < 0) {
+			throw new PropertyNotFoundException(property, "Property " + property + " not found in property set");
+		}
+		if (property.isReadOnly()) {
+			throw new PropertyReadOnlyException(property);
+		}
+		final PersistentSlotVector modified = values.set(slot, checkupPropertyValue(property, value));
+		return (modified == values) ? this : new DefaultImmutablePropertyBox(slots, modified, invalidAllowed);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.property.AbstractPropertyBox#setValue(com.holonplatform.core.property.
+	 * Property, java.lang.Object)
+	 */
+	@Override
+	public <T> void setValue(Property<T> property, T value) {
+		throw new UnsupportedOperationException("An ImmutablePropertyBox cannot be modified, use withValue");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.property.AbstractPropertyBox#isInvalidAllowed()
+	 */
+	@Override
+	public boolean isInvalidAllowed() {
+		return invalidAllowed;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.property.AbstractPropertyBox#setInvalidAllowed(boolean)
+	 */
+	@Override
+	public void setInvalidAllowed(boolean invalidAllowed) {
+		throw new UnsupportedOperationException("An ImmutablePropertyBox cannot be modified");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.internal.property.AbstractPropertyBox#getPropertyValue(com.holonplatform.core.property.
+	 * Property)
+	 */
+	@Override
+	protected <T> Object getPropertyValue(Property<T> property) throws PropertyAccessException {
+		final int slot = getSlot(property);
+		return (slot < 0) ? null : values.get(slot);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.internal.property.AbstractPropertyBox#setPropertyValue(com.holonplatform.core.property.
+	 * Property, java.lang.Object)
+	 */
+	@Override
+	protected <T> void setPropertyValue(Property<T> property, T value) throws PropertyAccessException {
+		throw new UnsupportedOperationException("An ImmutablePropertyBox cannot be modified, use withValue");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBox#propertyValues()
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> Stream<PropertyValue<T>> propertyValues() {
+		final Object[] current = values.toArray();
+		return IntStream.range(0, current.length).mapToObj(i -> new DefaultPropertyValue(slots.get(i), current[i]));
+	}
+
+	/**
+	 * Get the {@link PropertyBox} hash code, which is computed only once since the instance is immutable.
+	 * @return the hash code
+	 */
+	@Override
+	public int hashCode() {
+		int h = hash;
+		if (h == 0) {
+			h = super.hashCode();
+			hash = h;
+		}
+		return h;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		final Object[] current = values.toArray();
+		final StringBuilder sb = new StringBuilder();
+		sb.append("ImmutablePropertyBox - PROPERTIES: ");
+		sb.append(slots.stream().map(
+				p -> "[\"" + p.getName() + "\":" + ((p.getType() != null) ? p.getType().getName() : "NOTYPE") + "]")
+				.collect(Collectors.joining(",")));
+		sb.append(" - VALUES: ");
+		final String valuesString = IntStream.range(0, current.length).filter(i -> current[i] != null)
+				.mapToObj(i -> "(\"" + slots.get(i).getName() + "\"=" + current[i] + ")")
+				.collect(Collectors.joining(","));
+		sb.append(valuesString.isEmpty() ? "<EMPTY>" : valuesString);
+		return sb.toString();
+	}
+
+	/**
+	 * Get the slot index of given property.
+	 * @param property The property
+	 * @return The slot index, <code>-1</code> if the property is not part of the property set
+	 */
+	private int getSlot(Property<?> property) {
+		final int slot = slots.indexOf(property);
+		return (slot < values.size()) ? slot : -1;
+	}
+
+}
@@ -58,6 +58,7 @@ public class DefaultPathPropertySetAdapter implements PathPropertySetAdapter {
 
 	private final Map<Path, Property> pathPropertyCache;
 	private Map<String, Property> namePropertyCache;
+	private Map<String, Property> pathNameIndex;
 
 	/**
 	 * Constructor.
@@ -130,6 +131,10 @@ public class DefaultPathPropertySetAdapter implements PathPropertySetAdapter {
 	public <T> Optional<Property<T>> getProperty(Path<T> path) {
 		ObjectUtils.argumentNotNull(path, "Path must be not null");
 		return Optional.ofNullable(pathPropertyCache.computeIfAbsent(path, p -> {
+			// use the path name index with default path conversion and matching strategies
+			if (getPathConverter() == DefaultPathConverter.INSTANCE && getPathMatcher() == DefaultPathMatcher.INSTANCE) {
+				return getPathNameIndex().get(p.relativeName());
+			}
 			for (Property property : getPropertySet()) {
 				Optional<Path<?>> propertyPath = getPathConverter().convert(property);
 				if (propertyPath.isPresent() && getPathMatcher().match(propertyPath.get(), p)) {
@@ -140,6 +145,24 @@ public class DefaultPathPropertySetAdapter implements PathPropertySetAdapter {
 		}));
 	}
 
+	/**
+	 * Get the path name index, which binds the property set properties to their relative path name, using the
+	 * {@link DefaultPathConverter} to obtain the property path.
+	 * @return the path name index
+	 */
+	private Map<String, Property> getPathNameIndex() {
+		if (pathNameIndex == null) {
+			final Map<String, Property> index = new HashMap<>(getPropertySet().size());
+			for (Property property : getPropertySet()) {
+				if (property instanceof Path) {
+					index.putIfAbsent(((Path<?>) property).relativeName(), property);
+				}
+			}
+			pathNameIndex = index;
+		}
+		return pathNameIndex;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.property.PathPropertySetAdapter#getPath(com.holonplatform.core.property.Property)
@@ -199,11 +222,20 @@ public class DefaultPathPropertySetAdapter implements PathPropertySetAdapter {
 
 	/**
 	 * Get the name-property cache.
+	 * <p>
+	 * The cache is populated with all the property set properties which provide a name when it is first accessed.
+	 * </p>
 	 * @return the the name-property cache
 	 */
 	protected Map<String, Property> getNamePropertyCache() {
 		if (namePropertyCache == null) {
-			namePropertyCache = new HashMap<>(getPropertySet().size());
+			final Map<String, Property> cache = new HashMap<>(getPropertySet().size());
+			for (Property property : getPropertySet()) {
+				if (property.getName() != null) {
+					cache.putIfAbsent(property.getName(), property);
+				}
+			}
+			namePropertyCache = cache;
 		}
 		return namePropertyCache;
 	}
@@ -243,14 +275,7 @@ public class DefaultPathPropertySetAdapter implements PathPropertySetAdapter {
 	@Override
 	public Optional<Property<?>> getProperty(String name) {
 		ObjectUtils.argumentNotNull(name, "Property name must be not null");
-		return Optional.ofNullable(getNamePropertyCache().computeIfAbsent(name, pn -> {
-			for (Property property : getPropertySet()) {
-				if (pn.equals(property.getName())) {
-					return property;
-				}
-			}
-			return null;
-		}));
+		return Optional.ofNullable(getNamePropertyCache().get(name));
 	}
 
 	/*
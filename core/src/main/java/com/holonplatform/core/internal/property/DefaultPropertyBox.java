@@ -20,12 +20,14 @@ import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.holonplatform.core.internal.Logger;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.objects.EqualsHandler;
 import com.holonplatform.core.objects.HashCodeProvider;
 import com.holonplatform.core.property.Property;
 import com.holonplatform.core.property.Property.PropertyAccessException;
 import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertyConfigProperties;
 import com.holonplatform.core.property.PropertySet;
 
 /**
@@ -148,10 +150,43 @@ public class DefaultPropertyBox extends AbstractPropertyBox {
 
 	/**
 	 * Default {@link Builder}.
+	 * <p>
+	 * By default, a {@link DefaultPropertyBox} instance is built. If the
+	 * {@link PropertyConfigProperties#PROPERTY_BOX_INDEXED} configuration property
+	 * is enabled, an {@link IndexedPropertyBox} is built instead.
+	 * </p>
 	 */
 	public static class PropertyBoxBuilder implements Builder {
 
-		private final DefaultPropertyBox instance;
+		/**
+		 * Logger
+		 */
+		private static final Logger LOGGER = PropertyLogger.create();
+
+		/**
+		 * Whether to build {@link IndexedPropertyBox} instances
+		 */
+		private static final boolean INDEXED = readIndexedConfiguration();
+
+		/**
+		 * Read the {@link PropertyConfigProperties#PROPERTY_BOX_INDEXED} configuration property.
+		 * @return Whether to build {@link IndexedPropertyBox} instances
+		 */
+		private static boolean readIndexedConfiguration() {
+			try {
+				final boolean indexed = PropertyConfigProperties.builder().withDefaultPropertySources().build()
+						.isPropertyBoxIndexed();
+				LOGGER.debug(() -> "Indexed PropertyBox enabled: " + indexed);
+				return indexed;
+			} catch (Exception e) {
+				LOGGER.warn("Failed to read indexed PropertyBox configuration property", e);
+				return false;
+			}
+		}
+
+		private final AbstractPropertyBox instance;
+
+		private boolean trackChanges;
 
 		/**
 		 * Constructor.
@@ -159,8 +194,7 @@ public class DefaultPropertyBox extends AbstractPropertyBox {
 		 * @param properties Iterable set of properties
 		 */
 		public <P extends Property> PropertyBoxBuilder(Iterable<P> properties) {
-			super();
-			this.instance = new DefaultPropertyBox(properties);
+			this(INDEXED ? new IndexedPropertyBox(properties) : new DefaultPropertyBox(properties));
 		}
 
 		/**
@@ -170,8 +204,17 @@ public class DefaultPropertyBox extends AbstractPropertyBox {
 		 */
 		@SafeVarargs
 		public <P extends Property> PropertyBoxBuilder(P... properties) {
+			this(INDEXED ? new IndexedPropertyBox(properties) : new DefaultPropertyBox(properties));
+		}
+
+		/**
+		 * Constructor
+		 * @param instance The {@link PropertyBox} instance to build (not null)
+		 */
+		public PropertyBoxBuilder(AbstractPropertyBox instance) {
 			super();
-			this.instance = new DefaultPropertyBox(properties);
+			ObjectUtils.argumentNotNull(instance, "PropertyBox instance must be not null");
+			this.instance = instance;
 		}
 
 		/*
@@ -211,6 +254,16 @@ public class DefaultPropertyBox extends AbstractPropertyBox {
 			return this;
 		}
 
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertyBox.Builder#trackChanges(boolean)
+		 */
+		@Override
+		public Builder trackChanges(boolean trackChanges) {
+			this.trackChanges = trackChanges;
+			return this;
+		}
+
 		/*
 		 * (non-Javadoc)
 		 * 
@@ -262,6 +315,9 @@ public class DefaultPropertyBox extends AbstractPropertyBox {
 		 */
 		@Override
 		public PropertyBox build() {
+			if (trackChanges) {
+				instance.setChangeTrackingEnabled(true);
+			}
 			return instance;
 		}
 
@@ -0,0 +1,770 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.property;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.internal.property.DefaultPropertyBox.DefaultPropertyValue;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.Property.PropertyAccessException;
+import com.holonplatform.core.property.Property.PropertyNotFoundException;
+import com.holonplatform.core.property.Property.PropertyReadOnlyException;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertyBoxBatch;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.property.VirtualProperty;
+
+/**
+ * Default {@link PropertyBoxBatch} implementation.
+ * 
+ * @since 6.0.1
+ */
+@SuppressWarnings("rawtypes")
+public class DefaultPropertyBoxBatch implements PropertyBoxBatch {
+
+	private final DefaultPropertySet<?> slots;
+
+	private final Column[] columns;
+
+	private final int size;
+
+	/**
+	 * Constructor.
+	 * @param slots The batch property set
+	 * @param columns The batch columns, one for each property set slot
+	 * @param size The number of rows
+	 */
+	DefaultPropertyBoxBatch(DefaultPropertySet<?> slots, Column[] columns, int size) {
+		super();
+		this.slots = slots;
+		this.columns = columns;
+		this.size = size;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxBatch#getPropertySet()
+	 */
+	@Override
+	public PropertySet<?> getPropertySet() {
+		return slots;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxBatch#size()
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxBatch#isEmpty()
+	 */
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxBatch#get(int)
+	 */
+	@Override
+	public PropertyBox get(int row) {
+		return new RowPropertyBox(this, checkRow(row));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxBatch#getValue(int, com.holonplatform.core.property.Property)
+	 */
+	@Override
+	public <T> T getValue(int row, Property<T> property) {
+		return get(row).getValue(property);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxBatch#isNull(int, com.holonplatform.core.property.Property)
+	 */
+	@Override
+	public boolean isNull(int row, Property<?> property) {
+		if (property instanceof VirtualProperty) {
+			return getValue(row, property) == null;
+		}
+		final Column column = getColumn(property);
+		return column == null || column.isNull(checkRow(row));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxBatch#getLong(int, com.holonplatform.core.property.Property)
+	 */
+	@Override
+	public long getLong(int row, Property<?> property) {
+		if (property instanceof VirtualProperty) {
+			final Number value = (Number) getValue(row, property);
+			return (value != null) ? value.longValue() : 0L;
+		}
+		return getColumn(property).getLong(checkRow(row));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxBatch#getDouble(int, com.holonplatform.core.property.Property)
+	 */
+	@Override
+	public double getDouble(int row, Property<?> property) {
+		if (property instanceof VirtualProperty) {
+			final Number value = (Number) getValue(row, property);
+			return (value != null) ? value.doubleValue() : 0d;
+		}
+		return getColumn(property).getDouble(checkRow(row));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxBatch#getBoolean(int, com.holonplatform.core.property.Property)
+	 */
+	@Override
+	public boolean getBoolean(int row, Property<?> property) {
+		if (property instanceof VirtualProperty) {
+			return Boolean.TRUE.equals(getValue(row, property));
+		}
+		return getColumn(property).getBoolean(checkRow(row));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxBatch#stream()
+	 */
+	@Override
+	public Stream<PropertyBox> stream() {
+		return IntStream.range(0, size).mapToObj(row -> new RowPropertyBox(this, row));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public Iterator<PropertyBox> iterator() {
+		return new Iterator<PropertyBox>() {
+
+			private int row = 0;
+
+			@Override
+			public boolean hasNext() {
+				return row < size;
+			}
+
+			@Override
+			public PropertyBox next() {
+				if (row >= size) {
+					throw new NoSuchElementException();
+				}
+				return new RowPropertyBox(DefaultPropertyBoxBatch.this, row++);
+			}
+
+		};
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultPropertyBoxBatch [size=" + size + ", propertySet=" + slots + "]";
+	}
+
+	/**
+	 * Check the row index is in range.
+	 * @param row The row index
+	 * @return The row index
+	 * @throws IndexOutOfBoundsException If the row index is out of range
+	 */
+	private int checkRow(int row) {
+		if (row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("Row index " + row + " out of range [0," + size + ")");
+		}
+		return row;
+	}
+
+	/**
+	 * Get the column of given property.
+	 * @param property The property
+	 * @return The property column, <code>null</code> for a {@link VirtualProperty}
+	 * @throws PropertyNotFoundException If the property is not part of the batch property set
+	 */
+	private Column getColumn(Property<?> property) {
+		ObjectUtils.argumentNotNull(property, "Property must be not null");
+		final int slot = slots.indexOf(property);
+		if (slot < 0 || slot >= columns.length) {
+			throw new PropertyNotFoundException(property, "Property " + property + " not found in property set");
+		}
+		return columns[slot];
+	}
+
+	/**
+	 * Get a {@link Collector} which collects the {@link PropertyBox} elements of a stream into a
+	 * {@link PropertyBoxBatch}.
+	 * @param <P> Property type
+	 * @param propertySet The batch property set (not null)
+	 * @return The batch collector
+	 */
+	public static <P extends Property> Collector<PropertyBox, ?, PropertyBoxBatch> collector(Iterable<P> propertySet) {
+		final DefaultPropertySet<?> slots = asIndexedPropertySet(propertySet);
+		return Collector.of(() -> new DefaultBuilder(slots), DefaultBuilder::add, DefaultBuilder::addAll,
+				DefaultBuilder::build);
+	}
+
+	/**
+	 * Get the {@link DefaultPropertySet} to use as batch property set.
+	 * @param properties The properties (not null)
+	 * @return The indexed property set
+	 */
+	@SuppressWarnings("unchecked")
+	private static DefaultPropertySet<?> asIndexedPropertySet(Iterable<? extends Property> properties) {
+		ObjectUtils.argumentNotNull(properties, "PropertySet must be not null");
+		return IndexedPropertyBox.asIndexedPropertySet(
+				(properties instanceof PropertySet) ? (PropertySet<?>) properties : PropertySet.of(properties));
+	}
+
+	// ------- Row view
+
+	/**
+	 * A {@link PropertyBox} view of a batch row.
+	 */
+	private static final class RowPropertyBox extends AbstractPropertyBox {
+
+		private final DefaultPropertyBoxBatch batch;
+
+		private final int row;
+
+		RowPropertyBox(DefaultPropertyBoxBatch batch, int row) {
+			super(batch.slots);
+			this.batch = batch;
+			this.row = row;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see
+		 * com.holonplatform.core.internal.property.AbstractPropertyBox#getPropertyValue(com.holonplatform.core.property
+		 * .Property)
+		 */
+		@Override
+		protected <T> Object getPropertyValue(Property<T> property) throws PropertyAccessException {
+			final int slot = batch.slots.indexOf(property);
+			if (slot < 0 || slot >= batch.columns.length || batch.columns[slot] == null) {
+				return null;
+			}
+			return batch.columns[slot].get(row);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see
+		 * com.holonplatform.core.internal.property.AbstractPropertyBox#setPropertyValue(com.holonplatform.core.property
+		 * .Property, java.lang.Object)
+		 */
+		@Override
+		protected <T> void setPropertyValue(Property<T> property, T value) throws PropertyAccessException {
+			final int slot = batch.slots.indexOf(property);
+			if (slot < 0 || slot >= batch.columns.length) {
+				throw new PropertyNotFoundException(property, "Property " + property + " not found in property set");
+			}
+			if (batch.columns[slot] == null) {
+				throw new PropertyReadOnlyException(property);
+			}
+			batch.columns[slot].set(row, value);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertyBox#propertyValues()
+		 */
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T> Stream<PropertyValue<T>> propertyValues() {
+			return IntStream.range(0, batch.columns.length).filter(i -> batch.columns[i] != null)
+					.mapToObj(i -> new DefaultPropertyValue(batch.slots.get(i), batch.columns[i].get(row)));
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			final StringBuilder sb = new StringBuilder();
+			sb.append("PropertyBox - ROW: ");
+			sb.append(row);
+			sb.append(" - VALUES: ");
+			String values = IntStream.range(0, batch.columns.length)
+					.filter(i -> batch.columns[i] != null && !batch.columns[i].isNull(row))
+					.mapToObj(i -> "(\"" + batch.slots.get(i).getName() + "\"=" + batch.columns[i].get(row) + ")")
+					.collect(Collectors.joining(","));
+			sb.append(values.isEmpty() ? "<EMPTY>" : values);
+			return sb.toString();
+		}
+
+	}
+
+	// ------- Columns
+
+	/**
+	 * A batch column, which stores the values of a property.
+	 */
+	abstract static class Column {
+
+		/**
+		 * Get the value at given row.
+		 * @param row The row index
+		 * @return The value, <code>null</code> if none
+		 */
+		abstract Object get(int row);
+
+		/**
+		 * Set the value at given row.
+		 * @param row The row index
+		 * @param value The value to set, may be <code>null</code>
+		 */
+		abstract void set(int row, Object value);
+
+		/**
+		 * Get whether the value at given row is <code>null</code>.
+		 * @param row The row index
+		 * @return <code>true</code> if the value is <code>null</code>
+		 */
+		abstract boolean isNull(int row);
+
+		/**
+		 * Resize the column storage to given capacity.
+		 * @param capacity The new capacity
+		 */
+		abstract void resize(int capacity);
+
+		/**
+		 * Get the value at given row as a <code>long</code>.
+		 * @param row The row index
+		 * @return The value, <code>0</code> if <code>null</code>
+		 */
+		long getLong(int row) {
+			final Object value = get(row);
+			return (value != null) ? ((Number) value).longValue() : 0L;
+		}
+
+		/**
+		 * Get the value at given row as a <code>double</code>.
+		 * @param row The row index
+		 * @return The value, <code>0</code> if <code>null</code>
+		 */
+		double getDouble(int row) {
+			final Object value = get(row);
+			return (value != null) ? ((Number) value).doubleValue() : 0d;
+		}
+
+		/**
+		 * Get the value at given row as a <code>boolean</code>.
+		 * @param row The row index
+		 * @return The value, <code>false</code> if <code>null</code>
+		 */
+		boolean getBoolean(int row) {
+			final Object value = get(row);
+			return (value != null) && ((Boolean) value).booleanValue();
+		}
+
+		/**
+		 * Create a column for given property type.
+		 * @param type The property type
+		 * @param capacity The initial capacity
+		 * @return A new column
+		 */
+		static Column create(Class<?> type, int capacity) {
+			if (type == Long.class || type == long.class || type == Integer.class || type == int.class
+					|| type == Short.class || type == short.class || type == Byte.class || type == byte.class) {
+				return new LongColumn(type, capacity);
+			}
+			if (type == Double.class || type == double.class || type == Float.class || type == float.class) {
+				return new DoubleColumn(type, capacity);
+			}
+			if (type == Boolean.class || type == boolean.class) {
+				return new BooleanColumn();
+			}
+			return new ObjectColumn(capacity);
+		}
+
+	}
+
+	/**
+	 * Object array column.
+	 */
+	static final class ObjectColumn extends Column {
+
+		private Object[] values;
+
+		ObjectColumn(int capacity) {
+			super();
+			this.values = new Object[capacity];
+		}
+
+		@Override
+		Object get(int row) {
+			return values[row];
+		}
+
+		@Override
+		void set(int row, Object value) {
+			values[row] = value;
+		}
+
+		@Override
+		boolean isNull(int row) {
+			return values[row] == null;
+		}
+
+		@Override
+		void resize(int capacity) {
+			values = Arrays.copyOf(values, capacity);
+		}
+
+	}
+
+	/**
+	 * Integral numbers column, backed by a <code>long</code> array.
+	 */
+	static final class LongColumn extends Column {
+
+		private final Class<?> type;
+
+		private final BitSet present = new BitSet();
+
+		private long[] values;
+
+		LongColumn(Class<?> type, int capacity) {
+			super();
+			this.type = type;
+			this.values = new long[capacity];
+		}
+
+		@Override
+		Object get(int row) {
+			if (!present.get(row)) {
+				return null;
+			}
+			final long value = values[row];
+			if (type == Long.class || type == long.class) {
+				return Long.valueOf(value);
+			}
+			if (type == Integer.class || type == int.class) {
+				return Integer.valueOf((int) value);
+			}
+			if (type == Short.class || type == short.class) {
+				return Short.valueOf((short) value);
+			}
+			return Byte.valueOf((byte) value);
+		}
+
+		@Override
+		void set(int row, Object value) {
+			if (value == null) {
+				present.clear(row);
+				values[row] = 0L;
+			} else {
+				present.set(row);
+				values[row] = ((Number) value).longValue();
+			}
+		}
+
+		@Override
+		boolean isNull(int row) {
+			return !present.get(row);
+		}
+
+		@Override
+		long getLong(int row) {
+			return values[row];
+		}
+
+		@Override
+		double getDouble(int row) {
+			return values[row];
+		}
+
+		@Override
+		void resize(int capacity) {
+			values = Arrays.copyOf(values, capacity);
+		}
+
+	}
+
+	/**
+	 * Decimal numbers column, backed by a <code>double</code> array.
+	 */
+	static final class DoubleColumn extends Column {
+
+		private final Class<?> type;
+
+		private final BitSet present = new BitSet();
+
+		private double[] values;
+
+		DoubleColumn(Class<?> type, int capacity) {
+			super();
+			this.type = type;
+			this.values = new double[capacity];
+		}
+
+		@Override
+		Object get(int row) {
+			if (!present.get(row)) {
+				return null;
+			}
+			return (type == Float.class || type == float.class) ? Float.valueOf((float) values[row])
+					: Double.valueOf(values[row]);
+		}
+
+		@Override
+		void set(int row, Object value) {
+			if (value == null) {
+				present.clear(row);
+				values[row] = 0d;
+			} else {
+				present.set(row);
+				values[row] = ((Number) value).doubleValue();
+			}
+		}
+
+		@Override
+		boolean isNull(int row) {
+			return !present.get(row);
+		}
+
+		@Override
+		long getLong(int row) {
+			return (long) values[row];
+		}
+
+		@Override
+		double getDouble(int row) {
+			return values[row];
+		}
+
+		@Override
+		void resize(int capacity) {
+			values = Arrays.copyOf(values, capacity);
+		}
+
+	}
+
+	/**
+	 * Boolean column, backed by a {@link BitSet}.
+	 */
+	static final class BooleanColumn extends Column {
+
+		private final BitSet present = new BitSet();
+
+		private final BitSet values = new BitSet();
+
+		@Override
+		Object get(int row) {
+			return present.get(row) ? Boolean.valueOf(values.get(row)) : null;
+		}
+
+		@Override
+		void set(int row, Object value) {
+			present.set(row, value != null);
+			values.set(row, value != null && ((Boolean) value).booleanValue());
+		}
+
+		@Override
+		boolean isNull(int row) {
+			return !present.get(row);
+		}
+
+		@Override
+		boolean getBoolean(int row) {
+			return values.get(row);
+		}
+
+		@Override
+		void resize(int capacity) {
+			// BitSet grows automatically
+		}
+
+	}
+
+	// ------- Builder
+
+	/**
+	 * Default {@link PropertyBoxBatch} builder.
+	 */
+	public static class DefaultBuilder implements PropertyBoxBatch.Builder {
+
+		private static final int DEFAULT_CAPACITY = 16;
+
+		private final DefaultPropertySet<?> slots;
+
+		private final Column[] columns;
+
+		private int capacity;
+
+		private int size;
+
+		/**
+		 * Constructor.
+		 * @param <P> Property type
+		 * @param propertySet The batch property set (not null)
+		 */
+		public <P extends Property> DefaultBuilder(Iterable<P> propertySet) {
+			super();
+			this.slots = asIndexedPropertySet(propertySet);
+			this.capacity = DEFAULT_CAPACITY;
+			this.columns = new Column[slots.size()];
+			for (int i = 0; i < columns.length; i++) {
+				final Property<?> property = slots.get(i);
+				columns[i] = (property instanceof VirtualProperty) ? null
+						: Column.create(property.getType(), DEFAULT_CAPACITY);
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertyBoxBatch.Builder#capacity(int)
+		 */
+		@Override
+		public PropertyBoxBatch.Builder capacity(int capacity) {
+			ensureCapacity(capacity);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertyBoxBatch.Builder#add(com.holonplatform.core.property.PropertyBox)
+		 */
+		@SuppressWarnings("unchecked")
+		@Override
+		public PropertyBoxBatch.Builder add(PropertyBox propertyBox) {
+			ObjectUtils.argumentNotNull(propertyBox, "PropertyBox must be not null");
+			final int row = nextRow();
+			for (int i = 0; i < columns.length; i++) {
+				if (columns[i] != null) {
+					final Property property = slots.get(i);
+					if (propertyBox.contains(property)) {
+						columns[i].set(row, propertyBox.getValue(property));
+					}
+				}
+			}
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertyBoxBatch.Builder#addEmpty()
+		 */
+		@Override
+		public PropertyBoxBatch.Builder addEmpty() {
+			nextRow();
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertyBoxBatch.Builder#size()
+		 */
+		@Override
+		public int size() {
+			return size;
+		}
+
+		/**
+		 * Append all the rows of given builder, which must be bound to the same property set.
+		 * @param other The builder which rows to append
+		 * @return this
+		 */
+		DefaultBuilder addAll(DefaultBuilder other) {
+			ensureCapacity(size + other.size);
+			for (int row = 0; row < other.size; row++) {
+				final int target = nextRow();
+				for (int i = 0; i < columns.length; i++) {
+					if (columns[i] != null) {
+						columns[i].set(target, other.columns[i].get(row));
+					}
+				}
+			}
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertyBoxBatch.Builder#build()
+		 */
+		@Override
+		public PropertyBoxBatch build() {
+			// trim the columns storage
+			if (capacity > size) {
+				for (Column column : columns) {
+					if (column != null) {
+						column.resize(size);
+					}
+				}
+				capacity = size;
+			}
+			return new DefaultPropertyBoxBatch(slots, columns, size);
+		}
+
+		/**
+		 * Append a new row, with all <code>null</code> values.
+		 * @return The new row index
+		 */
+		private int nextRow() {
+			if (size == capacity) {
+				ensureCapacity((capacity < 1) ? DEFAULT_CAPACITY : capacity * 2);
+			}
+			return size++;
+		}
+
+		/**
+		 * Ensure the columns storage can hold at least given number of rows.
+		 * @param minimumCapacity The minimum capacity
+		 */
+		private void ensureCapacity(int minimumCapacity) {
+			if (minimumCapacity > capacity) {
+				for (Column column : columns) {
+					if (column != null) {
+						column.resize(minimumCapacity);
+					}
+				}
+				capacity = minimumCapacity;
+			}
+		}
+
+	}
+
+}
@@ -16,6 +16,8 @@
 package com.holonplatform.core.internal.property;
 
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
@@ -53,11 +55,7 @@ public enum DefaultPropertyBoxEqualsHashCodeHandler
 		if (!(other instanceof PropertyBox))
 			return false;
 		// compare identifier values, if available form both PropertyBox instances
-		return getIdentifierValues(pb)
-				.map(values -> getIdentifierValues((PropertyBox) other)
-						.map(otherValues -> Arrays.equals(values, otherValues)).orElse(false))
-				// defaults to Object equals
-				.orElse(pb == other);
+		return identifierValuesEquals(pb, (PropertyBox) other);
 	}
 
 	/*
@@ -67,21 +65,60 @@ public enum DefaultPropertyBoxEqualsHashCodeHandler
 	@Override
 	public Optional<Integer> hashCode(PropertyBox pb) {
 		// check identifier
-		return getIdentifierValues(pb).map(values -> Arrays.hashCode(values));
+		if (pb == null || pb.getIdentifiers().isEmpty()) {
+			return Optional.empty();
+		}
+		return Optional.of(identifierValuesHashCode(pb, 0));
 	}
 
 	/**
-	 * Get the identifier property values, if any.
-	 * @param pb Property value from which to obtain the identifier property values
-	 * @return An array of the identifier property values, or an empty Optional is no identifier property available
+	 * Get the hash code of the identifier property values of given {@link PropertyBox}, consistent with
+	 * {@link Arrays#hashCode(Object[])}, without allocating any intermediate object.
+	 * @param pb The PropertyBox (not null)
+	 * @param defaultHashCode The hash code to return if no identifier property is available
+	 * @return The identifier values hash code, or <code>defaultHashCode</code> if no identifier property is available
 	 */
-	@SuppressWarnings("rawtypes")
-	private static Optional<Object[]> getIdentifierValues(PropertyBox pb) {
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	static int identifierValuesHashCode(PropertyBox pb, int defaultHashCode) {
 		final Set<Property> identifiers = pb.getIdentifiers();
-		if (!identifiers.isEmpty()) {
-			return Optional.of(identifiers.stream().map(p -> pb.getValue((Property<?>) p)).toArray());
+		if (identifiers.isEmpty()) {
+			return defaultHashCode;
+		}
+		int result = 1;
+		for (Property identifier : identifiers) {
+			final Object value = pb.getValue(identifier);
+			result = 31 * result + ((value == null) ? 0 : value.hashCode());
+		}
+		return result;
+	}
+
+	/**
+	 * Checks whether the identifier property values of given {@link PropertyBox} instances are equal, without
+	 * allocating any intermediate object.
+	 * @param pb The first PropertyBox (not null)
+	 * @param other The second PropertyBox (not null)
+	 * @return If no identifier property is available for the first PropertyBox, whether the two PropertyBox instances
+	 *         are the same instance. Otherwise, whether the identifier values of the two PropertyBox instances are
+	 *         equal, in identifiers order.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	static boolean identifierValuesEquals(PropertyBox pb, PropertyBox other) {
+		final Set<Property> identifiers = pb.getIdentifiers();
+		if (identifiers.isEmpty()) {
+			// defaults to Object equals
+			return pb == other;
+		}
+		final Set<Property> otherIdentifiers = other.getIdentifiers();
+		if (identifiers.size() != otherIdentifiers.size()) {
+			return false;
+		}
+		final Iterator<Property> otherIterator = otherIdentifiers.iterator();
+		for (Property identifier : identifiers) {
+			if (!Objects.equals(pb.getValue(identifier), other.getValue(otherIterator.next()))) {
+				return false;
+			}
 		}
-		return Optional.empty();
+		return true;
 	}
 
 }
@@ -18,7 +18,9 @@ package com.holonplatform.core.internal.property;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -32,6 +34,13 @@ import com.holonplatform.core.property.PropertySet;
 /**
  * Default {@link PropertySet} implementation using an {@link ArrayList}
  * instance.
+ * <p>
+ * When the property set is built, each property is bound to a stable slot index,
+ * i.e. its position in the set, and a hash based index is used to perform
+ * property membership checks and slot lookups in constant time. The index is
+ * ignored and the default list scan is used if the property set is modified
+ * after it was built.
+ * </p>
  * 
  * @param <P> Concrete type of the properties contained in the set
  * 
@@ -52,6 +61,11 @@ public class DefaultPropertySet<P extends Property> extends ArrayList<P> impleme
 	 */
 	private MutableParameterSet configuration;
 
+	/**
+	 * Property slot index
+	 */
+	private transient PropertyIndex index;
+
 	/**
 	 * Default empty constructor
 	 */
@@ -87,7 +101,72 @@ public class DefaultPropertySet<P extends Property> extends ArrayList<P> impleme
 	 */
 	@Override
 	public boolean contains(Property property) {
-		return (property == null) ? false : super.contains(property);
+		return indexOf(property) >= 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * com.holonplatform.core.property.PropertySet#indexOf(com.holonplatform.core.
+	 * property.Property)
+	 */
+	@Override
+	public int indexOf(Property property) {
+		return (property == null) ? -1 : indexOf((Object) property);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.util.ArrayList#indexOf(java.lang.Object)
+	 */
+	@Override
+	public int indexOf(Object o) {
+		final PropertyIndex currentIndex = index;
+		if (currentIndex != null && currentIndex.modCount == modCount) {
+			final Integer slot = currentIndex.slots.get(o);
+			return (slot != null) ? slot.intValue() : -1;
+		}
+		return super.indexOf(o);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.util.ArrayList#set(int, java.lang.Object)
+	 */
+	@Override
+	public P set(int index, P element) {
+		// replacing an element does not change the list modCount: discard the index
+		this.index = null;
+		return super.set(index, element);
+	}
+
+	/**
+	 * Checks whether the property slot index is available and up to date, i.e. the
+	 * property set was not modified after the index was built.
+	 * @return <code>true</code> if the property slot index is available
+	 */
+	protected boolean isIndexed() {
+		final PropertyIndex currentIndex = index;
+		return currentIndex != null && currentIndex.modCount == modCount;
+	}
+
+	/**
+	 * Build the property slot index, binding each property of the set to its
+	 * current position.
+	 * <p>
+	 * This method should be invoked when the property set is built, since the
+	 * index is discarded as soon as the property set is modified.
+	 * </p>
+	 */
+	protected void buildIndex() {
+		final Map<Object, Integer> slots = new HashMap<>((int) (size() / 0.75f) + 1);
+		for (int i = 0; i < size(); i++) {
+			slots.putIfAbsent(get(i), i);
+		}
+		this.index = new PropertyIndex(slots, modCount);
 	}
 
 	/*
@@ -302,9 +381,33 @@ public class DefaultPropertySet<P extends Property> extends ArrayList<P> impleme
 		@Override
 		public PropertySet<P> build() {
 			instance.trimToSize();
+			instance.buildIndex();
 			return instance;
 		}
 
 	}
 
+	/**
+	 * Immutable property slot index.
+	 */
+	private static final class PropertyIndex {
+
+		/**
+		 * Property - slot mappings
+		 */
+		final Map<Object, Integer> slots;
+
+		/**
+		 * The property set modification count when the index was built
+		 */
+		final int modCount;
+
+		PropertyIndex(Map<Object, Integer> slots, int modCount) {
+			super();
+			this.slots = slots;
+			this.modCount = modCount;
+		}
+
+	}
+
 }
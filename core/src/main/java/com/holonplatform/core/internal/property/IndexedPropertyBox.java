@@ -0,0 +1,176 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.property;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.internal.property.DefaultPropertyBox.DefaultPropertyValue;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.Property.PropertyAccessException;
+import com.holonplatform.core.property.Property.PropertyNotFoundException;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+
+/**
+ * A {@link PropertyBox} implementation which stores the property values in an array, using the property slot index
+ * provided by the {@link DefaultPropertySet} to which the box is bound to locate the value of each property.
+ * <p>
+ * If the property set is not a {@link DefaultPropertySet}, a {@link DefaultPropertySet} copy of it, including any
+ * identifier property and configuration parameter, is used as box property set.
+ * </p>
+ * <p>
+ * Property value access is not synchronized: when a box instance is shared among threads, value access must be
+ * synchronized externally.
+ * </p>
+ *
+ * @since 6.0.1
+ *
+ * @see PropertyBox
+ * @see DefaultPropertySet#indexOf(Object)
+ */
+@SuppressWarnings("rawtypes")
+public class IndexedPropertyBox extends AbstractPropertyBox {
+
+	/**
+	 * Indexed property set
+	 */
+	private final DefaultPropertySet<?> slots;
+
+	/**
+	 * Property values, by property slot
+	 */
+	protected final Object[] values;
+
+	/**
+	 * Construct a new PropertyBox using given <code>properties</code> as property set.
+	 * @param properties Property set
+	 */
+	public IndexedPropertyBox(Property... properties) {
+		this(PropertySet.of(properties));
+	}
+
+	/**
+	 * Construct a new PropertyBox using given <code>properties</code> as property set.
+	 * @param <P> Actual property type
+	 * @param properties Property set
+	 */
+	public <P extends Property> IndexedPropertyBox(Iterable<P> properties) {
+		this((properties instanceof PropertySet) ? (PropertySet<P>) properties : PropertySet.of(properties));
+	}
+
+	/**
+	 * Construct a new PropertyBox using given <code>propertySet</code> as property set.
+	 * @param <P> Actual property type
+	 * @param propertySet Property set
+	 */
+	public <P extends Property> IndexedPropertyBox(PropertySet<P> propertySet) {
+		super(asIndexedPropertySet(propertySet));
+		this.slots = (DefaultPropertySet<?>) getPropertySet();
+		this.values = new Object[slots.size()];
+	}
+
+	/**
+	 * Get the slot index of given property.
+	 * @param property The property
+	 * @return The property slot index, <code>-1</code> if the property is not part of the box property set
+	 */
+	protected int getSlot(Property<?> property) {
+		final int slot = slots.indexOf(property);
+		return (slot < values.length) ? slot : -1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.internal.property.AbstractPropertyBox#getPropertyValue(com.holonplatform.core.property.
+	 * Property)
+	 */
+	@Override
+	protected <T> Object getPropertyValue(Property<T> property) throws PropertyAccessException {
+		final int slot = getSlot(property);
+		return (slot < 0) ? null : values[slot];
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.internal.property.AbstractPropertyBox#setPropertyValue(com.holonplatform.core.property.
+	 * Property, java.lang.Object)
+	 */
+	@Override
+	protected <T> void setPropertyValue(Property<T> property, T value) throws PropertyAccessException {
+		final int slot = getSlot(property);
+		if (slot < 0) {
+			throw new PropertyNotFoundException(property, "Property " + property + " not found in property set");
+		}
+		values[slot] = value;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBox#propertyValues()
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> Stream<PropertyValue<T>> propertyValues() {
+		return IntStream.range(0, values.length).mapToObj(i -> new DefaultPropertyValue(slots.get(i), values[i]));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("PropertyBox - PROPERTIES: ");
+		sb.append(getPropertySet().stream().map(
+				p -> "[\"" + p.getName() + "\":" + ((p.getType() != null) ? p.getType().getName() : "NOTYPE") + "]")
+				.collect(Collectors.joining(",")));
+		sb.append(" - VALUES: ");
+		String values = IntStream.range(0, this.values.length).filter(i -> this.values[i] != null)
+				.mapToObj(i -> "(\"" + slots.get(i).getName() + "\"=" + this.values[i] + ")")
+				.collect(Collectors.joining(","));
+		if (values.trim().equals("")) {
+			sb.append("<EMPTY>");
+		} else {
+			sb.append(values);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Get a {@link DefaultPropertySet} which provides the property slot index for given property set.
+	 * @param propertySet The property set (not null)
+	 * @return The indexed property set
+	 */
+	static DefaultPropertySet<?> asIndexedPropertySet(PropertySet<?> propertySet) {
+		ObjectUtils.argumentNotNull(propertySet, "PropertySet must be not null");
+		PropertySet<?> set = propertySet;
+		// unwrap the property box property set
+		while (set instanceof AbstractPropertyBox) {
+			set = ((AbstractPropertyBox) set).getPropertySet();
+		}
+		if (set instanceof DefaultPropertySet) {
+			return (DefaultPropertySet<?>) set;
+		}
+		return (DefaultPropertySet<?>) PropertySet.builderOf(set).build();
+	}
+
+}
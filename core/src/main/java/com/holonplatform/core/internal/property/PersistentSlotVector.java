@@ -0,0 +1,181 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.property;
+
+import java.util.Arrays;
+
+/**
+ * An immutable, fixed size vector of slot values, backed by a 32-way trie.
+ * <p>
+ * Setting a slot value returns a new vector which shares all the trie nodes but the ones on the path to the modified
+ * slot with this vector, so that the operation copies at most 32 references for each trie level, i.e.
+ * <code>O(log32(size))</code>.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+final class PersistentSlotVector {
+
+	private static final int BITS = 5;
+
+	private static final int WIDTH = 1 << BITS;
+
+	private static final int MASK = WIDTH - 1;
+
+	private final int size;
+
+	private final int shift;
+
+	private final Object[] root;
+
+	/**
+	 * Constructor.
+	 * @param size Number of slots
+	 * @param shift Bit shift of the root level
+	 * @param root Root node
+	 */
+	private PersistentSlotVector(int size, int shift, Object[] root) {
+		super();
+		this.size = size;
+		this.shift = shift;
+		this.root = root;
+	}
+
+	/**
+	 * Create a vector with given slot values.
+	 * @param values The slot values (not null)
+	 * @return A new vector
+	 */
+	static PersistentSlotVector of(Object[] values) {
+		// leaves
+		Object[] nodes = new Object[(values.length + MASK) >>> BITS];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = Arrays.copyOfRange(values, i << BITS, Math.min(values.length, (i + 1) << BITS));
+		}
+		if (nodes.length == 0) {
+			return new PersistentSlotVector(0, 0, new Object[0]);
+		}
+		// branches
+		int shift = 0;
+		while (nodes.length > 1) {
+			final Object[] parents = new Object[(nodes.length + MASK) >>> BITS];
+			for (int i = 0; i < parents.length; i++) {
+				parents[i] = Arrays.copyOfRange(nodes, i << BITS, Math.min(nodes.length, (i + 1) << BITS));
+			}
+			nodes = parents;
+			shift += BITS;
+		}
+		return new PersistentSlotVector(values.length, shift, (Object[]) nodes[0]);
+	}
+
+	/**
+	 * Get the number of slots.
+	 * @return The vector size
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Get the value of given slot.
+	 * @param index The slot index
+	 * @return The slot value
+	 * @throws IndexOutOfBoundsException If the slot index is out of range
+	 */
+	Object get(int index) {
+		checkIndex(index);
+		Object[] node = root;
+		for (int level = shift; level > 0; level -= BITS) {
+			node = (Object[]) node[(index >>> level) & MASK];
+		}
+		return node[index & MASK];
+	}
+
+	/**
+	 * Get a vector with given slot value, sharing the unchanged trie nodes with this vector.
+	 * @param index The slot index
+	 * @param value The slot value
+	 * @return A new vector, or this vector if the slot already holds given value instance
+	 * @throws IndexOutOfBoundsException If the slot index is out of range
+	 */
+	PersistentSlotVector set(int index, Object value) {
+		if (get(index) == value) {
+			return this;
+		}
+		return new PersistentSlotVector(size, shift, set(root, shift, index, value));
+	}
+
+	/**
+	 * Copy the slot values into an array.
+	 * @return The slot values
+	 */
+	Object[] toArray() {
+		final Object[] values = new Object[size];
+		copy(root, shift, values, 0);
+		return values;
+	}
+
+	/**
+	 * Check the slot index is in range.
+	 * @param index The slot index
+	 * @throws IndexOutOfBoundsException If the slot index is out of range
+	 */
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Slot index " + index + " out of range [0," + size + ")");
+		}
+	}
+
+	/**
+	 * Copy the path from given node to the slot leaf, setting the slot value.
+	 * @param node The node
+	 * @param level The node level shift
+	 * @param index The slot index
+	 * @param value The slot value
+	 * @return The copied node
+	 */
+	private static Object[] set(Object[] node, int level, int index, Object value) {
+		final Object[] copy = node.clone();
+		if (level == 0) {
+			copy[index & MASK] = value;
+		} else {
+			final int child = (index >>> level) & MASK;
+			copy[child] = set((Object[]) node[child], level - BITS, index, value);
+		}
+		return copy;
+	}
+
+	/**
+	 * Copy the slot values of given node into given array.
+	 * @param node The node
+	 * @param level The node level shift
+	 * @param target The target array
+	 * @param offset The target array offset
+	 * @return The target array offset after the copied values
+	 */
+	private static int copy(Object[] node, int level, Object[] target, int offset) {
+		if (level == 0) {
+			System.arraycopy(node, 0, target, offset, node.length);
+			return offset + node.length;
+		}
+		int position = offset;
+		for (Object child : node) {
+			position = copy((Object[]) child, level - BITS, target, position);
+		}
+		return position;
+	}
+
+}
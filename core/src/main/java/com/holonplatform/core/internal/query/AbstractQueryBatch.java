@@ -0,0 +1,125 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import com.holonplatform.core.query.CountAllProjection;
+import com.holonplatform.core.query.Query;
+import com.holonplatform.core.query.QueryBatch;
+import com.holonplatform.core.query.QueryProjection;
+
+/**
+ * Base {@link QueryBatch} implementation, which collects the batch queries as {@link QueryBatchEntry}s.
+ * <p>
+ * Concrete implementations provide the batch execution strategy through {@link #execute(List)}.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public abstract class AbstractQueryBatch implements QueryBatch {
+
+	private static final long serialVersionUID = -5043197384512609221L;
+
+	private final List<QueryBatchEntry<?, ?>> entries = new ArrayList<>();
+
+	private boolean executed = false;
+
+	/**
+	 * Execute the batch queries, completing each {@link QueryBatchEntry} with its results or with its execution
+	 * error. Any entry not completed by this method is completed with an execution error.
+	 * @param entries The batch entries, in the order they were added
+	 */
+	protected abstract void execute(List<QueryBatchEntry<?, ?>> entries);
+
+	/**
+	 * Add a batch entry.
+	 * @param <E> Entry type
+	 * @param entry The entry to add
+	 * @return The added entry
+	 */
+	protected <E extends QueryBatchEntry<?, ?>> E addEntry(E entry) {
+		if (executed) {
+			throw new IllegalStateException("The query batch was already executed");
+		}
+		entries.add(entry);
+		return entry;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryBatch#list(com.holonplatform.core.query.Query,
+	 * com.holonplatform.core.query.QueryProjection)
+	 */
+	@Override
+	public <R> Result<List<R>> list(Query query, QueryProjection<R> projection) {
+		return addEntry(new QueryBatchEntry<>(query, projection, false, values -> values));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryBatch#findOne(com.holonplatform.core.query.Query,
+	 * com.holonplatform.core.query.QueryProjection)
+	 */
+	@Override
+	public <R> Result<Optional<R>> findOne(Query query, QueryProjection<R> projection) {
+		return addEntry(new QueryBatchEntry<>(query, projection, true, QueryUtils.uniqueResult()));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryBatch#count(com.holonplatform.core.query.Query)
+	 */
+	@Override
+	public Result<Long> count(Query query) {
+		return addEntry(new QueryBatchEntry<Long, Long>(query, CountAllProjection.create(), true,
+				values -> QueryUtils.<Long>uniqueResult().apply(values).orElse(0L)));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryBatch#size()
+	 */
+	@Override
+	public int size() {
+		return entries.size();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryBatch#execute()
+	 */
+	@Override
+	public void execute() {
+		if (executed) {
+			throw new IllegalStateException("The query batch was already executed");
+		}
+		executed = true;
+		try {
+			execute(Collections.unmodifiableList(entries));
+		} finally {
+			for (QueryBatchEntry<?, ?> entry : entries) {
+				if (!entry.isDone()) {
+					entry.fail(new IllegalStateException("The batch query was not executed"));
+				}
+			}
+		}
+	}
+
+}
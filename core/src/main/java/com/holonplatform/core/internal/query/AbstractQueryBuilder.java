@@ -24,6 +24,7 @@ import com.holonplatform.core.query.QueryAggregation;
 import com.holonplatform.core.query.QueryBuilder;
 import com.holonplatform.core.query.QueryConfiguration;
 import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QueryKeyset;
 import com.holonplatform.core.query.QuerySort;
 
 /**
@@ -202,6 +203,17 @@ public abstract class AbstractQueryBuilder<Q extends QueryBuilder<Q>, D extends
 		return getActualBuilder();
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryBuilder#keyset(com.holonplatform.core.query.QueryKeyset)
+	 */
+	@Override
+	public Q keyset(QueryKeyset keyset) {
+		ObjectUtils.argumentNotNull(keyset, "QueryKeyset must be not null");
+		getQueryDefinition().setKeyset(keyset);
+		return getActualBuilder();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.query.AggregateProjection;
+
+/**
+ * Default {@link AggregateProjection} implementation.
+ * 
+ * @since 6.0.1
+ */
+public class DefaultAggregateProjection implements AggregateProjection {
+
+	private final List<TypedExpression<? extends Number>> expressions;
+
+	private final ValueType[] valueTypes;
+
+	/**
+	 * Constructor.
+	 * @param expressions The projection expressions (not null)
+	 * @param valueTypes The value types, one for each expression (not null)
+	 */
+	public DefaultAggregateProjection(List<TypedExpression<? extends Number>> expressions, ValueType[] valueTypes) {
+		super();
+		ObjectUtils.argumentNotNull(expressions, "Projection expressions must be not null");
+		ObjectUtils.argumentNotNull(valueTypes, "Value types must be not null");
+		if (expressions.size() != valueTypes.length) {
+			throw new IllegalArgumentException("Expected " + expressions.size() + " value types, got "
+					+ valueTypes.length);
+		}
+		this.expressions = Collections.unmodifiableList(new ArrayList<>(expressions));
+		this.valueTypes = Arrays.copyOf(valueTypes, valueTypes.length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.AggregateProjection#getExpressions()
+	 */
+	@Override
+	public List<TypedExpression<? extends Number>> getExpressions() {
+		return expressions;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.AggregateProjection#getValueType(int)
+	 */
+	@Override
+	public ValueType getValueType(int index) {
+		return valueTypes[index];
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.AggregateProjection#size()
+	 */
+	@Override
+	public int size() {
+		return valueTypes.length;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.Expression#validate()
+	 */
+	@Override
+	public void validate() throws InvalidExpressionException {
+		if (getExpressions().isEmpty()) {
+			throw new InvalidExpressionException("No projection expression");
+		}
+		for (TypedExpression<? extends Number> expression : getExpressions()) {
+			expression.validate();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		int hash = Arrays.hashCode(valueTypes);
+		for (TypedExpression<? extends Number> expression : expressions) {
+			hash = 31 * hash + QueryCanonicalizer.expressionHashCode(expression);
+		}
+		return hash;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		final DefaultAggregateProjection other = (DefaultAggregateProjection) obj;
+		if (!Arrays.equals(valueTypes, other.valueTypes)) {
+			return false;
+		}
+		for (int i = 0; i < valueTypes.length; i++) {
+			if (!QueryCanonicalizer.expressionEquals(expressions.get(i), other.expressions.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultAggregateProjection [expressions=" + expressions + ", valueTypes="
+				+ Arrays.toString(valueTypes) + "]";
+	}
+
+	/**
+	 * Default {@link AggregateProjection.Builder}.
+	 */
+	public static class DefaultBuilder implements AggregateProjection.Builder {
+
+		private final List<TypedExpression<? extends Number>> expressions = new ArrayList<>();
+
+		private final List<ValueType> valueTypes = new ArrayList<>();
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.query.AggregateProjection.Builder#longValue(com.holonplatform.core.
+		 * TypedExpression)
+		 */
+		@Override
+		public AggregateProjection.Builder longValue(TypedExpression<? extends Number> expression) {
+			return add(expression, ValueType.LONG);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.query.AggregateProjection.Builder#doubleValue(com.holonplatform.core.
+		 * TypedExpression)
+		 */
+		@Override
+		public AggregateProjection.Builder doubleValue(TypedExpression<? extends Number> expression) {
+			return add(expression, ValueType.DOUBLE);
+		}
+
+		private AggregateProjection.Builder add(TypedExpression<? extends Number> expression, ValueType valueType) {
+			ObjectUtils.argumentNotNull(expression, "Projection expression must be not null");
+			expressions.add(expression);
+			valueTypes.add(valueType);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.query.AggregateProjection.Builder#build()
+		 */
+		@Override
+		public AggregateProjection build() {
+			if (expressions.isEmpty()) {
+				throw new IllegalStateException("No projection expression was added");
+			}
+			return new DefaultAggregateProjection(expressions, valueTypes.toArray(new ValueType[0]));
+		}
+
+	}
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.query;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.query.AggregateProjection;
+import com.holonplatform.core.query.AggregateProjection.ValueType;
+import com.holonplatform.core.query.AggregateValues;
+
+/**
+ * Default {@link AggregateValues} implementation.
+ * <p>
+ * The values are stored in a single <code>long</code> array: {@link ValueType#DOUBLE} values are stored using their
+ * raw bits representation.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public class DefaultAggregateValues implements AggregateValues {
+
+	private final AggregateProjection projection;
+
+	private final long[] values;
+
+	private final BitSet nulls;
+
+	/**
+	 * Constructor.
+	 * @param projection The aggregate projection
+	 * @param values The values
+	 * @param nulls The <code>null</code> values indexes
+	 */
+	DefaultAggregateValues(AggregateProjection projection, long[] values, BitSet nulls) {
+		super();
+		this.projection = projection;
+		this.values = values;
+		this.nulls = nulls;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.AggregateValues#size()
+	 */
+	@Override
+	public int size() {
+		return values.length;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.AggregateValues#isNull(int)
+	 */
+	@Override
+	public boolean isNull(int index) {
+		checkIndex(index, values.length);
+		return nulls.get(index);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.AggregateValues#getLong(int)
+	 */
+	@Override
+	public long getLong(int index) {
+		checkIndex(index, values.length);
+		return (projection.getValueType(index) == ValueType.DOUBLE) ? (long) Double.longBitsToDouble(values[index])
+				: values[index];
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.AggregateValues#getDouble(int)
+	 */
+	@Override
+	public double getDouble(int index) {
+		checkIndex(index, values.length);
+		return (projection.getValueType(index) == ValueType.DOUBLE) ? Double.longBitsToDouble(values[index])
+				: values[index];
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(values) + nulls.hashCode();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		final DefaultAggregateValues other = (DefaultAggregateValues) obj;
+		return Arrays.equals(values, other.values) && nulls.equals(other.nulls);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("DefaultAggregateValues [");
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			if (nulls.get(i)) {
+				sb.append("null");
+			} else if (projection.getValueType(i) == ValueType.DOUBLE) {
+				sb.append(getDouble(i));
+			} else {
+				sb.append(values[i]);
+			}
+		}
+		return sb.append("]").toString();
+	}
+
+	private static void checkIndex(int index, int size) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	/**
+	 * Default {@link AggregateValues.Builder}.
+	 */
+	public static class DefaultBuilder implements AggregateValues.Builder {
+
+		private final AggregateProjection projection;
+
+		private final long[] values;
+
+		private final BitSet nulls;
+
+		/**
+		 * Constructor.
+		 * @param projection The aggregate projection (not null)
+		 */
+		public DefaultBuilder(AggregateProjection projection) {
+			super();
+			ObjectUtils.argumentNotNull(projection, "AggregateProjection must be not null");
+			this.projection = projection;
+			this.values = new long[projection.size()];
+			this.nulls = new BitSet(values.length);
+			this.nulls.set(0, values.length);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.query.AggregateValues.Builder#setLong(int, long)
+		 */
+		@Override
+		public AggregateValues.Builder setLong(int index, long value) {
+			checkIndex(index, values.length);
+			values[index] = (projection.getValueType(index) == ValueType.DOUBLE) ? Double.doubleToRawLongBits(value)
+					: value;
+			nulls.clear(index);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.query.AggregateValues.Builder#setDouble(int, double)
+		 */
+		@Override
+		public AggregateValues.Builder setDouble(int index, double value) {
+			checkIndex(index, values.length);
+			values[index] = (projection.getValueType(index) == ValueType.DOUBLE) ? Double.doubleToRawLongBits(value)
+					: (long) value;
+			nulls.clear(index);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.query.AggregateValues.Builder#set(int, java.lang.Number)
+		 */
+		@Override
+		public AggregateValues.Builder set(int index, Number value) {
+			checkIndex(index, values.length);
+			if (value == null) {
+				values[index] = 0L;
+				nulls.set(index);
+				return this;
+			}
+			return (projection.getValueType(index) == ValueType.DOUBLE) ? setDouble(index, value.doubleValue())
+					: setLong(index, value.longValue());
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.query.AggregateValues.Builder#build()
+		 */
+		@Override
+		public AggregateValues build() {
+			return new DefaultAggregateValues(projection, values.clone(), (BitSet) nulls.clone());
+		}
+
+	}
+
+}
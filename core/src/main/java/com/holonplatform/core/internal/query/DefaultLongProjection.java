@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.query;
+
+import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.query.LongProjection;
+
+/**
+ * Default {@link LongProjection} implementation.
+ * 
+ * @since 6.0.1
+ */
+public class DefaultLongProjection implements LongProjection {
+
+	private final TypedExpression<? extends Number> expression;
+
+	/**
+	 * Constructor.
+	 * @param expression The expression to project (not null)
+	 */
+	public DefaultLongProjection(TypedExpression<? extends Number> expression) {
+		super();
+		ObjectUtils.argumentNotNull(expression, "Projection expression must be not null");
+		this.expression = expression;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.LongProjection#getExpression()
+	 */
+	@Override
+	public TypedExpression<? extends Number> getExpression() {
+		return expression;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.Expression#validate()
+	 */
+	@Override
+	public void validate() throws InvalidExpressionException {
+		if (getExpression() == null) {
+			throw new InvalidExpressionException("Null projection expression");
+		}
+		getExpression().validate();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return QueryCanonicalizer.expressionHashCode(expression);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		return QueryCanonicalizer.expressionEquals(expression, ((DefaultLongProjection) obj).expression);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultLongProjection [expression=" + expression + "]";
+	}
+
+}
@@ -0,0 +1,631 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.query;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.CollectionConstantExpression;
+import com.holonplatform.core.ConstantConverterExpression;
+import com.holonplatform.core.Path;
+import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.internal.datastore.memory.InMemoryEvaluator;
+import com.holonplatform.core.internal.datastore.memory.InMemoryEvaluator.PathResolver;
+import com.holonplatform.core.internal.datastore.memory.InMemoryEvaluator.RowFunction;
+import com.holonplatform.core.internal.datastore.memory.InMemoryEvaluator.RowPredicate;
+import com.holonplatform.core.internal.query.QueryFilterVisitor.VisitableQueryFilter;
+import com.holonplatform.core.internal.query.filter.AndFilter;
+import com.holonplatform.core.internal.query.filter.BetweenFilter;
+import com.holonplatform.core.internal.query.filter.EqualFilter;
+import com.holonplatform.core.internal.query.filter.GreaterFilter;
+import com.holonplatform.core.internal.query.filter.InFilter;
+import com.holonplatform.core.internal.query.filter.LessFilter;
+import com.holonplatform.core.internal.query.filter.NotEqualFilter;
+import com.holonplatform.core.internal.query.filter.NotFilter;
+import com.holonplatform.core.internal.query.filter.NotInFilter;
+import com.holonplatform.core.internal.query.filter.NotNullFilter;
+import com.holonplatform.core.internal.query.filter.NullFilter;
+import com.holonplatform.core.internal.query.filter.OrFilter;
+import com.holonplatform.core.internal.query.filter.StringMatchFilter;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.query.PropertyBoxCollection;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QuerySort;
+
+/**
+ * Default {@link PropertyBoxCollection} implementation.
+ * <p>
+ * The filters are compiled using the {@link InMemoryEvaluator}. Before the evaluation, the filter is inspected to
+ * obtain the candidate elements from the declared indexes: the conjunctions are answered by the intersection of the
+ * indexed conditions candidates, while the disjunctions are answered by the union of the candidates only if all the
+ * conditions are indexed. The complete filter is then evaluated against the candidate elements only.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public class DefaultPropertyBoxCollection implements PropertyBoxCollection {
+
+	/**
+	 * {@link PathResolver} which resolves the paths against the {@link PropertyBox} properties.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static final PathResolver<PropertyBox> PROPERTY_BOX_RESOLVER = path -> {
+		if (path instanceof Property) {
+			final Property property = (Property) path;
+			return (box, group) -> box.contains(property) ? box.getValue(property) : valueByName(box, path);
+		}
+		return (box, group) -> valueByName(box, path);
+	};
+
+	/**
+	 * Marker of a filter operand which is not a constant value
+	 */
+	private static final Object NOT_CONSTANT = new Object();
+
+	private final PropertyBox[] elements;
+
+	private final Map<String, Index> indexes;
+
+	/**
+	 * Constructor.
+	 * @param elements The collection elements
+	 * @param indexes The indexes, bound to the path relative names
+	 */
+	private DefaultPropertyBoxCollection(PropertyBox[] elements, Map<String, Index> indexes) {
+		super();
+		this.elements = elements;
+		this.indexes = indexes;
+	}
+
+	/**
+	 * Compile given {@link QueryFilter} into a {@link PropertyBox} {@link Predicate}.
+	 * @param filter The filter to compile (not null)
+	 * @return The {@link PropertyBox} predicate
+	 */
+	public static Predicate<PropertyBox> predicate(QueryFilter filter) {
+		ObjectUtils.argumentNotNull(filter, "QueryFilter must be not null");
+		final RowPredicate<PropertyBox> predicate = InMemoryEvaluator.predicate(filter, PROPERTY_BOX_RESOLVER);
+		return box -> predicate.test(box, null);
+	}
+
+	/**
+	 * Compile given {@link QuerySort} into a {@link PropertyBox} {@link Comparator}.
+	 * @param sort The sort to compile (not null)
+	 * @return The {@link PropertyBox} comparator
+	 */
+	public static Comparator<PropertyBox> comparator(QuerySort sort) {
+		ObjectUtils.argumentNotNull(sort, "QuerySort must be not null");
+		return InMemoryEvaluator.comparator(sort, PROPERTY_BOX_RESOLVER);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public Iterator<PropertyBox> iterator() {
+		return Collections.unmodifiableList(Arrays.asList(elements)).iterator();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.PropertyBoxCollection#size()
+	 */
+	@Override
+	public int size() {
+		return elements.length;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.PropertyBoxCollection#isEmpty()
+	 */
+	@Override
+	public boolean isEmpty() {
+		return elements.length == 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.PropertyBoxCollection#stream()
+	 */
+	@Override
+	public Stream<PropertyBox> stream() {
+		return Arrays.stream(elements);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.PropertyBoxCollection#stream(com.holonplatform.core.query.QueryFilter)
+	 */
+	@Override
+	public Stream<PropertyBox> stream(QueryFilter filter) {
+		ObjectUtils.argumentNotNull(filter, "QueryFilter must be not null");
+		final Predicate<PropertyBox> predicate = predicate(filter);
+		final BitSet candidates = candidates(filter);
+		final IntStream positions = (candidates != null) ? candidates.stream() : IntStream.range(0, elements.length);
+		return positions.mapToObj(i -> elements[i]).filter(predicate);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.PropertyBoxCollection#list(com.holonplatform.core.query.QueryFilter)
+	 */
+	@Override
+	public List<PropertyBox> list(QueryFilter filter) {
+		return stream(filter).collect(Collectors.toList());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.PropertyBoxCollection#list(com.holonplatform.core.query.QueryFilter,
+	 * com.holonplatform.core.query.QuerySort)
+	 */
+	@Override
+	public List<PropertyBox> list(QueryFilter filter, QuerySort sort) {
+		final Comparator<PropertyBox> comparator = comparator(sort);
+		return ((filter != null) ? stream(filter) : stream()).sorted(comparator).collect(Collectors.toList());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.PropertyBoxCollection#count(com.holonplatform.core.query.QueryFilter)
+	 */
+	@Override
+	public long count(QueryFilter filter) {
+		return stream(filter).count();
+	}
+
+	/**
+	 * Get the positions of the candidate elements for given filter, using the declared indexes.
+	 * @param filter The filter
+	 * @return The candidate elements positions, <code>null</code> if the filter cannot be answered by the indexes
+	 */
+	private BitSet candidates(QueryFilter filter) {
+		if (indexes.isEmpty() || !(filter instanceof VisitableQueryFilter)) {
+			return null;
+		}
+		return ((VisitableQueryFilter) filter).accept(new IndexLookup(), null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultPropertyBoxCollection [size=" + elements.length + ", indexes=" + indexes.keySet() + "]";
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static Object valueByName(PropertyBox box, Path<?> path) {
+		final String name = path.relativeName();
+		for (Property property : box) {
+			if (property instanceof Path && name.equals(((Path<?>) property).relativeName())) {
+				return box.getValue(property);
+			}
+		}
+		return null;
+	}
+
+	// ------- indexes
+
+	/**
+	 * A path values index, which binds each value to the positions of the elements which provide such value.
+	 * <code>null</code> values are not indexed, since they never satisfy an indexed condition.
+	 */
+	private abstract static class Index {
+
+		/**
+		 * Add an element position to the index.
+		 * @param value The element path value (not null)
+		 * @param position The element position
+		 */
+		abstract void add(Object value, int position);
+
+		/**
+		 * Lookup the positions of the elements which value is equal to given value.
+		 * @param value The value
+		 * @param result The lookup result to update
+		 */
+		abstract void lookup(Object value, BitSet result);
+
+		/**
+		 * Lookup the positions of the elements which value is within given range.
+		 * @param from The lower bound, <code>null</code> for none
+		 * @param fromInclusive Whether the lower bound is included
+		 * @param to The upper bound, <code>null</code> for none
+		 * @param toInclusive Whether the upper bound is included
+		 * @return The lookup result, <code>null</code> if the index does not support range lookups
+		 */
+		abstract BitSet range(Object from, boolean fromInclusive, Object to, boolean toInclusive);
+
+	}
+
+	/**
+	 * Hash {@link Index}. The numeric values are normalized so that the values which are equal regardless of their type
+	 * are bound to the same key.
+	 */
+	private static final class HashIndex extends Index {
+
+		private final Map<Object, Positions> positions = new HashMap<>();
+
+		@Override
+		void add(Object value, int position) {
+			positions.computeIfAbsent(key(value), k -> new Positions()).add(position);
+		}
+
+		@Override
+		void lookup(Object value, BitSet result) {
+			final Positions p = positions.get(key(value));
+			if (p != null) {
+				p.setTo(result);
+			}
+		}
+
+		@Override
+		BitSet range(Object from, boolean fromInclusive, Object to, boolean toInclusive) {
+			return null;
+		}
+
+		private static Object key(Object value) {
+			if (!(value instanceof Number) || value instanceof Long) {
+				return value;
+			}
+			if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+				return Long.valueOf(((Number) value).longValue());
+			}
+			final BigDecimal decimal;
+			if (value instanceof BigDecimal) {
+				decimal = (BigDecimal) value;
+			} else if (value instanceof BigInteger) {
+				decimal = new BigDecimal((BigInteger) value);
+			} else {
+				final double d = ((Number) value).doubleValue();
+				if (Double.isNaN(d) || Double.isInfinite(d)) {
+					return Double.valueOf(d);
+				}
+				decimal = BigDecimal.valueOf(d);
+			}
+			final BigDecimal normalized = (decimal.signum() == 0) ? BigDecimal.ZERO : decimal.stripTrailingZeros();
+			if (normalized.scale() <= 0 && normalized.precision() - normalized.scale() < 19) {
+				return Long.valueOf(normalized.longValue());
+			}
+			return normalized;
+		}
+
+	}
+
+	/**
+	 * Sorted {@link Index}, which supports range lookups.
+	 */
+	private static final class SortedIndex extends Index {
+
+		private final NavigableMap<Object, Positions> positions = new TreeMap<>(InMemoryEvaluator.VALUE_ORDER);
+
+		@Override
+		void add(Object value, int position) {
+			positions.computeIfAbsent(value, k -> new Positions()).add(position);
+		}
+
+		@Override
+		void lookup(Object value, BitSet result) {
+			final Positions p = positions.get(value);
+			if (p != null) {
+				p.setTo(result);
+			}
+		}
+
+		@Override
+		BitSet range(Object from, boolean fromInclusive, Object to, boolean toInclusive) {
+			final NavigableMap<Object, Positions> range;
+			if (from != null && to != null) {
+				// an empty range is not a valid sub map
+				final int comparison = positions.comparator().compare(from, to);
+				if (comparison > 0 || (comparison == 0 && !(fromInclusive && toInclusive))) {
+					return new BitSet();
+				}
+				range = positions.subMap(from, fromInclusive, to, toInclusive);
+			} else if (from != null) {
+				range = positions.tailMap(from, fromInclusive);
+			} else if (to != null) {
+				range = positions.headMap(to, toInclusive);
+			} else {
+				range = positions;
+			}
+			final BitSet result = new BitSet();
+			for (Positions p : range.values()) {
+				p.setTo(result);
+			}
+			return result;
+		}
+
+	}
+
+	/**
+	 * Growable list of element positions.
+	 */
+	private static final class Positions {
+
+		private int[] values = new int[1];
+		private int size;
+
+		void add(int position) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = position;
+		}
+
+		void setTo(BitSet result) {
+			for (int i = 0; i < size; i++) {
+				result.set(values[i]);
+			}
+		}
+
+	}
+
+	/**
+	 * {@link QueryFilterVisitor} which obtains the candidate elements positions of a filter from the indexes. A
+	 * <code>null</code> result means that the filter cannot be answered by the indexes.
+	 */
+	private final class IndexLookup implements QueryFilterVisitor<BitSet, Void> {
+
+		private Index index(TypedExpression<?> expression) {
+			return (expression instanceof Path) ? indexes.get(((Path<?>) expression).relativeName()) : null;
+		}
+
+		private Object constant(Optional<? extends TypedExpression<?>> operand) {
+			return operand
+					.filter(o -> o instanceof ConstantConverterExpression && !(o instanceof CollectionConstantExpression))
+					.map(o -> (Object) ((ConstantConverterExpression<?, ?>) o).getValue()).orElse(NOT_CONSTANT);
+		}
+
+		private BitSet equal(Index index, Object value) {
+			final BitSet result = new BitSet();
+			if (value != null) {
+				index.lookup(value, result);
+			}
+			return result;
+		}
+
+		@Override
+		public BitSet visit(NullFilter filter, Void context) {
+			return null;
+		}
+
+		@Override
+		public BitSet visit(NotNullFilter filter, Void context) {
+			return null;
+		}
+
+		@Override
+		public <T> BitSet visit(EqualFilter<T> filter, Void context) {
+			final Index index = index(filter.getLeftOperand());
+			final Object value = constant(filter.getRightOperand());
+			return (index == null || value == NOT_CONSTANT) ? null : equal(index, value);
+		}
+
+		@Override
+		public <T> BitSet visit(NotEqualFilter<T> filter, Void context) {
+			return null;
+		}
+
+		@Override
+		public <T> BitSet visit(GreaterFilter<T> filter, Void context) {
+			final Index index = index(filter.getLeftOperand());
+			final Object value = constant(filter.getRightOperand());
+			if (index == null || value == NOT_CONSTANT) {
+				return null;
+			}
+			return (value == null) ? new BitSet() : index.range(value, filter.isIncludeEquals(), null, false);
+		}
+
+		@Override
+		public <T> BitSet visit(LessFilter<T> filter, Void context) {
+			final Index index = index(filter.getLeftOperand());
+			final Object value = constant(filter.getRightOperand());
+			if (index == null || value == NOT_CONSTANT) {
+				return null;
+			}
+			return (value == null) ? new BitSet() : index.range(null, false, value, filter.isIncludeEquals());
+		}
+
+		@Override
+		public <T> BitSet visit(InFilter<T> filter, Void context) {
+			final Index index = index(filter.getLeftOperand());
+			final Collection<?> values = filter.getRightOperand()
+					.filter(o -> o instanceof CollectionConstantExpression)
+					.map(o -> ((CollectionConstantExpression<?>) o).getValue()).orElse(null);
+			if (index == null || values == null) {
+				return null;
+			}
+			final BitSet result = new BitSet();
+			for (Object value : values) {
+				if (value != null) {
+					index.lookup(value, result);
+				}
+			}
+			return result;
+		}
+
+		@Override
+		public <T> BitSet visit(NotInFilter<T> filter, Void context) {
+			return null;
+		}
+
+		@Override
+		public <T> BitSet visit(BetweenFilter<T> filter, Void context) {
+			final Index index = index(filter.getLeftOperand());
+			if (index == null) {
+				return null;
+			}
+			final Object from = filter.getFromValue();
+			final Object to = filter.getToValue();
+			return (from == null || to == null) ? new BitSet() : index.range(from, true, to, true);
+		}
+
+		@Override
+		public BitSet visit(StringMatchFilter filter, Void context) {
+			return null;
+		}
+
+		@Override
+		public BitSet visit(AndFilter filter, Void context) {
+			BitSet result = null;
+			for (QueryFilter f : filter.getComposition()) {
+				final BitSet candidates = (f instanceof VisitableQueryFilter)
+						? ((VisitableQueryFilter) f).accept(this, context) : null;
+				if (candidates != null) {
+					if (result == null) {
+						result = candidates;
+					} else {
+						result.and(candidates);
+					}
+				}
+			}
+			return result;
+		}
+
+		@Override
+		public BitSet visit(OrFilter filter, Void context) {
+			final BitSet result = new BitSet();
+			for (QueryFilter f : filter.getComposition()) {
+				final BitSet candidates = (f instanceof VisitableQueryFilter)
+						? ((VisitableQueryFilter) f).accept(this, context) : null;
+				if (candidates == null) {
+					return null;
+				}
+				result.or(candidates);
+			}
+			return result;
+		}
+
+		@Override
+		public BitSet visit(NotFilter filter, Void context) {
+			return null;
+		}
+
+	}
+
+	// ------- builder
+
+	/**
+	 * Default {@link PropertyBoxCollection.Builder}.
+	 */
+	public static class DefaultBuilder implements PropertyBoxCollection.Builder {
+
+		private final List<PropertyBox> elements = new ArrayList<>();
+
+		private final Map<String, Path<?>> hashIndexes = new HashMap<>();
+
+		private final Map<String, Path<?>> sortedIndexes = new HashMap<>();
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.query.PropertyBoxCollection.Builder#add(com.holonplatform.core.property.
+		 * PropertyBox)
+		 */
+		@Override
+		public PropertyBoxCollection.Builder add(PropertyBox propertyBox) {
+			ObjectUtils.argumentNotNull(propertyBox, "PropertyBox must be not null");
+			elements.add(propertyBox);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.query.PropertyBoxCollection.Builder#addAll(java.lang.Iterable)
+		 */
+		@Override
+		public PropertyBoxCollection.Builder addAll(Iterable<? extends PropertyBox> propertyBoxes) {
+			ObjectUtils.argumentNotNull(propertyBoxes, "PropertyBoxes must be not null");
+			for (PropertyBox propertyBox : propertyBoxes) {
+				add(propertyBox);
+			}
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.query.PropertyBoxCollection.Builder#hashIndex(com.holonplatform.core.Path)
+		 */
+		@Override
+		public PropertyBoxCollection.Builder hashIndex(Path<?> path) {
+			ObjectUtils.argumentNotNull(path, "Path must be not null");
+			sortedIndexes.remove(path.relativeName());
+			hashIndexes.put(path.relativeName(), path);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.query.PropertyBoxCollection.Builder#sortedIndex(com.holonplatform.core.Path)
+		 */
+		@Override
+		public PropertyBoxCollection.Builder sortedIndex(Path<?> path) {
+			ObjectUtils.argumentNotNull(path, "Path must be not null");
+			hashIndexes.remove(path.relativeName());
+			sortedIndexes.put(path.relativeName(), path);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.query.PropertyBoxCollection.Builder#build()
+		 */
+		@Override
+		public PropertyBoxCollection build() {
+			final PropertyBox[] array = elements.toArray(new PropertyBox[elements.size()]);
+			final Map<String, Index> indexes = new HashMap<>(hashIndexes.size() + sortedIndexes.size());
+			hashIndexes.forEach((name, path) -> indexes.put(name, buildIndex(new HashIndex(), path, array)));
+			sortedIndexes.forEach((name, path) -> indexes.put(name, buildIndex(new SortedIndex(), path, array)));
+			return new DefaultPropertyBoxCollection(array, indexes);
+		}
+
+		private static Index buildIndex(Index index, Path<?> path, PropertyBox[] elements) {
+			final RowFunction<PropertyBox> value = PROPERTY_BOX_RESOLVER.resolve(path);
+			for (int i = 0; i < elements.length; i++) {
+				final Object v = value.apply(elements[i], null);
+				if (v != null) {
+					index.add(v, i);
+				}
+			}
+			return index;
+		}
+
+	}
+
+}
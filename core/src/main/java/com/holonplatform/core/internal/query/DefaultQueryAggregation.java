@@ -18,6 +18,7 @@ package com.holonplatform.core.internal.query;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import com.holonplatform.core.Path;
@@ -90,6 +91,51 @@ public class DefaultQueryAggregation implements QueryAggregation {
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		int hash = Objects.hashCode(aggregationFilter);
+		if (aggregationPaths != null) {
+			for (Path<?> path : aggregationPaths) {
+				hash = 31 * hash + QueryCanonicalizer.expressionHashCode(path);
+			}
+		}
+		return hash;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		final DefaultQueryAggregation other = (DefaultQueryAggregation) obj;
+		if (!Objects.equals(aggregationFilter, other.aggregationFilter)) {
+			return false;
+		}
+		if (aggregationPaths == null || other.aggregationPaths == null) {
+			return aggregationPaths == other.aggregationPaths;
+		}
+		if (aggregationPaths.length != other.aggregationPaths.length) {
+			return false;
+		}
+		for (int i = 0; i < aggregationPaths.length; i++) {
+			if (!QueryCanonicalizer.expressionEquals(aggregationPaths[i], other.aggregationPaths[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see java.lang.Object#toString()
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.query;
+
+import java.util.List;
+
+import com.holonplatform.core.query.QueryBatch;
+
+/**
+ * Default {@link QueryBatch} implementation, which executes the batch queries in sequence.
+ * 
+ * @since 6.0.1
+ */
+public class DefaultQueryBatch extends AbstractQueryBatch {
+
+	private static final long serialVersionUID = 7165820639924701853L;
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.query.AbstractQueryBatch#execute(java.util.List)
+	 */
+	@Override
+	protected void execute(List<QueryBatchEntry<?, ?>> entries) {
+		for (QueryBatchEntry<?, ?> entry : entries) {
+			entry.execute();
+		}
+	}
+
+}
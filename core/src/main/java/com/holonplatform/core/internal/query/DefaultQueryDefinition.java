@@ -25,8 +25,10 @@ import com.holonplatform.core.ExpressionResolver;
 import com.holonplatform.core.datastore.DataTarget;
 import com.holonplatform.core.internal.DefaultParameterSet;
 import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.internal.query.QueryFilterOptimizer.OptimizedFilter;
 import com.holonplatform.core.query.QueryAggregation;
 import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QueryKeyset;
 import com.holonplatform.core.query.QuerySort;
 
 /**
@@ -61,6 +63,16 @@ public class DefaultQueryDefinition extends DefaultParameterSet implements Query
 	 */
 	private QueryFilter filter;
 
+	/*
+	 * Optimized query filter (lazily computed)
+	 */
+	private transient OptimizedFilter optimizedFilter;
+
+	/*
+	 * Query keyset
+	 */
+	private QueryKeyset keyset;
+
 	/*
 	 * Query aggregation
 	 */
@@ -155,6 +167,9 @@ public class DefaultQueryDefinition extends DefaultParameterSet implements Query
 	 */
 	@Override
 	public Optional<QuerySort> getSort() {
+		if (keyset != null) {
+			return Optional.of((sort == null) ? keyset.getSort() : keyset.getSort().and(sort));
+		}
 		return Optional.ofNullable(sort);
 	}
 
@@ -169,16 +184,71 @@ public class DefaultQueryDefinition extends DefaultParameterSet implements Query
 		} else {
 			this.filter = this.filter.and(filter);
 		}
+		this.optimizedFilter = null;
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * The returned filter is the query filter optimized using {@link QueryFilterOptimizer}. If the query filter can
+	 * never be satisfied, it is returned as is and {@link #isUnsatisfiable()} returns <code>true</code>.
+	 * @see com.holonplatform.core.query.QueryConfiguration#getFilter()
 	 */
 	@Override
 	public Optional<QueryFilter> getFilter() {
+		final OptimizedFilter optimized = getOptimizedFilter();
+		return optimized.isUnsatisfiable() ? getQueryFilter() : optimized.getFilter();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryConfiguration#isUnsatisfiable()
+	 */
+	@Override
+	public boolean isUnsatisfiable() {
+		return getOptimizedFilter().isUnsatisfiable();
+	}
+
+	/**
+	 * Get the optimized query filter, computing it if not available.
+	 * @return The optimized query filter
+	 */
+	private OptimizedFilter getOptimizedFilter() {
+		if (optimizedFilter == null) {
+			optimizedFilter = QueryFilterOptimizer.optimize(getQueryFilter().orElse(null));
+		}
+		return optimizedFilter;
+	}
+
+	/**
+	 * Get the actual query filter, including the keyset seek filter, if any.
+	 * @return Optional query filter
+	 */
+	private Optional<QueryFilter> getQueryFilter() {
+		final QueryFilter seek = (keyset != null) ? keyset.getFilter().orElse(null) : null;
+		if (seek != null) {
+			return Optional.of((filter == null) ? seek : filter.and(seek));
+		}
 		return Optional.ofNullable(filter);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryConfiguration#getKeyset()
+	 */
+	@Override
+	public Optional<QueryKeyset> getKeyset() {
+		return Optional.ofNullable(keyset);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.query.QueryDefinition#setKeyset(com.holonplatform.core.query.QueryKeyset)
+	 */
+	@Override
+	public void setKeyset(QueryKeyset keyset) {
+		this.keyset = keyset;
+		this.optimizedFilter = null;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.query.QueryConfiguration#getAggregation()
@@ -265,7 +335,7 @@ public class DefaultQueryDefinition extends DefaultParameterSet implements Query
 	@Override
 	public String toString() {
 		return "DefaultQueryDefinition [target=" + target + ", limit=" + limit + ", offset=" + offset + ", sort=" + sort
-				+ ", filter=" + filter + ", aggregation=" + aggregation + "]";
+				+ ", filter=" + filter + ", keyset=" + keyset + ", aggregation=" + aggregation + "]";
 	}
 
 	/*
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.query.PathExpression;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QueryKeyset;
+import com.holonplatform.core.query.QuerySort;
+import com.holonplatform.core.query.QuerySort.PathQuerySort;
+import com.holonplatform.core.query.QuerySort.SortDirection;
+
+/**
+ * Default {@link QueryKeyset} implementation.
+ *
+ * @since 6.0.1
+ */
+public class DefaultQueryKeyset implements QueryKeyset {
+
+	private static final long serialVersionUID = -2307409876126394578L;
+
+	/*
+	 * Keyset sort
+	 */
+	private final QuerySort sort;
+
+	/*
+	 * Last seen result
+	 */
+	private final PropertyBox lastSeen;
+
+	/*
+	 * Seek filter
+	 */
+	private final QueryFilter filter;
+
+	/**
+	 * Constructor.
+	 * @param sort The keyset sort (not null)
+	 * @param lastSeen The last result of the previous page, <code>null</code> for the first page
+	 */
+	public DefaultQueryKeyset(QuerySort sort, PropertyBox lastSeen) {
+		super();
+		ObjectUtils.argumentNotNull(sort, "Keyset sort must be not null");
+		this.sort = sort;
+		this.lastSeen = lastSeen;
+		this.filter = buildSeekFilter(getSortPaths(sort), lastSeen);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryKeyset#getSort()
+	 */
+	@Override
+	public QuerySort getSort() {
+		return sort;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryKeyset#getLastSeen()
+	 */
+	@Override
+	public Optional<PropertyBox> getLastSeen() {
+		return Optional.ofNullable(lastSeen);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryKeyset#getFilter()
+	 */
+	@Override
+	public Optional<QueryFilter> getFilter() {
+		return Optional.ofNullable(filter);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultQueryKeyset [sort=" + sort + ", lastSeen=" + lastSeen + "]";
+	}
+
+	/**
+	 * Get the sort paths of given keyset sort.
+	 * @param sort The keyset sort
+	 * @return The sort paths, in sort order
+	 * @throws IllegalArgumentException If the sort is not composed only by {@link PathQuerySort}s
+	 */
+	private static List<PathQuerySort<?>> getSortPaths(QuerySort sort) {
+		final List<PathQuerySort<?>> paths = new ArrayList<>();
+		for (QuerySort s : QueryUtils.flattenQuerySort(sort)) {
+			if (!(s instanceof PathQuerySort)) {
+				throw new IllegalArgumentException("Invalid keyset sort [" + s + "]: only path sorts are supported");
+			}
+			paths.add((PathQuerySort<?>) s);
+		}
+		return paths;
+	}
+
+	/**
+	 * Build the seek filter for given sort paths and last seen result.
+	 * <p>
+	 * For the sort paths <code>p1..pn</code>, the filter is the disjunction, for each <code>i</code>, of the conjunction
+	 * of <code>p1..p(i-1)</code> equal to the last seen values and of <code>pi</code> following the last seen value
+	 * according to the sort direction.
+	 * </p>
+	 * @param paths Sort paths
+	 * @param lastSeen Last seen result
+	 * @return The seek filter, <code>null</code> if last seen result is <code>null</code>
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static QueryFilter buildSeekFilter(List<PathQuerySort<?>> paths, PropertyBox lastSeen) {
+		if (lastSeen == null) {
+			return null;
+		}
+		final List<QueryFilter> disjunction = new ArrayList<>(paths.size());
+		final List<QueryFilter> equalities = new ArrayList<>(paths.size());
+		for (PathQuerySort<?> sort : paths) {
+			final TypedExpression expression = asExpression(sort.getPath());
+			final Object value = getLastSeenValue(lastSeen, sort.getPath());
+			final QueryFilter seek = (sort.getDirection() == SortDirection.DESCENDING)
+					? QueryFilter.lt(expression, value)
+					: QueryFilter.gt(expression, value);
+			final List<QueryFilter> conjunction = new ArrayList<>(equalities);
+			conjunction.add(seek);
+			QueryFilter.allOf(conjunction).ifPresent(disjunction::add);
+			equalities.add(QueryFilter.eq(expression, value));
+		}
+		return QueryFilter.anyOf(disjunction).orElse(null);
+	}
+
+	/**
+	 * Get given path as a {@link TypedExpression}.
+	 * @param path The path
+	 * @return The path expression
+	 */
+	private static TypedExpression<?> asExpression(Path<?> path) {
+		if (path instanceof TypedExpression) {
+			return (TypedExpression<?>) path;
+		}
+		return PathExpression.from(path);
+	}
+
+	/**
+	 * Get the value of given sort path from the last seen result. The box property is matched by path name if the path
+	 * is not a property of the box property set.
+	 * @param lastSeen Last seen result
+	 * @param path Sort path
+	 * @return The not <code>null</code> value
+	 * @throws IllegalArgumentException If the last seen result does not provide a not <code>null</code> value for the
+	 *         path
+	 */
+	@SuppressWarnings("unchecked")
+	private static Object getLastSeenValue(PropertyBox lastSeen, Path<?> path) {
+		Object value = null;
+		if (path instanceof Property && lastSeen.contains((Property<?>) path)) {
+			value = lastSeen.getValue((Property<Object>) path);
+		} else {
+			final String name = path.relativeName();
+			for (Property<?> property : lastSeen) {
+				if (property instanceof Path && name.equals(((Path<?>) property).relativeName())) {
+					value = lastSeen.getValue(property);
+					break;
+				}
+			}
+		}
+		if (value == null) {
+			throw new IllegalArgumentException(
+					"Invalid keyset last seen result: missing value for sort path [" + path + "]");
+		}
+		return value;
+	}
+
+}
@@ -15,15 +15,31 @@
  */
 package com.holonplatform.core.internal.query;
 
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.holonplatform.core.Path;
 import com.holonplatform.core.datastore.Datastore;
 import com.holonplatform.core.exceptions.DataAccessException;
 import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.query.BeanProjection;
+import com.holonplatform.core.query.CountAllProjection;
+import com.holonplatform.core.query.DoubleProjection;
+import com.holonplatform.core.query.LongProjection;
+import com.holonplatform.core.query.PropertySetProjection;
 import com.holonplatform.core.query.Query;
 import com.holonplatform.core.query.QueryAdapter;
+import com.holonplatform.core.query.QueryFunction;
+import com.holonplatform.core.query.QueryFunction.Count;
+import com.holonplatform.core.query.QueryKeyset;
 import com.holonplatform.core.query.QueryOperation;
 import com.holonplatform.core.query.QueryProjection;
+import com.holonplatform.core.query.QueryResults.QueryResultsPages;
+import com.holonplatform.core.query.SelectAllProjection;
 
 /**
  * {@link Query} implementation that uses a {@link QueryAdapter} to connect concrete query execution environment to
@@ -89,8 +105,16 @@ public class QueryAdapterQuery<D extends QueryDefinition> extends AbstractQuery<
 	 */
 	@Override
 	public <R> Stream<R> stream(QueryProjection<R> projection) throws DataAccessException {
+		// skip the execution when the results are known without executing the query
+		if (getQueryDefinition().isUnsatisfiable()) {
+			final Optional<Stream<R>> results = getUnsatisfiableResults(projection);
+			if (results.isPresent()) {
+				return results.get();
+			}
+		}
 		try {
-			return getQueryAdapter().stream(QueryOperation.create(getQueryDefinition(), projection));
+			return normalize(projection,
+					getQueryAdapter().stream(QueryOperation.create(getQueryDefinition(), projection)));
 		} catch (DataAccessException e) {
 			throw e;
 		} catch (Exception e) {
@@ -98,4 +122,193 @@ public class QueryAdapterQuery<D extends QueryDefinition> extends AbstractQuery<
 		}
 	}
 
+	/**
+	 * Normalize the results of a {@link LongProjection} or a {@link DoubleProjection}, which may be provided by the
+	 * query adapter as any {@link Number} type, to the projection type.
+	 * @param <R> Results type
+	 * @param projection Query projection
+	 * @param results Query results
+	 * @return The normalized results
+	 */
+	@SuppressWarnings("unchecked")
+	private static <R> Stream<R> normalize(QueryProjection<R> projection, Stream<R> results) {
+		if (results != null && projection instanceof LongProjection) {
+			return results.map(value -> (value instanceof Number && !(value instanceof Long))
+					? (R) Long.valueOf(((Number) value).longValue())
+					: value);
+		}
+		if (results != null && projection instanceof DoubleProjection) {
+			return results.map(value -> (value instanceof Number && !(value instanceof Double))
+					? (R) Double.valueOf(((Number) value).doubleValue())
+					: value);
+		}
+		return results;
+	}
+
+	/**
+	 * Get the results of given projection when the query filter can never be satisfied, if they can be determined
+	 * without executing the query.
+	 * <p>
+	 * Without a GROUP BY clause, an aggregate projection returns a single row of aggregated values even if no row
+	 * matches the query filter: the count projections results are synthesized, while any other aggregate projection
+	 * is left to the concrete query execution.
+	 * </p>
+	 * @param <R> Results type
+	 * @param projection Query projection
+	 * @return The projection results, or an empty Optional if the query must be executed
+	 */
+	@SuppressWarnings("unchecked")
+	private <R> Optional<Stream<R>> getUnsatisfiableResults(QueryProjection<R> projection) {
+		if (getQueryDefinition().getAggregation().isPresent()) {
+			return Optional.of(Stream.empty());
+		}
+		if (projection instanceof CountAllProjection || projection instanceof Count) {
+			return Optional.of(Stream.of((R) Long.valueOf(0L)));
+		}
+		if (projection instanceof LongProjection) {
+			return (((LongProjection) projection).getExpression() instanceof Count)
+					? Optional.of(Stream.of((R) Long.valueOf(0L)))
+					: Optional.empty();
+		}
+		if (projection instanceof DoubleProjection) {
+			return (((DoubleProjection) projection).getExpression() instanceof Count)
+					? Optional.of(Stream.of((R) Double.valueOf(0d)))
+					: Optional.empty();
+		}
+		return isRowProjection(projection) ? Optional.of(Stream.empty()) : Optional.empty();
+	}
+
+	/**
+	 * Checks whether given projection is known to return a result for each query row, i.e. it does not contain any
+	 * (potentially aggregate) {@link QueryFunction}.
+	 * @param projection Query projection
+	 * @return <code>true</code> if given projection returns a result for each query row
+	 */
+	private static boolean isRowProjection(QueryProjection<?> projection) {
+		if (projection instanceof SelectAllProjection || projection instanceof BeanProjection) {
+			return true;
+		}
+		if (projection instanceof PropertySetProjection) {
+			for (Object property : ((PropertySetProjection) projection).getPropertySet()) {
+				if (property instanceof QueryFunction) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return projection instanceof Path && !(projection instanceof QueryFunction);
+	}
+
+	/**
+	 * If a {@link QueryKeyset} is configured and the projection results are {@link PropertyBox}es, each page is
+	 * fetched using a dedicated query execution, limited to the page size and seeking from the last result of the
+	 * previous page. The query offset, if any, is applied to the first page and the pages stop when the query limit,
+	 * if any, is reached.
+	 * @see com.holonplatform.core.query.QueryResults#pages(com.holonplatform.core.query.QueryProjection, int)
+	 */
+	@Override
+	public <R> QueryResultsPages<R> pages(QueryProjection<R> projection, int pageSize) {
+		ObjectUtils.argumentNotNull(projection, "QueryProjection must be not null");
+		final Optional<QueryKeyset> keyset = getQueryDefinition().getKeyset();
+		if (!keyset.isPresent() || !PropertyBox.class.isAssignableFrom(projection.getType())) {
+			return super.pages(projection, pageSize);
+		}
+		if (pageSize < 1) {
+			throw new IllegalArgumentException("Page size must be greater than 0");
+		}
+		return new KeysetPageIterator<>(projection, pageSize, keyset.get(),
+				getQueryDefinition().getOffset().orElse(null), getQueryDefinition().getLimit().orElse(null));
+	}
+
+	/**
+	 * Fetch a query results page using given keyset, restoring the query definition keyset and restrictions after the
+	 * execution.
+	 * @param <R> Results type
+	 * @param projection Query projection
+	 * @param pageSize Page size
+	 * @param keyset Page keyset
+	 * @param offset Page offset, may be null
+	 * @return The page results
+	 */
+	private <R> List<R> fetchPage(QueryProjection<R> projection, int pageSize, QueryKeyset keyset, Integer offset) {
+		final QueryKeyset currentKeyset = getQueryDefinition().getKeyset().orElse(null);
+		final Integer currentLimit = getQueryDefinition().getLimit().orElse(null);
+		final Integer currentOffset = getQueryDefinition().getOffset().orElse(null);
+		try {
+			getQueryDefinition().setKeyset(keyset);
+			getQueryDefinition().setLimit(pageSize);
+			getQueryDefinition().setOffset(offset);
+			try (Stream<R> results = stream(projection)) {
+				return results.collect(Collectors.toList());
+			}
+		} finally {
+			getQueryDefinition().setKeyset(currentKeyset);
+			getQueryDefinition().setLimit(currentLimit);
+			getQueryDefinition().setOffset(currentOffset);
+		}
+	}
+
+	/**
+	 * Keyset based query results pages iterator.
+	 * @param <R> Results type
+	 */
+	private class KeysetPageIterator<R> implements QueryResultsPages<R> {
+
+		private final QueryProjection<R> projection;
+		private final int pageSize;
+		private QueryKeyset keyset;
+		private Integer offset;
+		private Integer remaining;
+		private List<R> page;
+
+		KeysetPageIterator(QueryProjection<R> projection, int pageSize, QueryKeyset keyset, Integer offset,
+				Integer limit) {
+			super();
+			this.projection = projection;
+			this.pageSize = pageSize;
+			this.keyset = keyset;
+			this.offset = offset;
+			this.remaining = limit;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (page == null && keyset != null) {
+				final int size = (remaining != null) ? Math.min(pageSize, remaining) : pageSize;
+				if (size < 1) {
+					keyset = null;
+					return false;
+				}
+				page = fetchPage(projection, size, keyset, offset);
+				offset = null;
+				if (remaining != null) {
+					remaining = remaining - page.size();
+				}
+				keyset = (page.size() < size) ? null : keyset.next((PropertyBox) page.get(page.size() - 1));
+				if (page.isEmpty()) {
+					page = null;
+				}
+			}
+			return page != null;
+		}
+
+		@Override
+		public List<R> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			final List<R> next = page;
+			page = null;
+			return next;
+		}
+
+		@Override
+		public void close() {
+			// each page query is closed once fetched
+			keyset = null;
+			page = null;
+		}
+
+	}
+
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.query;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.query.Query;
+import com.holonplatform.core.query.QueryBatch;
+import com.holonplatform.core.query.QueryProjection;
+
+/**
+ * A {@link QueryBatch} query, which acts as the query {@link QueryBatch.Result} handle.
+ * <p>
+ * The query results are provided as a {@link List} of projection values using {@link #complete(List)}, and converted
+ * into the handle results type by the entry finisher function.
+ * </p>
+ * 
+ * @param <R> Projection type
+ * @param <T> Results type
+ * 
+ * @since 6.0.1
+ */
+public class QueryBatchEntry<R, T> implements QueryBatch.Result<T> {
+
+	private final Query query;
+
+	private final QueryProjection<R> projection;
+
+	private final boolean unique;
+
+	private final Function<List<R>, T> finisher;
+
+	private volatile boolean done = false;
+
+	private T results;
+
+	private RuntimeException error;
+
+	/**
+	 * Constructor.
+	 * @param query The query to execute (not null)
+	 * @param projection The query projection (not null)
+	 * @param unique Whether an unique result is expected
+	 * @param finisher The function to use to convert the projection values into the results (not null)
+	 */
+	public QueryBatchEntry(Query query, QueryProjection<R> projection, boolean unique,
+			Function<List<R>, T> finisher) {
+		super();
+		ObjectUtils.argumentNotNull(query, "Query must be not null");
+		ObjectUtils.argumentNotNull(projection, "QueryProjection must be not null");
+		ObjectUtils.argumentNotNull(finisher, "Finisher function must be not null");
+		this.query = query;
+		this.projection = projection;
+		this.unique = unique;
+		this.finisher = finisher;
+	}
+
+	/**
+	 * Get the query to execute.
+	 * @return The query
+	 */
+	public Query getQuery() {
+		return query;
+	}
+
+	/**
+	 * Get the query projection.
+	 * @return The query projection
+	 */
+	public QueryProjection<R> getProjection() {
+		return projection;
+	}
+
+	/**
+	 * Get whether an unique result is expected. In this case, no more than two projection values are needed to
+	 * complete the entry.
+	 * @return <code>true</code> if an unique result is expected, <code>false</code> otherwise
+	 */
+	public boolean isUnique() {
+		return unique;
+	}
+
+	/**
+	 * Execute the query using the {@link Query} results API and complete the entry.
+	 */
+	public void execute() {
+		try (Stream<R> stream = getQuery().stream(getProjection())) {
+			complete((isUnique() ? stream.limit(2) : stream).collect(Collectors.toList()));
+		} catch (RuntimeException e) {
+			fail(e);
+		}
+	}
+
+	/**
+	 * Complete the entry using given projection values.
+	 * @param values The query projection values (not null)
+	 */
+	public void complete(List<R> values) {
+		ObjectUtils.argumentNotNull(values, "Values must be not null");
+		try {
+			this.results = finisher.apply(values);
+		} catch (RuntimeException e) {
+			this.error = e;
+		}
+		this.done = true;
+	}
+
+	/**
+	 * Complete the entry with an execution error.
+	 * @param error The execution error (not null)
+	 */
+	public void fail(Throwable error) {
+		ObjectUtils.argumentNotNull(error, "Error must be not null");
+		this.error = (error instanceof RuntimeException) ? (RuntimeException) error : new DataAccessException(error);
+		this.done = true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryBatch.Result#isDone()
+	 */
+	@Override
+	public boolean isDone() {
+		return done;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryBatch.Result#get()
+	 */
+	@Override
+	public T get() {
+		if (!done) {
+			throw new IllegalStateException("The query batch was not executed");
+		}
+		if (error != null) {
+			throw error;
+		}
+		return results;
+	}
+
+}
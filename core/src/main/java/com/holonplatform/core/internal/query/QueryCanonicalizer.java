@@ -0,0 +1,355 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.holonplatform.core.CollectionConstantExpression;
+import com.holonplatform.core.ConstantConverterExpression;
+import com.holonplatform.core.ConverterExpression;
+import com.holonplatform.core.NullExpression;
+import com.holonplatform.core.Path;
+import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.internal.query.filter.AndFilter;
+import com.holonplatform.core.internal.query.filter.EqualFilter;
+import com.holonplatform.core.internal.query.filter.InFilter;
+import com.holonplatform.core.internal.query.filter.NotEqualFilter;
+import com.holonplatform.core.internal.query.filter.NotFilter;
+import com.holonplatform.core.internal.query.filter.NotInFilter;
+import com.holonplatform.core.internal.query.filter.OperationQueryFilter;
+import com.holonplatform.core.internal.query.filter.OrFilter;
+import com.holonplatform.core.internal.query.sort.MultiSort;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.query.ConstantExpression;
+import com.holonplatform.core.query.QueryAggregation;
+import com.holonplatform.core.query.QueryConfiguration;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QueryFilter.CompositeQueryFilter;
+import com.holonplatform.core.query.QueryFunction;
+import com.holonplatform.core.query.QuerySort;
+import com.holonplatform.core.query.QuerySort.PathQuerySort;
+
+/**
+ * Utility class to obtain the canonical form of {@link QueryFilter} and {@link QuerySort} clauses and to compare
+ * {@link QueryConfiguration}s by structure rather than by instance.
+ * <p>
+ * The canonical form of a filter is obtained by:
+ * <ul>
+ * <li>Flattening nested conjunctions and disjunctions into a single AND/OR filter</li>
+ * <li>Removing duplicated operands and ordering the operands of the commutative AND/OR filters by a stable order</li>
+ * <li>Unwrapping AND/OR filters with a single operand</li>
+ * <li>Folding the constant values of IN/NOT IN filters, removing duplicates and ordering the values when comparable.
+ * A IN/NOT IN filter with a single value is folded into an equal/not equal filter</li>
+ * </ul>
+ * The canonical form of a sort is the flattened sequence of its path sorts, without repeated paths.
+ * </p>
+ * <p>
+ * Two clauses which differ only in operand order or nesting share the same canonical form, so their canonical forms
+ * are <code>equal</code> and have the same <code>hashCode</code>.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public final class QueryCanonicalizer {
+
+	/**
+	 * Stable order for commutative operands
+	 */
+	private static final Comparator<Object> OPERAND_ORDER = Comparator.comparingInt(Object::hashCode)
+			.thenComparing(Object::toString);
+
+	/*
+	 * Empty private constructor: this class is intended only to provide constants ad utility methods.
+	 */
+	private QueryCanonicalizer() {
+	}
+
+	/**
+	 * Get the canonical form of given filter.
+	 * @param filter The filter (may be null)
+	 * @return The canonical filter, <code>null</code> if given filter was <code>null</code>
+	 */
+	public static QueryFilter canonical(QueryFilter filter) {
+		if (filter == null) {
+			return null;
+		}
+		if (filter instanceof AndFilter || filter instanceof OrFilter) {
+			final boolean and = filter instanceof AndFilter;
+			final List<QueryFilter> operands = new ArrayList<>();
+			collectOperands(filter, and, operands);
+			if (operands.size() == 1) {
+				return operands.get(0);
+			}
+			operands.sort(OPERAND_ORDER);
+			return and ? new AndFilter(operands) : new OrFilter(operands);
+		}
+		if (filter instanceof NotFilter) {
+			final List<QueryFilter> composition = ((NotFilter) filter).getComposition();
+			if (composition != null && composition.size() == 1) {
+				return new NotFilter(canonical(composition.get(0)));
+			}
+			return filter;
+		}
+		if (filter instanceof InFilter) {
+			return foldCollection((InFilter<?>) filter, false);
+		}
+		if (filter instanceof NotInFilter) {
+			return foldCollection((NotInFilter<?>) filter, true);
+		}
+		return filter;
+	}
+
+	/**
+	 * Get the canonical form of given sort.
+	 * @param sort The sort (may be null)
+	 * @return The canonical sort, <code>null</code> if given sort was <code>null</code>
+	 */
+	public static QuerySort canonical(QuerySort sort) {
+		if (sort == null) {
+			return null;
+		}
+		final List<QuerySort> sorts = new ArrayList<>();
+		for (QuerySort s : QueryUtils.flattenQuerySort(sort)) {
+			if (!(s instanceof PathQuerySort) || sorts.stream().noneMatch(
+					c -> c instanceof PathQuerySort && expressionEquals(((PathQuerySort<?>) c).getPath(),
+							((PathQuerySort<?>) s).getPath()))) {
+				sorts.add(s);
+			}
+		}
+		return (sorts.size() == 1) ? sorts.get(0) : new MultiSort(sorts);
+	}
+
+	/**
+	 * Get the structural hash code of given query configuration, computed using the canonical forms of its filter and
+	 * sort clauses.
+	 * @param configuration The query configuration (not null)
+	 * @return The structural hash code
+	 */
+	public static int hashCode(QueryConfiguration configuration) {
+		return Objects.hash(configuration.getTarget().map(t -> t.getName()).orElse(null),
+				canonical(configuration.getFilter().orElse(null)), canonical(configuration.getSort().orElse(null)),
+				configuration.getAggregation().orElse(null), configuration.getLimit().orElse(null),
+				configuration.getOffset().orElse(null), configuration.isDistinct(), getParameters(configuration));
+	}
+
+	/**
+	 * Checks whether given query configurations are structurally equal, i.e. if they refer to the same target and
+	 * their clauses have the same canonical form.
+	 * @param configuration The first query configuration (not null)
+	 * @param other The second query configuration (not null)
+	 * @return <code>true</code> if the two configurations are structurally equal
+	 */
+	public static boolean equals(QueryConfiguration configuration, QueryConfiguration other) {
+		if (configuration == other) {
+			return true;
+		}
+		return configuration.isDistinct() == other.isDistinct()
+				&& Objects.equals(configuration.getTarget().map(t -> t.getName()).orElse(null),
+						other.getTarget().map(t -> t.getName()).orElse(null))
+				&& Objects.equals(configuration.getLimit().orElse(null), other.getLimit().orElse(null))
+				&& Objects.equals(configuration.getOffset().orElse(null), other.getOffset().orElse(null))
+				&& Objects.equals(canonical(configuration.getFilter().orElse(null)),
+						canonical(other.getFilter().orElse(null)))
+				&& Objects.equals(canonical(configuration.getSort().orElse(null)),
+						canonical(other.getSort().orElse(null)))
+				&& Objects.equals(configuration.getAggregation().orElse(null), other.getAggregation().orElse(null))
+				&& getParameters(configuration).equals(getParameters(other));
+	}
+
+	/**
+	 * Checks whether two expressions are structurally equal.
+	 * <p>
+	 * {@link Property} expressions are compared using their own <code>equals</code> logic, constant expressions by type
+	 * and value, other {@link Path} expressions by type and full name and {@link QueryFunction}s by function type and
+	 * arguments.
+	 * </p>
+	 * @param expression The first expression (may be null)
+	 * @param other The second expression (may be null)
+	 * @return <code>true</code> if the two expressions are structurally equal
+	 */
+	public static boolean expressionEquals(Object expression, Object other) {
+		if (expression == other) {
+			return true;
+		}
+		if (expression == null || other == null) {
+			return false;
+		}
+		if (expression instanceof QueryFunction && other instanceof QueryFunction) {
+			if (expression.getClass() != other.getClass()) {
+				return false;
+			}
+			final List<?> arguments = ((QueryFunction<?, ?>) expression).getExpressionArguments();
+			final List<?> otherArguments = ((QueryFunction<?, ?>) other).getExpressionArguments();
+			if (arguments.size() != otherArguments.size()) {
+				return false;
+			}
+			for (int i = 0; i < arguments.size(); i++) {
+				if (!expressionEquals(arguments.get(i), otherArguments.get(i))) {
+					return false;
+				}
+			}
+			return true;
+		}
+		if (expression instanceof Property || other instanceof Property) {
+			return expression.equals(other);
+		}
+		if (expression instanceof Path && other instanceof Path) {
+			return expression.getClass() == other.getClass()
+					&& Objects.equals(((Path<?>) expression).getType(), ((Path<?>) other).getType())
+					&& ((Path<?>) expression).fullName().equals(((Path<?>) other).fullName());
+		}
+		if (expression instanceof ConstantConverterExpression && other instanceof ConstantConverterExpression) {
+			return expression.getClass() == other.getClass()
+					&& Objects.equals(((TypedExpression<?>) expression).getType(), ((TypedExpression<?>) other).getType())
+					&& Objects.equals(((TypedExpression<?>) expression).getTemporalType(),
+							((TypedExpression<?>) other).getTemporalType())
+					&& Objects.equals(getConverter(expression), getConverter(other))
+					&& Objects.deepEquals(((ConstantConverterExpression<?, ?>) expression).getValue(),
+							((ConstantConverterExpression<?, ?>) other).getValue());
+		}
+		if (expression instanceof NullExpression && other instanceof NullExpression) {
+			return expression.getClass() == other.getClass()
+					&& Objects.equals(((NullExpression<?>) expression).getType(), ((NullExpression<?>) other).getType())
+					&& Objects.equals(getConverter(expression), getConverter(other));
+		}
+		return expression.equals(other);
+	}
+
+	/**
+	 * Get the structural hash code of given expression, consistent with {@link #expressionEquals(Object, Object)}.
+	 * @param expression The expression (may be null)
+	 * @return The structural hash code
+	 */
+	public static int expressionHashCode(Object expression) {
+		if (expression == null) {
+			return 0;
+		}
+		if (expression instanceof QueryFunction) {
+			int hash = expression.getClass().getName().hashCode();
+			for (Object argument : ((QueryFunction<?, ?>) expression).getExpressionArguments()) {
+				hash = 31 * hash + expressionHashCode(argument);
+			}
+			return hash;
+		}
+		if (expression instanceof Property) {
+			return expression.hashCode();
+		}
+		if (expression instanceof Path) {
+			return 31 * expression.getClass().getName().hashCode() + ((Path<?>) expression).fullName().hashCode();
+		}
+		if (expression instanceof ConstantConverterExpression) {
+			return 31 * expression.getClass().getName().hashCode()
+					+ Arrays.deepHashCode(new Object[] { ((ConstantConverterExpression<?, ?>) expression).getValue() });
+		}
+		if (expression instanceof NullExpression) {
+			return 31 * expression.getClass().getName().hashCode()
+					+ Objects.hashCode(((NullExpression<?>) expression).getType());
+		}
+		return expression.hashCode();
+	}
+
+	/**
+	 * Collect the canonical operands of a AND/OR filter, flattening any nested filter of the same kind and skipping
+	 * duplicated operands.
+	 * @param filter The filter to collect
+	 * @param and Whether the filter to flatten is a conjunction or a disjunction
+	 * @param operands The operands list
+	 */
+	private static void collectOperands(QueryFilter filter, boolean and, List<QueryFilter> operands) {
+		if ((and && filter instanceof AndFilter) || (!and && filter instanceof OrFilter)) {
+			final List<QueryFilter> composition = ((CompositeQueryFilter) filter).getComposition();
+			if (composition != null) {
+				for (QueryFilter operand : composition) {
+					collectOperands(operand, and, operands);
+				}
+			}
+		} else {
+			final QueryFilter operand = canonical(filter);
+			if ((and && operand instanceof AndFilter) || (!and && operand instanceof OrFilter)) {
+				collectOperands(operand, and, operands);
+			} else if (operand != null && !operands.contains(operand)) {
+				operands.add(operand);
+			}
+		}
+	}
+
+	/**
+	 * Fold the constant values of a IN/NOT IN filter.
+	 * @param <T> Expression type
+	 * @param filter The filter
+	 * @param negated Whether the filter is a NOT IN filter
+	 * @return The folded filter
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <T> QueryFilter foldCollection(OperationQueryFilter<T> filter, boolean negated) {
+		final TypedExpression<?> right = filter.getRightOperand().orElse(null);
+		if (!(right instanceof CollectionConstantExpression)) {
+			return filter;
+		}
+		final Collection<?> values = ((CollectionConstantExpression<?>) right).getValue();
+		if (values == null || values.isEmpty() || values.contains(null)) {
+			return filter;
+		}
+		final List<Object> folded = new ArrayList<>(values.size());
+		for (Object value : values) {
+			if (!folded.contains(value)) {
+				folded.add(value);
+			}
+		}
+		final TypedExpression<T> left = filter.getLeftOperand();
+		if (folded.size() == 1) {
+			final T value = (T) folded.get(0);
+			return negated ? new NotEqualFilter<>(left, ConstantExpression.create(left, value))
+					: new EqualFilter<>(left, ConstantExpression.create(left, value));
+		}
+		if (folded.stream().allMatch(v -> v instanceof Comparable && v.getClass() == folded.get(0).getClass())) {
+			folded.sort((v1, v2) -> ((Comparable) v1).compareTo(v2));
+		}
+		final CollectionConstantExpression<T> foldedExpression = CollectionConstantExpression.create(left,
+				(Collection<T>) folded);
+		return negated ? new NotInFilter<>(left, foldedExpression) : new InFilter<>(left, foldedExpression);
+	}
+
+	/**
+	 * Get the expression value converter bound to given expression, if any.
+	 * @param expression The expression
+	 * @return The expression value converter, <code>null</code> if none
+	 */
+	private static Object getConverter(Object expression) {
+		return (expression instanceof ConverterExpression)
+				? ((ConverterExpression<?>) expression).getExpressionValueConverter().orElse(null)
+				: null;
+	}
+
+	/**
+	 * Get the configuration parameters as a map.
+	 * @param configuration The query configuration
+	 * @return The parameters map
+	 */
+	private static Map<String, Object> getParameters(QueryConfiguration configuration) {
+		final Map<String, Object> parameters = new HashMap<>();
+		configuration.forEachParameter(parameters::put);
+		return parameters;
+	}
+
+}
@@ -22,6 +22,7 @@ import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.query.QueryAggregation;
 import com.holonplatform.core.query.QueryConfiguration;
 import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QueryKeyset;
 import com.holonplatform.core.query.QuerySort;
 
 /**
@@ -77,6 +78,13 @@ public interface QueryDefinition extends QueryConfiguration, ExpressionResolverS
 	 */
 	void setDistinct(boolean distinct);
 
+	/**
+	 * Set the query keyset pagination clause. Any previously configured keyset will be replaced.
+	 * @param keyset The keyset to set, <code>null</code> to remove the keyset
+	 * @since 6.0.1
+	 */
+	void setKeyset(QueryKeyset keyset);
+
 	/**
 	 * Add a parameter. If parameter with <code>name</code> already exists, its value will be replaced by new
 	 * <code>value</code>.
@@ -0,0 +1,593 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.holonplatform.core.CollectionConstantExpression;
+import com.holonplatform.core.ConstantConverterExpression;
+import com.holonplatform.core.ConverterExpression;
+import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.internal.query.filter.AndFilter;
+import com.holonplatform.core.internal.query.filter.BetweenFilter;
+import com.holonplatform.core.internal.query.filter.EqualFilter;
+import com.holonplatform.core.internal.query.filter.GreaterFilter;
+import com.holonplatform.core.internal.query.filter.InFilter;
+import com.holonplatform.core.internal.query.filter.LessFilter;
+import com.holonplatform.core.internal.query.filter.NotFilter;
+import com.holonplatform.core.internal.query.filter.NotInFilter;
+import com.holonplatform.core.internal.query.filter.NotNullFilter;
+import com.holonplatform.core.internal.query.filter.NullFilter;
+import com.holonplatform.core.internal.query.filter.OperationQueryFilter;
+import com.holonplatform.core.internal.query.filter.OrFilter;
+import com.holonplatform.core.internal.utils.TypeUtils;
+import com.holonplatform.core.query.ConstantExpression;
+import com.holonplatform.core.query.QueryFilter;
+
+/**
+ * Utility class to simplify a {@link QueryFilter} before it is resolved by a datastore.
+ * <p>
+ * The filter is first reduced to its canonical form using {@link QueryCanonicalizer}, then:
+ * <ul>
+ * <li>Double negations are removed</li>
+ * <li>The negation of a never satisfied filter is removed only if the filter can not evaluate to
+ * <code>UNKNOWN</code> for <code>null</code> values, since, according to the SQL three-valued logic, such values must
+ * not match the negation either</li>
+ * <li>Lower and upper bounds on the same expression in a conjunction are merged, keeping the tightest ones and
+ * replacing a closed range with a {@link BetweenFilter} (or an equal filter when the range contains a single
+ * value)</li>
+ * <li>Conjunctions which can never be satisfied (for example, different equal values, empty ranges, a filter and its
+ * negation, an <code>IS NULL</code> condition together with a comparison) are short-circuited, as well as
+ * <code>IN</code> filters with no values</li>
+ * <li>Never satisfied operands are removed from disjunctions</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Values are compared only for numeric and temporal expressions with no value converter, since the ordering and the
+ * equality of any other value (for example, a String, which depends on the datastore collation, or an enumeration)
+ * is defined by the datastore.
+ * </p>
+ * <p>
+ * When the whole filter can never be satisfied, the query results are known to be empty and the query execution can
+ * be skipped altogether: see {@link OptimizedFilter#isUnsatisfiable()}.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public final class QueryFilterOptimizer {
+
+	/**
+	 * Sentinel for an always satisfied filter
+	 */
+	private static final QueryFilter TRUE = new ConstantFilter(true);
+
+	/**
+	 * Sentinel for a never satisfied filter
+	 */
+	private static final QueryFilter FALSE = new ConstantFilter(false);
+
+	/*
+	 * Empty private constructor: this class is intended only to provide constants ad utility methods.
+	 */
+	private QueryFilterOptimizer() {
+	}
+
+	/**
+	 * Optimize given filter.
+	 * @param filter The filter to optimize (may be null)
+	 * @return The optimization result
+	 */
+	public static OptimizedFilter optimize(QueryFilter filter) {
+		if (filter == null) {
+			return new OptimizedFilter(null, false);
+		}
+		final QueryFilter optimized = simplify(QueryCanonicalizer.canonical(filter));
+		if (optimized == FALSE) {
+			return new OptimizedFilter(null, true);
+		}
+		return new OptimizedFilter((optimized == TRUE) ? null : QueryCanonicalizer.canonical(optimized), false);
+	}
+
+	/**
+	 * Simplify given filter.
+	 * @param filter The filter to simplify
+	 * @return The simplified filter, {@link #TRUE} or {@link #FALSE} if the filter is always or never satisfied
+	 */
+	private static QueryFilter simplify(QueryFilter filter) {
+		if (filter instanceof NotFilter) {
+			final List<QueryFilter> composition = ((NotFilter) filter).getComposition();
+			if (composition == null || composition.size() != 1) {
+				return filter;
+			}
+			final QueryFilter negated = simplify(composition.get(0));
+			if (negated == TRUE) {
+				return FALSE;
+			}
+			if (negated == FALSE) {
+				// a never satisfied filter may evaluate to UNKNOWN for null values, which its negation must not match
+				return isNullSafe(composition.get(0)) ? TRUE : filter;
+			}
+			if (negated instanceof NotFilter && ((NotFilter) negated).getComposition() != null
+					&& ((NotFilter) negated).getComposition().size() == 1) {
+				return ((NotFilter) negated).getComposition().get(0);
+			}
+			return new NotFilter(negated);
+		}
+		if (filter instanceof AndFilter) {
+			final List<QueryFilter> operands = new ArrayList<>();
+			for (QueryFilter operand : ((AndFilter) filter).getComposition()) {
+				final QueryFilter simplified = simplify(operand);
+				if (simplified == FALSE) {
+					return FALSE;
+				}
+				if (simplified != TRUE && !operands.contains(simplified)) {
+					operands.add(simplified);
+				}
+			}
+			return merge(operands);
+		}
+		if (filter instanceof OrFilter) {
+			final List<QueryFilter> operands = new ArrayList<>();
+			for (QueryFilter operand : ((OrFilter) filter).getComposition()) {
+				final QueryFilter simplified = simplify(operand);
+				if (simplified == TRUE) {
+					return TRUE;
+				}
+				if (simplified != FALSE && !operands.contains(simplified)) {
+					operands.add(simplified);
+				}
+			}
+			if (operands.isEmpty()) {
+				return FALSE;
+			}
+			return (operands.size() == 1) ? operands.get(0) : new OrFilter(operands);
+		}
+		if (filter instanceof InFilter || filter instanceof NotInFilter) {
+			final TypedExpression<?> right = ((OperationQueryFilter<?>) filter).getRightOperand().orElse(null);
+			if (right instanceof CollectionConstantExpression
+					&& isEmpty(((CollectionConstantExpression<?>) right).getValue())) {
+				return (filter instanceof InFilter) ? FALSE : TRUE;
+			}
+			return filter;
+		}
+		if (filter instanceof BetweenFilter && isComparable(((BetweenFilter<?>) filter).getLeftOperand())) {
+			final Integer comparison = compare(((BetweenFilter<?>) filter).getFromValue(),
+					((BetweenFilter<?>) filter).getToValue());
+			return (comparison != null && comparison > 0) ? FALSE : filter;
+		}
+		return filter;
+	}
+
+	/**
+	 * Merge the operands of a conjunction.
+	 * @param operands The simplified conjunction operands
+	 * @return The merged filter, {@link #TRUE} or {@link #FALSE} if the conjunction is always or never satisfied
+	 */
+	private static QueryFilter merge(List<QueryFilter> operands) {
+		final List<QueryFilter> merged = new ArrayList<>(operands.size());
+		final List<Restriction> restrictions = new ArrayList<>(4);
+		for (QueryFilter operand : operands) {
+			// contradiction with a negated operand
+			if (operand instanceof NotFilter && ((NotFilter) operand).getComposition() != null
+					&& ((NotFilter) operand).getComposition().size() == 1
+					&& operands.contains(((NotFilter) operand).getComposition().get(0))) {
+				return FALSE;
+			}
+			if (operand instanceof OperationQueryFilter) {
+				final OperationQueryFilter<?> filter = (OperationQueryFilter<?>) operand;
+				final Restriction restriction = getRestriction(restrictions, filter.getLeftOperand());
+				if (restriction.add(filter)) {
+					continue;
+				}
+			}
+			merged.add(operand);
+		}
+		for (Restriction restriction : restrictions) {
+			if (!restriction.merge(merged)) {
+				return FALSE;
+			}
+		}
+		if (merged.isEmpty()) {
+			return TRUE;
+		}
+		return (merged.size() == 1) ? merged.get(0) : new AndFilter(merged);
+	}
+
+	/**
+	 * Get the {@link Restriction} bound to given expression, creating it if not available.
+	 * @param restrictions The restrictions list
+	 * @param expression The restriction expression
+	 * @return The restriction
+	 */
+	private static Restriction getRestriction(List<Restriction> restrictions, TypedExpression<?> expression) {
+		for (Restriction restriction : restrictions) {
+			if (QueryCanonicalizer.expressionEquals(restriction.expression, expression)) {
+				return restriction;
+			}
+		}
+		final Restriction restriction = new Restriction(expression);
+		restrictions.add(restriction);
+		return restriction;
+	}
+
+	/**
+	 * Get the constant value of the right hand operand of given filter.
+	 * @param filter The filter
+	 * @return The constant value, empty if the right hand operand is not a single value constant or the value is not
+	 *         comparable
+	 */
+	private static Optional<Object> getConstantValue(OperationQueryFilter<?> filter) {
+		final TypedExpression<?> right = filter.getRightOperand().orElse(null);
+		if (right instanceof ConstantConverterExpression && !(right instanceof CollectionConstantExpression)) {
+			final Object value = ((ConstantConverterExpression<?, ?>) right).getValue();
+			if (value instanceof Comparable) {
+				return Optional.of(value);
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Compare two values.
+	 * @param value The first value
+	 * @param other The second value
+	 * @return The comparison result, <code>null</code> if the values are not comparable
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Integer compare(Object value, Object other) {
+		if (value instanceof Comparable && other != null && value.getClass() == other.getClass()) {
+			return ((Comparable) value).compareTo(other);
+		}
+		return null;
+	}
+
+	/**
+	 * Checks whether the values of given expression can be compared consistently with the datastore, i.e. whether the
+	 * expression is a numeric or temporal one with no value converter.
+	 * @param expression The expression to check
+	 * @return <code>true</code> if the expression values can be compared
+	 */
+	private static boolean isComparable(TypedExpression<?> expression) {
+		if (expression == null || (expression instanceof ConverterExpression
+				&& ((ConverterExpression<?>) expression).getExpressionValueConverter().isPresent())) {
+			return false;
+		}
+		return TypeUtils.isNumber(expression.getType()) || TypeUtils.isTemporalOrCalendar(expression.getType());
+	}
+
+	/**
+	 * Checks whether given filter never evaluates to <code>UNKNOWN</code>, i.e. whether it is either satisfied or not
+	 * satisfied regardless of the <code>null</code> values of the expressions it compares. This is the case of the
+	 * <code>IS NULL</code> and <code>IS NOT NULL</code> conditions, of an empty <code>IN</code> and of a conjunction
+	 * in which every compared expression is also required to be not <code>null</code>.
+	 * @param filter The filter to check
+	 * @return <code>true</code> if the filter never evaluates to <code>UNKNOWN</code>
+	 */
+	private static boolean isNullSafe(QueryFilter filter) {
+		if (filter instanceof NullFilter || filter instanceof NotNullFilter) {
+			return true;
+		}
+		if (filter instanceof InFilter) {
+			final TypedExpression<?> right = ((InFilter<?>) filter).getRightOperand().orElse(null);
+			return right instanceof CollectionConstantExpression
+					&& isEmpty(((CollectionConstantExpression<?>) right).getValue());
+		}
+		if (filter instanceof NotFilter) {
+			final List<QueryFilter> composition = ((NotFilter) filter).getComposition();
+			return composition != null && composition.size() == 1 && isNullSafe(composition.get(0));
+		}
+		if (filter instanceof OrFilter) {
+			return ((OrFilter) filter).getComposition().stream().allMatch(QueryFilterOptimizer::isNullSafe);
+		}
+		if (filter instanceof AndFilter) {
+			final List<QueryFilter> operands = ((AndFilter) filter).getComposition();
+			final List<TypedExpression<?>> notNull = new ArrayList<>(operands.size());
+			for (QueryFilter operand : operands) {
+				if (operand instanceof NotNullFilter) {
+					notNull.add(((NotNullFilter) operand).getLeftOperand());
+				}
+			}
+			for (QueryFilter operand : operands) {
+				if (!isNullSafe(operand) && !(operand instanceof OperationQueryFilter
+						&& isNotNull(notNull, ((OperationQueryFilter<?>) operand).getLeftOperand())
+						&& isNotNullConstant(((OperationQueryFilter<?>) operand).getRightOperand().orElse(null)))) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether given expression is contained in the not <code>null</code> expressions list.
+	 * @param notNull The not <code>null</code> expressions
+	 * @param expression The expression to check
+	 * @return <code>true</code> if the expression is known to be not <code>null</code>
+	 */
+	private static boolean isNotNull(List<TypedExpression<?>> notNull, TypedExpression<?> expression) {
+		return notNull.stream().anyMatch(e -> QueryCanonicalizer.expressionEquals(e, expression));
+	}
+
+	/**
+	 * Checks whether given expression is a constant with no <code>null</code> values.
+	 * @param expression The expression to check
+	 * @return <code>true</code> if the expression is a constant with no <code>null</code> values
+	 */
+	private static boolean isNotNullConstant(TypedExpression<?> expression) {
+		if (expression instanceof CollectionConstantExpression) {
+			final Collection<?> values = ((CollectionConstantExpression<?>) expression).getValue();
+			return values != null && values.stream().allMatch(v -> v != null);
+		}
+		return expression instanceof ConstantConverterExpression
+				&& ((ConstantConverterExpression<?, ?>) expression).getValue() != null;
+	}
+
+	private static boolean isEmpty(Collection<?> values) {
+		return values == null || values.isEmpty();
+	}
+
+	/**
+	 * Filter optimization result.
+	 */
+	public static final class OptimizedFilter {
+
+		private final QueryFilter filter;
+		private final boolean unsatisfiable;
+
+		OptimizedFilter(QueryFilter filter, boolean unsatisfiable) {
+			super();
+			this.filter = filter;
+			this.unsatisfiable = unsatisfiable;
+		}
+
+		/**
+		 * Get the optimized filter.
+		 * @return The optimized filter, empty if there is no filter to apply, i.e. if the original filter was
+		 *         <code>null</code>, always satisfied or never satisfied
+		 */
+		public Optional<QueryFilter> getFilter() {
+			return Optional.ofNullable(filter);
+		}
+
+		/**
+		 * Get whether the original filter can never be satisfied, so that the query results are always empty.
+		 * @return <code>true</code> if the filter can never be satisfied
+		 */
+		public boolean isUnsatisfiable() {
+			return unsatisfiable;
+		}
+
+	}
+
+	/**
+	 * Restrictions on the values of an expression collected from the operands of a conjunction.
+	 */
+	private static final class Restriction {
+
+		final TypedExpression<?> expression;
+
+		private final boolean comparable;
+
+		private Object equalValue;
+		private QueryFilter equal;
+		private Object lower;
+		private boolean lowerInclusive;
+		private QueryFilter lowerFilter;
+		private Object upper;
+		private boolean upperInclusive;
+		private QueryFilter upperFilter;
+		private boolean isNull;
+		private boolean notNull;
+		private boolean compared;
+		private boolean unsatisfiable;
+		private final List<QueryFilter> in = new ArrayList<>(2);
+
+		Restriction(TypedExpression<?> expression) {
+			super();
+			this.expression = expression;
+			this.comparable = isComparable(expression);
+		}
+
+		/**
+		 * Add a filter to the restriction.
+		 * @param filter The filter to add
+		 * @return <code>true</code> if the filter was collected by the restriction, <code>false</code> if it must be
+		 *         kept as is
+		 */
+		boolean add(OperationQueryFilter<?> filter) {
+			if (filter instanceof NullFilter) {
+				isNull = true;
+				return false;
+			}
+			if (filter instanceof NotNullFilter) {
+				notNull = true;
+				return false;
+			}
+			if (filter instanceof InFilter) {
+				in.add(filter);
+				return false;
+			}
+			if (!comparable) {
+				// kept as is, only tracked to detect a contradiction with an IS NULL condition
+				compared = compared || filter instanceof EqualFilter || filter instanceof GreaterFilter
+						|| filter instanceof LessFilter || filter instanceof BetweenFilter;
+				return false;
+			}
+			if (filter instanceof BetweenFilter) {
+				final Object from = ((BetweenFilter<?>) filter).getFromValue();
+				final Object to = ((BetweenFilter<?>) filter).getToValue();
+				if (compare(from, to) == null || !isCompatible(from)) {
+					return false;
+				}
+				setLower(from, true, filter);
+				setUpper(to, true, filter);
+				return true;
+			}
+			final Object value = getConstantValue(filter).orElse(null);
+			if (value == null || !isCompatible(value)) {
+				return false;
+			}
+			switch (filter.getOperator()) {
+			case EQUAL:
+				if (equal != null && compare(value, equalValue) != 0) {
+					unsatisfiable = true;
+				}
+				equalValue = value;
+				equal = filter;
+				return true;
+			case GREATER_THAN:
+			case GREATER_OR_EQUAL:
+				setLower(value, filter.getOperator() == OperationQueryFilter.FilterOperator.GREATER_OR_EQUAL, filter);
+				return true;
+			case LESS_THAN:
+			case LESS_OR_EQUAL:
+				setUpper(value, filter.getOperator() == OperationQueryFilter.FilterOperator.LESS_OR_EQUAL, filter);
+				return true;
+			default:
+				return false;
+			}
+		}
+
+		/**
+		 * Merge the collected filters.
+		 * @param merged The list to which to add the merged filters
+		 * @return <code>false</code> if the restriction can never be satisfied
+		 */
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		boolean merge(List<QueryFilter> merged) {
+			final boolean restricted = compared || equal != null || lowerFilter != null || upperFilter != null;
+			if (unsatisfiable || (isNull && (notNull || restricted || !in.isEmpty()))) {
+				return false;
+			}
+			if (equal != null) {
+				if (!inRange(equalValue)) {
+					return false;
+				}
+				for (QueryFilter filter : in) {
+					final Object values = ((OperationQueryFilter<?>) filter).getRightOperand().orElse(null);
+					if (values instanceof CollectionConstantExpression
+							&& !((CollectionConstantExpression<?>) values).getValue().contains(equalValue)) {
+						return false;
+					}
+				}
+				merged.removeAll(in);
+				merged.add(equal);
+				return true;
+			}
+			if (lowerFilter != null && upperFilter != null) {
+				final int comparison = compare(lower, upper);
+				if (comparison > 0 || (comparison == 0 && (!lowerInclusive || !upperInclusive))) {
+					return false;
+				}
+				if (comparison == 0) {
+					merged.add(new EqualFilter(expression, ConstantExpression.create((TypedExpression) expression, lower)));
+					return true;
+				}
+				if (lowerInclusive && upperInclusive) {
+					merged.add(new BetweenFilter(expression, lower, upper));
+					return true;
+				}
+			}
+			if (lowerFilter != null) {
+				merged.add(lowerFilter);
+			}
+			if (upperFilter != null) {
+				merged.add(upperFilter);
+			}
+			return true;
+		}
+
+		/**
+		 * Checks whether given value can be compared with the values already collected by the restriction.
+		 * @param value The value to check
+		 * @return <code>true</code> if the value can be merged into the restriction
+		 */
+		private boolean isCompatible(Object value) {
+			return value instanceof Comparable && (equal == null || compare(value, equalValue) != null)
+					&& (lowerFilter == null || compare(value, lower) != null)
+					&& (upperFilter == null || compare(value, upper) != null);
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private void setLower(Object value, boolean inclusive, QueryFilter filter) {
+			final int comparison = (lowerFilter != null) ? compare(value, lower) : 1;
+			if (comparison > 0 || (comparison == 0 && !inclusive)) {
+				lower = value;
+				lowerInclusive = inclusive;
+				lowerFilter = (filter instanceof BetweenFilter) ? new GreaterFilter(expression,
+						ConstantExpression.create((TypedExpression) expression, value), true) : filter;
+			}
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private void setUpper(Object value, boolean inclusive, QueryFilter filter) {
+			final int comparison = (upperFilter != null) ? compare(value, upper) : -1;
+			if (comparison < 0 || (comparison == 0 && !inclusive)) {
+				upper = value;
+				upperInclusive = inclusive;
+				upperFilter = (filter instanceof BetweenFilter) ? new LessFilter(expression,
+						ConstantExpression.create((TypedExpression) expression, value), true) : filter;
+			}
+		}
+
+		private boolean inRange(Object value) {
+			if (lowerFilter != null) {
+				final Integer comparison = compare(value, lower);
+				if (comparison != null && (comparison < 0 || (comparison == 0 && !lowerInclusive))) {
+					return false;
+				}
+			}
+			if (upperFilter != null) {
+				final Integer comparison = compare(value, upper);
+				if (comparison != null && (comparison > 0 || (comparison == 0 && !upperInclusive))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+	/**
+	 * Constant filter, used as sentinel during the optimization and never exposed.
+	 */
+	private static final class ConstantFilter implements QueryFilter {
+
+		private static final long serialVersionUID = 1L;
+
+		private final boolean value;
+
+		ConstantFilter(boolean value) {
+			super();
+			this.value = value;
+		}
+
+		@Override
+		public void validate() throws InvalidExpressionException {
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(value).toUpperCase();
+		}
+
+	}
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.query;
+
+import java.util.Iterator;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * A {@link Publisher} which emits the query results {@link Stream} provided by a supplier, fetching the results on
+ * demand.
+ * <p>
+ * A new results stream is obtained for each subscriber, when the first element is requested. The results are pulled
+ * from the stream only when requested by the subscriber and the stream is closed when it is exhausted, when an error
+ * occurs or when the subscription is cancelled.
+ * </p>
+ * <p>
+ * The elements are emitted by the thread which invokes {@link Subscription#request(long)}.
+ * </p>
+ *
+ * @param <T> Results type
+ *
+ * @since 6.0.1
+ */
+public class QueryResultsPublisher<T> implements Publisher<T> {
+
+	/**
+	 * Query results supplier
+	 */
+	private final Supplier<Stream<T>> queryResults;
+
+	/**
+	 * Constructor.
+	 * @param queryResults Query results stream supplier (not null)
+	 */
+	public QueryResultsPublisher(Supplier<Stream<T>> queryResults) {
+		super();
+		ObjectUtils.argumentNotNull(queryResults, "Query results supplier must be not null");
+		this.queryResults = queryResults;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.concurrent.Flow.Publisher#subscribe(java.util.concurrent.Flow.Subscriber)
+	 */
+	@Override
+	public void subscribe(Subscriber<? super T> subscriber) {
+		ObjectUtils.argumentNotNull(subscriber, "Subscriber must be not null");
+		subscriber.onSubscribe(new ResultsSubscription<>(subscriber, queryResults));
+	}
+
+	/**
+	 * Query results subscription.
+	 * @param <T> Results type
+	 */
+	private static final class ResultsSubscription<T> implements Subscription {
+
+		private final Subscriber<? super T> subscriber;
+		private final Supplier<Stream<T>> queryResults;
+
+		/**
+		 * Requested and not yet emitted elements
+		 */
+		private final AtomicLong demand = new AtomicLong();
+
+		/**
+		 * Drain loop guard
+		 */
+		private final AtomicInteger wip = new AtomicInteger();
+
+		private volatile boolean cancelled = false;
+		private boolean completed = false;
+
+		private Stream<T> stream;
+		private Iterator<T> results;
+
+		ResultsSubscription(Subscriber<? super T> subscriber, Supplier<Stream<T>> queryResults) {
+			super();
+			this.subscriber = subscriber;
+			this.queryResults = queryResults;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.Flow.Subscription#request(long)
+		 */
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				cancel();
+				subscriber.onError(new IllegalArgumentException("Requested elements must be greater than 0"));
+				return;
+			}
+			demand.getAndAccumulate(n, (current, requested) -> {
+				final long sum = current + requested;
+				return (sum < 0) ? Long.MAX_VALUE : sum;
+			});
+			drain();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.Flow.Subscription#cancel()
+		 */
+		@Override
+		public void cancel() {
+			cancelled = true;
+			// release the results if no drain loop is running, otherwise the loop will do it
+			drain();
+		}
+
+		/**
+		 * Emit the requested elements. Only one thread at a time runs the loop, other invocations only signal that
+		 * the demand changed.
+		 */
+		private void drain() {
+			if (wip.getAndIncrement() != 0) {
+				return;
+			}
+			int missed = 1;
+			do {
+				emit();
+				missed = wip.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		private void emit() {
+			if (completed) {
+				return;
+			}
+			if (cancelled) {
+				close();
+				return;
+			}
+			try {
+				if (results == null && demand.get() > 0) {
+					stream = queryResults.get();
+					results = stream.iterator();
+				}
+				while (results != null && demand.get() > 0 && !cancelled) {
+					if (!results.hasNext()) {
+						close();
+						subscriber.onComplete();
+						return;
+					}
+					final T next = results.next();
+					demand.decrementAndGet();
+					subscriber.onNext(next);
+				}
+				if (cancelled) {
+					close();
+				}
+			} catch (Exception e) {
+				close();
+				subscriber.onError(e);
+			}
+		}
+
+		private void close() {
+			completed = true;
+			if (stream != null) {
+				stream.close();
+				stream = null;
+			}
+			results = null;
+		}
+
+	}
+
+}
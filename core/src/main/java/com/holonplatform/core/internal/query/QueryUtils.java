@@ -16,18 +16,22 @@
 package com.holonplatform.core.internal.query;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.query.Query;
 import com.holonplatform.core.query.QueryResults.QueryNonUniqueResultException;
+import com.holonplatform.core.query.QueryResults.QueryResultsPages;
 import com.holonplatform.core.query.QuerySort;
 import com.holonplatform.core.query.QuerySort.CompositeQuerySort;
 
@@ -119,6 +123,66 @@ public final class QueryUtils implements Serializable {
 		return stream;
 	}
 
+	/**
+	 * Get a {@link QueryResultsPages} iterator which splits the query results {@link Stream} provided by given supplier
+	 * into pages of given size. The stream is obtained when the first page is requested and it is closed when the last
+	 * page is returned or when the iterator is closed.
+	 * @param <T> Results type
+	 * @param queryResults Query results stream supplier (not null)
+	 * @param pageSize Page size, must be greater than <code>0</code>
+	 * @return Query results pages iterator
+	 */
+	public static <T> QueryResultsPages<T> asResultsPages(Supplier<Stream<T>> queryResults, int pageSize) {
+		ObjectUtils.argumentNotNull(queryResults, "Query results supplier must be not null");
+		if (pageSize < 1) {
+			throw new IllegalArgumentException("Page size must be greater than 0");
+		}
+		return new QueryResultsPages<T>() {
+
+			private Stream<T> stream;
+			private Iterator<T> results;
+			private boolean closed = false;
+
+			@Override
+			public boolean hasNext() {
+				if (closed) {
+					return false;
+				}
+				if (results == null) {
+					stream = queryResults.get();
+					results = stream.iterator();
+				}
+				if (!results.hasNext()) {
+					close();
+				}
+				return !closed;
+			}
+
+			@Override
+			public List<T> next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				final List<T> page = new ArrayList<>(pageSize);
+				while (page.size() < pageSize && results.hasNext()) {
+					page.add(results.next());
+				}
+				return page;
+			}
+
+			@Override
+			public void close() {
+				if (!closed) {
+					closed = true;
+					if (stream != null) {
+						stream.close();
+					}
+				}
+			}
+
+		};
+	}
+
 	/**
 	 * Get an expected unique result from a List of results.
 	 * @param <T> Results type
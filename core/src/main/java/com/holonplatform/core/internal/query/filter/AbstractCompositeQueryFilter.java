@@ -17,6 +17,7 @@ package com.holonplatform.core.internal.query.filter;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import com.holonplatform.core.internal.query.QueryFilterVisitor.VisitableQueryFilter;
@@ -98,4 +99,30 @@ public abstract class AbstractCompositeQueryFilter implements CompositeQueryFilt
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * getClass().getName().hashCode() + ((composition != null) ? composition.hashCode() : 1);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		final List<QueryFilter> otherComposition = ((AbstractCompositeQueryFilter) obj).composition;
+		return ((composition != null) ? composition : Collections.emptyList())
+				.equals((otherComposition != null) ? otherComposition : Collections.emptyList());
+	}
+
 }
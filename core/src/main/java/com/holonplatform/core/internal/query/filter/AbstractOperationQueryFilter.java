@@ -18,6 +18,7 @@ package com.holonplatform.core.internal.query.filter;
 import java.util.Optional;
 
 import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.internal.query.QueryCanonicalizer;
 import com.holonplatform.core.internal.query.QueryFilterVisitor.VisitableQueryFilter;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 
@@ -47,6 +48,11 @@ public abstract class AbstractOperationQueryFilter<T> implements OperationQueryF
 	 */
 	private final transient TypedExpression<? super T> right;
 
+	/**
+	 * Cached structural hash code
+	 */
+	private transient int hash;
+
 	/**
 	 * Constructor with left hand operand only.
 	 * @param left     Left hand operand (not null)
@@ -122,6 +128,41 @@ public abstract class AbstractOperationQueryFilter<T> implements OperationQueryF
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		int h = hash;
+		if (h == 0) {
+			h = getClass().getName().hashCode();
+			h = 31 * h + operator.ordinal();
+			h = 31 * h + QueryCanonicalizer.expressionHashCode(left);
+			h = 31 * h + QueryCanonicalizer.expressionHashCode(right);
+			hash = h;
+		}
+		return h;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		final AbstractOperationQueryFilter<?> other = (AbstractOperationQueryFilter<?>) obj;
+		return hashCode() == other.hashCode() && operator == other.operator
+				&& QueryCanonicalizer.expressionEquals(left, other.left)
+				&& QueryCanonicalizer.expressionEquals(right, other.right);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -126,6 +126,28 @@ public class StringMatchFilter extends AbstractOperationQueryFilter<String> {
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.query.filter.AbstractOperationQueryFilter#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * (31 * super.hashCode() + matchMode.ordinal()) + (ignoreCase ? 1 : 0);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.query.filter.AbstractOperationQueryFilter#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (!super.equals(obj)) {
+			return false;
+		}
+		final StringMatchFilter other = (StringMatchFilter) obj;
+		return matchMode == other.matchMode && ignoreCase == other.ignoreCase && value.equals(other.value);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.query.VisitableQueryData#accept(com.holonplatform.core.query.QueryDataVisitor,
@@ -105,6 +105,30 @@ public class MultiSort implements CompositeQuerySort, VisitableQuerySort {
 		return visitor.visit(this, context);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return sorts.hashCode();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		return sorts.equals(((MultiSort) obj).sorts);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see java.lang.Object#toString()
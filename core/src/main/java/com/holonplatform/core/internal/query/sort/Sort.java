@@ -16,6 +16,7 @@
 package com.holonplatform.core.internal.query.sort;
 
 import com.holonplatform.core.Path;
+import com.holonplatform.core.internal.query.QueryCanonicalizer;
 import com.holonplatform.core.internal.query.QuerySortVisitor;
 import com.holonplatform.core.internal.query.QuerySortVisitor.VisitableQuerySort;
 import com.holonplatform.core.internal.utils.ObjectUtils;
@@ -120,6 +121,31 @@ public class Sort<T> implements PathQuerySort<T>, VisitableQuerySort {
 		return visitor.visit(this, context);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * QueryCanonicalizer.expressionHashCode(path) + ((direction != null) ? direction.ordinal() : 0);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		final Sort<?> other = (Sort<?>) obj;
+		return direction == other.direction && QueryCanonicalizer.expressionEquals(path, other.path);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see java.lang.Object#toString()
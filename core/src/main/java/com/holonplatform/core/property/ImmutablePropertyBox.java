@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.property;
+
+import com.holonplatform.core.Validator.ValidationException;
+import com.holonplatform.core.internal.property.DefaultImmutablePropertyBox;
+import com.holonplatform.core.property.Property.PropertyAccessException;
+
+/**
+ * An immutable {@link PropertyBox}, which can be safely shared across threads without synchronization.
+ * <p>
+ * The property values cannot be modified using {@link #setValue(Property, Object)}: the
+ * {@link #withValue(Property, Object)} method returns a new {@link ImmutablePropertyBox} instance with the modified
+ * value instead, which shares the storage of all the unchanged values with the original instance. The values are
+ * stored in a persistent 32-way trie, so that creating a modified instance copies at most 32 references for each
+ * trie level, regardless of the property set size.
+ * </p>
+ * <p>
+ * Since the instance is immutable, the {@link PropertyBox} hash code is computed only once.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public interface ImmutablePropertyBox extends PropertyBox {
+
+	/**
+	 * Get a {@link ImmutablePropertyBox} with given property value, sharing all the other values with this instance.
+	 * <p>
+	 * The value is checked and validated just like {@link PropertyBox#setValue(Property, Object)} does.
+	 * </p>
+	 * @param <T> Property type
+	 * @param property The property (not null)
+	 * @param value The property value
+	 * @return A new {@link ImmutablePropertyBox} with given property value, or this instance if the property already
+	 *         holds given value instance
+	 * @throws PropertyAccessException If the property is not part of the property set or it is read-only
+	 * @throws ValidationException If invalid values are not allowed and the value is not valid
+	 */
+	<T> ImmutablePropertyBox withValue(Property<T> property, T value);
+
+	/**
+	 * Unsupported: the property values of an {@link ImmutablePropertyBox} cannot be modified.
+	 * @throws UnsupportedOperationException Always
+	 * @see #withValue(Property, Object)
+	 */
+	@Override
+	<T> void setValue(Property<T> property, T value);
+
+	/**
+	 * Unsupported: the {@link ImmutablePropertyBox} configuration cannot be modified.
+	 * @throws UnsupportedOperationException Always
+	 */
+	@Override
+	void setInvalidAllowed(boolean invalidAllowed);
+
+	/**
+	 * Create an {@link ImmutablePropertyBox} with the property set and the values of given {@link PropertyBox}. If the
+	 * {@link PropertyBox} is already an {@link ImmutablePropertyBox}, it is returned as is.
+	 * @param propertyBox The source {@link PropertyBox} (not null)
+	 * @return An {@link ImmutablePropertyBox} with the same property set and values
+	 */
+	static ImmutablePropertyBox of(PropertyBox propertyBox) {
+		return DefaultImmutablePropertyBox.of(propertyBox);
+	}
+
+	/**
+	 * Create an empty {@link ImmutablePropertyBox}, i.e. with all <code>null</code> values, using given property set.
+	 * @param <P> Property type
+	 * @param propertySet The property set (not null)
+	 * @param invalidAllowed Whether to accept invalid values when using {@link #withValue(Property, Object)}
+	 * @return A new empty {@link ImmutablePropertyBox}
+	 */
+	@SuppressWarnings("rawtypes")
+	static <P extends Property> ImmutablePropertyBox create(Iterable<P> propertySet, boolean invalidAllowed) {
+		return DefaultImmutablePropertyBox.create(propertySet, invalidAllowed);
+	}
+
+	/**
+	 * Create an empty {@link ImmutablePropertyBox}, i.e. with all <code>null</code> values, using given property set.
+	 * Invalid values are not allowed.
+	 * @param <P> Property type
+	 * @param propertySet The property set (not null)
+	 * @return A new empty {@link ImmutablePropertyBox}
+	 */
+	@SuppressWarnings("rawtypes")
+	static <P extends Property> ImmutablePropertyBox create(Iterable<P> propertySet) {
+		return create(propertySet, false);
+	}
+
+}
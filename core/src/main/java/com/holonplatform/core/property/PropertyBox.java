@@ -16,7 +16,9 @@
 package com.holonplatform.core.property;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import com.holonplatform.core.Context;
@@ -146,20 +148,70 @@ public interface PropertyBox extends PropertySet<Property> {
 	 */
 	void validate() throws ValidationException;
 
+	/**
+	 * Get whether the property value changes are tracked by this box.
+	 * @return <code>true</code> if change tracking is enabled
+	 * @since 6.0.1
+	 * @see Builder#trackChanges(boolean)
+	 */
+	default boolean isChangeTrackingEnabled() {
+		return false;
+	}
+
+	/**
+	 * Get the properties which value was modified since the box was built or since the last {@link #resetChanges()}
+	 * invocation, if change tracking is enabled. A property is considered modified when a value not equal to the
+	 * current one is set using {@link #setValue(Property, Object)}.
+	 * @return The modified properties, in property set order. An empty set if no property was modified or change
+	 *         tracking is not enabled
+	 * @since 6.0.1
+	 * @see #isChangeTrackingEnabled()
+	 */
+	@SuppressWarnings("rawtypes")
+	default Set<Property> getModifiedProperties() {
+		return Collections.emptySet();
+	}
+
+	/**
+	 * Get whether any property value was modified since the box was built or since the last {@link #resetChanges()}
+	 * invocation, if change tracking is enabled.
+	 * @return <code>true</code> if any property value was modified
+	 * @since 6.0.1
+	 */
+	default boolean isModified() {
+		return !getModifiedProperties().isEmpty();
+	}
+
+	/**
+	 * Clear the modified properties, if change tracking is enabled, so that the current values are considered as
+	 * unchanged.
+	 * @since 6.0.1
+	 */
+	default void resetChanges() {
+		// change tracking not supported by default
+	}
+
 	// Helpers
 
 	/**
 	 * Clone this PropertyBox, i.e. create a new PropertyBox with same property set of this box and copy all the
 	 * property values from this box to the newly created box.
+	 * <p>
+	 * If change tracking is enabled for this box, it is enabled for the cloned box too, with no modified properties.
+	 * </p>
 	 * @return A new, cloned, PropertyBox instance
 	 */
 	default PropertyBox cloneBox() {
-		return builder(this).invalidAllowed(this.isInvalidAllowed()).copyValues(this).build();
+		return builder(this).invalidAllowed(this.isInvalidAllowed()).trackChanges(this.isChangeTrackingEnabled())
+				.copyValues(this).build();
 	}
 
 	/**
 	 * Clone this PropertyBox using given <code>propertySet</code>, i.e. create a new PropertyBox and copy all given set
 	 * property values from this box to the newly created box.
+	 * <p>
+	 * If change tracking is enabled for this box, it is enabled for the cloned box too, with no modified properties.
+	 * </p>
 	 * @param <P> Actual property type
 	 * @param propertySet Property set of the cloned PropertyBox (not null)
 	 * @return A new, cloned, PropertyBox instance with given property set
@@ -173,7 +225,7 @@ public interface PropertyBox extends PropertySet<Property> {
 				this.getValueIfPresent(p).ifPresent(v -> builder.set(p, v));
 			}
 		});
-		return builder.invalidAllowed(this.isInvalidAllowed()).build();
+		return builder.invalidAllowed(this.isInvalidAllowed()).trackChanges(this.isChangeTrackingEnabled()).build();
 	}
 
 	/**
@@ -237,6 +289,10 @@ public interface PropertyBox extends PropertySet<Property> {
 	 * If given <code>properties</code> are provided as a {@link PropertySet} instance, any property set configuration,
 	 * such as identifier properties, is inherited by the {@link PropertyBox} property set.
 	 * </p>
+	 * <p>
+	 * The indexed, array-backed {@link PropertyBox} implementation can be enabled as the default one using the
+	 * {@link PropertyConfigProperties#PROPERTY_BOX_INDEXED} configuration property.
+	 * </p>
 	 * @param <P> Actual property type
 	 * @param properties Set of properties of the PropertyBox to create
 	 * @return A new {@link PropertyBox} builder
@@ -332,6 +388,25 @@ public interface PropertyBox extends PropertySet<Property> {
 		 */
 		Builder hashCodeProvider(HashCodeProvider<PropertyBox> hashCodeProvider);
 
+		/**
+		 * Set whether to track the property value changes of the {@link PropertyBox}. When enabled, the values set
+		 * after the {@link PropertyBox} is built are tracked and the modified properties can be obtained using
+		 * {@link PropertyBox#getModifiedProperties()}. The values set using this builder are not tracked as changes.
+		 * <p>
+		 * By default, change tracking is not supported: enabling it throws an {@link UnsupportedOperationException}.
+		 * </p>
+		 * @param trackChanges <code>true</code> to enable change tracking
+		 * @return this
+		 * @throws UnsupportedOperationException If change tracking is enabled and it is not supported by the builder
+		 * @since 6.0.1
+		 */
+		default Builder trackChanges(boolean trackChanges) {
+			if (trackChanges) {
+				throw new UnsupportedOperationException("PropertyBox change tracking is not supported");
+			}
+			return this;
+		}
+
 		/**
 		 * Set value of given <code>property</code>. Value type must be consistent with declared {@link Property} type.
 		 * @param <T> Property type
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.property;
+
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.internal.property.DefaultPropertyBoxBatch;
+import com.holonplatform.core.property.Property.PropertyNotFoundException;
+
+/**
+ * A columnar container of {@link PropertyBox} rows bound to a {@link PropertySet}, which stores the values of each
+ * property in a dedicated column rather than in a separate object for each row.
+ * <p>
+ * The values of the properties of type <code>Long</code>, <code>Integer</code>, <code>Short</code> and
+ * <code>Byte</code> are stored in a primitive <code>long</code> array, the values of the properties of type
+ * <code>Double</code> and <code>Float</code> in a primitive <code>double</code> array and the values of the
+ * <code>Boolean</code> properties in a bit set. The values of any other property type are stored in an object array.
+ * </p>
+ * <p>
+ * The rows are exposed as {@link PropertyBox} views which read and write the values directly from and to the batch
+ * columns, without copying them: a row view is a lightweight object which can be obtained on demand using
+ * {@link #get(int)}. The primitive column values can be read without boxing using {@link #getLong(int, Property)},
+ * {@link #getDouble(int, Property)} and {@link #getBoolean(int, Property)}.
+ * </p>
+ * <p>
+ * A batch is not thread-safe: concurrent access must be synchronized externally if any row value is modified.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public interface PropertyBoxBatch extends Iterable<PropertyBox> {
+
+	/**
+	 * Get the batch property set.
+	 * @return The property set
+	 */
+	PropertySet<?> getPropertySet();
+
+	/**
+	 * Get the number of rows of the batch.
+	 * @return The batch size
+	 */
+	int size();
+
+	/**
+	 * Get whether the batch has no rows.
+	 * @return <code>true</code> if the batch is empty
+	 */
+	boolean isEmpty();
+
+	/**
+	 * Get a {@link PropertyBox} view of the row at given index. The view reads and writes the values directly from
+	 * and to the batch columns.
+	 * @param row The row index
+	 * @return The row {@link PropertyBox} view
+	 * @throws IndexOutOfBoundsException If the row index is out of range
+	 */
+	PropertyBox get(int row);
+
+	/**
+	 * Get the value of given property at given row.
+	 * @param <T> Property type
+	 * @param row The row index
+	 * @param property The property (not null)
+	 * @return The property value, <code>null</code> if none
+	 * @throws IndexOutOfBoundsException If the row index is out of range
+	 * @throws PropertyNotFoundException If the property is not part of the batch property set
+	 */
+	<T> T getValue(int row, Property<T> property);
+
+	/**
+	 * Get whether the value of given property at given row is <code>null</code>.
+	 * @param row The row index
+	 * @param property The property (not null)
+	 * @return <code>true</code> if the value is <code>null</code>
+	 * @throws IndexOutOfBoundsException If the row index is out of range
+	 * @throws PropertyNotFoundException If the property is not part of the batch property set
+	 */
+	boolean isNull(int row, Property<?> property);
+
+	/**
+	 * Get the value of given numeric property at given row as a primitive <code>long</code>, without boxing it if
+	 * the property values are stored in a primitive column.
+	 * @param row The row index
+	 * @param property The property (not null)
+	 * @return The property value, <code>0</code> if the value is <code>null</code>
+	 * @throws IndexOutOfBoundsException If the row index is out of range
+	 * @throws PropertyNotFoundException If the property is not part of the batch property set
+	 * @throws ClassCastException If the property value is not a {@link Number}
+	 */
+	long getLong(int row, Property<?> property);
+
+	/**
+	 * Get the value of given numeric property at given row as a primitive <code>double</code>, without boxing it if
+	 * the property values are stored in a primitive column.
+	 * @param row The row index
+	 * @param property The property (not null)
+	 * @return The property value, <code>0</code> if the value is <code>null</code>
+	 * @throws IndexOutOfBoundsException If the row index is out of range
+	 * @throws PropertyNotFoundException If the property is not part of the batch property set
+	 * @throws ClassCastException If the property value is not a {@link Number}
+	 */
+	double getDouble(int row, Property<?> property);
+
+	/**
+	 * Get the value of given boolean property at given row as a primitive <code>boolean</code>, without boxing it.
+	 * @param row The row index
+	 * @param property The property (not null)
+	 * @return The property value, <code>false</code> if the value is <code>null</code>
+	 * @throws IndexOutOfBoundsException If the row index is out of range
+	 * @throws PropertyNotFoundException If the property is not part of the batch property set
+	 * @throws ClassCastException If the property value is not a {@link Boolean}
+	 */
+	boolean getBoolean(int row, Property<?> property);
+
+	/**
+	 * Get a {@link Stream} of the batch rows {@link PropertyBox} views, in row order.
+	 * @return The rows stream
+	 */
+	Stream<PropertyBox> stream();
+
+	/**
+	 * Get a builder to create a {@link PropertyBoxBatch} bound to given property set.
+	 * @param <P> Property type
+	 * @param propertySet The batch property set (not null)
+	 * @return A new {@link PropertyBoxBatch} builder
+	 */
+	@SuppressWarnings("rawtypes")
+	static <P extends Property> Builder builder(Iterable<P> propertySet) {
+		return new DefaultPropertyBoxBatch.DefaultBuilder(propertySet);
+	}
+
+	/**
+	 * Get a {@link Collector} which collects the {@link PropertyBox} elements of a stream into a
+	 * {@link PropertyBoxBatch} bound to given property set. The values of the properties which are not part of a
+	 * collected {@link PropertyBox} are stored as <code>null</code> values.
+	 * @param <P> Property type
+	 * @param propertySet The batch property set (not null)
+	 * @return The batch collector
+	 */
+	@SuppressWarnings("rawtypes")
+	static <P extends Property> Collector<PropertyBox, ?, PropertyBoxBatch> collector(Iterable<P> propertySet) {
+		return DefaultPropertyBoxBatch.collector(propertySet);
+	}
+
+	/**
+	 * {@link PropertyBoxBatch} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Set the expected number of rows, to size the batch columns in advance.
+		 * @param capacity The expected number of rows
+		 * @return this
+		 */
+		Builder capacity(int capacity);
+
+		/**
+		 * Append a row to the batch, copying the values of given {@link PropertyBox}. The values of the properties
+		 * which are not part of the {@link PropertyBox} are stored as <code>null</code> values.
+		 * @param propertyBox The row values (not null)
+		 * @return this
+		 */
+		Builder add(PropertyBox propertyBox);
+
+		/**
+		 * Append an empty row to the batch, i.e. a row with all <code>null</code> values.
+		 * @return this
+		 */
+		Builder addEmpty();
+
+		/**
+		 * Get the number of rows appended so far.
+		 * @return The number of rows
+		 */
+		int size();
+
+		/**
+		 * Build the {@link PropertyBoxBatch}.
+		 * @return A new {@link PropertyBoxBatch}
+		 */
+		PropertyBoxBatch build();
+
+	}
+
+}
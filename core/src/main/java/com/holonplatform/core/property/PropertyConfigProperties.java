@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.property;
+
+import com.holonplatform.core.config.ConfigProperty;
+import com.holonplatform.core.config.ConfigPropertySet;
+import com.holonplatform.core.internal.config.DefaultConfigPropertySet;
+
+/**
+ * A {@link ConfigPropertySet} for property related configuration.
+ *
+ * @since 6.0.1
+ */
+public interface PropertyConfigProperties extends ConfigPropertySet {
+
+	/**
+	 * Configuration property set name
+	 */
+	public static final String NAME = "holon.property";
+
+	/**
+	 * Whether to use the indexed, array-backed {@link PropertyBox} implementation as the default one, i.e. the
+	 * implementation used by {@link PropertyBox#builder(Iterable)} and {@link PropertyBox#create(Iterable)}.
+	 */
+	public static final ConfigProperty<Boolean> PROPERTY_BOX_INDEXED = ConfigProperty.create("box-indexed",
+			Boolean.class);
+
+	@Override
+	default String getName() {
+		return NAME;
+	}
+
+	/**
+	 * Gets whether the indexed {@link PropertyBox} implementation is used as default implementation.
+	 * @return <code>true</code> if the indexed {@link PropertyBox} implementation is the default one
+	 * @see #PROPERTY_BOX_INDEXED
+	 */
+	default boolean isPropertyBoxIndexed() {
+		return getConfigPropertyValue(PROPERTY_BOX_INDEXED, Boolean.FALSE);
+	}
+
+	/**
+	 * Builder to create property set instances bound to a property data source
+	 * @return ConfigPropertySet builder
+	 */
+	static Builder<PropertyConfigProperties> builder() {
+		return new DefaultConfigPropertySet.DefaultBuilder<>(new PropertyConfigPropertiesImpl());
+	}
+
+	/**
+	 * Default implementation
+	 */
+	static class PropertyConfigPropertiesImpl extends DefaultConfigPropertySet implements PropertyConfigProperties {
+
+		public PropertyConfigPropertiesImpl() {
+			super(NAME);
+		}
+
+	}
+
+}
@@ -71,6 +71,33 @@ public interface PropertySet<P extends Property> extends Iterable<P>, HasConfigu
 	 */
 	boolean contains(Property property);
 
+	/**
+	 * Returns the index of the given <code>property</code> in this set, i.e. the
+	 * position of the property in the property set iteration order. If the given
+	 * <code>property</code> is <code>null</code> or it is not part of this set,
+	 * returns <code>-1</code>.
+	 * <p>
+	 * The default implementation performs a scan of the property set elements.
+	 * Immutable property set implementations should provide a constant time lookup.
+	 * </p>
+	 * @param property Property for which to obtain the index
+	 * @return The property index, <code>-1</code> if the property is not part of
+	 *         this set
+	 * @since 6.0.1
+	 */
+	default int indexOf(Property property) {
+		if (property != null) {
+			int index = 0;
+			for (P p : this) {
+				if (property.equals(p)) {
+					return index;
+				}
+				index++;
+			}
+		}
+		return -1;
+	}
+
 	/**
 	 * Returns a sequential {@code Stream} of the {@link Property}s of this set.
 	 * @return Properties stream
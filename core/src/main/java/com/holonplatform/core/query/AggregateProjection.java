@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.query;
+
+import java.util.List;
+
+import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.internal.query.DefaultAggregateProjection;
+
+/**
+ * A {@link QueryProjection} which returns the values of a set of numeric expressions, typically aggregation functions,
+ * as an {@link AggregateValues} flat record of primitive values.
+ * <p>
+ * Each projection expression is bound to a value index, in the order the expressions are added to the projection
+ * builder, and to a {@link ValueType} which declares whether the value is stored as a <code>long</code> or as a
+ * <code>double</code>.
+ * </p>
+ * 
+ * @since 6.0.1
+ * 
+ * @see AggregateValues
+ */
+public interface AggregateProjection extends QueryProjection<AggregateValues> {
+
+	/**
+	 * Get the projection expressions, in value index order.
+	 * @return The projection expressions (not empty)
+	 */
+	List<TypedExpression<? extends Number>> getExpressions();
+
+	/**
+	 * Get the value type of the projection expression with given index.
+	 * @param index The value index
+	 * @return The value type
+	 * @throws IndexOutOfBoundsException If the index is not valid
+	 */
+	ValueType getValueType(int index);
+
+	/**
+	 * Get the number of projection values.
+	 * @return The projection values count
+	 */
+	default int size() {
+		return getExpressions().size();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.TypedExpression#getType()
+	 */
+	@Override
+	default Class<? extends AggregateValues> getType() {
+		return AggregateValues.class;
+	}
+
+	/**
+	 * Get a builder to create an {@link AggregateProjection}.
+	 * @return A new {@link AggregateProjection} builder
+	 */
+	static Builder builder() {
+		return new DefaultAggregateProjection.DefaultBuilder();
+	}
+
+	/**
+	 * Aggregate projection value types.
+	 */
+	public enum ValueType {
+
+		/**
+		 * The value is stored as a <code>long</code>.
+		 */
+		LONG,
+
+		/**
+		 * The value is stored as a <code>double</code>.
+		 */
+		DOUBLE;
+
+	}
+
+	/**
+	 * {@link AggregateProjection} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Add a projection expression which value is stored as a <code>long</code>.
+		 * @param expression The expression to add (not null)
+		 * @return this
+		 */
+		Builder longValue(TypedExpression<? extends Number> expression);
+
+		/**
+		 * Add a projection expression which value is stored as a <code>double</code>.
+		 * @param expression The expression to add (not null)
+		 * @return this
+		 */
+		Builder doubleValue(TypedExpression<? extends Number> expression);
+
+		/**
+		 * Build the {@link AggregateProjection}.
+		 * @return A new {@link AggregateProjection}
+		 * @throws IllegalStateException If no projection expression was added
+		 */
+		AggregateProjection build();
+
+	}
+
+}
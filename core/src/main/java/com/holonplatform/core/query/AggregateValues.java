@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.query;
+
+import com.holonplatform.core.internal.query.DefaultAggregateValues;
+import com.holonplatform.core.query.AggregateProjection.ValueType;
+
+/**
+ * An immutable, flat record of the primitive values returned by an {@link AggregateProjection}.
+ * <p>
+ * The values are accessed by index, following the {@link AggregateProjection} expressions order. A value may be
+ * <code>null</code>, for example when an aggregation function is applied to an empty set of rows: use
+ * {@link #isNull(int)} to check it.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public interface AggregateValues {
+
+	/**
+	 * Get the number of values.
+	 * @return The values count
+	 */
+	int size();
+
+	/**
+	 * Get whether the value with given index is <code>null</code>.
+	 * @param index The value index
+	 * @return <code>true</code> if the value is <code>null</code>, <code>false</code> otherwise
+	 * @throws IndexOutOfBoundsException If the index is not valid
+	 */
+	boolean isNull(int index);
+
+	/**
+	 * Get the value with given index as a <code>long</code>. A {@link ValueType#DOUBLE} value is truncated.
+	 * @param index The value index
+	 * @return The value, <code>0</code> if the value is <code>null</code>
+	 * @throws IndexOutOfBoundsException If the index is not valid
+	 */
+	long getLong(int index);
+
+	/**
+	 * Get the value with given index as a <code>double</code>.
+	 * @param index The value index
+	 * @return The value, <code>0</code> if the value is <code>null</code>
+	 * @throws IndexOutOfBoundsException If the index is not valid
+	 */
+	double getDouble(int index);
+
+	/**
+	 * Get a builder to create the {@link AggregateValues} of given projection.
+	 * @param projection The aggregate projection (not null)
+	 * @return A new {@link AggregateValues} builder
+	 */
+	static Builder builder(AggregateProjection projection) {
+		return new DefaultAggregateValues.DefaultBuilder(projection);
+	}
+
+	/**
+	 * {@link AggregateValues} builder. All the values are initially <code>null</code>.
+	 */
+	public interface Builder {
+
+		/**
+		 * Set a value as a <code>long</code>. If the value type is {@link ValueType#DOUBLE}, the value is widened.
+		 * @param index The value index
+		 * @param value The value
+		 * @return this
+		 * @throws IndexOutOfBoundsException If the index is not valid
+		 */
+		Builder setLong(int index, long value);
+
+		/**
+		 * Set a value as a <code>double</code>. If the value type is {@link ValueType#LONG}, the value is truncated.
+		 * @param index The value index
+		 * @param value The value
+		 * @return this
+		 * @throws IndexOutOfBoundsException If the index is not valid
+		 */
+		Builder setDouble(int index, double value);
+
+		/**
+		 * Set a value using a {@link Number}, converted according to the value type.
+		 * @param index The value index
+		 * @param value The value, <code>null</code> for a <code>null</code> value
+		 * @return this
+		 * @throws IndexOutOfBoundsException If the index is not valid
+		 */
+		Builder set(int index, Number value);
+
+		/**
+		 * Build the {@link AggregateValues}.
+		 * @return A new {@link AggregateValues}
+		 */
+		AggregateValues build();
+
+	}
+
+}
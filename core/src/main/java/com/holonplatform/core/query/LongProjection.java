@@ -0,0 +1,61 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.query;
+
+import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.internal.query.DefaultLongProjection;
+
+/**
+ * A {@link QueryProjection} which returns the value of a numeric expression as a <code>long</code> value, such as a
+ * <em>count</em> or the <em>sum</em> of integral values.
+ * <p>
+ * The projection results can be obtained as a primitive value using {@link QueryResults#findLong(LongProjection)}. Any
+ * {@link Number} value provided by the concrete query execution is converted to a <code>Long</code> value.
+ * </p>
+ * <p>
+ * This projection is a convenience to obtain a numeric result with a consistent type: the query results are still
+ * provided as boxed values by the query execution, so it does not avoid the boxing costs.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public interface LongProjection extends QueryProjection<Long> {
+
+	/**
+	 * Get the numeric expression to project.
+	 * @return The projection expression (not null)
+	 */
+	TypedExpression<? extends Number> getExpression();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.TypedExpression#getType()
+	 */
+	@Override
+	default Class<? extends Long> getType() {
+		return Long.class;
+	}
+
+	/**
+	 * Create a {@link LongProjection} for given numeric expression.
+	 * @param expression The expression to project (not null)
+	 * @return A new {@link LongProjection}
+	 */
+	static LongProjection of(TypedExpression<? extends Number> expression) {
+		return new DefaultLongProjection(expression);
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.query;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.Path;
+import com.holonplatform.core.internal.query.DefaultPropertyBoxCollection;
+import com.holonplatform.core.property.PropertyBox;
+
+/**
+ * An immutable collection of {@link PropertyBox}es which can be filtered and sorted in memory using the same
+ * {@link QueryFilter} and {@link QuerySort} definitions used to query a data store.
+ * <p>
+ * A <em>hash</em> or <em>sorted</em> index can be declared on any {@link Path}: the equality and <code>IN</code>
+ * filters on an indexed path are answered by an index lookup, and the range filters (greater, less and between) are
+ * answered by a sorted index lookup, rather than by a full scan of the collection. Any other filter condition is
+ * evaluated against the index lookup candidates only.
+ * </p>
+ * <p>
+ * The value comparisons follow the SQL semantics: any comparison involving a <code>null</code> value is not
+ * satisfied, except for the <code>IS NULL</code> and <code>IS NOT NULL</code> filters. Numeric values are compared by
+ * value, regardless of their type.
+ * </p>
+ * 
+ * @since 6.0.1
+ */
+public interface PropertyBoxCollection extends Iterable<PropertyBox> {
+
+	/**
+	 * Get the number of elements of the collection.
+	 * @return The collection size
+	 */
+	int size();
+
+	/**
+	 * Get whether the collection is empty.
+	 * @return <code>true</code> if the collection has no elements
+	 */
+	boolean isEmpty();
+
+	/**
+	 * Get a {@link Stream} of all the collection elements, in collection order.
+	 * @return The collection elements stream
+	 */
+	Stream<PropertyBox> stream();
+
+	/**
+	 * Get a {@link Stream} of the collection elements which satisfy given filter, in collection order.
+	 * @param filter The filter (not null)
+	 * @return The matching elements stream
+	 * @throws InvalidExpressionException If the filter is not supported
+	 */
+	Stream<PropertyBox> stream(QueryFilter filter);
+
+	/**
+	 * Get the collection elements which satisfy given filter, in collection order.
+	 * @param filter The filter (not null)
+	 * @return The matching elements, an empty List if none
+	 * @throws InvalidExpressionException If the filter is not supported
+	 */
+	List<PropertyBox> list(QueryFilter filter);
+
+	/**
+	 * Get the collection elements which satisfy given filter, sorted using given sort.
+	 * @param filter The filter, <code>null</code> to select all the elements
+	 * @param sort The sort (not null)
+	 * @return The matching elements, an empty List if none
+	 * @throws InvalidExpressionException If the filter or the sort is not supported
+	 */
+	List<PropertyBox> list(QueryFilter filter, QuerySort sort);
+
+	/**
+	 * Count the collection elements which satisfy given filter.
+	 * @param filter The filter (not null)
+	 * @return The matching elements count
+	 * @throws InvalidExpressionException If the filter is not supported
+	 */
+	long count(QueryFilter filter);
+
+	/**
+	 * Compile given {@link QueryFilter} into a {@link PropertyBox} {@link Predicate}.
+	 * <p>
+	 * The filter paths are resolved against the {@link PropertyBox} properties: a property which is not available in
+	 * the {@link PropertyBox} property set is evaluated as a <code>null</code> value.
+	 * </p>
+	 * @param filter The filter to compile (not null)
+	 * @return The {@link PropertyBox} predicate
+	 * @throws InvalidExpressionException If the filter is not supported
+	 */
+	static Predicate<PropertyBox> predicate(QueryFilter filter) {
+		return DefaultPropertyBoxCollection.predicate(filter);
+	}
+
+	/**
+	 * Compile given {@link QuerySort} into a {@link PropertyBox} {@link Comparator}. <code>null</code> values are
+	 * sorted first.
+	 * @param sort The sort to compile (not null)
+	 * @return The {@link PropertyBox} comparator
+	 * @throws InvalidExpressionException If the sort is not supported
+	 */
+	static Comparator<PropertyBox> comparator(QuerySort sort) {
+		return DefaultPropertyBoxCollection.comparator(sort);
+	}
+
+	/**
+	 * Get a builder to create a {@link PropertyBoxCollection}.
+	 * @return A new {@link PropertyBoxCollection} builder
+	 */
+	static Builder builder() {
+		return new DefaultPropertyBoxCollection.DefaultBuilder();
+	}
+
+	/**
+	 * {@link PropertyBoxCollection} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Add an element to the collection.
+		 * @param propertyBox The element to add (not null)
+		 * @return this
+		 */
+		Builder add(PropertyBox propertyBox);
+
+		/**
+		 * Add all given elements to the collection.
+		 * @param propertyBoxes The elements to add (not null)
+		 * @return this
+		 */
+		Builder addAll(Iterable<? extends PropertyBox> propertyBoxes);
+
+		/**
+		 * Declare a hash index on given path, used to answer the equality and <code>IN</code> filters.
+		 * @param path The path to index (not null)
+		 * @return this
+		 */
+		Builder hashIndex(Path<?> path);
+
+		/**
+		 * Declare a sorted index on given path, used to answer the equality, <code>IN</code> and range filters. The
+		 * path values must be mutually comparable.
+		 * @param path The path to index (not null)
+		 * @return this
+		 */
+		Builder sortedIndex(Path<?> path);
+
+		/**
+		 * Build the collection and its indexes.
+		 * @return A new {@link PropertyBoxCollection}
+		 * @throws InvalidExpressionException If the values of a sorted index path are not comparable
+		 */
+		PropertyBoxCollection build();
+
+	}
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.query;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import com.holonplatform.core.datastore.Datastore;
+import com.holonplatform.core.datastore.DatastoreCommodity;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.query.DefaultQueryBatch;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.query.QueryResults.QueryNonUniqueResultException;
+
+/**
+ * Collects a set of independent {@link Query} executions, each one bound to a {@link QueryProjection}, to submit them
+ * together using {@link #execute()}.
+ * <p>
+ * Each query added to the batch returns a {@link Result} handle, which provides the query results after the batch
+ * execution. A concrete {@link Datastore} may provide its own {@link QueryBatch} commodity to pipeline or combine the
+ * batch queries, while the default implementation executes them in sequence.
+ * </p>
+ * <p>
+ * The query executions are independent: if a query execution fails, the error is reported by its {@link Result}
+ * handle and the other queries of the batch are executed anyway.
+ * </p>
+ * 
+ * @since 6.0.1
+ * 
+ * @see Datastore#batch()
+ */
+public interface QueryBatch extends DatastoreCommodity {
+
+	/**
+	 * Add a query to the batch, which results will be provided as a {@link List} of given projection type.
+	 * @param <R> Results type
+	 * @param query The query to execute (not null)
+	 * @param projection The query projection (not null)
+	 * @return The query {@link Result} handle
+	 * @throws IllegalStateException If the batch was already executed
+	 */
+	<R> Result<List<R>> list(Query query, QueryProjection<R> projection);
+
+	/**
+	 * Add a query to the batch, which is expected to return an unique result of given projection type.
+	 * <p>
+	 * If more than one result is returned by the query, the {@link Result} handle throws a
+	 * {@link QueryNonUniqueResultException}.
+	 * </p>
+	 * @param <R> Result type
+	 * @param query The query to execute (not null)
+	 * @param projection The query projection (not null)
+	 * @return The query {@link Result} handle
+	 * @throws IllegalStateException If the batch was already executed
+	 */
+	<R> Result<Optional<R>> findOne(Query query, QueryProjection<R> projection);
+
+	/**
+	 * Add a query to the batch to count all the query results.
+	 * @param query The query to execute (not null)
+	 * @return The query {@link Result} handle
+	 * @throws IllegalStateException If the batch was already executed
+	 */
+	Result<Long> count(Query query);
+
+	/**
+	 * Add a query to the batch, which results will be provided as a {@link List} of {@link PropertyBox} using given
+	 * <code>properties</code> as property set.
+	 * @param <P> Actual property type
+	 * @param query The query to execute (not null)
+	 * @param properties The property set to use (not null)
+	 * @return The query {@link Result} handle
+	 * @throws IllegalStateException If the batch was already executed
+	 */
+	@SuppressWarnings("rawtypes")
+	default <P extends Property> Result<List<PropertyBox>> list(Query query, Iterable<P> properties) {
+		return list(query, PropertySetProjection.of(properties));
+	}
+
+	/**
+	 * Add a query to the batch, which is expected to return an unique {@link PropertyBox} result using given
+	 * <code>properties</code> as property set.
+	 * @param <P> Actual property type
+	 * @param query The query to execute (not null)
+	 * @param properties The property set to use (not null)
+	 * @return The query {@link Result} handle
+	 * @throws IllegalStateException If the batch was already executed
+	 */
+	@SuppressWarnings("rawtypes")
+	default <P extends Property> Result<Optional<PropertyBox>> findOne(Query query, Iterable<P> properties) {
+		return findOne(query, PropertySetProjection.of(properties));
+	}
+
+	/**
+	 * Add a query to the batch, which results will be provided as a {@link List} of {@link PropertyBox} using given
+	 * <code>properties</code> as property set.
+	 * @param query The query to execute (not null)
+	 * @param properties The property set to use (not null)
+	 * @return The query {@link Result} handle
+	 * @throws IllegalStateException If the batch was already executed
+	 */
+	@SuppressWarnings("rawtypes")
+	default Result<List<PropertyBox>> list(Query query, Property... properties) {
+		return list(query, PropertySetProjection.of(Arrays.asList(properties)));
+	}
+
+	/**
+	 * Add a query to the batch, which is expected to return an unique {@link PropertyBox} result using given
+	 * <code>properties</code> as property set.
+	 * @param query The query to execute (not null)
+	 * @param properties The property set to use (not null)
+	 * @return The query {@link Result} handle
+	 * @throws IllegalStateException If the batch was already executed
+	 */
+	@SuppressWarnings("rawtypes")
+	default Result<Optional<PropertyBox>> findOne(Query query, Property... properties) {
+		return findOne(query, PropertySetProjection.of(Arrays.asList(properties)));
+	}
+
+	/**
+	 * Get the number of queries added to the batch.
+	 * @return The batch size
+	 */
+	int size();
+
+	/**
+	 * Execute all the queries of the batch. After the execution, the query results are available from the
+	 * {@link Result} handles.
+	 * @throws IllegalStateException If the batch was already executed
+	 */
+	void execute();
+
+	/**
+	 * Create a new {@link QueryBatch} which executes the queries in sequence.
+	 * @return A new {@link QueryBatch}
+	 */
+	static QueryBatch create() {
+		return new DefaultQueryBatch();
+	}
+
+	/**
+	 * A handle to the results of a query added to a {@link QueryBatch}.
+	 * @param <T> Results type
+	 */
+	public interface Result<T> {
+
+		/**
+		 * Get whether the query was executed, either successfully or not.
+		 * @return <code>true</code> if the query was executed, <code>false</code> otherwise
+		 */
+		boolean isDone();
+
+		/**
+		 * Get the query results.
+		 * @return The query results
+		 * @throws IllegalStateException If the batch was not executed yet
+		 * @throws DataAccessException If the query execution failed
+		 * @throws QueryNonUniqueResultException If an unique result was expected but more than one was found
+		 */
+		T get();
+
+	}
+
+}
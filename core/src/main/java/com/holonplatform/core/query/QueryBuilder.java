@@ -20,6 +20,7 @@ import com.holonplatform.core.ExpressionResolver.ExpressionResolverBuilder;
 import com.holonplatform.core.config.ConfigProperty;
 import com.holonplatform.core.datastore.DataTarget;
 import com.holonplatform.core.datastore.DataTarget.DataTargetSupport;
+import com.holonplatform.core.property.PropertyBox;
 import com.holonplatform.core.query.QueryAggregation.QueryAggregationSupport;
 import com.holonplatform.core.query.QueryFilter.QueryFilterSupport;
 import com.holonplatform.core.query.QuerySort.QuerySortSupport;
@@ -82,6 +83,22 @@ public interface QueryBuilder<Q extends QueryBuilder<Q>> extends QueryFilterSupp
 	 */
 	<T> Q parameter(ConfigProperty<T> property, T value);
 
+	/**
+	 * Set the number of results to be fetched from the data store at once when the query results are streamed, for
+	 * example to avoid to load a large result set in memory. This is a hint which a data store can ignore if not
+	 * supported.
+	 * @param fetchSize The fetch size, must be greater than <code>0</code>
+	 * @return this
+	 * @since 6.0.1
+	 * @see QueryConfiguration#FETCH_SIZE
+	 */
+	default Q fetchSize(int fetchSize) {
+		if (fetchSize < 1) {
+			throw new IllegalArgumentException("Fetch size must be greater than 0");
+		}
+		return parameter(QueryConfiguration.FETCH_SIZE, fetchSize);
+	}
+
 	/**
 	 * Configure the query to return <em>distinct</em> query projection result values.
 	 * @return this
@@ -89,4 +106,32 @@ public interface QueryBuilder<Q extends QueryBuilder<Q>> extends QueryFilterSupp
 	 */
 	Q distinct();
 
+	/**
+	 * Set the query keyset pagination clause, which replaces any previously configured keyset.
+	 * <p>
+	 * The keyset sort is used as primary query sort, followed by any other query sort, and the keyset seek filter, if
+	 * any, is combined with the other query filters, so that only the results which follow the keyset last seen result
+	 * are returned. Use {@link #limit(int)} to set the page size.
+	 * </p>
+	 * @param keyset The query keyset (not null)
+	 * @return this
+	 * @since 6.0.1
+	 * @see QueryResults#pages(QueryProjection, int)
+	 */
+	Q keyset(QueryKeyset keyset);
+
+	/**
+	 * Set the query keyset pagination clause, using given <code>sort</code> and the last result of the previous page.
+	 * @param sort The keyset sort (not null)
+	 * @param lastSeen The last result of the previous page, <code>null</code> for the first page
+	 * @return this
+	 * @throws IllegalArgumentException If the sort is not composed only by path sorts or if the last seen result does
+	 *         not provide a value for a sort path
+	 * @since 6.0.1
+	 * @see #keyset(QueryKeyset)
+	 */
+	default Q keyset(QuerySort sort, PropertyBox lastSeen) {
+		return keyset(QueryKeyset.create(sort, lastSeen));
+	}
+
 }
@@ -21,6 +21,7 @@ import com.holonplatform.core.Expression;
 import com.holonplatform.core.ExpressionResolver;
 import com.holonplatform.core.ExpressionResolver.ExpressionResolverProvider;
 import com.holonplatform.core.ParameterSet;
+import com.holonplatform.core.config.ConfigProperty;
 import com.holonplatform.core.datastore.DataTarget;
 
 /**
@@ -31,6 +32,15 @@ import com.holonplatform.core.datastore.DataTarget;
  */
 public interface QueryConfiguration extends ParameterSet, Expression, ExpressionResolverProvider {
 
+	/**
+	 * Query parameter to provide a hint about the number of results to be fetched from the data store at once when the
+	 * query results are streamed, for example the cursor fetch size of a relational database. A data store can ignore
+	 * the hint if not supported.
+	 * @since 6.0.1
+	 */
+	static final ConfigProperty<Integer> FETCH_SIZE = ConfigProperty.create(QueryConfiguration.class.getName()
+			+ ".fetchSize", Integer.class);
+
 	/**
 	 * Get the data target.
 	 * @return Optional {@link DataTarget} of the query
@@ -75,4 +85,36 @@ public interface QueryConfiguration extends ParameterSet, Expression, Expression
 	 */
 	boolean isDistinct();
 
+	/**
+	 * Get the query keyset pagination clause, if any.
+	 * <p>
+	 * When a keyset is configured, the keyset sort and seek filter are part of the query sort and filter.
+	 * </p>
+	 * @return Optional query keyset pagination clause
+	 * @since 6.0.1
+	 */
+	default Optional<QueryKeyset> getKeyset() {
+		return Optional.empty();
+	}
+
+	/**
+	 * Get whether the query filter can never be satisfied, i.e. whether no row can match the query filter and the
+	 * query results can be determined without the need to execute the query.
+	 * @return <code>true</code> if the query filter can never be satisfied
+	 * @since 6.0.1
+	 */
+	default boolean isUnsatisfiable() {
+		return false;
+	}
+
+	/**
+	 * Get the query results fetch size hint, if any.
+	 * @return Optional query results fetch size
+	 * @since 6.0.1
+	 * @see #FETCH_SIZE
+	 */
+	default Optional<Integer> getFetchSize() {
+		return getParameter(FETCH_SIZE);
+	}
+
 }
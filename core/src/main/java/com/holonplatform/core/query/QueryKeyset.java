@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.query;
+
+import java.io.Serializable;
+import java.util.Optional;
+
+import com.holonplatform.core.internal.query.DefaultQueryKeyset;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.query.QuerySort.PathQuerySort;
+
+/**
+ * Represents a <em>keyset</em> (or <em>seek</em>) query pagination clause, which can be used to fetch a page of query
+ * results starting from the last result of the previous page, instead of skipping a number of results using an offset.
+ * <p>
+ * A keyset is composed by a {@link QuerySort}, which must be declared using one or more {@link PathQuerySort}s and
+ * should identify each result univocally, and by the optional {@link PropertyBox} which represents the last result of
+ * the previous page. The last result must provide a not <code>null</code> value for each sort path, matched by path
+ * name.
+ * </p>
+ * <p>
+ * The keyset {@link #getFilter()} provides the <em>seek</em> filter equivalent to the keyset, which selects only the
+ * results which follow the last seen result according to the keyset sort.
+ * </p>
+ * 
+ * @since 6.0.1
+ * 
+ * @see QueryBuilder#keyset(QueryKeyset)
+ */
+public interface QueryKeyset extends Serializable {
+
+	/**
+	 * Get the keyset sort.
+	 * @return The keyset sort
+	 */
+	QuerySort getSort();
+
+	/**
+	 * Get the last result of the previous page, if available.
+	 * @return Optional last seen result, an empty Optional for the first page
+	 */
+	Optional<PropertyBox> getLastSeen();
+
+	/**
+	 * Get the <em>seek</em> filter which selects the results which follow the last seen result according to the keyset
+	 * sort.
+	 * @return Optional seek filter, an empty Optional if no last seen result is available
+	 */
+	Optional<QueryFilter> getFilter();
+
+	/**
+	 * Create a new {@link QueryKeyset} using the same sort of this keyset and given last seen result.
+	 * @param lastSeen The last result of the previous page (not null)
+	 * @return A new {@link QueryKeyset}
+	 * @throws IllegalArgumentException If the last seen result does not provide a value for a sort path
+	 */
+	default QueryKeyset next(PropertyBox lastSeen) {
+		return create(getSort(), lastSeen);
+	}
+
+	/**
+	 * Create a new {@link QueryKeyset} for the first page of query results.
+	 * @param sort The keyset sort (not null)
+	 * @return A new {@link QueryKeyset}
+	 * @throws IllegalArgumentException If the sort is not composed only by {@link PathQuerySort}s
+	 */
+	static QueryKeyset create(QuerySort sort) {
+		return new DefaultQueryKeyset(sort, null);
+	}
+
+	/**
+	 * Create a new {@link QueryKeyset}.
+	 * @param sort The keyset sort (not null)
+	 * @param lastSeen The last result of the previous page, <code>null</code> for the first page
+	 * @return A new {@link QueryKeyset}
+	 * @throws IllegalArgumentException If the sort is not composed only by {@link PathQuerySort}s or if the last seen
+	 *         result does not provide a value for a sort path
+	 */
+	static QueryKeyset create(QuerySort sort, PropertyBox lastSeen) {
+		return new DefaultQueryKeyset(sort, lastSeen);
+	}
+
+}
@@ -94,4 +94,34 @@ public interface QueryProjection<T> extends TypedExpression<T> {
 		return new DefaultCountAllProjection();
 	}
 
+	/**
+	 * Create a query projection to obtain the value of given numeric expression as a <code>long</code>.
+	 * @param expression The numeric expression (not null)
+	 * @return A new {@link LongProjection}
+	 * @since 6.0.1
+	 */
+	static LongProjection longValue(TypedExpression<? extends Number> expression) {
+		return LongProjection.of(expression);
+	}
+
+	/**
+	 * Create a query projection to obtain the value of given numeric expression as a <code>double</code>.
+	 * @param expression The numeric expression (not null)
+	 * @return A new {@link DoubleProjection}
+	 * @since 6.0.1
+	 */
+	static DoubleProjection doubleValue(TypedExpression<? extends Number> expression) {
+		return DoubleProjection.of(expression);
+	}
+
+	/**
+	 * Get a builder to create a query projection which returns the values of a set of numeric expressions as an
+	 * {@link AggregateValues} flat record of primitive values.
+	 * @return A new {@link AggregateProjection} builder
+	 * @since 6.0.1
+	 */
+	static AggregateProjection.Builder aggregate() {
+		return AggregateProjection.builder();
+	}
+
 }
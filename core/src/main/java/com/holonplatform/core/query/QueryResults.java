@@ -15,15 +15,22 @@
  */
 package com.holonplatform.core.query;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.concurrent.Flow.Publisher;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.query.QueryResultsPublisher;
 import com.holonplatform.core.internal.query.QueryUtils;
+import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.property.Property;
 import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertyBoxBatch;
 import com.holonplatform.core.property.PropertySet;
 
 /**
@@ -56,7 +63,9 @@ public interface QueryResults extends QueryProjectionOperations<Stream, List, Op
 	 */
 	@Override
 	default <R> List<R> list(QueryProjection<R> projection) {
-		return stream(projection).collect(Collectors.toList());
+		try (Stream<R> results = stream(projection)) {
+			return results.collect(Collectors.toList());
+		}
 	}
 
 	/**
@@ -72,7 +81,11 @@ public interface QueryResults extends QueryProjectionOperations<Stream, List, Op
 	 */
 	@Override
 	default <R> Optional<R> findOne(QueryProjection<R> projection) throws QueryNonUniqueResultException {
-		return stream(projection).collect(Collectors.collectingAndThen(Collectors.toList(), QueryUtils.uniqueResult()));
+		// a second result is enough to detect a non unique result
+		try (Stream<R> results = stream(projection)) {
+			return results.limit(2)
+					.collect(Collectors.collectingAndThen(Collectors.toList(), QueryUtils.uniqueResult()));
+		}
 	}
 
 	/**
@@ -98,6 +111,42 @@ public interface QueryResults extends QueryProjectionOperations<Stream, List, Op
 		return (count != null) ? count : 0L;
 	}
 
+	/**
+	 * Execute the query and get an expected unique <code>long</code> result using given {@link LongProjection}.
+	 * <p>
+	 * The projection value may be provided by the concrete query implementation as any {@link Number} type. This is a
+	 * convenience method which unboxes the {@link #findOne(QueryProjection)} result: the value is still boxed by the
+	 * query execution.
+	 * </p>
+	 * @param projection The long projection (not null)
+	 * @return Optional unique result, empty if the query returned no result or a <code>null</code> value
+	 * @throws QueryNonUniqueResultException Only one result expected but more than one was found
+	 * @throws DataAccessException Error in query execution
+	 * @since 6.0.1
+	 */
+	default OptionalLong findLong(LongProjection projection) throws QueryNonUniqueResultException {
+		final Optional<?> value = findOne(projection);
+		return value.isPresent() ? OptionalLong.of(((Number) value.get()).longValue()) : OptionalLong.empty();
+	}
+
+	/**
+	 * Execute the query and get an expected unique <code>double</code> result using given {@link DoubleProjection}.
+	 * <p>
+	 * The projection value may be provided by the concrete query implementation as any {@link Number} type. This is a
+	 * convenience method which unboxes the {@link #findOne(QueryProjection)} result: the value is still boxed by the
+	 * query execution.
+	 * </p>
+	 * @param projection The double projection (not null)
+	 * @return Optional unique result, empty if the query returned no result or a <code>null</code> value
+	 * @throws QueryNonUniqueResultException Only one result expected but more than one was found
+	 * @throws DataAccessException Error in query execution
+	 * @since 6.0.1
+	 */
+	default OptionalDouble findDouble(DoubleProjection projection) throws QueryNonUniqueResultException {
+		final Optional<?> value = findOne(projection);
+		return value.isPresent() ? OptionalDouble.of(((Number) value.get()).doubleValue()) : OptionalDouble.empty();
+	}
+
 	/**
 	 * Execute query and get a {@link Stream} of query results as {@link PropertyBox} using given
 	 * <code>properties</code> as projection.
@@ -200,6 +249,130 @@ public interface QueryResults extends QueryProjectionOperations<Stream, List, Op
 		return list(PropertySet.of(properties));
 	}
 
+	/**
+	 * Execute query and get the query results as an {@link Iterator} of pages of given <code>pageSize</code>, using
+	 * given <code>projection</code> to map results to required type.
+	 * <p>
+	 * By default, the pages are obtained splitting the query results {@link #stream(QueryProjection)}. Concrete query
+	 * implementations may fetch each page using a dedicated query execution, for example relying on the query
+	 * {@link QueryKeyset} when configured. In both cases, the query <code>limit</code> and <code>offset</code> are
+	 * applied to the overall results.
+	 * </p>
+	 * <p>
+	 * The returned {@link QueryResultsPages} holds the query resources until the last page is returned: it should be
+	 * closed, for example using a <code>try-with-resources</code> block, when it is not consumed entirely.
+	 * </p>
+	 * @param <R> Results type
+	 * @param projection Query projection (not null)
+	 * @param pageSize Page size, must be greater than <code>0</code>
+	 * @return Query results pages iterator, each page contains at most <code>pageSize</code> results
+	 * @throws DataAccessException Error in query execution
+	 * @since 6.0.1
+	 * @see QueryBuilder#keyset(QueryKeyset)
+	 */
+	default <R> QueryResultsPages<R> pages(QueryProjection<R> projection, int pageSize) {
+		ObjectUtils.argumentNotNull(projection, "QueryProjection must be not null");
+		return QueryUtils.asResultsPages(() -> stream(projection), pageSize);
+	}
+
+	/**
+	 * Execute query and get the query results as an {@link Iterator} of pages of {@link PropertyBox} of given
+	 * <code>pageSize</code>, using given <code>properties</code> as projection.
+	 * @param <P> Property type
+	 * @param properties Property set to use as projection (not null)
+	 * @param pageSize Page size, must be greater than <code>0</code>
+	 * @return Query results pages iterator, each page contains at most <code>pageSize</code> results
+	 * @throws DataAccessException Error in query execution
+	 * @since 6.0.1
+	 * @see #pages(QueryProjection, int)
+	 */
+	default <P extends Property> QueryResultsPages<PropertyBox> pages(Iterable<P> properties, int pageSize) {
+		return pages(PropertySetProjection.of(properties), pageSize);
+	}
+
+	/**
+	 * Execute query and collect the query results into a columnar {@link PropertyBoxBatch}, using given
+	 * <code>properties</code> as projection.
+	 * <p>
+	 * The results are consumed one at a time and their values are stored in the batch columns, so that the result set
+	 * is held in memory without a separate {@link PropertyBox} object for each row.
+	 * </p>
+	 * @param <P> Property type
+	 * @param properties Property set to use as projection (not null)
+	 * @return The query results batch
+	 * @throws DataAccessException Error in query execution
+	 * @since 6.0.1
+	 */
+	default <P extends Property> PropertyBoxBatch batch(Iterable<P> properties) {
+		ObjectUtils.argumentNotNull(properties, "Projection properties must be not null");
+		final PropertySetProjection projection = PropertySetProjection.of(properties);
+		try (Stream<PropertyBox> results = stream(projection)) {
+			return results.collect(PropertyBoxBatch.collector(projection.getPropertySet()));
+		}
+	}
+
+	/**
+	 * Execute query and collect the query results into a columnar {@link PropertyBoxBatch}, using given
+	 * <code>properties</code> as projection.
+	 * @param properties Property set to use as projection (not null)
+	 * @return The query results batch
+	 * @throws DataAccessException Error in query execution
+	 * @since 6.0.1
+	 * @see #batch(Iterable)
+	 */
+	default PropertyBoxBatch batch(Property... properties) {
+		return batch(PropertySet.of(properties));
+	}
+
+	/**
+	 * Get the query results as a {@link Publisher}, which fetches the results on demand.
+	 * <p>
+	 * The query is executed for each subscriber when the first result is requested, and the results are pulled from
+	 * the query results stream only when requested by the subscriber, so that they are never entirely materialized in
+	 * memory. The results stream is closed when all the results have been emitted or the subscription is cancelled.
+	 * Use {@link QueryBuilder#fetchSize(int)} to tune the number of results fetched at once from the data store.
+	 * </p>
+	 * @param <R> Projection result type
+	 * @param projection Query projection (not null)
+	 * @return Query results publisher
+	 * @since 6.0.1
+	 */
+	default <R> Publisher<R> publisher(QueryProjection<R> projection) {
+		ObjectUtils.argumentNotNull(projection, "QueryProjection must be not null");
+		return new QueryResultsPublisher<>(() -> stream(projection));
+	}
+
+	/**
+	 * Get the query results as a {@link Publisher} of {@link PropertyBox}, using given <code>properties</code> as
+	 * projection.
+	 * @param <P> Property type
+	 * @param properties Property set to use as projection (not null)
+	 * @return Query results publisher
+	 * @since 6.0.1
+	 * @see #publisher(QueryProjection)
+	 */
+	default <P extends Property> Publisher<PropertyBox> publisher(Iterable<P> properties) {
+		return publisher(PropertySetProjection.of(properties));
+	}
+
+	/**
+	 * An {@link Iterator} of query results pages, which releases the query resources when closed.
+	 * <p>
+	 * The iterator is closed automatically when the last page is returned.
+	 * </p>
+	 * @param <R> Results type
+	 * @since 6.0.1
+	 */
+	public interface QueryResultsPages<R> extends Iterator<List<R>>, AutoCloseable {
+
+		/**
+		 * Release the query resources held by this iterator. After closing, no more pages are returned.
+		 */
+		@Override
+		void close();
+
+	}
+
 	/**
 	 * Exception thrown by when only one query result was expected but more than one found.
 	 */
@@ -18,29 +18,53 @@ package com.holonplatform.core.test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
 import com.holonplatform.core.DataMappable;
 import com.holonplatform.core.beans.BeanIntrospector;
+import com.holonplatform.core.beans.BeanProperty;
+import com.holonplatform.core.beans.BeanIntrospector.CacheStatistics;
+import com.holonplatform.core.beans.BeanPropertyAccessor;
+import com.holonplatform.core.beans.BeanPropertyAccessorStrategy;
+import com.holonplatform.core.beans.BeanPropertyBoxMapper;
 import com.holonplatform.core.beans.BeanPropertySet;
+import com.holonplatform.core.internal.beans.AbstractBeanProperty;
+import com.holonplatform.core.internal.beans.DefaultBeanIntrospector;
+import com.holonplatform.core.internal.beans.MethodHandleBeanPropertyAccessor;
+import com.holonplatform.core.internal.beans.ReflectionBeanPropertyAccessor;
 import com.holonplatform.core.property.BooleanProperty;
 import com.holonplatform.core.property.NumericProperty;
 import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.Property.PropertyNotFoundException;
+import com.holonplatform.core.property.Property.PropertyWriteException;
 import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
 import com.holonplatform.core.property.StringProperty;
 import com.holonplatform.core.property.TemporalProperty;
 import com.holonplatform.core.temporal.TemporalType;
+import com.holonplatform.core.test.data.TestBean;
 import com.holonplatform.core.test.data.TestBean4;
 import com.holonplatform.core.test.data.TestBeanPropertyBean;
 import com.holonplatform.core.test.data.TestEnum;
 import com.holonplatform.core.test.data.TestEnum2;
+import com.holonplatform.core.test.data.TestIntrospectedBean;
+import com.holonplatform.core.test.data.TestIntrospectedBeanDescriptor;
 
 public class TestBeanIntrospector {
 
@@ -132,6 +156,216 @@ public class TestBeanIntrospector {
 
 	}
 
+	@Test
+	public void testPropertyBoxMapper() {
+
+		final BeanPropertySet<TestBeanPropertyBean> set = BeanIntrospector.get()
+				.getPropertySet(TestBeanPropertyBean.class);
+
+		final PathProperty<Integer> modelEnum = PathProperty.create("enmOrdinal", Integer.class);
+		final PathProperty<String> name = PathProperty.create("name", String.class);
+		final PathProperty<Long> lng = PathProperty.create("lng", Long.class);
+		final PathProperty<String> missing = PathProperty.create("missing", String.class);
+
+		final PropertySet<?> propertySet = PropertySet.of(name, lng, modelEnum);
+
+		final BeanPropertyBoxMapper<TestBeanPropertyBean> mapper = set.mapper(propertySet);
+		assertEquals(TestBeanPropertyBean.class, mapper.getBeanClass());
+		assertEquals(propertySet, mapper.getPropertySet());
+
+		TestBeanPropertyBean instance = new TestBeanPropertyBean();
+		instance.setName("test");
+		instance.setLng(7L);
+		instance.setEnmOrdinal(TestEnum.TWO);
+
+		PropertyBox box = mapper.read(instance);
+		assertEquals("test", box.getValue(name));
+		assertEquals(Long.valueOf(7), box.getValue(lng));
+		assertEquals(Integer.valueOf(TestEnum.TWO.ordinal()), box.getValue(modelEnum));
+		assertEquals(box.getValue(modelEnum), set.read(PropertyBox.create(propertySet), instance).getValue(modelEnum));
+
+		TestBeanPropertyBean written = mapper.write(PropertyBox.builder(propertySet).set(name, "test2")
+				.set(lng, 3L).set(modelEnum, TestEnum.ONE.ordinal()).build(), new TestBeanPropertyBean());
+		assertEquals("test2", written.getName());
+		assertEquals(3L, written.getLng());
+		assertEquals(TestEnum.ONE, written.getEnmOrdinal());
+
+		List<PropertyBox> boxes = mapper.readAll(Arrays.asList(instance, written));
+		assertEquals(2, boxes.size());
+		assertEquals("test", boxes.get(0).getValue(name));
+		assertEquals("test2", boxes.get(1).getValue(name));
+
+		List<TestBeanPropertyBean> beans = mapper.writeAll(boxes, TestBeanPropertyBean::new);
+		assertEquals(2, beans.size());
+		assertEquals("test", beans.get(0).getName());
+		assertEquals(TestEnum.TWO, beans.get(0).getEnmOrdinal());
+		assertEquals(3L, beans.get(1).getLng());
+
+		assertThrows(PropertyNotFoundException.class, () -> set.mapper(PropertySet.of(name, missing)));
+		final BeanPropertyBoxMapper<TestBeanPropertyBean> ignoring = set.mapper(PropertySet.of(name, missing), true);
+		box = ignoring.read(instance);
+		assertEquals("test", box.getValue(name));
+		assertNull(box.getValue(missing));
+
+		// bean property set
+		box = set.mapper(set).read(instance);
+		assertEquals("test", box.getValue(set.<String> property("name")));
+		assertEquals(TestEnum.TWO, box.getValue(set.property("enmOrdinal")));
+		assertEquals("test", set.read(instance).getValue(set.<String> property("name")));
+
+		// nested
+		final BeanPropertySet<TestBean> set2 = BeanIntrospector.get().getPropertySet(TestBean.class);
+		final PathProperty<Long> nestedId = PathProperty.create("nestedId", Long.class)
+				.parent(PathProperty.create("nested", Object.class));
+		final BeanPropertyBoxMapper<TestBean> mapper2 = set2.mapper(PropertySet.of(nestedId));
+
+		TestBean bean = mapper2.write(PropertyBox.builder(nestedId).set(nestedId, 5L).build(), new TestBean());
+		assertNotNull(bean.getNested());
+		assertEquals(5L, bean.getNested().getNestedId());
+		assertEquals(Long.valueOf(5), mapper2.read(bean).getValue(nestedId));
+		assertNull(mapper2.read(new TestBean()).getValue(nestedId));
+
+	}
+
+	@Test
+	public void testIntrospectionDescriptor() {
+
+		final BeanIntrospector introspector = new DefaultBeanIntrospector(getClass().getClassLoader());
+		BeanPropertySet<TestIntrospectedBean> set = introspector.getPropertySet(TestIntrospectedBean.class);
+
+		assertEquals(3, set.size());
+		assertEquals(Arrays.asList("enabled", "id", "name"),
+				set.stream().map(p -> p.getName()).collect(Collectors.toList()));
+		assertTrue(set.getProperty("name").isPresent());
+		assertEquals("text", set.getProperty("name").get().getDataPath().orElse(null));
+		assertEquals(long.class, set.getProperty("id").get().getType());
+		assertTrue(((BeanProperty<?>) set.getProperty("enabled").get()).getReadMethod().isPresent());
+		assertFalse(((BeanProperty<?>) set.getProperty("enabled").get()).getWriteMethod().isPresent());
+
+		TestIntrospectedBean instance = new TestIntrospectedBean();
+		set.write("name", "test", instance);
+		set.write("id", 7, instance);
+		assertEquals("test", instance.getName());
+		assertEquals(7L, instance.getId());
+
+		final int reads = TestIntrospectedBeanDescriptor.READS.get();
+		assertEquals("test", set.read("name", instance));
+		assertEquals(reads + 1, TestIntrospectedBeanDescriptor.READS.get());
+		assertEquals(Long.valueOf(7), set.read("id", instance));
+		assertEquals(Boolean.FALSE, set.read("enabled", instance));
+
+		set.write("id", null, instance);
+		assertEquals(0L, instance.getId());
+
+		assertThrows(PropertyWriteException.class, () -> set.write("name", 1, instance));
+
+	}
+
+	@Test
+	public void testCacheStatistics() {
+
+		final BeanIntrospector introspector = new DefaultBeanIntrospector(getClass().getClassLoader());
+
+		CacheStatistics statistics = introspector.getCacheStatistics();
+		assertEquals(0, statistics.getHitCount());
+		assertEquals(0, statistics.getMissCount());
+		assertEquals(Duration.ZERO, statistics.getTotalBuildTime());
+		assertEquals(1.0, statistics.getHitRatio());
+
+		final BeanPropertySet<TestBean> set = introspector.getPropertySet(TestBean.class);
+		assertSame(set, introspector.getPropertySet(TestBean.class));
+
+		statistics = introspector.getCacheStatistics();
+		assertEquals(1, statistics.getHitCount());
+		assertEquals(1, statistics.getMissCount());
+		assertTrue(statistics.getTotalBuildTime().toNanos() > 0);
+		assertEquals(0.5, statistics.getHitRatio());
+
+		// concurrent requests
+		List<BeanPropertySet<TestBeanPropertyBean>> sets = IntStream.range(0, 64).parallel()
+				.mapToObj(i -> introspector.<TestBeanPropertyBean> getPropertySet(TestBeanPropertyBean.class))
+				.collect(Collectors.toList());
+		sets.forEach(s -> assertSame(sets.get(0), s));
+
+		statistics = introspector.getCacheStatistics();
+		assertEquals(64, statistics.getHitCount() + statistics.getMissCount() - 2);
+		assertEquals(2, statistics.getMissCount());
+		assertEquals(2, ((DefaultBeanIntrospector) introspector).getCacheSize());
+
+		introspector.clearCache();
+		assertEquals(0, ((DefaultBeanIntrospector) introspector).getCacheSize());
+		assertNotSame(set, introspector.getPropertySet(TestBean.class));
+		assertEquals(3, introspector.getCacheStatistics().getMissCount());
+
+	}
+
+	@Test
+	public void testPropertyAccessorStrategy() {
+
+		assertEquals(BeanPropertyAccessorStrategy.methodHandle(), BeanIntrospector.get().getPropertyAccessorStrategy());
+
+		assertEquals(BeanPropertyAccessorStrategy.reflection(),
+				BeanPropertyAccessorStrategy.of(BeanPropertyAccessorStrategy.Type.REFLECTION));
+		assertEquals(BeanPropertyAccessorStrategy.methodHandle(),
+				BeanPropertyAccessorStrategy.of(BeanPropertyAccessorStrategy.Type.METHOD_HANDLE));
+
+		for (BeanPropertyAccessorStrategy strategy : new BeanPropertyAccessorStrategy[] {
+				BeanPropertyAccessorStrategy.reflection(), BeanPropertyAccessorStrategy.methodHandle() }) {
+
+			final BeanIntrospector introspector = new DefaultBeanIntrospector(getClass().getClassLoader());
+			introspector.setPropertyAccessorStrategy(strategy);
+			assertEquals(strategy, introspector.getPropertyAccessorStrategy());
+
+			BeanPropertySet<TestBeanPropertyBean> set = introspector.getPropertySet(TestBeanPropertyBean.class);
+
+			TestBeanPropertyBean instance = new TestBeanPropertyBean();
+
+			set.write("name", "test", instance);
+			set.write("lng", 7, instance);
+			set.write("numbool", Boolean.TRUE, instance);
+			set.write("enm", TestEnum2.B, instance);
+
+			assertEquals("test", instance.getName());
+			assertEquals(7L, instance.getLng());
+			assertTrue(instance.isNumbool());
+			assertEquals(TestEnum2.B, instance.getEnm());
+
+			assertEquals("test", set.read("name", instance));
+			assertEquals(Long.valueOf(7), set.read("lng", instance));
+			assertEquals(Boolean.TRUE, set.read("numbool", instance));
+
+			set.write("name", null, instance);
+			set.write("lng", null, instance);
+			assertNull(instance.getName());
+			assertEquals(0L, instance.getLng());
+
+			assertThrows(PropertyWriteException.class, () -> set.write("name", 1, instance));
+
+			// nested
+			BeanPropertySet<TestBean> set2 = introspector.getPropertySet(TestBean.class);
+
+			TestBean bean = new TestBean();
+			assertNull(set2.read("nested.nestedId", bean));
+
+			set2.write("nested.nestedId", 3L, bean);
+			assertNotNull(bean.getNested());
+			assertEquals(3L, bean.getNested().getNestedId());
+			assertEquals(Long.valueOf(3), set2.read("nested.nestedId", bean));
+
+			// accessors
+			BeanPropertyAccessor accessor = ((AbstractBeanProperty<?>) set.property("name")).getAccessor(strategy);
+			assertSame(accessor, ((AbstractBeanProperty<?>) set.property("name")).getAccessor(strategy));
+			if (strategy == BeanPropertyAccessorStrategy.methodHandle()) {
+				assertTrue(accessor instanceof MethodHandleBeanPropertyAccessor);
+				assertTrue(((MethodHandleBeanPropertyAccessor) accessor).isReaderGenerated());
+				assertTrue(((MethodHandleBeanPropertyAccessor) accessor).isWriterGenerated());
+			} else {
+				assertTrue(accessor instanceof ReflectionBeanPropertyAccessor);
+			}
+		}
+
+	}
+
 	@Test
 	public void testPropertyBox() {
 
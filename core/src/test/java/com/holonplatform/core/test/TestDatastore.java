@@ -18,10 +18,28 @@ package com.holonplatform.core.test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 
@@ -29,6 +47,8 @@ import com.holonplatform.core.ExpressionResolver;
 import com.holonplatform.core.config.ConfigPropertyProvider;
 import com.holonplatform.core.datastore.DataTarget;
 import com.holonplatform.core.datastore.Datastore;
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.Datastore.OperationType;
 import com.holonplatform.core.datastore.DatastoreCommodityContext;
 import com.holonplatform.core.datastore.DatastoreCommodityContext.CommodityConfigurationException;
 import com.holonplatform.core.datastore.DatastoreCommodityFactory;
@@ -36,11 +56,26 @@ import com.holonplatform.core.datastore.DatastoreConfigProperties;
 import com.holonplatform.core.datastore.bulk.BulkDelete;
 import com.holonplatform.core.datastore.bulk.BulkInsert;
 import com.holonplatform.core.datastore.bulk.BulkUpdate;
+import com.holonplatform.core.datastore.cache.CachingDatastore;
+import com.holonplatform.core.datastore.cache.QueryCache;
+import com.holonplatform.core.datastore.memory.InMemoryDatastore;
+import com.holonplatform.core.datastore.relational.RelationalTarget;
+import com.holonplatform.core.datastore.transaction.TransactionConfiguration;
+import com.holonplatform.core.exceptions.DataAccessException;
 import com.holonplatform.core.internal.datastore.AbstractDatastore;
+import com.holonplatform.core.internal.datastore.operation.common.AbstractBulkInsertOperation;
+import com.holonplatform.core.internal.datastore.operation.common.AbstractBulkUpdateOperation;
 import com.holonplatform.core.internal.query.DefaultQueryDefinition;
+import com.holonplatform.core.internal.query.QueryAdapterQuery;
 import com.holonplatform.core.property.PropertyBox;
 import com.holonplatform.core.property.PropertySet;
 import com.holonplatform.core.query.Query;
+import com.holonplatform.core.query.QueryAdapter;
+import com.holonplatform.core.query.QueryBatch;
+import com.holonplatform.core.query.QueryConfiguration;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QueryOperation;
+import com.holonplatform.core.query.QueryResults.QueryNonUniqueResultException;
 import com.holonplatform.core.test.data.DummyQuery;
 import com.holonplatform.core.test.data.TestPropertySet;
 
@@ -71,6 +106,409 @@ public class TestDatastore {
 
 	}
 
+	@Test
+	public void testStreamingBulkInsert() {
+
+		final DummyDatastore ds = new DummyDatastore();
+		final DataTarget<String> qt = DataTarget.named("tt");
+
+		final AtomicInteger read = new AtomicInteger();
+		final Stream<PropertyBox> values = IntStream.range(0, 25).mapToObj(i -> {
+			read.incrementAndGet();
+			return PropertyBox.builder(TestPropertySet.PROPERTIES).set(TestPropertySet.NAME, "test" + i).build();
+		});
+
+		final BulkInsert bulkInsert = ds.bulkInsert(qt, TestPropertySet.PROPERTIES).add(values).chunkSize(10);
+		assertTrue(bulkInsert.getConfiguration().hasStreamedValues());
+		assertEquals(10, bulkInsert.getConfiguration().getChunkSize());
+		assertEquals(0, read.get());
+
+		OperationResult result = bulkInsert.execute();
+		assertEquals(25, read.get());
+		assertEquals(25, result.getAffectedCount());
+		assertEquals(Arrays.asList(10L, 10L, 5L), result.getChunkAffectedCounts());
+
+		// buffered and streamed values, default chunk size
+		final PropertyBox value = PropertyBox.builder(TestPropertySet.PROPERTIES).set(TestPropertySet.NAME, "test")
+				.build();
+		result = ds.bulkInsert(qt, TestPropertySet.PROPERTIES).add(value, value)
+				.add(Arrays.asList(value, null, value).iterator()).execute();
+		assertEquals(4, result.getAffectedCount());
+		assertEquals(Arrays.asList(4L), result.getChunkAffectedCounts());
+
+		result = ds.bulkInsert(qt, TestPropertySet.PROPERTIES).add(value, value, value).execute();
+		assertEquals(3, result.getAffectedCount());
+		assertEquals(Arrays.asList(3L), result.getChunkAffectedCounts());
+
+		result = ds.bulkInsert(qt, TestPropertySet.PROPERTIES).add(Stream.<PropertyBox> empty()).execute();
+		assertEquals(0, result.getAffectedCount());
+		assertTrue(result.getChunkAffectedCounts().isEmpty());
+
+		// streamed values are buffered by getValues for non chunked executions
+		final BulkInsert legacy = ds.bulkInsert(qt, TestPropertySet.PROPERTIES).add(value)
+				.add(Stream.of(value, value));
+		legacy.getConfiguration().validate();
+		assertEquals(3, legacy.getConfiguration().getValues().size());
+		assertFalse(legacy.getConfiguration().hasStreamedValues());
+
+	}
+
+	@Test
+	public void testParallelBulkOperations() {
+
+		final DataTarget<String> qt = DataTarget.named("tt");
+
+		final List<PropertyBox> values = IntStream.range(0, 95).mapToObj(
+				i -> PropertyBox.builder(TestPropertySet.PROPERTIES).set(TestPropertySet.NAME, "test" + i).build())
+				.collect(Collectors.toList());
+
+		final Set<String> threads = ConcurrentHashMap.newKeySet();
+		OperationResult result = new DummyBulkInsert(chunk -> {
+			threads.add(Thread.currentThread().getName());
+			try {
+				Thread.sleep(10 - chunk.size() / 2);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return OperationResult.builder().affectedCount(chunk.size()).build();
+		}).target(qt).propertySet(TestPropertySet.PROPERTIES).add(values.stream()).chunkSize(10).parallelism(4)
+				.execute();
+		assertEquals(95, result.getAffectedCount());
+		assertEquals(Arrays.asList(10L, 10L, 10L, 10L, 10L, 10L, 10L, 10L, 10L, 5L), result.getChunkAffectedCounts());
+		assertTrue(threads.stream().allMatch(t -> t.startsWith("bulk-operation-")));
+
+		// executor
+		threads.clear();
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			result = new DummyBulkInsert(chunk -> {
+				threads.add(Thread.currentThread().getName());
+				return OperationResult.builder().affectedCount(chunk.size()).build();
+			}).target(qt).propertySet(TestPropertySet.PROPERTIES).add(values.stream()).chunkSize(20).parallelism(2)
+					.executor(executor).execute();
+			assertEquals(95, result.getAffectedCount());
+			assertEquals(Arrays.asList(20L, 20L, 20L, 20L, 15L), result.getChunkAffectedCounts());
+			assertTrue(threads.stream().noneMatch(t -> t.startsWith("bulk-operation-")));
+		} finally {
+			executor.shutdown();
+		}
+
+		// failures
+		final DataAccessException dae = assertThrows(DataAccessException.class,
+				() -> new DummyBulkInsert(chunk -> {
+					if (chunk.get(0).getValue(TestPropertySet.NAME).equals("test30")) {
+						throw new IllegalStateException("test failure");
+					}
+					return OperationResult.builder().affectedCount(chunk.size()).build();
+				}).target(qt).propertySet(TestPropertySet.PROPERTIES).add(values.stream()).chunkSize(10)
+						.parallelism(3).execute());
+		assertTrue(dae.getCause() instanceof IllegalStateException);
+
+		assertThrows(IllegalArgumentException.class, () -> new DummyBulkInsert().parallelism(0));
+
+		// partitions
+		final QueryFilter filter = TestPropertySet.NAME.isNotNull();
+		final List<Optional<QueryFilter>> partitionFilters = new CopyOnWriteArrayList<>();
+		result = new DummyBulkUpdate(f -> {
+			partitionFilters.add(f);
+			return OperationResult.builder().affectedCount(1).build();
+		}).target(qt).set(TestPropertySet.NAME, "x").filter(filter)
+				.partitions(TestPropertySet.NAME.lt("m"), TestPropertySet.NAME.goe("m")).parallelism(2)
+				.execute();
+		assertEquals(2, result.getAffectedCount());
+		assertEquals(Arrays.asList(1L, 1L), result.getChunkAffectedCounts());
+		assertEquals(2, partitionFilters.size());
+		assertTrue(partitionFilters.stream().allMatch(Optional::isPresent));
+
+		partitionFilters.clear();
+		result = new DummyBulkUpdate(f -> {
+			partitionFilters.add(f);
+			return OperationResult.builder().affectedCount(3).build();
+		}).target(qt).set(TestPropertySet.NAME, "x").filter(filter).execute();
+		assertEquals(3, result.getAffectedCount());
+		assertEquals(Arrays.asList(Optional.of(filter)), partitionFilters);
+
+	}
+
+	@Test
+	public void testAsyncBulkOperations() throws Exception {
+
+		final DataTarget<String> qt = DataTarget.named("tt");
+
+		final List<PropertyBox> values = IntStream.range(0, 95).mapToObj(
+				i -> PropertyBox.builder(TestPropertySet.PROPERTIES).set(TestPropertySet.NAME, "test" + i).build())
+				.collect(Collectors.toList());
+
+		// concurrent operations sharing a single thread executor
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			final List<CompletableFuture<OperationResult>> executions = new ArrayList<>();
+			for (int i = 0; i < 3; i++) {
+				final DummyBulkInsert operation = new DummyBulkInsert();
+				operation.target(qt).propertySet(TestPropertySet.PROPERTIES).add(values.stream()).chunkSize(10)
+						.parallelism(4).executor(executor);
+				executions.add(operation.executeAsync());
+			}
+			for (CompletableFuture<OperationResult> execution : executions) {
+				final OperationResult result = execution.get(10, TimeUnit.SECONDS);
+				assertEquals(95, result.getAffectedCount());
+				assertEquals(Arrays.asList(10L, 10L, 10L, 10L, 10L, 10L, 10L, 10L, 10L, 5L),
+						result.getChunkAffectedCounts());
+			}
+
+			// failures
+			final DummyBulkInsert failing = new DummyBulkInsert(chunk -> {
+				if (chunk.get(0).getValue(TestPropertySet.NAME).equals("test30")) {
+					throw new IllegalStateException("test failure");
+				}
+				return OperationResult.builder().affectedCount(chunk.size()).build();
+			});
+			failing.target(qt).propertySet(TestPropertySet.PROPERTIES).add(values.stream()).chunkSize(10)
+					.parallelism(3).executor(executor);
+			final ExecutionException ee = assertThrows(ExecutionException.class,
+					() -> failing.executeAsync().get(10, TimeUnit.SECONDS));
+			assertTrue(ee.getCause() instanceof DataAccessException);
+			assertTrue(ee.getCause().getCause() instanceof IllegalStateException);
+		} finally {
+			executor.shutdown();
+		}
+
+		// direct executor
+		final DummyBulkInsert operation = new DummyBulkInsert();
+		operation.target(qt).propertySet(TestPropertySet.PROPERTIES)
+				.add(IntStream.range(0, 10000).mapToObj(i -> values.get(0))).chunkSize(1).parallelism(2)
+				.executor(Runnable::run);
+		assertEquals(10000, operation.executeAsync().get().getAffectedCount());
+
+	}
+
+	@Test
+	public void testQueryCache() throws InterruptedException {
+
+		final AtomicInteger executions = new AtomicInteger();
+		final DummyDatastore ds = new DummyDatastore();
+		ds.registerCommodity(new DatastoreCommodityFactory<DatastoreCommodityContext, Query>() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public Class<? extends Query> getCommodityType() {
+				return Query.class;
+			}
+
+			@Override
+			public Query createCommodity(DatastoreCommodityContext context) throws CommodityConfigurationException {
+				return new QueryAdapterQuery<>(new QueryAdapter<QueryConfiguration>() {
+
+					@SuppressWarnings("unchecked")
+					@Override
+					public <R> Stream<R> stream(QueryOperation<QueryConfiguration, R> queryOperation)
+							throws DataAccessException {
+						executions.incrementAndGet();
+						return (Stream<R>) Stream.of(PropertyBox.builder(TestPropertySet.PROPERTIES)
+								.set(TestPropertySet.NAME, "test").build());
+					}
+
+				}, new DefaultQueryDefinition());
+			}
+
+		});
+
+		final DataTarget<String> cached = DataTarget.named("cached");
+		final DataTarget<String> other = DataTarget.named("other");
+		final QueryFilter filter = TestPropertySet.NAME.isNotNull();
+
+		final QueryCache cache = QueryCache.builder().target(cached).maximumSize(2).build();
+		assertTrue(cache.isCacheable(DataTarget.named("cached")));
+		assertFalse(cache.isCacheable(other));
+
+		final CachingDatastore cds = CachingDatastore.create(ds, cache);
+		assertEquals(cache, cds.getQueryCache());
+
+		List<PropertyBox> results = cds.query(cached).filter(filter).list(TestPropertySet.PROPERTIES);
+		assertEquals(1, results.size());
+		assertEquals(1, executions.get());
+		results.get(0).setValue(TestPropertySet.NAME, "changed");
+
+		results = cds.query(DataTarget.named("cached")).filter(filter).list(TestPropertySet.PROPERTIES);
+		assertEquals(1, executions.get());
+		assertEquals("test", results.get(0).getValue(TestPropertySet.NAME));
+		assertEquals(1, cds.query(cached).filter(filter).list(TestPropertySet.NAME, TestPropertySet.SEQUENCE).size());
+		assertEquals(2, executions.get());
+
+		assertEquals(2, cache.getStatistics().getHitCount() + cache.getStatistics().getMissCount() - 1);
+		assertEquals(1, cache.getStatistics().getHitCount());
+		assertEquals(2, cache.getStatistics().getSize());
+
+		// not cacheable
+		cds.query(other).filter(filter).list(TestPropertySet.PROPERTIES);
+		cds.query(other).filter(filter).list(TestPropertySet.PROPERTIES);
+		assertEquals(4, executions.get());
+
+		// invalidation
+		cds.insert(other, results.get(0));
+		assertEquals(2, cache.getStatistics().getSize());
+		cds.insert(cached, results.get(0));
+		assertEquals(0, cache.getStatistics().getSize());
+		assertEquals(2, cache.getStatistics().getInvalidationCount());
+		cds.query(cached).filter(filter).list(TestPropertySet.PROPERTIES);
+		assertEquals(5, executions.get());
+		cds.query(cached).filter(filter).list(TestPropertySet.PROPERTIES);
+		assertEquals(5, executions.get());
+
+		final OperationResult result = cds.bulkInsert(cached, TestPropertySet.PROPERTIES).add(results.get(0))
+				.execute();
+		assertEquals(1, result.getAffectedCount());
+		assertEquals(0, cache.getStatistics().getSize());
+
+		// joined targets
+		final RelationalTarget<String> joined = RelationalTarget.of(cached).innerJoin(other)
+				.on(TestPropertySet.NAME.isNotNull()).add();
+		cds.query(joined).list(TestPropertySet.PROPERTIES);
+		cds.query(joined).list(TestPropertySet.PROPERTIES);
+		assertEquals(6, executions.get());
+		assertEquals(1, cache.getStatistics().getSize());
+		cds.insert(other, results.get(0));
+		assertEquals(0, cache.getStatistics().getSize());
+
+		// eviction
+		cds.query(cached).limit(1).list(TestPropertySet.PROPERTIES);
+		cds.query(cached).limit(2).list(TestPropertySet.PROPERTIES);
+		cds.query(cached).limit(3).list(TestPropertySet.PROPERTIES);
+		assertEquals(2, cache.getStatistics().getSize());
+		assertEquals(1, cache.getStatistics().getEvictionCount());
+
+		cache.invalidateAll();
+		assertEquals(0, cache.getStatistics().getSize());
+
+		// time to live
+		final QueryCache expiring = QueryCache.builder().allTargets().timeToLive(Duration.ofMillis(5)).build();
+		final CachingDatastore eds = CachingDatastore.create(ds, expiring);
+		executions.set(0);
+		eds.query(other).filter(filter).list(TestPropertySet.PROPERTIES);
+		eds.query(other).filter(filter).list(TestPropertySet.PROPERTIES);
+		assertEquals(1, executions.get());
+		Thread.sleep(20);
+		eds.query(other).filter(filter).list(TestPropertySet.PROPERTIES);
+		assertEquals(2, executions.get());
+		assertEquals(1, expiring.getStatistics().getEvictionCount());
+
+	}
+
+	@Test
+	public void testQueryCacheTransactions() {
+
+		final DataTarget<String> target = DataTarget.named("cached");
+		final PropertySet<?> set = PropertySet.builderOf(TestPropertySet.NAME, TestPropertySet.SEQUENCE)
+				.withIdentifier(TestPropertySet.NAME).build();
+		final Function<String, PropertyBox> box = name -> PropertyBox.builder(set).set(TestPropertySet.NAME, name)
+				.set(TestPropertySet.SEQUENCE, 1).build();
+
+		final QueryCache cache = QueryCache.builder().target(target).build();
+		final CachingDatastore cds = CachingDatastore.create(InMemoryDatastore.create(), cache);
+		cds.insert(target, box.apply("a"));
+		assertEquals(1L, cds.query(target).count());
+		assertEquals(1, cache.getStatistics().getSize());
+
+		cds.requireTransactional().withTransaction(tx -> {
+			cds.insert(target, box.apply("b"));
+			// bypass the cache within the transaction
+			assertEquals(2L, cds.query(target).count());
+			assertEquals(0, cache.getStatistics().getSize());
+			// cached outside the transaction
+			assertEquals(Long.valueOf(1L), CompletableFuture.supplyAsync(() -> cds.query(target).count()).join());
+			assertEquals(1, cache.getStatistics().getSize());
+			tx.rollback();
+			assertEquals(0, cache.getStatistics().getSize());
+		});
+		assertEquals(1L, cds.query(target).count());
+
+		cds.requireTransactional().withTransaction(tx -> {
+			cds.insert(target, box.apply("c"));
+			assertEquals(Long.valueOf(1L), CompletableFuture.supplyAsync(() -> cds.query(target).count()).join());
+			assertEquals(1, cache.getStatistics().getSize());
+		}, TransactionConfiguration.withAutoCommit());
+		assertEquals(0, cache.getStatistics().getSize());
+		assertEquals(2L, cds.query(target).count());
+
+	}
+
+	@Test
+	public void testQueryBatch() {
+
+		final AtomicInteger executions = new AtomicInteger();
+		final DummyDatastore ds = new DummyDatastore();
+		ds.registerCommodity(new DatastoreCommodityFactory<DatastoreCommodityContext, Query>() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public Class<? extends Query> getCommodityType() {
+				return Query.class;
+			}
+
+			@Override
+			public Query createCommodity(DatastoreCommodityContext context) throws CommodityConfigurationException {
+				return new QueryAdapterQuery<>(new QueryAdapter<QueryConfiguration>() {
+
+					@SuppressWarnings("unchecked")
+					@Override
+					public <R> Stream<R> stream(QueryOperation<QueryConfiguration, R> queryOperation)
+							throws DataAccessException {
+						executions.incrementAndGet();
+						if (queryOperation.getConfiguration().getTarget().map(t -> t.getName()).filter("failing"::equals)
+								.isPresent()) {
+							throw new DataAccessException("Query failed");
+						}
+						if (Long.class == queryOperation.getProjection().getType()) {
+							return (Stream<R>) Stream.of(Long.valueOf(2L));
+						}
+						return (Stream<R>) Stream.of(
+								PropertyBox.builder(TestPropertySet.PROPERTIES).set(TestPropertySet.NAME, "a").build(),
+								PropertyBox.builder(TestPropertySet.PROPERTIES).set(TestPropertySet.NAME, "b").build());
+					}
+
+				}, new DefaultQueryDefinition());
+			}
+
+		});
+
+		final DataTarget<String> qt = DataTarget.named("tt");
+
+		final QueryBatch batch = ds.batch();
+		assertNotNull(batch);
+
+		final QueryBatch.Result<List<PropertyBox>> list = batch.list(ds.query(qt), TestPropertySet.PROPERTIES);
+		final QueryBatch.Result<Long> count = batch.count(ds.query(qt));
+		final QueryBatch.Result<Optional<PropertyBox>> one = batch.findOne(ds.query(qt),
+				TestPropertySet.PROPERTIES);
+		final QueryBatch.Result<List<String>> failing = batch.list(ds.query(DataTarget.named("failing")),
+				TestPropertySet.NAME);
+		final QueryBatch.Result<Optional<PropertyBox>> unsatisfiable = batch.findOne(
+				ds.query(qt).filter(TestPropertySet.SEQUENCE.eq(1).and(TestPropertySet.SEQUENCE.eq(2))),
+				TestPropertySet.NAME, TestPropertySet.SEQUENCE);
+		assertEquals(5, batch.size());
+
+		assertFalse(list.isDone());
+		assertThrows(IllegalStateException.class, () -> list.get());
+		assertEquals(0, executions.get());
+
+		batch.execute();
+		assertEquals(4, executions.get());
+
+		assertTrue(list.isDone());
+		assertEquals(2, list.get().size());
+		assertEquals(Long.valueOf(2L), count.get());
+		assertThrows(QueryNonUniqueResultException.class, () -> one.get());
+		assertTrue(failing.isDone());
+		assertThrows(DataAccessException.class, () -> failing.get());
+		assertFalse(unsatisfiable.get().isPresent());
+
+		assertThrows(IllegalStateException.class, () -> batch.execute());
+		assertThrows(IllegalStateException.class, () -> batch.count(ds.query(qt)));
+
+	}
+
 	@Test
 	public void testDatastoreConfig() {
 
@@ -146,7 +584,7 @@ public class TestDatastore {
 
 		@Override
 		public BulkInsert bulkInsert(DataTarget<?> target, PropertySet<?> propertySet, WriteOption... options) {
-			return null;
+			return new DummyBulkInsert().target(target).propertySet(propertySet).withWriteOptions(options);
 		}
 
 		@Override
@@ -166,6 +604,63 @@ public class TestDatastore {
 
 	}
 
+	@SuppressWarnings("serial")
+	private static class DummyBulkInsert extends AbstractBulkInsertOperation<OperationResult, BulkInsert>
+			implements BulkInsert {
+
+		private final Function<List<PropertyBox>, OperationResult> chunkOperation;
+
+		public DummyBulkInsert() {
+			this(chunk -> OperationResult.builder().affectedCount(chunk.size()).build());
+		}
+
+		public DummyBulkInsert(Function<List<PropertyBox>, OperationResult> chunkOperation) {
+			super();
+			this.chunkOperation = chunkOperation;
+		}
+
+		@Override
+		public OperationResult execute() {
+			getConfiguration().validate();
+			return executeChunks(chunkOperation);
+		}
+
+		public CompletableFuture<OperationResult> executeAsync() {
+			getConfiguration().validate();
+			return executePartitionsAsync(OperationType.INSERT, getConfiguration().getChunks(), chunkOperation);
+		}
+
+		@Override
+		protected BulkInsert getActualOperation() {
+			return this;
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private static class DummyBulkUpdate extends AbstractBulkUpdateOperation<OperationResult, BulkUpdate>
+			implements BulkUpdate {
+
+		private final Function<Optional<QueryFilter>, OperationResult> partitionOperation;
+
+		public DummyBulkUpdate(Function<Optional<QueryFilter>, OperationResult> partitionOperation) {
+			super();
+			this.partitionOperation = partitionOperation;
+		}
+
+		@Override
+		public OperationResult execute() {
+			getConfiguration().validate();
+			return executePartitions(partitionOperation);
+		}
+
+		@Override
+		protected BulkUpdate getActualOperation() {
+			return this;
+		}
+
+	}
+
 	@SuppressWarnings("serial")
 	private static class DummyQueryFactory implements DatastoreCommodityFactory<DatastoreCommodityContext, Query> {
 
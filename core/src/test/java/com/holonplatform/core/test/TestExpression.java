@@ -25,14 +25,18 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Date;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
 import com.holonplatform.core.Expression;
+import com.holonplatform.core.Expression.ImmutableExpression;
 import com.holonplatform.core.Expression.InvalidExpressionException;
 import com.holonplatform.core.ExpressionResolver;
 import com.holonplatform.core.ExpressionResolver.ResolutionContext;
 import com.holonplatform.core.ExpressionResolverRegistry;
+import com.holonplatform.core.ExpressionResolverRegistry.ResolutionCacheStatistics;
 import com.holonplatform.core.NullExpression;
 import com.holonplatform.core.TypedExpression;
 import com.holonplatform.core.internal.DefaultExpressionResolverRegistry;
@@ -308,6 +312,142 @@ public class TestExpression {
 
 	}
 
+	@Test
+	public void testResolversCache() {
+
+		final ExpressionResolverRegistry registry = new DefaultExpressionResolverRegistry();
+
+		ExpressionB expb = new ExpressionBImpl(0);
+		assertFalse(registry.resolve(expb, ExpressionA.class, null).isPresent());
+
+		final Resolver1 R1 = new Resolver1();
+		registry.addExpressionResolver(R1);
+		assertEquals(1, registry.resolve(expb, ExpressionA.class, null).get().getId());
+
+		final ExpressionResolver<ExpressionB, ExpressionA> R3 = ExpressionResolver.create(ExpressionB.class,
+				ExpressionA.class, (e, c) -> Optional.of(new ExpressionAImpl(e.getId() + 3)));
+		registry.addExpressionResolver(R3);
+		assertEquals(1, registry.resolve(expb, ExpressionA.class, null).get().getId());
+
+		registry.removeExpressionResolver(R1);
+		assertEquals(3, registry.resolve(expb, ExpressionA.class, null).get().getId());
+
+		registry.removeExpressionResolver(R3);
+		assertFalse(registry.resolve(expb, ExpressionA.class, null).isPresent());
+
+		registry.addExpressionResolver(R1);
+		final long resolved = IntStream.range(0, 1000).parallel()
+				.mapToObj(i -> registry.resolve(new ExpressionBImpl(i), ExpressionA.class, null))
+				.filter(r -> r.isPresent()).count();
+		assertEquals(1000, resolved);
+
+	}
+
+	@Test
+	public void testResolutionCache() {
+
+		final AtomicInteger validations = new AtomicInteger();
+		final AtomicInteger resolutions = new AtomicInteger();
+
+		class ImmutableExpressionA implements ExpressionA, ImmutableExpression {
+
+			private final int id;
+
+			ImmutableExpressionA(int id) {
+				super();
+				this.id = id;
+			}
+
+			@Override
+			public void validate() throws InvalidExpressionException {
+				validations.incrementAndGet();
+			}
+
+			@Override
+			public int getId() {
+				return id;
+			}
+
+			@Override
+			public int hashCode() {
+				return id;
+			}
+
+			@Override
+			public boolean equals(Object obj) {
+				return obj instanceof ImmutableExpressionA && ((ImmutableExpressionA) obj).id == id;
+			}
+
+		}
+
+		final ExpressionResolverRegistry registry = new DefaultExpressionResolverRegistry();
+		registry.addExpressionResolver(ExpressionResolver.create(ExpressionA.class, ExpressionC.class, (e, c) -> {
+			resolutions.incrementAndGet();
+			return Optional.of(new ExpressionCImpl("" + e.getId()));
+		}));
+
+		// disabled by default
+		registry.resolve(new ImmutableExpressionA(1), ExpressionC.class, null);
+		registry.resolve(new ImmutableExpressionA(1), ExpressionC.class, null);
+		assertEquals(2, resolutions.get());
+		assertEquals(0, registry.getResolutionCacheStatistics().getMaximumSize());
+
+		registry.setResolutionCacheSize(2);
+		resolutions.set(0);
+		validations.set(0);
+
+		assertEquals("1", registry.resolve(new ImmutableExpressionA(1), ExpressionC.class, null).get().getLabel());
+		assertEquals("1", registry.resolve(new ImmutableExpressionA(1), ExpressionC.class, null).get().getLabel());
+		assertEquals(1, resolutions.get());
+		assertEquals(1, validations.get());
+
+		ResolutionCacheStatistics statistics = registry.getResolutionCacheStatistics();
+		assertEquals(1, statistics.getHitCount());
+		assertEquals(1, statistics.getMissCount());
+		assertEquals(1, statistics.getSize());
+		assertEquals(2, statistics.getMaximumSize());
+		assertEquals(0.5d, statistics.getHitRatio());
+
+		// not immutable expressions
+		registry.resolve(new ExpressionAImpl(1), ExpressionC.class, null);
+		registry.resolve(new ExpressionAImpl(1), ExpressionC.class, null);
+		assertEquals(3, resolutions.get());
+
+		// eviction
+		registry.resolve(new ImmutableExpressionA(2), ExpressionC.class, null);
+		registry.resolve(new ImmutableExpressionA(3), ExpressionC.class, null);
+		statistics = registry.getResolutionCacheStatistics();
+		assertEquals(2, statistics.getSize());
+		assertEquals(1, statistics.getEvictionCount());
+
+		// least recently used evicted
+		final int resolved = resolutions.get();
+		registry.resolve(new ImmutableExpressionA(3), ExpressionC.class, null);
+		assertEquals(resolved, resolutions.get());
+
+		// invalidation
+		resolutions.set(0);
+		registry.resolve(new ImmutableExpressionA(3), ExpressionC.class, null);
+		assertEquals(0, resolutions.get());
+		registry.addExpressionResolver(
+				ExpressionResolver.create(ExpressionA.class, ExpressionB.class, (e, c) -> Optional.empty()));
+		registry.resolve(new ImmutableExpressionA(3), ExpressionC.class, null);
+		assertEquals(1, resolutions.get());
+
+		registry.setResolutionCacheSize(0);
+		registry.resolve(new ImmutableExpressionA(3), ExpressionC.class, null);
+		assertEquals(2, resolutions.get());
+
+		// concurrent accesses and evictions
+		registry.setResolutionCacheSize(64);
+		IntStream.range(0, 50000).parallel().forEach(i -> assertEquals(String.valueOf(i % 500),
+				registry.resolve(new ImmutableExpressionA(i % 500), ExpressionC.class, null).get().getLabel()));
+		statistics = registry.getResolutionCacheStatistics();
+		assertTrue(statistics.getEvictionCount() > 0);
+		assertEquals(50000, statistics.getHitCount() + statistics.getMissCount());
+
+	}
+
 	@Test
 	public void testNullExpression() {
 
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.Validator;
+import com.holonplatform.core.Validator.ValidationException;
+import com.holonplatform.core.property.ImmutablePropertyBox;
+import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.Property.PropertyNotFoundException;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+
+public class TestImmutablePropertyBox {
+
+	private static final PathProperty<Long> ID = PathProperty.create("id", Long.class);
+	private static final PathProperty<String> NAME = PathProperty.create("name", String.class)
+			.withValidator(Validator.notBlank());
+
+	@Test
+	public void testImmutable() {
+		final PropertySet<?> set = PropertySet.builderOf(ID, NAME).withIdentifier(ID).build();
+		final PropertyBox source = PropertyBox.builder(set).set(ID, 1L).set(NAME, "one").build();
+
+		final ImmutablePropertyBox box = ImmutablePropertyBox.of(source);
+		assertSame(box, ImmutablePropertyBox.of(box));
+		assertEquals(Long.valueOf(1), box.getValue(ID));
+		assertEquals("one", box.getValue(NAME));
+		assertEquals(source, box);
+		assertEquals(source.hashCode(), box.hashCode());
+
+		assertThrows(UnsupportedOperationException.class, () -> box.setValue(NAME, "two"));
+		assertThrows(UnsupportedOperationException.class, () -> box.setInvalidAllowed(true));
+
+		final ImmutablePropertyBox modified = box.withValue(NAME, "two");
+		assertNotSame(box, modified);
+		assertEquals("one", box.getValue(NAME));
+		assertEquals("two", modified.getValue(NAME));
+		assertEquals(box, modified);
+
+		assertSame(modified, modified.withValue(NAME, modified.getValue(NAME)));
+
+		assertThrows(ValidationException.class, () -> box.withValue(NAME, " "));
+		assertThrows(PropertyNotFoundException.class,
+				() -> box.withValue(PathProperty.create("other", String.class), "x"));
+
+		final ImmutablePropertyBox changedId = box.withValue(ID, 2L);
+		assertFalse(box.equals(changedId));
+
+		// mutable clone
+		final PropertyBox clone = modified.cloneBox();
+		clone.setValue(NAME, "three");
+		assertEquals("two", modified.getValue(NAME));
+	}
+
+	@Test
+	public void testStructuralSharing() {
+		final List<PathProperty<Integer>> properties = new ArrayList<>();
+		for (int i = 0; i < 1100; i++) {
+			properties.add(PathProperty.create("p" + i, Integer.class));
+		}
+		ImmutablePropertyBox box = ImmutablePropertyBox.create(properties);
+		assertNull(box.getValue(properties.get(1099)));
+
+		final List<ImmutablePropertyBox> versions = new ArrayList<>();
+		for (int i = 0; i < properties.size(); i++) {
+			box = box.withValue(properties.get(i), i);
+			versions.add(box);
+		}
+		for (int i = 0; i < properties.size(); i++) {
+			assertEquals(Integer.valueOf(i), box.getValue(properties.get(i)));
+		}
+		// each version sees only its own and previous values
+		for (int v : new int[] { 0, 31, 32, 1023, 1024, 1099 }) {
+			final ImmutablePropertyBox version = versions.get(v);
+			assertEquals(Integer.valueOf(v), version.getValue(properties.get(v)));
+			if (v < 1099) {
+				assertNull(version.getValue(properties.get(v + 1)));
+			}
+		}
+		assertEquals(1100L, box.propertyValues().filter(pv -> pv.hasValue()).count());
+		assertTrue(box.containsValue(properties.get(500)));
+	}
+
+}
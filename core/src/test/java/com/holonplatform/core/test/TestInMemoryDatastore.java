@@ -0,0 +1,307 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.test;
+
+import static com.holonplatform.core.test.data.TestDataTargetSet.ID;
+import static com.holonplatform.core.test.data.TestDataTargetSet.NAME;
+import static com.holonplatform.core.test.data.TestDataTargetSet.PROPERTIES;
+import static com.holonplatform.core.test.data.TestDataTargetSet.SEQUENCE;
+import static com.holonplatform.core.test.data.TestDataTargetSet.TARGET;
+import static com.holonplatform.core.test.data.TestDataTargetSet.box;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.datastore.Datastore.OperationType;
+import com.holonplatform.core.datastore.memory.InMemoryDatastore;
+import com.holonplatform.core.datastore.transaction.TransactionStatus.TransactionException;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.datastore.memory.InMemoryEvaluator;
+import com.holonplatform.core.internal.query.filter.NotFilter;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.query.AggregateValues;
+import com.holonplatform.core.query.QueryAggregation;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QueryFilter.QueryFilterResolver;
+import com.holonplatform.core.query.QueryFunction;
+import com.holonplatform.core.query.QueryFunction.Count;
+import com.holonplatform.core.query.QueryProjection;
+import com.holonplatform.core.query.SelectAllProjection;
+
+public class TestInMemoryDatastore {
+
+	private static InMemoryDatastore populate() {
+		final InMemoryDatastore datastore = InMemoryDatastore.create();
+		datastore.bulkInsert(TARGET, PROPERTIES).add(box(1, "One", 10)).add(box(2, "Two", 20))
+				.add(box(3, "Three", 10)).add(box(4, "Four", null)).execute();
+		return datastore;
+	}
+
+	@Test
+	public void testOperations() {
+		final InMemoryDatastore datastore = populate();
+		assertEquals(4L, datastore.query(TARGET).count());
+
+		assertThrows(DataAccessException.class, () -> datastore.insert(TARGET, box(1, "Dup", 1)));
+
+		PropertyBox value = datastore.refresh(TARGET, box(2, null, null));
+		assertEquals("Two", value.getValue(NAME));
+		assertEquals(Integer.valueOf(20), value.getValue(SEQUENCE));
+
+		assertEquals(1, datastore.update(TARGET, box(2, "Two2", 21)).getAffectedCount());
+		assertEquals(0, datastore.update(TARGET, box(9, "None", 0)).getAffectedCount());
+		assertEquals("Two2", datastore.query(TARGET).filter(ID.eq(2L)).findOne(NAME).orElse(null));
+
+		assertEquals(OperationType.INSERT, datastore.save(TARGET, box(5, "Five", 50)).getOperationType()
+				.orElse(null));
+		assertEquals(OperationType.UPDATE, datastore.save(TARGET, box(5, "Five5", 50)).getOperationType()
+				.orElse(null));
+
+		assertEquals(1, datastore.delete(TARGET, box(5, null, null)).getAffectedCount());
+		assertThrows(DataAccessException.class, () -> datastore.refresh(TARGET, box(5, null, null)));
+
+		assertEquals(2, datastore.bulkUpdate(TARGET).set(NAME, "Ten").filter(SEQUENCE.eq(10)).execute()
+				.getAffectedCount());
+		assertEquals(2L, datastore.query(TARGET).filter(NAME.eq("Ten")).count());
+
+		assertEquals(1, datastore.bulkDelete(TARGET).filter(SEQUENCE.isNull()).execute().getAffectedCount());
+		assertEquals(3L, datastore.query(TARGET).count());
+
+		datastore.clear(TARGET);
+		assertEquals(0L, datastore.query(TARGET).count());
+	}
+
+	@Test
+	public void testQuery() {
+		final InMemoryDatastore datastore = populate();
+
+		List<Long> ids = datastore.query(TARGET)
+				.filter(SEQUENCE.goe(10).and(QueryFilter.startsWith(NAME, "t", true))).sort(ID.desc()).list(ID);
+		assertEquals(2, ids.size());
+		assertEquals(Long.valueOf(3), ids.get(0));
+		assertEquals(Long.valueOf(2), ids.get(1));
+
+		ids = datastore.query(TARGET).sort(SEQUENCE.asc()).sort(ID.desc()).list(ID);
+		assertEquals(Long.valueOf(4), ids.get(0));
+		assertEquals(Long.valueOf(3), ids.get(1));
+		assertEquals(Long.valueOf(1), ids.get(2));
+		assertEquals(Long.valueOf(2), ids.get(3));
+
+		ids = datastore.query(TARGET).filter(ID.in(1L, 2L, 3L).and(SEQUENCE.isNotNull())).sort(ID.asc()).limit(2)
+				.offset(1).list(ID);
+		assertEquals(2, ids.size());
+		assertEquals(Long.valueOf(2), ids.get(0));
+
+		List<Integer> sequences = datastore.query(TARGET).filter(SEQUENCE.isNotNull()).distinct()
+				.sort(SEQUENCE.asc()).list(SEQUENCE);
+		assertEquals(2, sequences.size());
+
+		List<PropertyBox> results = datastore.query(TARGET).filter(SEQUENCE.neq(20)).sort(ID.asc())
+				.list(PROPERTIES);
+		assertEquals(2, results.size());
+		assertEquals("Three", results.get(1).getValue(NAME));
+
+		// three-valued logic: the negation of a comparison with a null value is not satisfied
+		ids = datastore.query(TARGET).filter(SEQUENCE.eq(10).or(SEQUENCE.eq(30)).not()).list(ID);
+		assertEquals(1, ids.size());
+		assertEquals(Long.valueOf(2), ids.get(0));
+		assertEquals(2L, datastore.query(TARGET).filter(SEQUENCE.eq(10).not().or(SEQUENCE.isNull())).count());
+		assertEquals(1L, datastore.query(TARGET).filter(new NotFilter(SEQUENCE.in(10, 30))).count());
+		// FALSE AND UNKNOWN is FALSE
+		assertEquals(4L, datastore.query(TARGET).filter(SEQUENCE.eq(10).and(NAME.eq("None")).not()).count());
+		assertFalse(InMemoryEvaluator.predicate(new NotFilter(NAME.eq("a")))
+				.test(Collections.singletonMap("name", null), null));
+
+		Optional<Map<String, Object>> row = datastore.query(TARGET).filter(ID.eq(1L))
+				.findOne(SelectAllProjection.create());
+		assertTrue(row.isPresent());
+		assertEquals("One", row.get().get("name"));
+
+		assertEquals(Integer.valueOf(40),
+				datastore.query(TARGET).findOne(QueryFunction.sum(SEQUENCE)).orElse(null));
+		assertEquals(Long.valueOf(3), datastore.query(TARGET).findOne(SEQUENCE.count()).orElse(null));
+
+		final Count count = ID.count();
+		List<PropertyBox> groups = datastore.query(TARGET)
+				.aggregate(QueryAggregation.builder().path(SEQUENCE).filter(count.gt(1L)).build())
+				.list(SEQUENCE, count);
+		assertEquals(1, groups.size());
+		assertEquals(Integer.valueOf(10), groups.get(0).getValue(SEQUENCE));
+		assertEquals(Long.valueOf(2), groups.get(0).getValue(count));
+
+		AggregateValues values = datastore.query(TARGET).findOne(QueryProjection.aggregate().longValue(ID.count())
+				.doubleValue(QueryFunction.avg(SEQUENCE)).longValue(ID.max()).build()).orElse(null);
+		assertEquals(4L, values.getLong(0));
+		assertEquals(40d / 3, values.getDouble(1), 0.0001d);
+		assertEquals(4L, values.getLong(2));
+	}
+
+	@Test
+	public void testLargeTables() {
+		final InMemoryDatastore datastore = InMemoryDatastore.create();
+		final Map<Long, String> expected = new LinkedHashMap<>();
+		for (long i = 0; i < 3000; i++) {
+			datastore.insert(TARGET, box(i, "Name" + i, (int) i));
+			expected.put(i, "Name" + i);
+		}
+		for (long i = 0; i < 3000; i += 3) {
+			datastore.update(TARGET, box(i, "Updated" + i, (int) i));
+			expected.put(i, "Updated" + i);
+		}
+		for (long i = 0; i < 3000; i++) {
+			if (i % 5 != 0) {
+				datastore.delete(TARGET, box(i, null, null));
+				expected.remove(i);
+			}
+		}
+		for (long i = 1; i < 3000; i += 10) {
+			datastore.insert(TARGET, box(i, "Reinserted" + i, (int) i));
+			expected.put(i, "Reinserted" + i);
+		}
+
+		assertEquals(expected.size(), datastore.query(TARGET).count());
+		assertEquals(new ArrayList<>(expected.keySet()), datastore.query(TARGET).list(ID));
+		assertEquals(new ArrayList<>(expected.values()), datastore.query(TARGET).list(NAME));
+		assertEquals("Updated2985", datastore.query(TARGET).filter(ID.eq(2985L)).findOne(NAME).orElse(null));
+		assertFalse(datastore.query(TARGET).filter(ID.eq(2L)).findOne(ID).isPresent());
+
+		// the transaction snapshot is not affected by the concurrent changes
+		datastore.withTransaction(tx -> {
+			assertEquals(expected.size(), datastore.query(TARGET).count());
+			final Thread other = new Thread(() -> datastore.bulkDelete(TARGET).filter(ID.lt(1000L)).execute());
+			other.start();
+			try {
+				other.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			assertEquals(expected.size(), datastore.query(TARGET).count());
+		});
+		assertEquals(expected.keySet().stream().filter(id -> id >= 1000L).count(), datastore.query(TARGET).count());
+	}
+
+	@Test
+	public void testExpressionResolvers() {
+		final InMemoryDatastore datastore = InMemoryDatastore.builder()
+				.withExpressionResolver(QueryFilterResolver.create(SequenceRangeFilter.class,
+						(filter, context) -> Optional.of(SEQUENCE.between(filter.from, filter.to))))
+				.build();
+		datastore.bulkInsert(TARGET, PROPERTIES).add(box(1, "One", 10)).add(box(2, "Two", 20))
+				.add(box(3, "Three", 30)).execute();
+
+		assertEquals(2L, datastore.query(TARGET).filter(new SequenceRangeFilter(10, 20)).count());
+		assertEquals(1L, datastore.query(TARGET).filter(new SequenceRangeFilter(10, 20).and(NAME.eq("Two"))).count());
+		assertEquals(Long.valueOf(3), datastore.query(TARGET).filter(new SequenceRangeFilter(10, 20).not())
+				.findOne(ID).orElse(null));
+
+		// query level resolver
+		assertEquals(Long.valueOf(1),
+				datastore.query(TARGET)
+						.withExpressionResolver(QueryFilterResolver.create(NameFilter.class,
+								(filter, context) -> Optional.of(NAME.eq(filter.name))))
+						.filter(new NameFilter("One")).findOne(ID).orElse(null));
+		assertThrows(DataAccessException.class,
+				() -> datastore.query(TARGET).filter(new NameFilter("One")).findOne(ID));
+
+		assertEquals(1L, datastore.bulkDelete(TARGET).filter(new SequenceRangeFilter(30, 40)).execute()
+				.getAffectedCount());
+		assertEquals(2L, datastore.query(TARGET).count());
+	}
+
+	@Test
+	public void testTransactions() {
+		final InMemoryDatastore datastore = populate();
+
+		datastore.withTransaction(tx -> {
+			datastore.insert(TARGET, box(5, "Five", 50));
+			assertEquals(5L, datastore.query(TARGET).count());
+			tx.rollback();
+		});
+		assertEquals(4L, datastore.query(TARGET).count());
+
+		datastore.withTransaction(tx -> {
+			datastore.insert(TARGET, box(5, "Five", 50));
+			datastore.withTransaction(nested -> {
+				datastore.delete(TARGET, box(1, null, null));
+			});
+			assertFalse(datastore.query(TARGET).filter(ID.eq(1L)).findOne(ID).isPresent());
+			tx.commit();
+		});
+		assertEquals(4L, datastore.query(TARGET).count());
+		assertTrue(datastore.query(TARGET).filter(ID.eq(5L)).findOne(ID).isPresent());
+
+		assertThrows(TransactionException.class, () -> datastore.withTransaction(tx -> {
+			datastore.update(TARGET, box(2, "Tx", 0));
+			// snapshot isolation: the concurrent change is not visible
+			final Thread other = new Thread(() -> datastore.update(TARGET, box(2, "Other", 0)));
+			other.start();
+			try {
+				other.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			assertEquals("Tx", datastore.query(TARGET).filter(ID.eq(2L)).findOne(NAME).orElse(null));
+			tx.commit();
+		}));
+		assertEquals("Other", datastore.query(TARGET).filter(ID.eq(2L)).findOne(NAME).orElse(null));
+	}
+
+	@SuppressWarnings("serial")
+	private static final class SequenceRangeFilter implements QueryFilter {
+
+		final int from;
+		final int to;
+
+		SequenceRangeFilter(int from, int to) {
+			super();
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public void validate() throws InvalidExpressionException {
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private static final class NameFilter implements QueryFilter {
+
+		final String name;
+
+		NameFilter(String name) {
+			super();
+			this.name = name;
+		}
+
+		@Override
+		public void validate() throws InvalidExpressionException {
+		}
+
+	}
+
+}
@@ -18,12 +18,19 @@ package com.holonplatform.core.test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
+
 import org.junit.jupiter.api.Test;
 
 import com.holonplatform.core.Path;
 import com.holonplatform.core.Path.FinalPath;
+import com.holonplatform.core.Path.PathBuilder;
+import com.holonplatform.core.internal.PathNames;
+import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.PathProperty.PathPropertyBuilder;
 
 public class TestPath {
 
@@ -97,4 +104,27 @@ public class TestPath {
 
 	}
 
+	@Test
+	public void testPathNamesCache() {
+
+		final PathBuilder<String> ppath = Path.of("parent", String.class);
+		final PathPropertyBuilder<String> property = PathProperty.create("test", String.class).parent(ppath);
+
+		assertEquals("parent.test", property.fullName());
+		assertSame(property.fullName(), property.fullName());
+		assertSame(property.fullName(), Path.of("test", String.class).parent(ppath).fullName());
+		assertEquals(Arrays.asList("parent", "test"), ((PathNames.Provider) property).getPathNames().getSegments());
+
+		// parent change
+		ppath.parent(FinalPath.of("root", String.class));
+		assertEquals("root.parent.test", property.fullName());
+		assertEquals("parent.test", property.relativeName());
+		assertEquals(3, ((PathNames.Provider) property).getPathNames().getDepth());
+
+		property.parent(null);
+		assertEquals("test", property.fullName());
+		assertEquals("test", property.relativeName());
+
+	}
+
 }
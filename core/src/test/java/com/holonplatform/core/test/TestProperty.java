@@ -33,6 +33,7 @@ import java.time.LocalTime;
 import java.time.Month;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
@@ -54,6 +55,9 @@ import com.holonplatform.core.config.ConfigProperty;
 import com.holonplatform.core.i18n.Localizable;
 import com.holonplatform.core.i18n.LocalizationContext;
 import com.holonplatform.core.internal.beans.DefaultBeanIntrospector;
+import com.holonplatform.core.internal.property.DefaultPropertyBox.PropertyBoxBuilder;
+import com.holonplatform.core.internal.property.DefaultPropertySet;
+import com.holonplatform.core.internal.property.IndexedPropertyBox;
 import com.holonplatform.core.internal.query.filter.OperationQueryFilter;
 import com.holonplatform.core.internal.query.filter.OperationQueryFilter.FilterOperator;
 import com.holonplatform.core.internal.utils.TypeUtils;
@@ -783,6 +787,22 @@ public class TestProperty {
 
 		PropertySet<PathProperty> pps = PropertySet.builder(PathProperty.class).add(TestPropertySet.NAME).build();
 		assertTrue(pps.contains(TestPropertySet.NAME));
+
+		assertEquals(0, joined.indexOf(TestPropertySet.NAME));
+		assertEquals(1, joined.indexOf(TestPropertySet.SEQUENCE));
+		assertEquals(3, joined.indexOf(TestPropertySet.VIRTUAL));
+		assertEquals(-1, joined.indexOf(TestPropertySet.NESTED_ID));
+		assertEquals(-1, joined.indexOf(null));
+
+		PropertyBox box = PropertyBox.create(joined);
+		assertEquals(2, box.indexOf(TestPropertySet.GENERIC));
+		assertEquals(-1, box.indexOf(TestPropertySet.NESTED_ID));
+
+		final BeanPropertySet<TestBean> bps = BeanPropertySet.create(TestBean.class);
+		for (int i = 0; i < bps.size(); i++) {
+			assertEquals(i, bps.indexOf(bps.asList().get(i)));
+		}
+		assertEquals(-1, bps.indexOf(TestPropertySet.NAME));
 	}
 
 	@Test
@@ -896,6 +916,10 @@ public class TestProperty {
 		assertTrue(box1.equals(box1));
 		assertTrue(box4.equals(box4));
 
+		assertEquals(box1.hashCode(), box3.hashCode());
+		assertEquals(Arrays.hashCode(new Object[] { 1L }), box1.hashCode());
+		assertEquals(Arrays.hashCode(new Object[] { null }), box4.hashCode());
+
 		PropertyBox box5 = PropertyBox.builder(TestIdentifiablePropertySet.PROPERTIES).equalsHandler((a, b) -> true)
 				.hashCodeProvider(pb -> Optional.of(1)).build();
 		assertTrue(box5.equals(box1));
@@ -933,6 +957,62 @@ public class TestProperty {
 		assertEquals(Long.valueOf(3), box2.getValue(TestIdentifiablePropertySet.ID));
 	}
 
+	@Test
+	public void testIndexedPropertyBox() {
+
+		PropertyBox box = new IndexedPropertyBox(TestPropertySet.PROPERTIES);
+		assertEquals(TestPropertySet.PROPERTIES.size(), box.size());
+		assertTrue(box.contains(TestPropertySet.NAME));
+		assertFalse(box.containsValue(TestPropertySet.NAME));
+		assertNull(box.getValue(TestPropertySet.NAME));
+
+		box.setValue(TestPropertySet.NAME, "test");
+		box.setValue(TestPropertySet.SEQUENCE, 3);
+		assertEquals("test", box.getValue(TestPropertySet.NAME));
+		assertEquals(Integer.valueOf(3), box.getValue(TestPropertySet.SEQUENCE));
+		assertEquals("TEST", box.getValue(TestPropertySet.VIRTUAL));
+
+		box.setValue(TestPropertySet.NAME, null);
+		assertFalse(box.containsValue(TestPropertySet.NAME));
+
+		assertEquals(TestPropertySet.PROPERTIES.size(), box.propertyValues().count());
+		assertEquals(1, box.propertyValues().filter(pv -> pv.hasValue()).count());
+
+		final PathProperty<String> px = PathProperty.create("px", String.class);
+		assertFalse(box.getValueIfPresent(px).isPresent());
+		assertThrows(PropertyNotFoundException.class, () -> box.getValue(px));
+		assertThrows(PropertyNotFoundException.class, () -> box.setValue(px, "x"));
+		assertThrows(PropertyReadOnlyException.class, () -> box.setValue(TestPropertySet.VIRTUAL, "x"));
+
+		PropertyBox cloned = box.cloneBox();
+		assertEquals(Integer.valueOf(3), cloned.getValue(TestPropertySet.SEQUENCE));
+
+		PropertyBox ibox = new IndexedPropertyBox(TestIdentifiablePropertySet.PROPERTIES);
+		ibox.setValue(TestIdentifiablePropertySet.ID, 1L);
+		assertEquals("TEST", ibox.getConfiguration().getParameter("test").orElse(null));
+		assertEquals(TestIdentifiablePropertySet.ID, ibox.getFirstIdentifier().orElse(null));
+
+		PropertyBox dbox = PropertyBox.builder(TestIdentifiablePropertySet.PROPERTIES)
+				.set(TestIdentifiablePropertySet.ID, 1L).build();
+		assertTrue(ibox.equals(dbox));
+		assertEquals(dbox.hashCode(), ibox.hashCode());
+
+		PropertyBox built = new PropertyBoxBuilder(new IndexedPropertyBox(TestPropertySet.NAME))
+				.set(TestPropertySet.NAME, "pb").build();
+		assertTrue(built instanceof IndexedPropertyBox);
+		assertEquals("pb", built.getValue(TestPropertySet.NAME));
+
+		// property set modified after build
+		@SuppressWarnings("unchecked")
+		DefaultPropertySet<Property<?>> set = (DefaultPropertySet<Property<?>>) PropertySet.builder()
+				.add(TestPropertySet.NAME).build();
+		assertEquals(0, set.indexOf(TestPropertySet.NAME));
+		set.add(0, TestPropertySet.SEQUENCE);
+		assertEquals(0, set.indexOf(TestPropertySet.SEQUENCE));
+		assertEquals(1, set.indexOf(TestPropertySet.NAME));
+		assertTrue(set.contains(TestPropertySet.SEQUENCE));
+	}
+
 	@Test
 	public void testPathProperty() {
 		StringProperty property = StringProperty.create("test");
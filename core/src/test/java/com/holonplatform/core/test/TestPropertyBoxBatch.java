@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.test;
+
+import static com.holonplatform.core.test.data.TestDataTargetSet.ID;
+import static com.holonplatform.core.test.data.TestDataTargetSet.NAME;
+import static com.holonplatform.core.test.data.TestDataTargetSet.SEQUENCE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.datastore.memory.InMemoryDatastore;
+import com.holonplatform.core.property.BooleanProperty;
+import com.holonplatform.core.property.NumericProperty;
+import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertyBoxBatch;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.query.QuerySort;
+
+public class TestPropertyBoxBatch {
+
+	private static final NumericProperty<Double> RATE = NumericProperty.doubleType("rate");
+	private static final BooleanProperty ACTIVE = BooleanProperty.create("active");
+	private static final PathProperty<BigDecimal> AMOUNT = PathProperty.create("amount", BigDecimal.class);
+
+	private static final PropertySet<?> PROPERTIES = PropertySet
+			.builderOf(ID, NAME, SEQUENCE, RATE, ACTIVE, AMOUNT).withIdentifier(ID).build();
+
+	private static PropertyBox box(long id, String name, Integer sequence, Double rate, Boolean active) {
+		return PropertyBox.builder(PROPERTIES).set(ID, id).set(NAME, name).set(SEQUENCE, sequence).set(RATE, rate)
+				.set(ACTIVE, active).set(AMOUNT, (sequence != null) ? BigDecimal.valueOf(sequence) : null).build();
+	}
+
+	@Test
+	public void testBatch() {
+		final List<PropertyBox> boxes = IntStream.range(0, 100)
+				.mapToObj(i -> box(i, "n" + i, (i % 10 == 0) ? null : i, i / 2d, (i % 3 == 0) ? null : i % 2 == 0))
+				.collect(Collectors.toList());
+
+		final PropertyBoxBatch batch = boxes.stream().collect(PropertyBoxBatch.collector(PROPERTIES));
+
+		assertEquals(100, batch.size());
+		assertFalse(batch.isEmpty());
+
+		for (int i = 0; i < 100; i++) {
+			final PropertyBox row = batch.get(i);
+			assertEquals(boxes.get(i), row);
+			assertEquals(boxes.get(i).hashCode(), row.hashCode());
+			assertEquals(Long.valueOf(i), row.getValue(ID));
+			assertEquals("n" + i, row.getValue(NAME));
+			assertEquals(boxes.get(i).getValue(SEQUENCE), row.getValue(SEQUENCE));
+			assertEquals(boxes.get(i).getValue(ACTIVE), row.getValue(ACTIVE));
+			assertEquals(boxes.get(i).getValue(AMOUNT), row.getValue(AMOUNT));
+			assertEquals(i / 2d, batch.getDouble(i, RATE), 0d);
+			assertEquals(i, batch.getLong(i, ID));
+		}
+
+		assertTrue(batch.isNull(0, SEQUENCE));
+		assertNull(batch.getValue(0, SEQUENCE));
+		assertEquals(0L, batch.getLong(0, SEQUENCE));
+		assertTrue(batch.isNull(3, ACTIVE));
+		assertFalse(batch.getBoolean(3, ACTIVE));
+		assertTrue(batch.getBoolean(4, ACTIVE));
+
+		// write through row view
+		final PropertyBox row = batch.get(0);
+		row.setValue(SEQUENCE, 7);
+		row.setValue(NAME, null);
+		assertEquals(7L, batch.getLong(0, SEQUENCE));
+		assertEquals(Integer.valueOf(7), batch.getValue(0, SEQUENCE));
+		assertTrue(batch.isNull(0, NAME));
+
+		assertEquals(100L, batch.stream().count());
+		assertThrows(IndexOutOfBoundsException.class, () -> batch.get(100));
+	}
+
+	@Test
+	public void testBuilderAndQuery() {
+		final PropertyBoxBatch empty = PropertyBoxBatch.builder(PROPERTIES).capacity(1000).addEmpty().build();
+		assertEquals(1, empty.size());
+		assertTrue(empty.isNull(0, ID));
+		assertTrue(empty.isNull(0, ACTIVE));
+
+		final DataTarget<?> target = DataTarget.named("batch");
+		final InMemoryDatastore datastore = InMemoryDatastore.create();
+		datastore.bulkInsert(target, PROPERTIES).add(box(1, "One", 10, 1.5d, true))
+				.add(box(2, "Two", 20, 2.5d, false)).add(box(3, "Three", null, null, null)).execute();
+
+		final PropertyBoxBatch batch = datastore.query(target).sort(QuerySort.desc(ID)).batch(ID, NAME, RATE);
+		assertEquals(3, batch.size());
+		assertEquals(3, batch.getPropertySet().size());
+		assertEquals(3L, batch.getLong(0, ID));
+		assertEquals("Two", batch.getValue(1, NAME));
+		assertEquals(1.5d, batch.getDouble(2, RATE), 0d);
+		assertTrue(batch.isNull(0, RATE));
+
+		int count = 0;
+		for (PropertyBox row : batch) {
+			assertTrue(row.contains(ID));
+			assertFalse(row.contains(SEQUENCE));
+			count++;
+		}
+		assertEquals(3, count);
+	}
+
+}
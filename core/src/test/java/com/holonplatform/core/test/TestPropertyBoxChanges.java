@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.test;
+
+import static com.holonplatform.core.test.data.TestDataTargetSet.ID;
+import static com.holonplatform.core.test.data.TestDataTargetSet.NAME;
+import static com.holonplatform.core.test.data.TestDataTargetSet.PROPERTIES;
+import static com.holonplatform.core.test.data.TestDataTargetSet.SEQUENCE;
+import static com.holonplatform.core.test.data.TestDataTargetSet.TARGET;
+import static com.holonplatform.core.test.data.TestDataTargetSet.box;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.datastore.DefaultWriteOption;
+import com.holonplatform.core.datastore.memory.InMemoryDatastore;
+import com.holonplatform.core.property.PropertyBox;
+
+public class TestPropertyBoxChanges {
+
+	@Test
+	public void testChangeTracking() {
+		final PropertyBox untracked = PropertyBox.builder(PROPERTIES).set(ID, 1L).build();
+		assertFalse(untracked.isChangeTrackingEnabled());
+		untracked.setValue(NAME, "One");
+		assertFalse(untracked.isModified());
+		assertTrue(untracked.getModifiedProperties().isEmpty());
+
+		final PropertyBox box = PropertyBox.builder(PROPERTIES).trackChanges(true).set(ID, 1L).set(NAME, "One")
+				.set(SEQUENCE, 10).build();
+		assertTrue(box.isChangeTrackingEnabled());
+		assertFalse(box.isModified());
+
+		box.setValue(NAME, "One");
+		assertFalse(box.isModified());
+
+		box.setValue(SEQUENCE, 11);
+		box.setValue(NAME, "Uno");
+		assertTrue(box.isModified());
+		assertEquals(Arrays.asList(NAME, SEQUENCE), new ArrayList<>(box.getModifiedProperties()));
+
+		box.resetChanges();
+		assertFalse(box.isModified());
+		assertTrue(box.getModifiedProperties().isEmpty());
+		assertEquals("Uno", box.getValue(NAME));
+
+		box.setValue(SEQUENCE, null);
+		assertEquals(Arrays.asList(SEQUENCE), new ArrayList<>(box.getModifiedProperties()));
+
+		// clone
+		final PropertyBox cloned = box.cloneBox();
+		assertTrue(cloned.isChangeTrackingEnabled());
+		assertFalse(cloned.isModified());
+		cloned.setValue(NAME, "Eins");
+		assertEquals(Arrays.asList(NAME), new ArrayList<>(cloned.getModifiedProperties()));
+		assertEquals(Arrays.asList(SEQUENCE), new ArrayList<>(box.getModifiedProperties()));
+
+		assertTrue(box.cloneBox(ID, NAME).isChangeTrackingEnabled());
+		assertFalse(untracked.cloneBox().isChangeTrackingEnabled());
+	}
+
+	@Test
+	public void testModifiedOnlyUpdate() {
+		final InMemoryDatastore datastore = InMemoryDatastore.create();
+		datastore.insert(TARGET, box(1, "One", 10));
+
+		final PropertyBox box = PropertyBox.builder(PROPERTIES).trackChanges(true)
+				.copyValues(datastore.query(TARGET).filter(ID.eq(1L)).findOne(PROPERTIES).orElse(null)).build();
+
+		// concurrent update of another property
+		datastore.update(TARGET, box(1, "One", 20));
+
+		box.setValue(NAME, "Uno");
+		assertEquals(1, datastore.update(TARGET, box, DefaultWriteOption.UPDATE_MODIFIED_ONLY).getAffectedCount());
+		assertTrue(box.isModified());
+
+		PropertyBox value = datastore.query(TARGET).filter(ID.eq(1L)).findOne(PROPERTIES).orElse(null);
+		assertEquals("Uno", value.getValue(NAME));
+		assertEquals(Integer.valueOf(20), value.getValue(SEQUENCE));
+
+		// without the option all the values are written
+		datastore.update(TARGET, box);
+		value = datastore.query(TARGET).filter(ID.eq(1L)).findOne(PROPERTIES).orElse(null);
+		assertEquals(Integer.valueOf(10), value.getValue(SEQUENCE));
+	}
+
+}
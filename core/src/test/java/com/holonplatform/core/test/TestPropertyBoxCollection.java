@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.query.PropertyBoxCollection;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QuerySort;
+
+public class TestPropertyBoxCollection {
+
+	private static final PathProperty<Long> ID = PathProperty.create("id", Long.class);
+	private static final PathProperty<String> NAME = PathProperty.create("name", String.class);
+	private static final PathProperty<Integer> SEQUENCE = PathProperty.create("sequence", Integer.class);
+
+	private static final PropertySet<?> PROPERTIES = PropertySet.of(ID, NAME, SEQUENCE);
+
+	private static List<PropertyBox> elements() {
+		final List<PropertyBox> elements = new ArrayList<>();
+		for (long i = 1; i <= 100; i++) {
+			elements.add(PropertyBox.builder(PROPERTIES).set(ID, i).set(NAME, "name" + (i % 10))
+					.set(SEQUENCE, (i % 7 == 0) ? null : (int) (i % 5)).build());
+		}
+		return elements;
+	}
+
+	@Test
+	public void testPredicateAndComparator() {
+		final List<PropertyBox> elements = elements();
+
+		Predicate<PropertyBox> predicate = PropertyBoxCollection
+				.predicate(SEQUENCE.eq(3).and(QueryFilter.startsWith(NAME, "NAME8", true)));
+		List<Long> ids = elements.stream().filter(predicate).map(b -> b.getValue(ID)).collect(Collectors.toList());
+		assertEquals(8, ids.size());
+		assertTrue(ids.contains(8L));
+		assertFalse(ids.contains(98L));
+
+		assertEquals(14, elements.stream().filter(PropertyBoxCollection.predicate(SEQUENCE.isNull())).count());
+		assertEquals(86, elements.stream().filter(PropertyBoxCollection.predicate(SEQUENCE.isNull().not())).count());
+
+		final List<PropertyBox> sorted = new ArrayList<>(elements);
+		sorted.sort(PropertyBoxCollection.comparator(QuerySort.of(SEQUENCE.asc(), ID.desc())));
+		assertEquals(Long.valueOf(98), sorted.get(0).getValue(ID));
+		assertEquals(Long.valueOf(100), sorted.get(14).getValue(ID));
+		assertEquals(Integer.valueOf(4), sorted.get(99).getValue(SEQUENCE));
+	}
+
+	@Test
+	public void testIndexes() {
+		final List<PropertyBox> elements = elements();
+		final PropertyBoxCollection indexed = PropertyBoxCollection.builder().addAll(elements).hashIndex(NAME)
+				.sortedIndex(ID).build();
+		final PropertyBoxCollection scanned = PropertyBoxCollection.builder().addAll(elements).build();
+		assertEquals(100, indexed.size());
+
+		final List<QueryFilter> filters = new ArrayList<>();
+		filters.add(NAME.eq("name3"));
+		filters.add(NAME.in("name1", "name2", "none"));
+		filters.add(ID.gt(90L));
+		filters.add(ID.loe(5L));
+		filters.add(ID.between(10L, 20L).and(SEQUENCE.isNotNull()));
+		filters.add(ID.between(10L, 10L));
+		filters.add(ID.between(20L, 10L));
+		filters.add(NAME.eq("name5").and(ID.lt(50L)));
+		filters.add(NAME.eq("name5").or(ID.goe(95L)));
+		filters.add(NAME.eq("name5").or(SEQUENCE.eq(1)));
+
+		for (QueryFilter filter : filters) {
+			assertEquals(scanned.list(filter), indexed.list(filter), filter.toString());
+		}
+		assertEquals(10, indexed.count(NAME.eq("name3")));
+		assertEquals(10, indexed.count(ID.gt(90L)));
+		assertEquals(5, indexed.count(NAME.eq("name5").and(ID.lt(50L))));
+		// empty ranges
+		assertEquals(0, indexed.count(ID.between(5L, 1L)));
+		assertEquals(1, indexed.count(ID.between(5L, 5L)));
+
+		final List<PropertyBox> results = indexed.list(ID.between(10L, 20L), ID.desc());
+		assertEquals(11, results.size());
+		assertEquals(Long.valueOf(20), results.get(0).getValue(ID));
+	}
+
+}
@@ -16,21 +16,59 @@
 package com.holonplatform.core.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 
 import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.Path;
 import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.exceptions.DataAccessException;
 import com.holonplatform.core.internal.DefaultCollectionConstantExpression;
 import com.holonplatform.core.internal.query.DefaultConstantExpression;
 import com.holonplatform.core.internal.query.DefaultQueryDefinition;
+import com.holonplatform.core.internal.query.QueryAdapterQuery;
+import com.holonplatform.core.internal.query.QueryCanonicalizer;
 import com.holonplatform.core.internal.query.QueryDefinition;
+import com.holonplatform.core.internal.query.QueryFilterOptimizer;
+import com.holonplatform.core.internal.query.QueryUtils;
+import com.holonplatform.core.internal.query.filter.AndFilter;
+import com.holonplatform.core.internal.query.filter.GreaterFilter;
+import com.holonplatform.core.internal.query.filter.LessFilter;
+import com.holonplatform.core.internal.query.filter.NotFilter;
+import com.holonplatform.core.internal.query.filter.OrFilter;
+import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.query.AggregateProjection;
+import com.holonplatform.core.query.AggregateValues;
+import com.holonplatform.core.query.DoubleProjection;
+import com.holonplatform.core.query.LongProjection;
 import com.holonplatform.core.query.Query;
+import com.holonplatform.core.query.QueryAdapter;
+import com.holonplatform.core.query.QueryConfiguration;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QueryFunction;
+import com.holonplatform.core.query.QueryKeyset;
+import com.holonplatform.core.query.QueryOperation;
+import com.holonplatform.core.query.QueryProjection;
+import com.holonplatform.core.query.QueryResults.QueryNonUniqueResultException;
+import com.holonplatform.core.query.QueryResults.QueryResultsPages;
 import com.holonplatform.core.query.QuerySort;
 import com.holonplatform.core.test.data.DummyQuery;
 import com.holonplatform.core.test.data.TestPropertySet;
@@ -88,6 +126,510 @@ public class TestQuery {
 
 	}
 
+	@Test
+	public void testKeyset() {
+
+		final PropertyBox lastSeen = PropertyBox.builder(TestPropertySet.PROPERTIES)
+				.set(TestPropertySet.SEQUENCE, 3).set(TestPropertySet.NAME, "test3").build();
+
+		QueryKeyset keyset = QueryKeyset.create(TestPropertySet.SEQUENCE.asc());
+		assertFalse(keyset.getLastSeen().isPresent());
+		assertFalse(keyset.getFilter().isPresent());
+
+		keyset = keyset.next(lastSeen);
+		assertTrue(keyset.getLastSeen().isPresent());
+		assertTrue(keyset.getFilter().orElse(null) instanceof GreaterFilter);
+
+		keyset = QueryKeyset.create(TestPropertySet.SEQUENCE.desc(), lastSeen);
+		assertTrue(keyset.getFilter().orElse(null) instanceof LessFilter);
+
+		keyset = QueryKeyset.create(TestPropertySet.SEQUENCE.desc().and(TestPropertySet.NAME.asc()), lastSeen);
+		assertTrue(keyset.getFilter().orElse(null) instanceof OrFilter);
+
+		// match by path name
+		keyset = QueryKeyset.create(QuerySort.asc(Path.of("sequence", Integer.class)), lastSeen);
+		assertTrue(keyset.getFilter().isPresent());
+
+		assertThrows(IllegalArgumentException.class, () -> QueryKeyset.create(TestPropertySet.GENERIC.asc(),
+				PropertyBox.builder(TestPropertySet.PROPERTIES).build()));
+
+		final QueryDefinition qd = new DefaultQueryDefinition();
+		new DummyQuery(qd).filter(TestPropertySet.NAME.isNotNull()).sort(TestPropertySet.NAME.asc())
+				.keyset(TestPropertySet.SEQUENCE.asc(), lastSeen);
+		assertTrue(qd.getKeyset().isPresent());
+		assertTrue(qd.getFilter().orElse(null) instanceof AndFilter);
+		assertEquals(2, QueryUtils.flattenQuerySort(qd.getSort().orElse(null)).size());
+
+	}
+
+	@Test
+	public void testPages() {
+
+		final List<PropertyBox> data = IntStream.range(0, 25).mapToObj(
+				i -> PropertyBox.builder(TestPropertySet.PROPERTIES).set(TestPropertySet.SEQUENCE, i).build())
+				.collect(Collectors.toList());
+
+		final AtomicInteger executions = new AtomicInteger();
+		final AtomicInteger closed = new AtomicInteger();
+		final QueryAdapter<QueryConfiguration> adapter = new QueryAdapter<QueryConfiguration>() {
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public <R> Stream<R> stream(QueryOperation<QueryConfiguration, R> queryOperation)
+					throws DataAccessException {
+				executions.incrementAndGet();
+				final QueryConfiguration configuration = queryOperation.getConfiguration();
+				final int from = configuration.getKeyset().flatMap(k -> k.getLastSeen())
+						.map(v -> v.getValue(TestPropertySet.SEQUENCE) + 1).orElse(0);
+				final int offset = configuration.getOffset().orElse(0);
+				final int limit = configuration.getLimit().orElse(data.size());
+				return (Stream<R>) data.stream().skip(from + offset).limit(limit)
+						.onClose(() -> closed.incrementAndGet());
+			}
+
+		};
+
+		// keyset
+		Query query = new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition())
+				.keyset(QueryKeyset.create(TestPropertySet.SEQUENCE.asc()));
+		Iterator<List<PropertyBox>> pages = query.pages(TestPropertySet.PROPERTIES, 10);
+		assertEquals(0, executions.get());
+		List<Integer> sizes = new ArrayList<>();
+		pages.forEachRemaining(p -> sizes.add(p.size()));
+		assertEquals(Arrays.asList(10, 10, 5), sizes);
+		assertEquals(3, executions.get());
+
+		// keyset with limit and offset
+		executions.set(0);
+		sizes.clear();
+		query = new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition()).limit(12).offset(2)
+				.keyset(QueryKeyset.create(TestPropertySet.SEQUENCE.asc()));
+		final List<Integer> sequences = new ArrayList<>();
+		query.pages(TestPropertySet.PROPERTIES, 5).forEachRemaining(p -> {
+			sizes.add(p.size());
+			p.forEach(b -> sequences.add(b.getValue(TestPropertySet.SEQUENCE)));
+		});
+		assertEquals(Arrays.asList(5, 5, 2), sizes);
+		assertEquals(IntStream.range(2, 14).boxed().collect(Collectors.toList()), sequences);
+		assertEquals(3, executions.get());
+		assertEquals(Integer.valueOf(12), query.getQueryConfiguration().getLimit().orElse(null));
+		assertEquals(Integer.valueOf(2), query.getQueryConfiguration().getOffset().orElse(null));
+		assertFalse(query.getQueryConfiguration().getKeyset().get().getLastSeen().isPresent());
+
+		executions.set(0);
+		sizes.clear();
+		new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition()).limit(3)
+				.keyset(QueryKeyset.create(TestPropertySet.SEQUENCE.asc())).pages(TestPropertySet.PROPERTIES, 10)
+				.forEachRemaining(p -> sizes.add(p.size()));
+		assertEquals(Arrays.asList(3), sizes);
+		assertEquals(1, executions.get());
+
+		// exact page size multiple
+		executions.set(0);
+		sizes.clear();
+		new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition())
+				.keyset(QueryKeyset.create(TestPropertySet.SEQUENCE.asc())).pages(TestPropertySet.PROPERTIES, 5)
+				.forEachRemaining(p -> sizes.add(p.size()));
+		assertEquals(Arrays.asList(5, 5, 5, 5, 5), sizes);
+		assertEquals(6, executions.get());
+
+		// no keyset
+		executions.set(0);
+		sizes.clear();
+		new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition()).pages(TestPropertySet.PROPERTIES, 10)
+				.forEachRemaining(p -> sizes.add(p.size()));
+		assertEquals(Arrays.asList(10, 10, 5), sizes);
+		assertEquals(1, executions.get());
+
+		// no keyset with limit and offset
+		sizes.clear();
+		new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition()).limit(12).offset(2)
+				.pages(TestPropertySet.PROPERTIES, 5).forEachRemaining(p -> sizes.add(p.size()));
+		assertEquals(Arrays.asList(5, 5, 2), sizes);
+
+		// close before the last page
+		closed.set(0);
+		try (QueryResultsPages<PropertyBox> open = new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition())
+				.pages(TestPropertySet.PROPERTIES, 10)) {
+			assertEquals(10, open.next().size());
+			assertEquals(0, closed.get());
+		}
+		assertEquals(1, closed.get());
+
+		final QueryResultsPages<PropertyBox> closing = new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition())
+				.pages(TestPropertySet.PROPERTIES, 10);
+		closing.next();
+		closing.close();
+		assertFalse(closing.hasNext());
+		closing.close();
+		assertEquals(2, closed.get());
+
+		assertThrows(IllegalArgumentException.class,
+				() -> new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition())
+						.pages(TestPropertySet.PROPERTIES, 0).hasNext());
+
+	}
+
+	@Test
+	public void testCanonicalForm() {
+
+		final QueryFilter f1 = TestPropertySet.NAME.eq("test");
+		final QueryFilter f2 = TestPropertySet.SEQUENCE.gt(1);
+		final QueryFilter f3 = TestPropertySet.SEQUENCE.in(3, 1, 2, 1);
+
+		assertEquals(f1, TestPropertySet.NAME.eq("test"));
+		assertEquals(f1.hashCode(), TestPropertySet.NAME.eq("test").hashCode());
+		assertNotEquals(f1, TestPropertySet.NAME.eq("other"));
+		assertNotEquals(f1, TestPropertySet.NAME.neq("test"));
+		assertEquals(QueryFilter.contains(TestPropertySet.NAME, "t", true),
+				QueryFilter.contains(TestPropertySet.NAME, "t", true));
+		assertNotEquals(QueryFilter.contains(TestPropertySet.NAME, "t", true),
+				QueryFilter.contains(TestPropertySet.NAME, "t", false));
+		assertEquals(f1.and(f2), f1.and(f2));
+		assertNotEquals(f1.and(f2), f2.and(f1));
+
+		QueryFilter canonical = QueryCanonicalizer.canonical(new AndFilter(f1, new AndFilter(f2, f3), f1));
+		assertTrue(canonical instanceof AndFilter);
+		assertEquals(3, ((AndFilter) canonical).getComposition().size());
+		assertEquals(canonical, QueryCanonicalizer.canonical(new AndFilter(new AndFilter(f3, f1), f2)));
+		assertEquals(canonical.hashCode(),
+				QueryCanonicalizer.canonical(new AndFilter(new AndFilter(f3, f1), f2)).hashCode());
+		assertNotEquals(canonical, QueryCanonicalizer.canonical(new OrFilter(new OrFilter(f3, f1), f2)));
+
+		assertEquals(f1, QueryCanonicalizer.canonical(new OrFilter(f1, new OrFilter(f1))));
+		assertEquals(QueryCanonicalizer.canonical(TestPropertySet.SEQUENCE.in(1, 2, 3)),
+				QueryCanonicalizer.canonical(f3));
+		assertEquals(TestPropertySet.SEQUENCE.eq(2), QueryCanonicalizer.canonical(TestPropertySet.SEQUENCE.in(2, 2)));
+		assertEquals(TestPropertySet.SEQUENCE.neq(2),
+				QueryCanonicalizer.canonical(TestPropertySet.SEQUENCE.nin(2)));
+
+		final QuerySort sort = QueryCanonicalizer.canonical(TestPropertySet.NAME.asc()
+				.and(TestPropertySet.SEQUENCE.desc().and(TestPropertySet.NAME.desc())));
+		assertEquals(2, QueryUtils.flattenQuerySort(sort).size());
+		assertEquals(TestPropertySet.NAME.asc().and(TestPropertySet.SEQUENCE.desc()), sort);
+		assertEquals(TestPropertySet.NAME.asc(), QueryCanonicalizer.canonical(TestPropertySet.NAME.asc()));
+		assertNotEquals(TestPropertySet.NAME.asc(), TestPropertySet.NAME.desc());
+
+		final DefaultQueryDefinition qd1 = new DefaultQueryDefinition();
+		qd1.setTarget(DataTarget.named("target"));
+		qd1.addFilter(f1);
+		qd1.addFilter(f2);
+		qd1.addSort(TestPropertySet.NAME.asc());
+		qd1.setLimit(10);
+
+		final DefaultQueryDefinition qd2 = new DefaultQueryDefinition();
+		qd2.setTarget(DataTarget.named("target"));
+		qd2.addFilter(TestPropertySet.SEQUENCE.gt(1));
+		qd2.addFilter(TestPropertySet.NAME.eq("test"));
+		qd2.addSort(TestPropertySet.NAME.asc());
+		qd2.setLimit(10);
+
+		assertTrue(QueryCanonicalizer.equals(qd1, qd2));
+		assertEquals(QueryCanonicalizer.hashCode(qd1), QueryCanonicalizer.hashCode(qd2));
+
+		qd2.setLimit(20);
+		assertFalse(QueryCanonicalizer.equals(qd1, qd2));
+
+	}
+
+	@Test
+	public void testFilterOptimizer() {
+
+		final QueryFilter f1 = TestPropertySet.NAME.eq("test");
+		final QueryFilter f2 = TestPropertySet.SEQUENCE.gt(1);
+
+		assertFalse(QueryFilterOptimizer.optimize(null).getFilter().isPresent());
+		assertFalse(QueryFilterOptimizer.optimize(null).isUnsatisfiable());
+		assertEquals(f1, QueryFilterOptimizer.optimize(f1).getFilter().orElse(null));
+
+		// double negation
+		assertEquals(f1, QueryFilterOptimizer.optimize(f1.not().not()).getFilter().orElse(null));
+		assertEquals(f1, QueryFilterOptimizer.optimize(new AndFilter(new AndFilter(f1), f1.not().not())).getFilter()
+				.orElse(null));
+
+		// ranges
+		assertEquals(TestPropertySet.SEQUENCE.between(1, 5),
+				QueryFilterOptimizer.optimize(TestPropertySet.SEQUENCE.goe(1).and(TestPropertySet.SEQUENCE.loe(5)))
+						.getFilter().orElse(null));
+		assertEquals(TestPropertySet.SEQUENCE.between(2, 4),
+				QueryFilterOptimizer.optimize(TestPropertySet.SEQUENCE.between(1, 5)
+						.and(TestPropertySet.SEQUENCE.goe(2)).and(TestPropertySet.SEQUENCE.loe(4)).and(f1)
+						.and(TestPropertySet.SEQUENCE.goe(0))).getFilter().map(f -> ((AndFilter) f).getComposition())
+						.flatMap(c -> c.stream().filter(f -> !f1.equals(f)).findFirst()).orElse(null));
+		assertEquals(f2, QueryFilterOptimizer.optimize(f2.and(TestPropertySet.SEQUENCE.goe(1))).getFilter()
+				.orElse(null));
+		assertEquals(TestPropertySet.SEQUENCE.eq(3), QueryFilterOptimizer
+				.optimize(TestPropertySet.SEQUENCE.goe(3).and(TestPropertySet.SEQUENCE.loe(3))).getFilter()
+				.orElse(null));
+		assertEquals(TestPropertySet.SEQUENCE.eq(3),
+				QueryFilterOptimizer.optimize(TestPropertySet.SEQUENCE.eq(3).and(TestPropertySet.SEQUENCE.in(1, 3))
+						.and(TestPropertySet.SEQUENCE.lt(5))).getFilter().orElse(null));
+
+		// IN values
+		assertEquals(TestPropertySet.SEQUENCE.eq(1),
+				QueryFilterOptimizer.optimize(TestPropertySet.SEQUENCE.in(1, 1)).getFilter().orElse(null));
+
+		// unsatisfiable
+		final QueryFilter f3 = TestPropertySet.SEQUENCE.eq(1).and(TestPropertySet.SEQUENCE.eq(2));
+		assertTrue(QueryFilterOptimizer.optimize(f3).isUnsatisfiable());
+		assertTrue(QueryFilterOptimizer.optimize(f1.and(f2).and(f1.not())).isUnsatisfiable());
+		assertTrue(QueryFilterOptimizer.optimize(f2.and(TestPropertySet.SEQUENCE.lt(1))).isUnsatisfiable());
+		assertTrue(QueryFilterOptimizer.optimize(TestPropertySet.SEQUENCE.between(5, 1)).isUnsatisfiable());
+		assertTrue(QueryFilterOptimizer.optimize(TestPropertySet.NAME.isNull().and(f1)).isUnsatisfiable());
+		assertTrue(QueryFilterOptimizer
+				.optimize(TestPropertySet.SEQUENCE.eq(3).and(TestPropertySet.SEQUENCE.in(1, 2))).isUnsatisfiable());
+		assertTrue(QueryFilterOptimizer
+				.optimize(f3.or(TestPropertySet.SEQUENCE.gt(3).and(TestPropertySet.SEQUENCE.lt(2)))).isUnsatisfiable());
+		assertFalse(QueryFilterOptimizer.optimize(f3.or(f2)).isUnsatisfiable());
+		assertEquals(f2, QueryFilterOptimizer.optimize(f3.or(f2)).getFilter().orElse(null));
+		// the negation of a never satisfied filter must not match null values
+		assertTrue(QueryFilterOptimizer.optimize(f3.not()).getFilter().orElse(null) instanceof NotFilter);
+		assertFalse(QueryFilterOptimizer.optimize(f3.not()).isUnsatisfiable());
+		assertFalse(QueryFilterOptimizer.optimize(TestPropertySet.SEQUENCE.isNotNull().and(f3).not()).getFilter()
+				.isPresent());
+		assertFalse(QueryFilterOptimizer
+				.optimize(TestPropertySet.NAME.isNull().and(TestPropertySet.NAME.isNotNull()).not()).getFilter()
+				.isPresent());
+
+		// values comparison left to the datastore
+		assertFalse(QueryFilterOptimizer.optimize(f1.and(TestPropertySet.NAME.eq("other"))).isUnsatisfiable());
+		assertFalse(QueryFilterOptimizer.optimize(TestPropertySet.NAME.eq("a").and(TestPropertySet.NAME.eq("A")))
+				.isUnsatisfiable());
+		assertTrue(QueryFilterOptimizer.optimize(TestPropertySet.NAME.goe("a").and(TestPropertySet.NAME.loe("Z")))
+				.getFilter().orElse(null) instanceof AndFilter);
+		assertFalse(QueryFilterOptimizer.optimize(TestPropertySet.NAME.between("b", "a")).isUnsatisfiable());
+		final PathProperty<Integer> converted = PathProperty.create("converted", Integer.class).converter(String.class,
+				v -> Integer.valueOf(v), v -> String.valueOf(v));
+		assertFalse(QueryFilterOptimizer.optimize(converted.gt(3).and(converted.lt(2))).isUnsatisfiable());
+
+		// query definition
+		final DefaultQueryDefinition qd = new DefaultQueryDefinition();
+		qd.addFilter(TestPropertySet.SEQUENCE.goe(1));
+		qd.addFilter(TestPropertySet.SEQUENCE.loe(5));
+		assertFalse(qd.isUnsatisfiable());
+		assertEquals(TestPropertySet.SEQUENCE.between(1, 5), qd.getFilter().orElse(null));
+		qd.addFilter(TestPropertySet.SEQUENCE.gt(5));
+		assertTrue(qd.isUnsatisfiable());
+		assertTrue(qd.getFilter().isPresent());
+
+		final AtomicInteger executions = new AtomicInteger();
+		final AtomicInteger closed = new AtomicInteger();
+		final QueryAdapter<QueryConfiguration> adapter = new QueryAdapter<QueryConfiguration>() {
+
+			@Override
+			public <R> Stream<R> stream(QueryOperation<QueryConfiguration, R> queryOperation)
+					throws DataAccessException {
+				executions.incrementAndGet();
+				return Stream.empty();
+			}
+
+		};
+
+		assertEquals(0L, new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition())
+				.filter(f2.and(TestPropertySet.SEQUENCE.lt(0))).count());
+		assertEquals(0, executions.get());
+		assertTrue(new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition())
+				.filter(f2.and(TestPropertySet.SEQUENCE.lt(0))).list(TestPropertySet.PROPERTIES).isEmpty());
+		assertEquals(Long.valueOf(0L), new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition())
+				.filter(f2.and(TestPropertySet.SEQUENCE.lt(0))).findOne(TestPropertySet.SEQUENCE.count())
+				.orElse(null));
+		assertEquals(Long.valueOf(0L), new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition())
+				.filter(f2.and(TestPropertySet.SEQUENCE.lt(0)))
+				.findOne(LongProjection.of(TestPropertySet.SEQUENCE.count())).orElse(null));
+		assertEquals(0, executions.get());
+		new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition()).filter(f2.and(TestPropertySet.SEQUENCE.lt(0)))
+				.findOne(TestPropertySet.SEQUENCE.max());
+		assertEquals(1, executions.get());
+		executions.set(0);
+		new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition()).filter(f2).list(TestPropertySet.PROPERTIES);
+		assertEquals(1, executions.get());
+
+	}
+
+	@Test
+	public void testStreamingResults() {
+
+		final AtomicInteger fetched = new AtomicInteger();
+		final AtomicInteger closed = new AtomicInteger();
+		final List<Integer> fetchSizes = new ArrayList<>();
+		final QueryAdapter<QueryConfiguration> adapter = new QueryAdapter<QueryConfiguration>() {
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public <R> Stream<R> stream(QueryOperation<QueryConfiguration, R> queryOperation)
+					throws DataAccessException {
+				queryOperation.getConfiguration().getFetchSize().ifPresent(fetchSizes::add);
+				final int size = queryOperation.getConfiguration().getLimit().orElse(100);
+				return (Stream<R>) IntStream.range(0, size).peek(i -> fetched.incrementAndGet())
+						.mapToObj(i -> PropertyBox.builder(TestPropertySet.PROPERTIES)
+								.set(TestPropertySet.SEQUENCE, i).build())
+						.onClose(() -> closed.incrementAndGet());
+			}
+
+		};
+
+		// fetch size
+		assertThrows(IllegalArgumentException.class,
+				() -> new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition()).fetchSize(0));
+		Query query = new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition()).fetchSize(50);
+		assertEquals(Integer.valueOf(50), query.getQueryConfiguration().getFetchSize().orElse(null));
+		assertEquals(100, query.list(TestPropertySet.PROPERTIES).size());
+		assertEquals(Arrays.asList(50), fetchSizes);
+		assertEquals(1, closed.get());
+
+		// find one
+		fetched.set(0);
+		closed.set(0);
+		assertThrows(QueryNonUniqueResultException.class,
+				() -> new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition())
+						.findOne(TestPropertySet.PROPERTIES));
+		assertEquals(2, fetched.get());
+		assertEquals(1, closed.get());
+		assertTrue(new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition()).limit(1)
+				.findOne(TestPropertySet.PROPERTIES).isPresent());
+
+		// publisher
+		fetched.set(0);
+		closed.set(0);
+		final List<Integer> received = new ArrayList<>();
+		final AtomicInteger completed = new AtomicInteger();
+		final Subscription[] subscription = new Subscription[1];
+		final Publisher<PropertyBox> publisher = new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition())
+				.publisher(TestPropertySet.PROPERTIES);
+		publisher.subscribe(new Subscriber<PropertyBox>() {
+
+			@Override
+			public void onSubscribe(Subscription s) {
+				subscription[0] = s;
+			}
+
+			@Override
+			public void onNext(PropertyBox item) {
+				received.add(item.getValue(TestPropertySet.SEQUENCE));
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+				throw new AssertionError(throwable);
+			}
+
+			@Override
+			public void onComplete() {
+				completed.incrementAndGet();
+			}
+
+		});
+		assertNotNull(subscription[0]);
+		assertEquals(0, fetched.get());
+		subscription[0].request(3);
+		assertEquals(Arrays.asList(0, 1, 2), received);
+		assertEquals(3, fetched.get());
+		subscription[0].request(2);
+		assertEquals(5, received.size());
+		assertEquals(5, fetched.get());
+		subscription[0].cancel();
+		assertEquals(1, closed.get());
+		subscription[0].request(10);
+		assertEquals(5, received.size());
+		assertEquals(0, completed.get());
+
+		// completion
+		closed.set(0);
+		received.clear();
+		new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition()).limit(4).publisher(TestPropertySet.PROPERTIES)
+				.subscribe(new Subscriber<PropertyBox>() {
+
+					@Override
+					public void onSubscribe(Subscription s) {
+						s.request(Long.MAX_VALUE);
+					}
+
+					@Override
+					public void onNext(PropertyBox item) {
+						received.add(item.getValue(TestPropertySet.SEQUENCE));
+					}
+
+					@Override
+					public void onError(Throwable throwable) {
+						throw new AssertionError(throwable);
+					}
+
+					@Override
+					public void onComplete() {
+						completed.incrementAndGet();
+					}
+
+				});
+		assertEquals(Arrays.asList(0, 1, 2, 3), received);
+		assertEquals(1, completed.get());
+		assertEquals(1, closed.get());
+
+	}
+
+	@Test
+	public void testNumericProjections() {
+
+		final QueryAdapter<QueryConfiguration> adapter = new QueryAdapter<QueryConfiguration>() {
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public <R> Stream<R> stream(QueryOperation<QueryConfiguration, R> queryOperation)
+					throws DataAccessException {
+				final QueryProjection<R> projection = queryOperation.getProjection();
+				if (projection instanceof LongProjection) {
+					// integer value, converted to the projection type
+					return (Stream<R>) Stream.of(Integer.valueOf(3));
+				}
+				if (projection instanceof DoubleProjection) {
+					return (Stream<R>) Stream.of(Double.valueOf(2.5d));
+				}
+				if (projection instanceof AggregateProjection) {
+					final AggregateProjection aggregate = (AggregateProjection) projection;
+					return (Stream<R>) Stream.of(AggregateValues.builder(aggregate).setLong(0, 3L)
+							.set(1, Integer.valueOf(6)).setDouble(2, 2.5d).set(3, null).build());
+				}
+				return Stream.empty();
+			}
+
+		};
+
+		final LongProjection count = QueryProjection.longValue(TestPropertySet.SEQUENCE.count());
+		assertEquals(Long.class, count.getType());
+		assertEquals(count, LongProjection.of(TestPropertySet.SEQUENCE.count()));
+		assertEquals(3L, new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition()).findLong(count).getAsLong());
+		assertEquals(Long.valueOf(3L), new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition()).list(count).get(0));
+
+		final DoubleProjection avg = QueryProjection.doubleValue(QueryFunction.avg(TestPropertySet.SEQUENCE));
+		assertEquals(Double.class, avg.getType());
+		assertEquals(2.5d, new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition()).findDouble(avg).getAsDouble(),
+				0.0d);
+
+		assertThrows(IllegalStateException.class, () -> QueryProjection.aggregate().build());
+
+		final AggregateProjection aggregate = QueryProjection.aggregate().longValue(TestPropertySet.SEQUENCE.count())
+				.longValue(QueryFunction.sum(TestPropertySet.SEQUENCE))
+				.doubleValue(QueryFunction.avg(TestPropertySet.SEQUENCE)).longValue(TestPropertySet.SEQUENCE.max())
+				.build();
+		assertEquals(4, aggregate.size());
+		assertEquals(AggregateValues.class, aggregate.getType());
+		assertEquals(AggregateProjection.ValueType.DOUBLE, aggregate.getValueType(2));
+
+		final AggregateValues values = new QueryAdapterQuery<>(adapter, new DefaultQueryDefinition())
+				.findOne(aggregate).orElse(null);
+		assertNotNull(values);
+		assertEquals(4, values.size());
+		assertEquals(3L, values.getLong(0));
+		assertEquals(6L, values.getLong(1));
+		assertEquals(6d, values.getDouble(1), 0.0d);
+		assertEquals(2.5d, values.getDouble(2), 0.0d);
+		assertEquals(2L, values.getLong(2));
+		assertFalse(values.isNull(2));
+		assertTrue(values.isNull(3));
+		assertEquals(0L, values.getLong(3));
+		assertThrows(IndexOutOfBoundsException.class, () -> values.getLong(4));
+
+	}
+
 	@Test
 	public void testQuery() {
 
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.test;
+
+import static com.holonplatform.core.test.data.TestDataTargetSet.ID;
+import static com.holonplatform.core.test.data.TestDataTargetSet.NAME;
+import static com.holonplatform.core.test.data.TestDataTargetSet.TARGET;
+import static com.holonplatform.core.test.data.TestDataTargetSet.box;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.datastore.buffer.WriteBehindDatastore;
+import com.holonplatform.core.datastore.buffer.WriteBehindDatastore.WriteBufferStatistics;
+import com.holonplatform.core.datastore.memory.InMemoryDatastore;
+import com.holonplatform.core.datastore.transaction.TransactionConfiguration;
+import com.holonplatform.core.exceptions.DataAccessException;
+
+public class TestWriteBehindDatastore {
+
+	private static String name(InMemoryDatastore datastore, long id) {
+		return datastore.query(TARGET).filter(ID.eq(id)).findOne(NAME).orElse(null);
+	}
+
+	@Test
+	public void testCoalescing() {
+		final InMemoryDatastore target = InMemoryDatastore.create();
+		target.insert(TARGET, box(1, "One", 1));
+
+		try (WriteBehindDatastore datastore = WriteBehindDatastore.builder(target).build()) {
+			for (int i = 0; i < 10; i++) {
+				datastore.update(TARGET, box(1, "One" + i, i));
+			}
+			datastore.insert(TARGET, box(2, "Two", 2));
+			datastore.update(TARGET, box(2, "Two2", 22));
+			assertEquals(2, datastore.getBufferDepth());
+			assertEquals("One", name(target, 1));
+			assertFalse(target.query(TARGET).filter(ID.eq(2L)).findOne(ID).isPresent());
+
+			datastore.flush();
+			assertEquals(0, datastore.getBufferDepth());
+			assertEquals("One9", name(target, 1));
+			assertEquals("Two2", name(target, 2));
+
+			WriteBufferStatistics statistics = datastore.getStatistics();
+			assertEquals(12, statistics.getBufferedCount());
+			assertEquals(10, statistics.getCoalescedCount());
+			assertEquals(1, statistics.getFlushCount());
+			assertEquals(2, statistics.getWrittenCount());
+			assertEquals(0, statistics.getFailedCount());
+			assertTrue(statistics.getMaximumFlushLatency().compareTo(Duration.ZERO) > 0);
+
+			// reads flush the buffer
+			datastore.save(TARGET, box(3, "Three", 3));
+			assertEquals("Three", datastore.query(TARGET).filter(ID.eq(3L)).findOne(NAME).orElse(null));
+
+			// not coalescable: the buffered insert is written first and the write error is reported by the flush
+			datastore.insert(TARGET, box(4, "Four", 4));
+			datastore.insert(TARGET, box(4, "Four", 4));
+			assertEquals("Four", name(target, 4));
+			assertThrows(DataAccessException.class, () -> datastore.flush());
+			assertEquals(1, datastore.getStatistics().getFailedCount());
+			// the failed write is kept in the buffer
+			assertEquals(1, datastore.getBufferDepth());
+			target.delete(TARGET, box(4, "Four", 4));
+			datastore.flush();
+			assertEquals(0, datastore.getBufferDepth());
+			assertEquals("Four", name(target, 4));
+		}
+	}
+
+	@Test
+	public void testFailedWrites() throws InterruptedException {
+		final InMemoryDatastore target = InMemoryDatastore.create();
+		target.insert(TARGET, box(1, "Conflict", 1));
+
+		try (WriteBehindDatastore datastore = WriteBehindDatastore.builder(target).build()) {
+			datastore.insert(TARGET, box(1, "One", 1));
+			datastore.insert(TARGET, box(2, "Two", 2));
+			// the inserts are written as a group: the whole group is kept in the buffer
+			assertThrows(DataAccessException.class, () -> datastore.flush());
+			assertEquals(2, datastore.getBufferDepth());
+			assertFalse(target.query(TARGET).filter(ID.eq(2L)).findOne(ID).isPresent());
+
+			// a newer write for the same key is coalesced into the restored one
+			datastore.update(TARGET, box(1, "Newer", 1));
+			assertEquals(2, datastore.getBufferDepth());
+			target.delete(TARGET, box(1, "Conflict", 1));
+			datastore.flush();
+			assertEquals(0, datastore.getBufferDepth());
+			assertEquals("Newer", name(target, 1));
+			assertEquals("Two", name(target, 2));
+		}
+
+		try (WriteBehindDatastore datastore = WriteBehindDatastore.builder(target)
+				.flushInterval(Duration.ofMillis(10)).build()) {
+			datastore.insert(TARGET, box(1, "Duplicate", 1));
+			for (int i = 0; i < 200 && datastore.getStatistics().getFailedCount() < 1; i++) {
+				Thread.sleep(10);
+			}
+			assertTrue(datastore.getStatistics().getFailedCount() > 0);
+			// the scheduled flush failure is reported by the next flush, if the retry fails too
+			DataAccessException e = assertThrows(DataAccessException.class, () -> datastore.flush());
+			assertEquals(1, e.getSuppressed().length);
+			assertEquals(1, datastore.getBufferDepth());
+			target.delete(TARGET, box(1, "Newer", 1));
+			datastore.flush();
+			assertEquals("Duplicate", name(target, 1));
+		}
+	}
+
+	@Test
+	public void testThresholds() throws InterruptedException {
+		final InMemoryDatastore target = InMemoryDatastore.create();
+
+		try (WriteBehindDatastore datastore = WriteBehindDatastore.builder(target).maximumBufferSize(3).build()) {
+			datastore.insert(TARGET, box(1, "One", 1));
+			datastore.insert(TARGET, box(2, "Two", 2));
+			assertEquals(2, datastore.getBufferDepth());
+			datastore.insert(TARGET, box(3, "Three", 3));
+			assertEquals(0, datastore.getBufferDepth());
+			assertEquals(3L, target.query(TARGET).count());
+		}
+
+		try (WriteBehindDatastore datastore = WriteBehindDatastore.builder(target)
+				.flushInterval(Duration.ofMillis(10)).build()) {
+			datastore.update(TARGET, box(1, "Scheduled", 1));
+			// the buffer is drained before the writes are performed: wait for the written count
+			for (int i = 0; i < 200 && datastore.getStatistics().getWrittenCount() < 1; i++) {
+				Thread.sleep(10);
+			}
+			assertEquals(0, datastore.getBufferDepth());
+			assertEquals("Scheduled", name(target, 1));
+		}
+	}
+
+	@Test
+	public void testTransactions() {
+		final InMemoryDatastore target = InMemoryDatastore.create();
+		target.insert(TARGET, box(1, "One", 1));
+
+		try (WriteBehindDatastore datastore = WriteBehindDatastore.builder(target).build()) {
+			datastore.requireTransactional().withTransaction(tx -> {
+				datastore.update(TARGET, box(1, "Tx1", 1));
+				datastore.update(TARGET, box(1, "Tx2", 1));
+				assertEquals(0, datastore.getBufferDepth());
+				assertEquals("One", name(target, 1));
+				tx.commit();
+			});
+			assertEquals("Tx2", name(target, 1));
+
+			datastore.requireTransactional().withTransaction(tx -> {
+				datastore.update(TARGET, box(1, "Rollback", 1));
+				tx.rollback();
+			});
+			assertEquals("Tx2", name(target, 1));
+
+			datastore.requireTransactional().withTransaction(tx -> {
+				datastore.update(TARGET, box(1, "AutoCommit", 1));
+			}, TransactionConfiguration.withAutoCommit());
+			assertEquals("AutoCommit", name(target, 1));
+		}
+	}
+
+	@Test
+	public void testTransactionOrdering() {
+		final InMemoryDatastore target = InMemoryDatastore.create();
+		target.insert(TARGET, box(1, "One", 1));
+
+		try (WriteBehindDatastore datastore = WriteBehindDatastore.builder(target).build()) {
+			// the shared writes are flushed when the transaction starts
+			datastore.update(TARGET, box(1, "Shared", 1));
+			datastore.requireTransactional().withTransaction(tx -> {
+				assertEquals(0, datastore.getBufferDepth());
+				assertEquals("Shared", name(target, 1));
+				datastore.update(TARGET, box(1, "Tx", 1));
+				tx.commit();
+			});
+			assertEquals("Tx", name(target, 1));
+
+			// the shared writes buffered by another thread within the transaction are flushed before the
+			// transactional operations on the same target
+			target.insert(TARGET, box(2, "Two", 2));
+			datastore.requireTransactional().withTransaction(tx -> {
+				final Thread thread = new Thread(() -> datastore.update(TARGET, box(2, "Shared", 2)));
+				thread.start();
+				try {
+					thread.join();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				assertEquals(1, datastore.getBufferDepth());
+				assertEquals("Shared", datastore.query(TARGET).filter(ID.eq(2L)).findOne(NAME).orElse(null));
+				assertEquals(0, datastore.getBufferDepth());
+				datastore.update(TARGET, box(2, "TwoTx", 2));
+				tx.commit();
+			});
+			assertEquals("TwoTx", name(target, 2));
+			assertEquals(0, datastore.getBufferDepth());
+		}
+	}
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.test.data;
+
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+
+/*
+ * Data target and identifiable properties used by the datastore tests
+ */
+public final class TestDataTargetSet {
+
+	public static final DataTarget<String> TARGET = DataTarget.named("test");
+
+	public static final PathProperty<Long> ID = PathProperty.create("id", Long.class);
+	public static final PathProperty<String> NAME = PathProperty.create("name", String.class);
+	public static final PathProperty<Integer> SEQUENCE = PathProperty.create("sequence", Integer.class);
+
+	public static final PropertySet<?> PROPERTIES = PropertySet.builderOf(ID, NAME, SEQUENCE).withIdentifier(ID)
+			.build();
+
+	private TestDataTargetSet() {
+	}
+
+	public static PropertyBox box(long id, String name, Integer sequence) {
+		return PropertyBox.builder(PROPERTIES).set(ID, id).set(NAME, name).set(SEQUENCE, sequence).build();
+	}
+
+}
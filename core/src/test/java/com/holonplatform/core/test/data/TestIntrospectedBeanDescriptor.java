@@ -0,0 +1,50 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.test.data;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.holonplatform.core.beans.BeanIntrospectionDescriptor;
+
+public class TestIntrospectedBeanDescriptor implements BeanIntrospectionDescriptor {
+
+	public static final AtomicInteger READS = new AtomicInteger();
+
+	@Override
+	public Class<?> getBeanClass() {
+		return TestIntrospectedBean.class;
+	}
+
+	@Override
+	public List<PropertyDefinition> getProperties() {
+		return Arrays.asList(
+				PropertyDefinition.builder("name", String.class).readMethod("getName", i -> {
+					READS.incrementAndGet();
+					return ((TestIntrospectedBean) i).getName();
+				}).writeMethod("setName", String.class, (i, v) -> ((TestIntrospectedBean) i).setName((String) v))
+						.build(),
+				PropertyDefinition.builder("id", long.class)
+						.readMethod("getId", i -> ((TestIntrospectedBean) i).getId())
+						.writeMethod("setId", long.class,
+								(i, v) -> ((TestIntrospectedBean) i).setId(((Number) v).longValue()))
+						.build(),
+				PropertyDefinition.builder("enabled", boolean.class)
+						.readMethod("isEnabled", i -> ((TestIntrospectedBean) i).isEnabled()).build());
+	}
+
+}
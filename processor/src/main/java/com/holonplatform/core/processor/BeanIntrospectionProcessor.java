@@ -0,0 +1,454 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor which generates a <code>com.holonplatform.core.beans.BeanIntrospectionDescriptor</code> for
+ * each class annotated with <code>com.holonplatform.core.beans.Introspected</code>, and registers the generated
+ * descriptors in the <code>META-INF/services</code> descriptors file.
+ * <p>
+ * The bean properties are detected following the Java Beans conventions: public <code>getX</code> (or
+ * <code>isX</code> for <code>boolean</code> properties) read methods and public <code>setX</code> write methods,
+ * including the inherited ones. The generated descriptor provides direct method invocation accessors for each
+ * property.
+ * </p>
+ * <p>
+ * The generated descriptor class is named <code>[bean class simple name]_BeanIntrospectionDescriptor</code> and it is
+ * placed in the same package of the bean class. For nested classes, the enclosing class names are used as prefix.
+ * </p>
+ *
+ * @since 6.0.1
+ */
+public class BeanIntrospectionProcessor extends AbstractProcessor {
+
+	/**
+	 * Annotation type name
+	 */
+	public static final String INTROSPECTED_ANNOTATION = "com.holonplatform.core.beans.Introspected";
+
+	/**
+	 * Descriptor service name
+	 */
+	public static final String DESCRIPTOR_SERVICE = "com.holonplatform.core.beans.BeanIntrospectionDescriptor";
+
+	/**
+	 * Generated descriptor class name suffix
+	 */
+	public static final String DESCRIPTOR_CLASS_SUFFIX = "_BeanIntrospectionDescriptor";
+
+	private static final String SERVICES_PATH = "META-INF/services/" + DESCRIPTOR_SERVICE;
+
+	/**
+	 * Generated descriptor class names
+	 */
+	private final Set<String> descriptors = new TreeSet<>();
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.annotation.processing.AbstractProcessor#getSupportedAnnotationTypes()
+	 */
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Collections.singleton(INTROSPECTED_ANNOTATION);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.annotation.processing.AbstractProcessor#getSupportedSourceVersion()
+	 */
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.annotation.processing.AbstractProcessor#init(javax.annotation.processing.ProcessingEnvironment)
+	 */
+	@Override
+	public synchronized void init(ProcessingEnvironment processingEnv) {
+		super.init(processingEnv);
+		descriptors.clear();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.annotation.processing.AbstractProcessor#process(java.util.Set,
+	 * javax.annotation.processing.RoundEnvironment)
+	 */
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		if (roundEnv.processingOver()) {
+			writeServices();
+			return false;
+		}
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (element.getKind() != ElementKind.CLASS) {
+					error(element, "@Introspected can only be used on classes");
+				} else if (isAccessible((TypeElement) element)) {
+					generateDescriptor((TypeElement) element);
+				} else {
+					error(element, "@Introspected classes must be accessible from the class package");
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether given type is accessible from the other classes of the same package.
+	 * @param type The type to check
+	 * @return <code>true</code> if accessible
+	 */
+	private static boolean isAccessible(TypeElement type) {
+		Element element = type;
+		while (element instanceof TypeElement) {
+			if (element.getModifiers().contains(Modifier.PRIVATE) || ((TypeElement) element)
+					.getNestingKind() == NestingKind.LOCAL
+					|| ((TypeElement) element).getNestingKind() == NestingKind.ANONYMOUS) {
+				return false;
+			}
+			element = element.getEnclosingElement();
+		}
+		return true;
+	}
+
+	/**
+	 * Generate the descriptor class for given bean type.
+	 * @param beanType The bean type
+	 */
+	private void generateDescriptor(TypeElement beanType) {
+		final PackageElement pkg = processingEnv.getElementUtils().getPackageOf(beanType);
+		final String packageName = pkg.isUnnamed() ? null : pkg.getQualifiedName().toString();
+		final String simpleName = getFlatName(beanType) + DESCRIPTOR_CLASS_SUFFIX;
+		final String className = (packageName != null) ? packageName + "." + simpleName : simpleName;
+		final String beanTypeName = processingEnv.getTypeUtils().erasure(beanType.asType()).toString();
+
+		final Map<String, BeanPropertyModel> properties = getProperties(beanType);
+
+		try {
+			JavaFileObject source = processingEnv.getFiler().createSourceFile(className, beanType);
+			try (PrintWriter writer = new PrintWriter(source.openWriter())) {
+				if (packageName != null) {
+					writer.println("package " + packageName + ";");
+					writer.println();
+				}
+				writer.println("/**");
+				writer.println(" * Generated BeanIntrospectionDescriptor for {@link " + beanTypeName + "}.");
+				writer.println(" */");
+				writer.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+				writer.println("@SuppressWarnings({ \"rawtypes\", \"unchecked\" })");
+				writer.println("public final class " + simpleName + " implements " + DESCRIPTOR_SERVICE + " {");
+				writer.println();
+				writer.println("\tprivate static final java.util.List<PropertyDefinition> PROPERTIES = java.util.Collections"
+						+ ".unmodifiableList(java.util.Arrays.asList(");
+				int count = 0;
+				for (BeanPropertyModel property : properties.values()) {
+					writer.print("\t\t\tPropertyDefinition.builder(\"" + property.name + "\", " + property.type
+							+ ".class)");
+					if (property.readMethod != null) {
+						writer.print(".readMethod(\"" + property.readMethod + "\", instance -> ((" + beanTypeName
+								+ ") instance)." + property.readMethod + "())");
+					}
+					if (property.writeMethod != null) {
+						writer.print(".writeMethod(\"" + property.writeMethod + "\", " + property.writeType
+								+ ".class, (instance, value) -> ((" + beanTypeName + ") instance)."
+								+ property.writeMethod + "(" + getValueExpression(property.writeTypeKind,
+										property.writeType)
+								+ "))");
+					}
+					writer.print(".build()");
+					writer.println((++count < properties.size()) ? "," : "");
+				}
+				writer.println("\t\t\t));");
+				writer.println();
+				writer.println("\t@Override");
+				writer.println("\tpublic Class<?> getBeanClass() {");
+				writer.println("\t\treturn " + beanTypeName + ".class;");
+				writer.println("\t}");
+				writer.println();
+				writer.println("\t@Override");
+				writer.println("\tpublic java.util.List<PropertyDefinition> getProperties() {");
+				writer.println("\t\treturn PROPERTIES;");
+				writer.println("\t}");
+				writer.println();
+				writer.println("}");
+			}
+			descriptors.add(className);
+		} catch (IOException e) {
+			error(beanType, "Failed to generate the BeanIntrospectionDescriptor class [" + className + "]: "
+					+ e.getMessage());
+		}
+	}
+
+	/**
+	 * Detect the bean properties of given bean type, sorted by name.
+	 * @param beanType The bean type
+	 * @return The bean properties, by name
+	 */
+	private Map<String, BeanPropertyModel> getProperties(TypeElement beanType) {
+		final DeclaredType declaredType = (DeclaredType) beanType.asType();
+		final Map<String, BeanPropertyModel> properties = new TreeMap<>();
+		final Map<String, ExecutableElement> setters = new LinkedHashMap<>();
+
+		for (ExecutableElement method : ElementFilter
+				.methodsIn(processingEnv.getElementUtils().getAllMembers(beanType))) {
+			if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC)) {
+				continue;
+			}
+			final String name = method.getSimpleName().toString();
+			final ExecutableType methodType = (ExecutableType) processingEnv.getTypeUtils().asMemberOf(declaredType,
+					method);
+			final TypeMirror returnType = methodType.getReturnType();
+			if (method.getParameters().isEmpty()) {
+				if (name.startsWith("is") && name.length() > 2 && returnType.getKind() == TypeKind.BOOLEAN) {
+					// is read methods take precedence
+					final BeanPropertyModel property = properties.computeIfAbsent(decapitalize(name.substring(2)),
+							n -> new BeanPropertyModel(n));
+					property.readMethod = name;
+					property.type = getTypeName(returnType);
+				} else if (name.startsWith("get") && name.length() > 3 && returnType.getKind() != TypeKind.VOID) {
+					final BeanPropertyModel property = properties.computeIfAbsent(decapitalize(name.substring(3)),
+							n -> new BeanPropertyModel(n));
+					if (property.readMethod == null || !property.readMethod.startsWith("is")) {
+						property.readMethod = name;
+						property.type = getTypeName(returnType);
+					}
+				}
+			} else if (method.getParameters().size() == 1 && name.startsWith("set") && name.length() > 3
+					&& returnType.getKind() == TypeKind.VOID) {
+				setters.merge(name, method, (m1, m2) -> m1);
+			}
+		}
+
+		// write methods
+		for (ExecutableElement method : setters.values()) {
+			final String name = method.getSimpleName().toString();
+			final TypeMirror parameterType = ((ExecutableType) processingEnv.getTypeUtils().asMemberOf(declaredType,
+					method)).getParameterTypes().get(0);
+			final String parameterTypeName = getTypeName(parameterType);
+			final BeanPropertyModel property = properties.computeIfAbsent(decapitalize(name.substring(3)),
+					n -> new BeanPropertyModel(n));
+			if (property.type == null) {
+				property.type = parameterTypeName;
+			}
+			if (property.type.equals(parameterTypeName)) {
+				property.writeMethod = name;
+				property.writeType = parameterTypeName;
+				property.writeTypeKind = parameterType.getKind();
+			}
+		}
+
+		properties.remove("class");
+		return properties;
+	}
+
+	/**
+	 * Get the expression to use to convert the <code>value</code> variable into given write type.
+	 * <p>
+	 * For primitive types, only the unboxing of the exact wrapper type and the lossless widening primitive conversions
+	 * are allowed, consistently with the reflection based property writers. Any other value type causes a
+	 * {@link ClassCastException}.
+	 * </p>
+	 * @param kind The write type kind
+	 * @param type The write type name
+	 * @return The value expression
+	 */
+	private static String getValueExpression(TypeKind kind, String type) {
+		switch (kind) {
+		case BOOLEAN:
+			return "(Boolean) value";
+		case CHAR:
+			return "(Character) value";
+		case BYTE:
+			return "(Byte) value";
+		case SHORT:
+			return getWideningExpression(type, "Short", false, "Byte");
+		case INT:
+			return getWideningExpression(type, "Integer", true, "Byte", "Short");
+		case LONG:
+			return getWideningExpression(type, "Long", true, "Byte", "Short", "Integer");
+		case FLOAT:
+			return getWideningExpression(type, "Float", true, "Byte", "Short", "Integer", "Long");
+		case DOUBLE:
+			return getWideningExpression(type, "Double", true, "Byte", "Short", "Integer", "Long",
+					"Float");
+		default:
+			return "(" + type + ") value";
+		}
+	}
+
+	/**
+	 * Get the expression to use to convert the <code>value</code> variable into given primitive type, accepting the
+	 * exact wrapper type and the wrapper types which can be widened to the primitive type.
+	 * @param type The primitive type name
+	 * @param wrapper The primitive type wrapper name
+	 * @param character Whether a <code>Character</code> value can be widened to the primitive type
+	 * @param numbers The names of the number wrapper types which can be widened to the primitive type
+	 * @return The value expression
+	 */
+	private static String getWideningExpression(String type, String wrapper, boolean character, String... numbers) {
+		final StringBuilder sb = new StringBuilder("(");
+		for (int i = 0; i < numbers.length; i++) {
+			if (i > 0) {
+				sb.append(" || ");
+			}
+			sb.append("value instanceof ").append(numbers[i]);
+		}
+		sb.append(") ? ((Number) value).").append(type).append("Value() : ");
+		if (character) {
+			sb.append("(value instanceof Character) ? (").append(type).append(") ((Character) value).charValue() : ");
+		}
+		return sb.append("(").append(wrapper).append(") value").toString();
+	}
+
+	/**
+	 * Get the source name of the erasure of given type.
+	 * @param type The type
+	 * @return The type name
+	 */
+	private String getTypeName(TypeMirror type) {
+		return processingEnv.getTypeUtils().erasure(type).toString();
+	}
+
+	/**
+	 * Get the name of given type, using the enclosing type names as prefix for nested types.
+	 * @param type The type
+	 * @return The type flat name
+	 */
+	private static String getFlatName(TypeElement type) {
+		if (type.getEnclosingElement() instanceof TypeElement) {
+			return getFlatName((TypeElement) type.getEnclosingElement()) + "_" + type.getSimpleName();
+		}
+		return type.getSimpleName().toString();
+	}
+
+	/**
+	 * Convert given name to the property name, using the same rules of {@link java.beans.Introspector#decapitalize}.
+	 * @param name The name to convert
+	 * @return The property name
+	 */
+	private static String decapitalize(String name) {
+		if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+			return name;
+		}
+		return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+	}
+
+	/**
+	 * Write the <code>META-INF/services</code> descriptors file, merging any existing registration.
+	 */
+	private void writeServices() {
+		if (descriptors.isEmpty()) {
+			return;
+		}
+		final Set<String> services = new TreeSet<>();
+		try {
+			FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+					SERVICES_PATH);
+			try (BufferedReader reader = new BufferedReader(
+					new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					final String service = line.trim();
+					if (!service.isEmpty() && !service.startsWith("#")) {
+						services.add(service);
+					}
+				}
+			}
+		} catch (@SuppressWarnings("unused") IOException e) {
+			// no existing services file
+		}
+		services.addAll(descriptors);
+		try {
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+					SERVICES_PATH);
+			try (Writer writer = file.openWriter()) {
+				for (String service : services) {
+					writer.write(service);
+					writer.write("\n");
+				}
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Kind.ERROR,
+					"Failed to write the " + SERVICES_PATH + " file: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Print an error message.
+	 * @param element The element to which the error refers
+	 * @param message The error message
+	 */
+	private void error(Element element, String message) {
+		processingEnv.getMessager().printMessage(Kind.ERROR, message, element);
+	}
+
+	/*
+	 * Support class
+	 */
+	private static final class BeanPropertyModel {
+
+		final String name;
+		String type;
+		String readMethod;
+		String writeMethod;
+		String writeType;
+		TypeKind writeTypeKind;
+
+		BeanPropertyModel(String name) {
+			super();
+			this.name = name;
+		}
+
+	}
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.processor.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.holonplatform.core.beans.BeanIntrospectionDescriptor;
+import com.holonplatform.core.beans.BeanIntrospector;
+import com.holonplatform.core.beans.BeanPropertySet;
+import com.holonplatform.core.internal.beans.DefaultBeanIntrospector;
+import com.holonplatform.core.property.Property.PropertyWriteException;
+import com.holonplatform.core.processor.BeanIntrospectionProcessor;
+
+public class TestBeanIntrospectionProcessor {
+
+	@TempDir
+	Path folder;
+
+	@Test
+	public void testDescriptorGeneration() throws Exception {
+
+		final Path sources = Files.createDirectories(folder.resolve("src/com/acme"));
+		final Path classes = Files.createDirectories(folder.resolve("classes"));
+
+		write(sources.resolve("BaseBean.java"), "package com.acme;", "public abstract class BaseBean {",
+				"  private long id;", "  public long getId() { return id; }",
+				"  public void setId(long id) { this.id = id; }", "}");
+		write(sources.resolve("TestBean.java"), "package com.acme;",
+				"import com.holonplatform.core.beans.Introspected;", "@Introspected",
+				"public class TestBean extends BaseBean {", "  private String name;", "  private boolean active;",
+				"  private int count;", "  private java.util.List<String> tags;", "  private String URL;",
+				"  public String getName() { return name; }", "  public void setName(String name) { this.name = name; }",
+				"  public boolean isActive() { return active; }",
+				"  public void setActive(boolean active) { this.active = active; }",
+				"  public int getCount() { return count; }", "  public void setCount(int count) { this.count = count; }",
+				"  public java.util.List<String> getTags() { return tags; }",
+				"  public void setTags(java.util.List<String> tags) { this.tags = tags; }",
+				"  public String getURL() { return URL; }", "  public static String getStatic() { return null; }",
+				"  @Introspected", "  public static class Nested {", "    private String value;",
+				"    public void setValue(String value) { this.value = value; }",
+				"    public String value() { return value; }", "  }", "}");
+
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null,
+				StandardCharsets.UTF_8)) {
+			final String classpath = new File(
+					BeanIntrospectionDescriptor.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+							.getAbsolutePath();
+			final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+					Arrays.asList("-classpath", classpath, "-d", classes.toString()), null,
+					fileManager.getJavaFileObjects(sources.resolve("BaseBean.java").toFile(),
+							sources.resolve("TestBean.java").toFile()));
+			task.setProcessors(Collections.singletonList(new BeanIntrospectionProcessor()));
+			assertTrue(task.call(), () -> diagnostics.getDiagnostics().toString());
+		}
+
+		// services
+		final Path services = classes.resolve("META-INF/services/" + BeanIntrospectionDescriptor.class.getName());
+		assertTrue(Files.exists(services));
+		assertEquals(Arrays.asList("com.acme.TestBean_BeanIntrospectionDescriptor",
+				"com.acme.TestBean_Nested_BeanIntrospectionDescriptor"), Files.readAllLines(services));
+
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] { classes.toUri().toURL() },
+				getClass().getClassLoader())) {
+
+			final Class<?> beanClass = classLoader.loadClass("com.acme.TestBean");
+
+			final BeanIntrospectionDescriptor descriptor = (BeanIntrospectionDescriptor) classLoader
+					.loadClass("com.acme.TestBean_BeanIntrospectionDescriptor").getDeclaredConstructor()
+					.newInstance();
+			assertEquals(beanClass, descriptor.getBeanClass());
+			assertEquals(Arrays.asList("URL", "active", "count", "id", "name", "tags"),
+					descriptor.getProperties().stream().map(p -> p.getName()).collect(Collectors.toList()));
+			assertEquals(long.class, descriptor.getProperties().get(3).getType());
+			assertEquals("isActive", descriptor.getProperties().get(1).getReadMethodName().orElse(null));
+			assertFalse(descriptor.getProperties().get(0).getWriter().isPresent());
+
+			final BeanIntrospector introspector = new DefaultBeanIntrospector(classLoader);
+			@SuppressWarnings("unchecked")
+			final BeanPropertySet<Object> set = (BeanPropertySet<Object>) introspector.getPropertySet(beanClass);
+			assertEquals(6, set.size());
+
+			final Object instance = beanClass.getDeclaredConstructor().newInstance();
+			set.write("name", "test", instance);
+			set.write("active", true, instance);
+			set.write("count", (short) 3, instance);
+			set.write("id", 7, instance);
+			set.write("tags", Arrays.asList("a", "b"), instance);
+
+			assertEquals("test", set.read("name", instance));
+			assertEquals(Boolean.TRUE, set.read("active", instance));
+			assertEquals(Integer.valueOf(3), set.read("count", instance));
+			assertEquals(Long.valueOf(7), set.read("id", instance));
+			assertEquals(Arrays.asList("a", "b"), set.read("tags", instance));
+
+			set.write("count", null, instance);
+			assertEquals(Integer.valueOf(0), set.read("count", instance));
+
+			// narrowing conversions are not allowed
+			assertThrows(PropertyWriteException.class, () -> set.write("count", 5_000_000_000L, instance));
+			assertThrows(PropertyWriteException.class, () -> set.write("id", 1.5d, instance));
+			assertEquals(Integer.valueOf(0), set.read("count", instance));
+
+			final BeanIntrospectionDescriptor nested = (BeanIntrospectionDescriptor) classLoader
+					.loadClass("com.acme.TestBean_Nested_BeanIntrospectionDescriptor").getDeclaredConstructor()
+					.newInstance();
+			assertEquals(1, nested.getProperties().size());
+			assertFalse(nested.getProperties().get(0).getReader().isPresent());
+			assertTrue(nested.getProperties().get(0).getWriter().isPresent());
+		}
+
+	}
+
+	private static void write(Path file, String... lines) throws Exception {
+		final List<String> content = Arrays.asList(lines);
+		Files.write(file, content, StandardCharsets.UTF_8);
+	}
+
+}